@@ -37,6 +37,11 @@ AWS_REGION=ap-south-1
 DB_HOST=localhost
 DB_PORT=5432
 DB_NAME=healthcare_local
+
+# PHI encryption keystore (the password is required)
+PHI_KEYSTORE_PASSWORD=local-dev-only
+# Local only: creates ./data/keys/phi-keystore.p12 on first start
+PHI_KEYSTORE_INIT=true
 ENVEOF
     echo "📝 Created .env.local"
     echo "⚠️  IMPORTANT: Please update .env.local with your actual AWS Cognito configuration!"
@@ -66,10 +71,8 @@ for i in {1..10}; do
     sleep 2
 done
 
-# Run migrations
-echo "🗃️  Running database migrations..."
+# Migrations in src/main/resources/db/migration run when the application starts
 source .env.local
-#./mvnw flyway:migrate -Dspring.profiles.active=local > /dev/null 2>&1 || echo "⚠️  Migration may have failed, but continuing..."
 
 echo ""
 echo "🎉 Local setup complete!"
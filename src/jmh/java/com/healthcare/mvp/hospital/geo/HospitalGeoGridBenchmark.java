@@ -0,0 +1,133 @@
+package com.healthcare.mvp.hospital.geo;
+
+import com.healthcare.mvp.hospital.geo.HospitalGeoGrid.Hit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Radius and k-nearest queries against 100k hospitals, next to the brute-force
+ * scan they replace. Setup checks that the grid returns exactly what the scan
+ * returns for every query origin before anything is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HospitalGeoGridBenchmark {
+
+    private static final int ORIGINS = 256;
+
+    @Param("100000")
+    private int hospitals;
+
+    @Param({"5", "50", "500", "5000"})
+    private double radiusKm;
+
+    @Param("10")
+    private int k;
+
+    private HospitalGeoGrid grid;
+    private double[][] points;
+    private UUID[] ids;
+    private double[][] origins;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        Random random = new Random(41);
+        grid = new HospitalGeoGrid(0.25);
+        points = new double[hospitals][];
+        ids = new UUID[hospitals];
+        for (int i = 0; i < hospitals; i++) {
+            points[i] = randomPoint(random);
+            ids[i] = new UUID(0L, i);
+            grid.put(ids[i], points[i][0], points[i][1]);
+        }
+        origins = new double[ORIGINS][];
+        for (int i = 0; i < ORIGINS; i++) {
+            origins[i] = randomPoint(random);
+        }
+
+        for (double[] origin : origins) {
+            List<Hit> expected = scan(origin, radiusKm);
+            if (!hitIds(grid.within(origin[0], origin[1], radiusKm, null)).equals(hitIds(expected))) {
+                throw new IllegalStateException("within() differs from the scan at " + origin[0] + "," + origin[1]);
+            }
+            List<Hit> all = scan(origin, HospitalGeoGrid.MAX_DISTANCE_KM);
+            if (!hitIds(grid.nearest(origin[0], origin[1], k, null)).equals(hitIds(all.subList(0, k)))) {
+                throw new IllegalStateException("nearest() differs from the scan at " + origin[0] + "," + origin[1]);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Hit> within() {
+        double[] origin = nextOrigin();
+        return grid.within(origin[0], origin[1], radiusKm, null);
+    }
+
+    @Benchmark
+    public List<Hit> nearest() {
+        double[] origin = nextOrigin();
+        return grid.nearest(origin[0], origin[1], k, null);
+    }
+
+    @Benchmark
+    public List<Hit> bruteForceWithin() {
+        return scan(nextOrigin(), radiusKm);
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private double[] nextOrigin() {
+        next = (next + 1) % ORIGINS;
+        return origins[next];
+    }
+
+    private List<Hit> scan(double[] origin, double radius) {
+        List<Hit> hits = new ArrayList<>();
+        for (int i = 0; i < points.length; i++) {
+            double distance = HospitalGeoGrid.distanceKm(origin[0], origin[1], points[i][0], points[i][1]);
+            if (distance <= radius) {
+                hits.add(new Hit(ids[i], points[i][0], points[i][1], distance));
+            }
+        }
+        hits.sort(Comparator.comparingDouble(Hit::getDistanceKm).thenComparing(Hit::getHospitalId));
+        return hits;
+    }
+
+    private static List<UUID> hitIds(List<Hit> hits) {
+        return hits.stream().map(Hit::getHospitalId).toList();
+    }
+
+    /**
+     * Two thirds of the hospitals in metro clusters, the rest spread over the globe
+     */
+    private static double[] randomPoint(Random random) {
+        double[][] metros = {{19.07, 72.88}, {28.61, 77.21}, {12.97, 77.59}, {40.71, -74.0}, {51.51, -0.13}};
+        if (random.nextInt(3) > 0) {
+            double[] metro = metros[random.nextInt(metros.length)];
+            return new double[]{metro[0] + random.nextGaussian() * 0.3, metro[1] + random.nextGaussian() * 0.3};
+        }
+        return new double[]{Math.toDegrees(Math.asin(2 * random.nextDouble() - 1)), random.nextDouble() * 360 - 180};
+    }
+}
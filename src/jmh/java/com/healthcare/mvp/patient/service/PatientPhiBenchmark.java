@@ -0,0 +1,140 @@
+package com.healthcare.mvp.patient.service;
+
+import com.healthcare.mvp.patient.entity.Patient;
+import com.healthcare.mvp.shared.encryption.BlindIndexer;
+import com.healthcare.mvp.shared.encryption.EncryptionKeyStore;
+import com.healthcare.mvp.shared.encryption.PhiCipher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the patient name encryption on the registration and read paths.
+ *
+ * sealPatient is what registration adds per patient (two AES-GCM seals and two
+ * blind indexes), openPatient what every read of a patient with cleared
+ * plaintext pays to show the name, and nameBlindIndex what an exact name search
+ * pays for its term. encryptField/decryptField isolate a single PhiCipher call.
+ * The keystore is a throwaway PKCS12 file; run with -t to see the Cipher and
+ * Mac pools under contention. Setup checks that a sealed patient opens to the
+ * original names before anything is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatientPhiBenchmark {
+
+    private static final String FIRST_NAME = "Asha";
+    private static final String LAST_NAME = "Venkataraman";
+    private static final byte[] FIELD_AAD = "patient-1:first_name".getBytes(StandardCharsets.UTF_8);
+
+    private Path keystoreDirectory;
+    private PhiCipher phiCipher;
+    private PatientPhiProtector registrationProtector;
+    private PatientPhiProtector clearedProtector;
+    private Patient registeredPatient;
+    private Patient sealedPatient;
+    private UUID keyId;
+    private byte[] fieldPlaintext;
+    private byte[] sealedField;
+
+    @Setup(Level.Trial)
+    public void prepare() throws IOException {
+        keystoreDirectory = Files.createTempDirectory("phi-benchmark");
+        EncryptionKeyStore keyStore = new EncryptionKeyStore();
+        ReflectionTestUtils.setField(keyStore, "keystorePath", keystoreDirectory.resolve("phi.p12").toString());
+        ReflectionTestUtils.setField(keyStore, "keystorePassword", "benchmark-password");
+        ReflectionTestUtils.setField(keyStore, "initKeystore", true);
+        keyStore.load();
+
+        phiCipher = new PhiCipher(keyStore);
+        BlindIndexer blindIndexer = new BlindIndexer(keyStore);
+        registrationProtector = protector(phiCipher, blindIndexer, false);
+        clearedProtector = protector(phiCipher, blindIndexer, true);
+
+        registeredPatient = patient();
+        sealedPatient = patient();
+        clearedProtector.seal(sealedPatient);
+        if (!FIRST_NAME.equals(clearedProtector.firstName(sealedPatient))
+                || !LAST_NAME.equals(clearedProtector.lastName(sealedPatient))) {
+            throw new IllegalStateException("Sealed patient does not open to the original names");
+        }
+
+        keyId = phiCipher.getActiveKeyId();
+        fieldPlaintext = FIRST_NAME.getBytes(StandardCharsets.UTF_8);
+        sealedField = phiCipher.encrypt(keyId, fieldPlaintext, FIELD_AAD);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteKeystore() throws IOException {
+        FileSystemUtils.deleteRecursively(keystoreDirectory);
+    }
+
+    @Benchmark
+    public Patient sealPatient() {
+        registrationProtector.seal(registeredPatient);
+        return registeredPatient;
+    }
+
+    @Benchmark
+    public void openPatient(Blackhole blackhole) {
+        blackhole.consume(clearedProtector.firstName(sealedPatient));
+        blackhole.consume(clearedProtector.lastName(sealedPatient));
+    }
+
+    @Benchmark
+    public String nameBlindIndex() {
+        return registrationProtector.nameBlindIndex(LAST_NAME);
+    }
+
+    @Benchmark
+    public byte[] encryptField() {
+        return phiCipher.encrypt(keyId, fieldPlaintext, FIELD_AAD);
+    }
+
+    @Benchmark
+    public byte[] decryptField() {
+        return phiCipher.decrypt(keyId, sealedField, FIELD_AAD);
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private static PatientPhiProtector protector(PhiCipher phiCipher, BlindIndexer blindIndexer,
+                                                 boolean clearPlaintext) {
+        PatientPhiProtector protector = new PatientPhiProtector(phiCipher, blindIndexer);
+        ReflectionTestUtils.setField(protector, "enabled", true);
+        ReflectionTestUtils.setField(protector, "clearPlaintext", clearPlaintext);
+        return protector;
+    }
+
+    private static Patient patient() {
+        Patient patient = new Patient();
+        patient.setPatientId(new UUID(42L, 43L));
+        patient.setFirstName(FIRST_NAME);
+        patient.setLastName(LAST_NAME);
+        patient.setIsEncrypted(false);
+        return patient;
+    }
+}
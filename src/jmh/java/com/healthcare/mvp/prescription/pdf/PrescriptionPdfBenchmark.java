@@ -0,0 +1,165 @@
+package com.healthcare.mvp.prescription.pdf;
+
+import com.itextpdf.io.image.ImageData;
+import com.itextpdf.io.image.ImageDataFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prescription PDFs per second, rendered to a discarding stream the way
+ * PrescriptionPdfService streams them to the response.
+ *
+ * render uses the shared assets (fonts parsed once, letterhead and decoded
+ * logo cached); renderUncachedAssets parses the fonts and decodes the logo for
+ * every document, which is what the cache saves. Run with -t to see the
+ * render pool's scaling. Setup checks that a rendered document is a complete
+ * PDF before anything is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PrescriptionPdfBenchmark {
+
+    @Param({"3", "40"})
+    private int medications;
+
+    private PrescriptionPdfRenderer renderer;
+    private PrescriptionDocument prescription;
+    private HospitalLetterhead letterhead;
+    private byte[] logoBytes;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        renderer = new PrescriptionPdfRenderer(loadedAssets());
+        logoBytes = logoPng();
+        letterhead = letterhead(ImageDataFactory.create(logoBytes));
+        prescription = prescription(medications);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        renderer.render(prescription, letterhead, out);
+        String pdf = out.toString(StandardCharsets.ISO_8859_1);
+        if (!pdf.startsWith("%PDF-") || !pdf.stripTrailing().endsWith("%%EOF")) {
+            throw new IllegalStateException("Rendered prescription is not a complete PDF");
+        }
+    }
+
+    @Benchmark
+    public long render() {
+        CountingOutputStream out = new CountingOutputStream();
+        renderer.render(prescription, letterhead, out);
+        return out.count;
+    }
+
+    @Benchmark
+    public long renderUncachedAssets() {
+        CountingOutputStream out = new CountingOutputStream();
+        new PrescriptionPdfRenderer(loadedAssets())
+                .render(prescription, letterhead(ImageDataFactory.create(logoBytes)), out);
+        return out.count;
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private static PrescriptionPdfAssets loadedAssets() {
+        PrescriptionPdfAssets assets = new PrescriptionPdfAssets(null);
+        ReflectionTestUtils.setField(assets, "regularFontPath", "");
+        ReflectionTestUtils.setField(assets, "boldFontPath", "");
+        assets.loadFonts();
+        return assets;
+    }
+
+    private static HospitalLetterhead letterhead(ImageData logo) {
+        return new HospitalLetterhead("City General Hospital",
+                List.of("14 MG Road", "Bengaluru, Karnataka, 560001"),
+                "Phone: +91 80 4000 1234  |  care@citygeneral.example  |  citygeneral.example",
+                "KA-HOSP-2019-0042", logo);
+    }
+
+    private static PrescriptionDocument prescription(int medicationCount) {
+        List<PrescriptionDocument.MedicationLine> lines = new ArrayList<>();
+        String[] names = {"Amoxicillin 500 mg", "Paracetamol 650 mg", "Pantoprazole 40 mg", "Cetirizine 10 mg",
+                "Metformin 500 mg", "Atorvastatin 20 mg"};
+        for (int i = 0; i < medicationCount; i++) {
+            lines.add(new PrescriptionDocument.MedicationLine(names[i % names.length], "1 tablet",
+                    "Twice daily", "5 days", i % 2 == 0 ? "After food" : "Before breakfast with water"));
+        }
+        return new PrescriptionDocument(new UUID(42L, 43L), new UUID(1L, 1L), "RX-2026-000042",
+                LocalDate.of(2026, 10, 19), "Asha Verma", "MRN-00042", "34 years, Female",
+                "Dr. Rohan Mehta", "MBBS, MD", "Internal Medicine", "KMC-55821", lines,
+                "Drink plenty of fluids. Return if the fever persists beyond three days.",
+                "Avoid alcohol while on this course.", LocalDate.of(2026, 10, 26),
+                LocalDateTime.of(2026, 10, 19, 10, 30));
+    }
+
+    private static byte[] logoPng() {
+        // Headless AWT, for build machines without a display
+        System.setProperty("java.awt.headless", "true");
+        BufferedImage image = new BufferedImage(240, 180, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(new Color(0x1F, 0x4E, 0x79));
+        graphics.fillRect(0, 0, 240, 180);
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(100, 30, 40, 120);
+        graphics.fillRect(60, 70, 120, 40);
+        graphics.dispose();
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Discards the PDF but keeps its length, so the work cannot be optimised away
+     */
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void write(byte[] b) {
+            count += b.length;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.healthcare.mvp.appointment.assign;
+
+import com.healthcare.mvp.appointment.dto.DoctorDayLoadDto;
+import com.healthcare.mvp.appointment.entity.Appointment;
+import com.healthcare.mvp.appointment.entity.Appointment.AppointmentStatus;
+import com.healthcare.mvp.appointment.event.AppointmentChangedEvent;
+import com.healthcare.mvp.appointment.repository.AppointmentRepository;
+import com.healthcare.mvp.doctor.availability.DoctorAvailabilityIndex;
+import com.healthcare.mvp.doctor.dto.DoctorAvailabilityRowDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Per-doctor booked-appointment counters for one hospital day, with a
+ * least-loaded-first ordering per specialization.
+ *
+ * Each (hospital, day) is seeded with one aggregate query on first use and then
+ * adjusted from AppointmentChangedEvent after each commit. Per specialization the
+ * doctors sit in a concurrent skip-list set ordered by (load, doctorId) - a
+ * min-heap that also supports the decrease/increase-key an event needs. Counters
+ * only steer the choice; seeds are refreshed after a while so bulk updates that
+ * bypass the events (e.g. patient deactivation cascades) cannot skew them for long.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DoctorLoadTracker {
+
+    static final Set<AppointmentStatus> BOOKED_STATUSES =
+            Set.of(AppointmentStatus.SCHEDULED, AppointmentStatus.CONFIRMED, AppointmentStatus.IN_PROGRESS);
+
+    private final AppointmentRepository appointmentRepository;
+    private final DoctorAvailabilityIndex availabilityIndex;
+
+    private final Map<DayKey, DayLoad> days = new ConcurrentHashMap<>();
+
+    @Value("${app.appointment.auto-assign.load-resync-minutes:10}")
+    private long resyncMinutes;
+
+    /**
+     * Doctors of the specialization ordered least-loaded first, with their loads on the day
+     */
+    public List<LoadEntry> leastLoaded(UUID hospitalId, String specialization, LocalDate date,
+                                       List<DoctorAvailabilityRowDto> roster) {
+        DayLoad day = dayLoad(hospitalId, date);
+        String key = DoctorAvailabilityIndex.normalize(specialization);
+        LoadHeap heap = day.heaps.computeIfAbsent(key, k -> new LoadHeap());
+
+        // Doctors added since the heap was built join with their current count
+        for (DoctorAvailabilityRowDto row : roster) {
+            heap.ensure(row.getDoctorId(), day.load(row.getDoctorId()));
+        }
+        return heap.ascending(roster);
+    }
+
+    /**
+     * Adjust counters after appointment writes commit
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        Appointment appointment = event.getAppointment();
+        int delta = (isBooked(appointment.getStatus()) && Boolean.TRUE.equals(appointment.getIsActive()) ? 1 : 0)
+                - (isBooked(event.getPreviousStatus()) ? 1 : 0);
+        if (delta == 0 || appointment.getAppointmentDateTime() == null) {
+            return;
+        }
+
+        DayLoad day = days.get(new DayKey(appointment.getHospitalId(), appointment.getAppointmentDateTime().toLocalDate()));
+        if (day == null) {
+            return; // not seeded yet - the seed query will include this change
+        }
+        int load = day.adjust(appointment.getDoctorId(), delta);
+
+        DoctorAvailabilityRowDto row = availabilityIndex.row(appointment.getDoctorId());
+        if (row != null) {
+            LoadHeap heap = day.heaps.get(DoctorAvailabilityIndex.normalize(row.getSpecialization()));
+            if (heap != null) {
+                heap.update(appointment.getDoctorId(), load);
+            }
+        }
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private DayLoad dayLoad(UUID hospitalId, LocalDate date) {
+        LocalDate today = LocalDate.now();
+        days.keySet().removeIf(key -> key.date.isBefore(today));
+
+        DayKey key = new DayKey(hospitalId, date);
+        DayLoad day = days.get(key);
+        if (day != null && System.currentTimeMillis() - day.seededAt < resyncMinutes * 60_000) {
+            return day;
+        }
+
+        DayLoad seeded = new DayLoad();
+        for (DoctorDayLoadDto row : appointmentRepository.countBookedByDoctor(
+                hospitalId, BOOKED_STATUSES, date.atStartOfDay(), date.plusDays(1).atStartOfDay())) {
+            seeded.counts.put(row.getDoctorId(), row.getBooked().intValue());
+        }
+        days.put(key, seeded);
+        log.debug("Seeded doctor loads for hospital {} on {}: {} doctors", hospitalId, date, seeded.counts.size());
+        return seeded;
+    }
+
+    private static boolean isBooked(AppointmentStatus status) {
+        return status != null && BOOKED_STATUSES.contains(status);
+    }
+
+    private static final class DayKey {
+        private final UUID hospitalId;
+        private final LocalDate date;
+
+        DayKey(UUID hospitalId, LocalDate date) {
+            this.hospitalId = hospitalId;
+            this.date = date;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof DayKey key && hospitalId.equals(key.hospitalId) && date.equals(key.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(hospitalId, date);
+        }
+    }
+
+    private static final class DayLoad {
+        private final long seededAt = System.currentTimeMillis();
+        private final Map<UUID, Integer> counts = new ConcurrentHashMap<>();
+        private final Map<String, LoadHeap> heaps = new ConcurrentHashMap<>();
+
+        int load(UUID doctorId) {
+            return counts.getOrDefault(doctorId, 0);
+        }
+
+        int adjust(UUID doctorId, int delta) {
+            return counts.merge(doctorId, delta, (current, change) -> Math.max(0, current + change));
+        }
+    }
+
+    /**
+     * Doctor and booked count, ordered by load then doctor ID
+     */
+    public static final class LoadEntry {
+        private static final Comparator<LoadEntry> ORDER = Comparator
+                .comparingInt((LoadEntry entry) -> entry.load)
+                .thenComparing(entry -> entry.doctorId);
+
+        private final UUID doctorId;
+        private final int load;
+
+        LoadEntry(UUID doctorId, int load) {
+            this.doctorId = doctorId;
+            this.load = load;
+        }
+
+        public UUID getDoctorId() {
+            return doctorId;
+        }
+
+        public int getLoad() {
+            return load;
+        }
+    }
+
+    /**
+     * Concurrent min-heap with key updates: entries are immutable, an update
+     * swaps the doctor's entry under the heap's monitor while readers iterate
+     * the skip list without locking.
+     */
+    private static final class LoadHeap {
+        private final ConcurrentSkipListSet<LoadEntry> heap = new ConcurrentSkipListSet<>(LoadEntry.ORDER);
+        private final Map<UUID, LoadEntry> current = new ConcurrentHashMap<>();
+
+        void ensure(UUID doctorId, int load) {
+            if (!current.containsKey(doctorId)) {
+                update(doctorId, load);
+            }
+        }
+
+        synchronized void update(UUID doctorId, int load) {
+            LoadEntry next = new LoadEntry(doctorId, load);
+            LoadEntry previous = current.put(doctorId, next);
+            if (previous != null) {
+                heap.remove(previous);
+            }
+            heap.add(next);
+        }
+
+        /**
+         * Roster doctors in ascending load order; doctors who left the roster are skipped.
+         * A doctor caught mid-update by the weakly consistent iterator is listed once.
+         */
+        List<LoadEntry> ascending(List<DoctorAvailabilityRowDto> roster) {
+            Set<UUID> pending = new HashSet<>();
+            roster.forEach(row -> pending.add(row.getDoctorId()));
+            List<LoadEntry> ordered = new ArrayList<>(roster.size());
+            for (LoadEntry entry : heap) {
+                if (pending.remove(entry.doctorId)) {
+                    ordered.add(entry);
+                }
+            }
+            for (UUID doctorId : pending) {
+                LoadEntry entry = current.get(doctorId);
+                if (entry != null) {
+                    ordered.add(entry);
+                }
+            }
+            return ordered;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.healthcare.mvp.appointment.assign;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * Short-lived in-memory holds on doctor slots between choosing a slot and
+ * committing the appointment, so two concurrent auto-assignments on this node
+ * never pick the same place. Holds on one doctor are taken atomically under
+ * that doctor's monitor; cross-node safety comes from the row lock taken when
+ * the booking is confirmed.
+ */
+@Component
+public class SlotReservations {
+
+    private final Map<UUID, Map<LocalDateTime, Integer>> held = new ConcurrentHashMap<>();
+
+    /**
+     * Places currently held on the doctor's slot
+     */
+    public int heldAt(UUID doctorId, LocalDateTime slotStart) {
+        Map<LocalDateTime, Integer> slots = held.get(doctorId);
+        return slots == null ? 0 : slots.getOrDefault(slotStart, 0);
+    }
+
+    /**
+     * Hold one place on every slot if each still has room; freeBeforeHolds gives a
+     * slot's capacity minus committed bookings. Returns null when any slot is full.
+     */
+    public Reservation tryReserve(UUID doctorId, List<LocalDateTime> slotStarts,
+                                  ToIntFunction<LocalDateTime> freeBeforeHolds) {
+        Map<LocalDateTime, Integer> slots = held.computeIfAbsent(doctorId, id -> new ConcurrentHashMap<>());
+        synchronized (slots) {
+            for (LocalDateTime slotStart : slotStarts) {
+                if (freeBeforeHolds.applyAsInt(slotStart) - slots.getOrDefault(slotStart, 0) <= 0) {
+                    return null;
+                }
+            }
+            slotStarts.forEach(slotStart -> slots.merge(slotStart, 1, Integer::sum));
+            return new Reservation(doctorId, List.copyOf(slotStarts));
+        }
+    }
+
+    /**
+     * Drop the holds, whether the booking was confirmed or abandoned
+     */
+    public void release(Reservation reservation) {
+        Map<LocalDateTime, Integer> slots = held.get(reservation.getDoctorId());
+        if (slots == null) {
+            return;
+        }
+        synchronized (slots) {
+            reservation.getSlotStarts().forEach(slotStart ->
+                    slots.computeIfPresent(slotStart, (key, count) -> count > 1 ? count - 1 : null));
+        }
+    }
+
+    public static final class Reservation {
+        private final UUID doctorId;
+        private final List<LocalDateTime> slotStarts;
+
+        Reservation(UUID doctorId, List<LocalDateTime> slotStarts) {
+            this.doctorId = doctorId;
+            this.slotStarts = slotStarts;
+        }
+
+        public UUID getDoctorId() {
+            return doctorId;
+        }
+
+        public List<LocalDateTime> getSlotStarts() {
+            return slotStarts;
+        }
+    }
+}
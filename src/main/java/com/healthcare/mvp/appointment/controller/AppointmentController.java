@@ -1,7 +1,10 @@
 package com.healthcare.mvp.appointment.controller;
 
 import com.healthcare.mvp.appointment.dto.AppointmentDto;
+import com.healthcare.mvp.appointment.dto.AutoAssignRequest;
+import com.healthcare.mvp.appointment.dto.AutoAssignResultDto;
 import com.healthcare.mvp.appointment.dto.CreateAppointmentRequest;
+import com.healthcare.mvp.appointment.service.AppointmentAutoAssignService;
 import com.healthcare.mvp.appointment.service.AppointmentService;
 import com.healthcare.mvp.shared.dto.BaseResponse;
 import io.swagger.v3.oas.annotations.Operation;
@@ -23,6 +26,7 @@ import java.util.UUID;
 public class AppointmentController {
     
     private final AppointmentService appointmentService;
+    private final AppointmentAutoAssignService autoAssignService;
     
     /**
      * Book new appointment - Hospital Admin, Receptionist, or Patient
@@ -36,6 +40,19 @@ public class AppointmentController {
         return ResponseEntity.ok(BaseResponse.success("Appointment booked successfully", appointment));
     }
     
+    /**
+     * Auto-assign a walk-in to the least-loaded free doctor - Hospital Admin or Receptionist
+     */
+    @PostMapping("/auto-assign")
+    @Operation(summary = "Auto-assign Walk-in",
+            description = "Book the earliest free slot in the window with the least-loaded doctor of the specialization")
+    @PreAuthorize("hasRole('HOSPITAL_ADMIN') or hasRole('RECEPTIONIST')")
+    public ResponseEntity<BaseResponse<AutoAssignResultDto>> autoAssign(
+            @Valid @RequestBody AutoAssignRequest request) {
+        AutoAssignResultDto result = autoAssignService.autoAssign(request);
+        return ResponseEntity.ok(BaseResponse.success("Walk-in assigned successfully", result));
+    }
+    
     /**
      * Get all appointments for hospital - Hospital Admin only
      */
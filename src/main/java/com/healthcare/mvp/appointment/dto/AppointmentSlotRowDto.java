@@ -0,0 +1,22 @@
+package com.healthcare.mvp.appointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Booked time of one appointment. JPQL constructor projection behind
+ * AppointmentRepository.findBookedSlotRows; argument order must match that query.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentSlotRowDto {
+
+    private UUID doctorId;
+    private LocalDateTime appointmentDateTime;
+    private Integer durationMinutes;
+}
@@ -0,0 +1,56 @@
+package com.healthcare.mvp.appointment.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Walk-in booking: the doctor is chosen by the system within the given time window
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AutoAssignRequest {
+
+    @NotNull(message = "Hospital ID is required")
+    private UUID hospitalId;
+
+    @NotNull(message = "Patient ID is required")
+    private UUID patientId;
+
+    @NotBlank(message = "Specialization is required")
+    private String specialization;
+
+    @NotNull(message = "Window start is required")
+    private LocalDateTime windowStart;
+
+    @NotNull(message = "Window end is required")
+    private LocalDateTime windowEnd;
+
+    @Min(value = 15, message = "Appointment duration must be at least 15 minutes")
+    @Max(value = 240, message = "Appointment duration cannot exceed 4 hours")
+    @Builder.Default
+    private Integer durationMinutes = 15;
+
+    @Pattern(regexp = "^(CONSULTATION|FOLLOW_UP|EMERGENCY|CHECKUP|PROCEDURE|SURGERY)$",
+             message = "Appointment type must be one of: CONSULTATION, FOLLOW_UP, EMERGENCY, CHECKUP, PROCEDURE, SURGERY")
+    @Builder.Default
+    private String appointmentType = "CONSULTATION";
+
+    @Size(max = 500, message = "Chief complaint must not exceed 500 characters")
+    private String chiefComplaint;
+
+    @Builder.Default
+    private Boolean isEmergency = false;
+}
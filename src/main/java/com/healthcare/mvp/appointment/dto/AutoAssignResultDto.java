@@ -0,0 +1,23 @@
+package com.healthcare.mvp.appointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AutoAssignResultDto {
+
+    private AppointmentDto appointment;
+    private UUID doctorId;
+    private String doctorName;
+    private LocalDateTime slotStart;
+    private int doctorLoad;
+    private int candidatesConsidered;
+}
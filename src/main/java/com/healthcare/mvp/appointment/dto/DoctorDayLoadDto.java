@@ -0,0 +1,20 @@
+package com.healthcare.mvp.appointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Booked appointment count of one doctor on one day. JPQL constructor projection
+ * behind AppointmentRepository.countBookedByDoctor; argument order must match that query.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DoctorDayLoadDto {
+
+    private UUID doctorId;
+    private Long booked;
+}
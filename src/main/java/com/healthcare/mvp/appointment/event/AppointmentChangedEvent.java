@@ -0,0 +1,26 @@
+package com.healthcare.mvp.appointment.event;
+
+import com.healthcare.mvp.appointment.entity.Appointment;
+import com.healthcare.mvp.appointment.entity.Appointment.AppointmentStatus;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published by AppointmentService whenever an appointment is booked or changes status.
+ * previousStatus is null for a new booking.
+ */
+@Getter
+@RequiredArgsConstructor
+public class AppointmentChangedEvent {
+
+    private final Appointment appointment;
+    private final AppointmentStatus previousStatus;
+
+    public static AppointmentChangedEvent booked(Appointment appointment) {
+        return new AppointmentChangedEvent(appointment, null);
+    }
+
+    public static AppointmentChangedEvent statusChanged(Appointment appointment, AppointmentStatus previousStatus) {
+        return new AppointmentChangedEvent(appointment, previousStatus);
+    }
+}
@@ -1,14 +1,18 @@
 package com.healthcare.mvp.appointment.repository;
 
+import com.healthcare.mvp.appointment.dto.AppointmentSlotRowDto;
+import com.healthcare.mvp.appointment.dto.DoctorDayLoadDto;
 import com.healthcare.mvp.appointment.entity.Appointment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -132,4 +136,63 @@ public interface AppointmentRepository extends JpaRepository<Appointment, UUID>
     // Emergency appointments
     @Query("SELECT a FROM Appointment a WHERE a.hospitalId = :hospitalId AND a.isEmergency = true AND a.isActive = true ORDER BY a.appointmentDateTime")
     List<Appointment> findEmergencyAppointmentsByHospital(@Param("hospitalId") UUID hospitalId);
+
+    // Patient timeline - keyset page of appointments older than (before, beforeId), newest first
+    @Query("SELECT a FROM Appointment a WHERE a.hospitalId = :hospitalId AND a.patientId = :patientId AND a.isActive = true " +
+            "AND (a.appointmentDateTime < :before OR (a.appointmentDateTime = :before AND a.appointmentId < :beforeId)) " +
+            "ORDER BY a.appointmentDateTime DESC, a.appointmentId DESC")
+    List<Appointment> findPatientTimelinePage(@Param("hospitalId") UUID hospitalId,
+                                              @Param("patientId") UUID patientId,
+                                              @Param("before") LocalDateTime before,
+                                              @Param("beforeId") UUID beforeId,
+                                              Pageable pageable);
+
+    /**
+     * Patient merge - move up to {@code chunkSize} appointments from one patient to another
+     */
+    @Modifying
+    @Query(value = "UPDATE appointment SET patient_id = :survivorId, version = COALESCE(version, 0) + 1, updated_date = NOW() " +
+            "WHERE appointment_id IN (SELECT appointment_id FROM appointment WHERE patient_id = :loserId LIMIT :chunkSize)", nativeQuery = true)
+    int repointPatientChunk(@Param("loserId") UUID loserId,
+                            @Param("survivorId") UUID survivorId,
+                            @Param("chunkSize") int chunkSize);
+
+    /**
+     * Cascade of a patient deactivation - cancel and soft-deactivate the patients' future open appointments
+     */
+    @Modifying
+    @Query("UPDATE Appointment a SET a.isActive = false, a.status = :cancelled, a.cancellationReason = :reason, " +
+            "a.version = COALESCE(a.version, 0) + 1, a.updatedDate = :now " +
+            "WHERE a.hospitalId = :hospitalId AND a.patientId IN :patientIds AND a.isActive = true " +
+            "AND a.appointmentDateTime > :now " +
+            "AND a.status IN :openStatuses")
+    int cancelFutureAppointmentsForPatients(@Param("hospitalId") UUID hospitalId,
+                                            @Param("patientIds") Collection<UUID> patientIds,
+                                            @Param("openStatuses") Collection<Appointment.AppointmentStatus> openStatuses,
+                                            @Param("cancelled") Appointment.AppointmentStatus cancelled,
+                                            @Param("reason") String reason,
+                                            @Param("now") LocalDateTime now);
+
+    /**
+     * Booked appointments of the given doctors starting in [from, to), for slot occupancy checks
+     */
+    @Query("SELECT new com.healthcare.mvp.appointment.dto.AppointmentSlotRowDto(" +
+           "a.doctorId, a.appointmentDateTime, a.durationMinutes) FROM Appointment a " +
+           "WHERE a.doctorId IN :doctorIds AND a.isActive = true AND a.status IN :statuses " +
+           "AND a.appointmentDateTime >= :from AND a.appointmentDateTime < :to")
+    List<AppointmentSlotRowDto> findBookedSlotRows(@Param("doctorIds") Collection<UUID> doctorIds,
+                                                   @Param("statuses") Collection<Appointment.AppointmentStatus> statuses,
+                                                   @Param("from") LocalDateTime from,
+                                                   @Param("to") LocalDateTime to);
+
+    /**
+     * Booked appointment counts per doctor of a hospital in [from, to), for load balancing
+     */
+    @Query("SELECT new com.healthcare.mvp.appointment.dto.DoctorDayLoadDto(a.doctorId, COUNT(a)) FROM Appointment a " +
+           "WHERE a.hospitalId = :hospitalId AND a.isActive = true AND a.status IN :statuses " +
+           "AND a.appointmentDateTime >= :from AND a.appointmentDateTime < :to GROUP BY a.doctorId")
+    List<DoctorDayLoadDto> countBookedByDoctor(@Param("hospitalId") UUID hospitalId,
+                                               @Param("statuses") Collection<Appointment.AppointmentStatus> statuses,
+                                               @Param("from") LocalDateTime from,
+                                               @Param("to") LocalDateTime to);
 }
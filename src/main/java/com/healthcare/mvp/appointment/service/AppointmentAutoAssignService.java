@@ -0,0 +1,237 @@
+package com.healthcare.mvp.appointment.service;
+
+import com.healthcare.mvp.appointment.assign.DoctorLoadTracker;
+import com.healthcare.mvp.appointment.assign.DoctorLoadTracker.LoadEntry;
+import com.healthcare.mvp.appointment.assign.SlotReservations;
+import com.healthcare.mvp.appointment.assign.SlotReservations.Reservation;
+import com.healthcare.mvp.appointment.dto.AppointmentDto;
+import com.healthcare.mvp.appointment.dto.AppointmentSlotRowDto;
+import com.healthcare.mvp.appointment.dto.AutoAssignRequest;
+import com.healthcare.mvp.appointment.dto.AutoAssignResultDto;
+import com.healthcare.mvp.appointment.dto.CreateAppointmentRequest;
+import com.healthcare.mvp.appointment.entity.Appointment.AppointmentStatus;
+import com.healthcare.mvp.appointment.repository.AppointmentRepository;
+import com.healthcare.mvp.doctor.availability.DoctorAvailabilityCalendar;
+import com.healthcare.mvp.doctor.availability.DoctorAvailabilityIndex;
+import com.healthcare.mvp.doctor.dto.DoctorAvailabilityRowDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static com.healthcare.mvp.doctor.availability.DoctorAvailabilityCalendar.SLOT_MINUTES;
+
+/**
+ * Walk-in auto-assignment: picks the doctor of the requested specialization with
+ * the earliest free slot in the window, breaking ties by the lowest booked load.
+ *
+ * Doctors are scanned least-loaded first (DoctorLoadTracker), so the scan stops
+ * as soon as enough doctors are free at the very first slot. The chosen slot is
+ * held in memory (SlotReservations) and then booked through AppointmentService,
+ * which locks the doctor row and re-counts the slot's bookings before inserting;
+ * if the slot was taken meanwhile the next candidate is tried.
+ *
+ * Not @Transactional: only the booking runs in a transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentAutoAssignService {
+
+    private static final int MAX_CONFIRM_ATTEMPTS = 3;
+    private static final List<AppointmentStatus> BOOKED_STATUSES =
+            List.of(AppointmentStatus.SCHEDULED, AppointmentStatus.CONFIRMED, AppointmentStatus.IN_PROGRESS);
+
+    private final AppointmentService appointmentService;
+    private final AppointmentRepository appointmentRepository;
+    private final DoctorAvailabilityIndex availabilityIndex;
+    private final DoctorLoadTracker loadTracker;
+    private final SlotReservations slotReservations;
+
+    @Value("${app.doctor.availability.max-appointment-minutes:240}")
+    private int maxAppointmentMinutes;
+
+    /**
+     * Choose a doctor and book the earliest free slot in the window
+     */
+    public AutoAssignResultDto autoAssign(AutoAssignRequest request) {
+        if (!availabilityIndex.isReady()) {
+            throw new RuntimeException("Doctor availability is still loading, please retry shortly");
+        }
+        if (!request.getWindowStart().isBefore(request.getWindowEnd())) {
+            throw new RuntimeException("Window start must be before window end");
+        }
+        if (!request.getWindowStart().toLocalDate().equals(request.getWindowEnd().minusNanos(1).toLocalDate())) {
+            throw new RuntimeException("Time window must fall within a single day");
+        }
+
+        int duration = request.getDurationMinutes() == null ? SLOT_MINUTES : request.getDurationMinutes();
+        int slotsNeeded = (duration + SLOT_MINUTES - 1) / SLOT_MINUTES;
+        LocalDateTime firstSlot = firstSlot(request.getWindowStart());
+        if (!firstSlot.isBefore(request.getWindowEnd())) {
+            throw new RuntimeException("The requested window has already passed");
+        }
+
+        List<DoctorAvailabilityRowDto> roster = availabilityIndex.roster(request.getHospitalId(), request.getSpecialization());
+        if (roster.isEmpty()) {
+            throw new RuntimeException("No active " + request.getSpecialization() + " doctors in this hospital");
+        }
+        Map<UUID, DoctorAvailabilityRowDto> rosterById = roster.stream()
+                .collect(Collectors.toMap(DoctorAvailabilityRowDto::getDoctorId, row -> row));
+        Map<UUID, DoctorAvailabilityCalendar> calendars = availabilityIndex.calendarsFor(roster, firstSlot.toLocalDate());
+        Map<UUID, Map<LocalDateTime, Integer>> booked = bookedBySlot(
+                rosterById.keySet(), firstSlot, request.getWindowEnd().plusMinutes(duration));
+
+        // Scan least-loaded first; nobody can beat a doctor free at the first slot
+        List<Candidate> candidates = new ArrayList<>();
+        int freeAtFirstSlot = 0;
+        int considered = 0;
+        for (LoadEntry entry : loadTracker.leastLoaded(
+                request.getHospitalId(), request.getSpecialization(), firstSlot.toLocalDate(), roster)) {
+            considered++;
+            UUID doctorId = entry.getDoctorId();
+            LocalDateTime slot = earliestFreeSlot(calendars.get(doctorId), booked.getOrDefault(doctorId, Map.of()),
+                    doctorId, firstSlot, request.getWindowEnd(), slotsNeeded);
+            if (slot == null) {
+                continue;
+            }
+            candidates.add(new Candidate(rosterById.get(doctorId), entry.getLoad(), slot));
+            if (slot.equals(firstSlot) && ++freeAtFirstSlot >= MAX_CONFIRM_ATTEMPTS) {
+                break;
+            }
+        }
+        // Stable sort keeps the load order among doctors free at the same time
+        candidates.sort(Comparator.comparing((Candidate candidate) -> candidate.slotStart));
+
+        int attempts = 0;
+        for (Candidate candidate : candidates) {
+            if (attempts >= MAX_CONFIRM_ATTEMPTS) {
+                break;
+            }
+            UUID doctorId = candidate.doctor.getDoctorId();
+            DoctorAvailabilityCalendar calendar = calendars.get(doctorId);
+            Map<LocalDateTime, Integer> doctorBooked = booked.getOrDefault(doctorId, Map.of());
+
+            Reservation reservation = slotReservations.tryReserve(doctorId, slotStarts(candidate.slotStart, slotsNeeded),
+                    slot -> calendar.capacityAt(slot) - doctorBooked.getOrDefault(slot, 0));
+            if (reservation == null) {
+                continue; // another receptionist on this node holds it
+            }
+            attempts++;
+            try {
+                AppointmentDto appointment = confirm(request, candidate, duration);
+                log.info("Auto-assigned walk-in for patient {} to doctor {} at {} (load {})",
+                        request.getPatientId(), doctorId, candidate.slotStart, candidate.load);
+                return AutoAssignResultDto.builder()
+                        .appointment(appointment)
+                        .doctorId(doctorId)
+                        .doctorName("Dr. " + candidate.doctor.getFirstName() + " " + candidate.doctor.getLastName())
+                        .slotStart(candidate.slotStart)
+                        .doctorLoad(candidate.load)
+                        .candidatesConsidered(considered)
+                        .build();
+            } catch (AppointmentService.SlotUnavailableException e) {
+                log.debug("Slot {} of doctor {} was taken during confirmation", candidate.slotStart, doctorId);
+            } finally {
+                slotReservations.release(reservation);
+            }
+        }
+
+        throw new RuntimeException("No " + request.getSpecialization() + " doctor is free in the requested window");
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    /**
+     * Book the candidate slot; bookAppointment locks the doctor and re-checks the
+     * slot against committed bookings
+     */
+    private AppointmentDto confirm(AutoAssignRequest request, Candidate candidate, int duration) {
+        CreateAppointmentRequest booking = new CreateAppointmentRequest();
+        booking.setHospitalId(request.getHospitalId());
+        booking.setPatientId(request.getPatientId());
+        booking.setDoctorId(candidate.doctor.getDoctorId());
+        booking.setAppointmentDateTime(candidate.slotStart);
+        booking.setDurationMinutes(duration);
+        booking.setAppointmentType(request.getAppointmentType());
+        booking.setChiefComplaint(request.getChiefComplaint());
+        booking.setIsEmergency(request.getIsEmergency());
+        return appointmentService.bookAppointment(booking);
+    }
+
+    private LocalDateTime earliestFreeSlot(DoctorAvailabilityCalendar calendar, Map<LocalDateTime, Integer> booked,
+                                           UUID doctorId, LocalDateTime firstSlot, LocalDateTime windowEnd,
+                                           int slotsNeeded) {
+        for (LocalDateTime start = firstSlot; start.isBefore(windowEnd); start = start.plusMinutes(SLOT_MINUTES)) {
+            boolean free = true;
+            for (LocalDateTime slot : slotStarts(start, slotsNeeded)) {
+                int room = calendar.capacityAt(slot) - booked.getOrDefault(slot, 0)
+                        - slotReservations.heldAt(doctorId, slot);
+                if (room <= 0) {
+                    free = false;
+                    break;
+                }
+            }
+            if (free) {
+                return start;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Committed bookings per doctor per slot overlapping [from, to)
+     */
+    private Map<UUID, Map<LocalDateTime, Integer>> bookedBySlot(Collection<UUID> doctorIds,
+                                                                LocalDateTime from, LocalDateTime to) {
+        Map<UUID, Map<LocalDateTime, Integer>> booked = new HashMap<>();
+        for (AppointmentSlotRowDto appointment : appointmentRepository.findBookedSlotRows(
+                doctorIds, BOOKED_STATUSES, from.minusMinutes(maxAppointmentMinutes), to)) {
+            int minutes = appointment.getDurationMinutes() == null ? SLOT_MINUTES : appointment.getDurationMinutes();
+            LocalDateTime end = appointment.getAppointmentDateTime().plusMinutes(minutes);
+            Map<LocalDateTime, Integer> slots = booked.computeIfAbsent(appointment.getDoctorId(), id -> new HashMap<>());
+            for (LocalDateTime slot = DoctorAvailabilityCalendar.slotStart(appointment.getAppointmentDateTime());
+                 slot.isBefore(end); slot = slot.plusMinutes(SLOT_MINUTES)) {
+                if (!slot.isBefore(from) && slot.isBefore(to)) {
+                    slots.merge(slot, 1, Integer::sum);
+                }
+            }
+        }
+        return booked;
+    }
+
+    private static LocalDateTime firstSlot(LocalDateTime windowStart) {
+        LocalDateTime earliest = windowStart.isAfter(LocalDateTime.now()) ? windowStart : LocalDateTime.now();
+        return DoctorAvailabilityCalendar.nextSlotStart(earliest);
+    }
+
+    private static List<LocalDateTime> slotStarts(LocalDateTime start, int slotsNeeded) {
+        List<LocalDateTime> slots = new ArrayList<>(slotsNeeded);
+        for (int i = 0; i < slotsNeeded; i++) {
+            slots.add(start.plusMinutes((long) i * SLOT_MINUTES));
+        }
+        return slots;
+    }
+
+    private static final class Candidate {
+        private final DoctorAvailabilityRowDto doctor;
+        private final int load;
+        private final LocalDateTime slotStart;
+
+        Candidate(DoctorAvailabilityRowDto doctor, int load, LocalDateTime slotStart) {
+            this.doctor = doctor;
+            this.load = load;
+            this.slotStart = slotStart;
+        }
+    }
+}
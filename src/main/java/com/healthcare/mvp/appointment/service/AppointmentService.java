@@ -1,75 +1,89 @@
 package com.healthcare.mvp.appointment.service;
 
 import com.healthcare.mvp.appointment.dto.AppointmentDto;
+import com.healthcare.mvp.appointment.dto.AppointmentSlotRowDto;
 import com.healthcare.mvp.appointment.dto.CreateAppointmentRequest;
 import com.healthcare.mvp.appointment.entity.Appointment;
+import com.healthcare.mvp.appointment.event.AppointmentChangedEvent;
 import com.healthcare.mvp.appointment.repository.AppointmentRepository;
+import com.healthcare.mvp.doctor.availability.DoctorAvailabilityCalendar;
+import com.healthcare.mvp.doctor.availability.DoctorAvailabilityIndex;
+import com.healthcare.mvp.doctor.dto.DoctorAvailabilityRowDto;
 import com.healthcare.mvp.doctor.entity.Doctor;
 import com.healthcare.mvp.doctor.repository.DoctorRepository;
-import com.healthcare.mvp.hospital.entity.Hospital;
-import com.healthcare.mvp.hospital.repository.HospitalRepository;
+import com.healthcare.mvp.hospital.cache.HospitalReferenceCache;
+import com.healthcare.mvp.hospital.dto.HospitalReferenceDto;
 import com.healthcare.mvp.patient.entity.Patient;
 import com.healthcare.mvp.patient.repository.PatientRepository;
+import com.healthcare.mvp.patient.service.PatientPhiProtector;
+import com.healthcare.mvp.shared.exception.BusinessException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import static com.healthcare.mvp.doctor.availability.DoctorAvailabilityCalendar.SLOT_MINUTES;
+
 @Service
 @Transactional
 @RequiredArgsConstructor
 @Slf4j
 public class AppointmentService {
-    
+
+    private static final List<Appointment.AppointmentStatus> BOOKED_STATUSES = List.of(
+            Appointment.AppointmentStatus.SCHEDULED, Appointment.AppointmentStatus.CONFIRMED,
+            Appointment.AppointmentStatus.IN_PROGRESS);
+
     private final AppointmentRepository appointmentRepository;
     private final PatientRepository patientRepository;
-    private final HospitalRepository hospitalRepository;
-    // TODO: Add DoctorRepository when it's available
-    // private final DoctorRepository doctorRepository;
+    private final DoctorRepository doctorRepository;
+    private final DoctorAvailabilityIndex availabilityIndex;
+    private final HospitalReferenceCache hospitalReferenceCache;
+    private final PatientPhiProtector phiProtector;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.doctor.availability.max-appointment-minutes:240}")
+    private int maxAppointmentMinutes;
 
     /**
-     * Book a new appointment
+     * Book a new appointment. The doctor row is locked and every slot the
+     * appointment covers is checked against the doctor's capacity and committed
+     * bookings before inserting, so concurrent bookings cannot overfill a slot.
      */
     public AppointmentDto bookAppointment(CreateAppointmentRequest request) {
         log.info("Booking appointment for patient: {} with doctor: {}", request.getPatientId(), request.getDoctorId());
 
         // Validate hospital exists
-        Hospital hospital = hospitalRepository.findById(request.getHospitalId())
-                .orElseThrow(() -> new RuntimeException("Hospital not found with ID: " + request.getHospitalId()));
+        HospitalReferenceDto hospital = hospitalReferenceCache.require(request.getHospitalId());
 
         // Validate patient exists
         Patient patient = patientRepository.findById(request.getPatientId())
                 .orElseThrow(() -> new RuntimeException("Patient not found with ID: " + request.getPatientId()));
 
-        // TODO: Uncomment when DoctorRepository is available
-        // Validate doctor exists
-        // Doctor doctor = doctorRepository.findById(request.getDoctorId())
-        //         .orElseThrow(() -> new RuntimeException("Doctor not found with ID: " + request.getDoctorId()));
-
-        // TODO: Uncomment when conflict detection query is implemented
-        // Check for conflicting appointments
-        // boolean hasConflict = appointmentRepository.existsConflictingAppointment(
-        //         request.getDoctorId(),
-        //         request.getAppointmentDateTime(),
-        //         null
-        // );
-        //
-        // if (hasConflict) {
-        //     throw new RuntimeException("Doctor is not available at the requested time");
-        // }
-
         // Validate appointment time is in the future
         if (request.getAppointmentDateTime().isBefore(LocalDateTime.now())) {
             throw new RuntimeException("Appointment cannot be scheduled in the past");
         }
+
+        // Serialize bookings of this doctor, then check the slots against committed bookings
+        Doctor doctor = doctorRepository.lockByDoctorId(request.getDoctorId())
+                .filter(locked -> Boolean.TRUE.equals(locked.getIsActive()))
+                .filter(locked -> hospital.getHospitalId().equals(locked.getHospitalId()))
+                .orElseThrow(() -> new SlotUnavailableException("Doctor is not available in this hospital"));
+        requireFreeSlots(doctor.getDoctorId(), request.getAppointmentDateTime(), request.getDurationMinutes());
         
         // Create appointment entity
         Appointment appointment = Appointment.builder()
@@ -95,6 +109,7 @@ public class AppointmentService {
         
         // Save appointment
         Appointment savedAppointment = appointmentRepository.save(appointment);
+        eventPublisher.publishEvent(AppointmentChangedEvent.booked(savedAppointment));
         log.info("Appointment booked successfully with ID: {}", savedAppointment.getAppointmentId());
         
         return convertToDto(savedAppointment);
@@ -107,7 +122,7 @@ public class AppointmentService {
         log.debug("Fetching appointments for hospital: {}", hospitalId);
         
         // Validate hospital exists
-        if (!hospitalRepository.existsById(hospitalId)) {
+        if (!hospitalReferenceCache.exists(hospitalId)) {
             throw new RuntimeException("Hospital not found with ID: " + hospitalId);
         }
         
@@ -169,6 +184,7 @@ public class AppointmentService {
         }
 
         // Update appointment
+        Appointment.AppointmentStatus previousStatus = appointment.getStatus();
         appointment.setStatus(appointmentStatus);
         appointment.setUpdatedBy(getCurrentUserId());
 
@@ -178,6 +194,7 @@ public class AppointmentService {
         }
         
         Appointment savedAppointment = appointmentRepository.save(appointment);
+        eventPublisher.publishEvent(AppointmentChangedEvent.statusChanged(savedAppointment, previousStatus));
         log.info("Appointment status updated successfully: {}", savedAppointment.getAppointmentId());
 
         return convertToDto(savedAppointment);
@@ -202,11 +219,13 @@ public class AppointmentService {
         }
 
         // Update appointment status to cancelled
+        Appointment.AppointmentStatus previousStatus = appointment.getStatus();
         appointment.setStatus(Appointment.AppointmentStatus.CANCELLED);
         appointment.setCancellationReason(reason);
         appointment.setUpdatedBy(getCurrentUserId());
 
         appointmentRepository.save(appointment);
+        eventPublisher.publishEvent(AppointmentChangedEvent.statusChanged(appointment, previousStatus));
         log.info("Appointment cancelled successfully: {}", appointment.getAppointmentId());
     }
 
@@ -228,7 +247,7 @@ public class AppointmentService {
         log.debug("Fetching appointments for hospital: {} between {} and {}", hospitalId, startDate, endDate);
 
         // Validate hospital exists
-        if (!hospitalRepository.existsById(hospitalId)) {
+        if (!hospitalReferenceCache.exists(hospitalId)) {
             throw new RuntimeException("Hospital not found with ID: " + hospitalId);
         }
 
@@ -245,7 +264,7 @@ public class AppointmentService {
         log.debug("Fetching today's appointments for hospital: {}", hospitalId);
 
         // Validate hospital exists
-        if (!hospitalRepository.existsById(hospitalId)) {
+        if (!hospitalReferenceCache.exists(hospitalId)) {
             throw new RuntimeException("Hospital not found with ID: " + hospitalId);
         }
 
@@ -320,6 +339,40 @@ public class AppointmentService {
     
     // ========================= HELPER METHODS =========================
 
+    /**
+     * Every slot the appointment covers must have room left under the doctor's
+     * calendar capacity; call with the doctor row locked
+     */
+    private void requireFreeSlots(UUID doctorId, LocalDateTime start, Integer durationMinutes) {
+        if (!availabilityIndex.isReady()) {
+            throw new RuntimeException("Doctor availability is still loading, please retry shortly");
+        }
+        DoctorAvailabilityRowDto row = availabilityIndex.row(doctorId);
+        if (row == null) {
+            throw new SlotUnavailableException("Doctor is not accepting appointments");
+        }
+        DoctorAvailabilityCalendar calendar = availabilityIndex.calendarsFor(List.of(row), start.toLocalDate()).get(doctorId);
+        LocalDateTime end = start.plusMinutes(durationMinutes == null ? SLOT_MINUTES : durationMinutes);
+
+        Map<LocalDateTime, Integer> committed = new HashMap<>();
+        for (AppointmentSlotRowDto booked : appointmentRepository.findBookedSlotRows(
+                List.of(doctorId), BOOKED_STATUSES, start.minusMinutes(maxAppointmentMinutes), end)) {
+            int minutes = booked.getDurationMinutes() == null ? SLOT_MINUTES : booked.getDurationMinutes();
+            LocalDateTime bookedEnd = booked.getAppointmentDateTime().plusMinutes(minutes);
+            for (LocalDateTime slot = DoctorAvailabilityCalendar.slotStart(booked.getAppointmentDateTime());
+                 slot.isBefore(bookedEnd); slot = slot.plusMinutes(SLOT_MINUTES)) {
+                committed.merge(slot, 1, Integer::sum);
+            }
+        }
+
+        for (LocalDateTime slot = DoctorAvailabilityCalendar.slotStart(start); slot.isBefore(end);
+             slot = slot.plusMinutes(SLOT_MINUTES)) {
+            if (calendar.capacityAt(slot) - committed.getOrDefault(slot, 0) <= 0) {
+                throw new SlotUnavailableException("Doctor is not available at " + slot);
+            }
+        }
+    }
+
     /**
      * Get current user ID (placeholder - implement proper user context)
      */
@@ -367,23 +420,18 @@ public class AppointmentService {
         dto.setUpdatedDate(OffsetDateTime.from(appointment.getUpdatedDate()));
         dto.setVersion(appointment.getVersion());
 
-        // Set names from relationships if loaded
-        if (appointment.getHospital() != null) {
-            dto.setHospitalName(appointment.getHospital().getHospitalName());
-        } else {
-            // Fetch hospital name separately
-            hospitalRepository.findById(appointment.getHospitalId())
-                    .ifPresent(hospital -> dto.setHospitalName(hospital.getHospitalName()));
-        }
+        // Hospital name from the reference cache; touching the lazy relationship would load it per row
+        dto.setHospitalName(hospitalReferenceCache.getName(appointment.getHospitalId()));
 
+        // Set names from relationships if loaded
         if (appointment.getPatient() != null) {
-            dto.setPatientName(appointment.getPatient().getFirstName() + " " + appointment.getPatient().getLastName());
+            dto.setPatientName(patientName(appointment.getPatient()));
             dto.setPatientMrn(appointment.getPatient().getMrn());
         } else {
             // Fetch patient name separately
             patientRepository.findById(appointment.getPatientId())
                     .ifPresent(patient -> {
-                        dto.setPatientName(patient.getFirstName() + " " + patient.getLastName());
+                        dto.setPatientName(patientName(patient));
                         dto.setPatientMrn(patient.getMrn());
                     });
         }
@@ -408,6 +456,13 @@ public class AppointmentService {
         return dto;
     }
     
+    /**
+     * Display name through the PHI protector, which decrypts when plaintext names are cleared
+     */
+    private String patientName(Patient patient) {
+        return phiProtector.firstName(patient) + " " + phiProtector.lastName(patient);
+    }
+
     /**
      * Validate appointment time
      */
@@ -441,4 +496,13 @@ public class AppointmentService {
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * The requested slot is closed or full; the auto-assigner tries its next candidate on this
+     */
+    static final class SlotUnavailableException extends BusinessException {
+        SlotUnavailableException(String message) {
+            super("SLOT_UNAVAILABLE", message, HttpStatus.CONFLICT);
+        }
+    }
 }
@@ -4,7 +4,7 @@ import com.healthcare.mvp.appointment.dto.AppointmentDto;
 import com.healthcare.mvp.billing.dto.BillingDto;
 import com.healthcare.mvp.business.dto.BusinessUserDto;
 import com.healthcare.mvp.notification.dto.NotificationDto;
-import com.healthcare.mvp.prescription.dto.PrescriptionDto;
+import com.healthcare.mvp.prescription.dto.PrescriptionSummaryDto;
 import com.healthcare.mvp.prescription.dto.UserFeedbackDto;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -21,7 +21,7 @@ import java.util.Map;
 public class DashboardDto {
     private List<AppointmentDto> appointments;
     private List<BillingDto> bills;
-    private List<PrescriptionDto> prescriptions;
+    private List<PrescriptionSummaryDto> prescriptions; // Most recent active, newest first
     private List<BusinessUserDto> users;
     private Map<String, Object> systemMetrics; // For SUPER_ADMIN
     private List<UserFeedbackDto> feedback; // For HOSPITAL_ADMIN, DOCTOR
@@ -4,10 +4,37 @@ import com.healthcare.mvp.billing.entity.Invoice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
 
 public interface InvoiceRepository extends JpaRepository<Invoice, UUID> {
     Page<Invoice> findByHospitalIdAndPatientIdAndIsActiveTrue(UUID hospitalId, UUID patientId, Pageable pageable);
     boolean existsByInvoiceIdAndHospitalIdAndIsActiveTrue(UUID invoiceId, UUID hospitalId);
-}
\ No newline at end of file
+
+    /**
+     * Patient timeline - keyset page of invoices older than (before, beforeId), newest first
+     */
+    @Query("SELECT i FROM Invoice i WHERE i.hospitalId = :hospitalId AND i.patientId = :patientId AND i.isActive = true " +
+            "AND (i.createdDate < :before OR (i.createdDate = :before AND i.invoiceId < :beforeId)) " +
+            "ORDER BY i.createdDate DESC, i.invoiceId DESC")
+    List<Invoice> findPatientTimelinePage(@Param("hospitalId") UUID hospitalId,
+                                          @Param("patientId") UUID patientId,
+                                          @Param("before") OffsetDateTime before,
+                                          @Param("beforeId") UUID beforeId,
+                                          Pageable pageable);
+
+    /**
+     * Patient merge - move up to {@code chunkSize} invoices from one patient to another
+     */
+    @Modifying
+    @Query(value = "UPDATE invoice SET patient_id = :survivorId, version = COALESCE(version, 0) + 1, updated_date = NOW() " +
+            "WHERE invoice_id IN (SELECT invoice_id FROM invoice WHERE patient_id = :loserId LIMIT :chunkSize)", nativeQuery = true)
+    int repointPatientChunk(@Param("loserId") UUID loserId,
+                            @Param("survivorId") UUID survivorId,
+                            @Param("chunkSize") int chunkSize);
+}
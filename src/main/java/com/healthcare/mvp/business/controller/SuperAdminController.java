@@ -3,12 +3,16 @@ package com.healthcare.mvp.business.controller;
 import com.healthcare.mvp.business.dto.BusinessUserDto;
 import com.healthcare.mvp.business.dto.CreateBusinessUserRequest;
 import com.healthcare.mvp.business.service.BusinessUserService;
+import com.healthcare.mvp.business.service.TenantShardService;
 import com.healthcare.mvp.shared.dto.BaseResponse;
+import com.healthcare.mvp.shared.dto.ShardSummaryDto;
+import com.healthcare.mvp.shared.dto.TenantMoveResultDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -22,6 +26,9 @@ public class SuperAdminController {
     
     @Autowired
     private BusinessUserService businessUserService;
+
+    @Autowired
+    private TenantShardService tenantShardService;
     
     /**
      * Initialize first Super Admin in database
@@ -97,6 +104,39 @@ public class SuperAdminController {
         return ResponseEntity.ok(BaseResponse.success("Tech Advisor deactivated successfully", "Deactivated"));
     }
 
+    /**
+     * Tenant shard overview
+     */
+    @GetMapping("/tenants/shards")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @Operation(summary = "Shard overview", description = "Moved tenants and patient, doctor and appointment totals per shard, queried on every shard")
+    public ResponseEntity<BaseResponse<List<ShardSummaryDto>>> getShardSummaries() {
+        List<ShardSummaryDto> shards = tenantShardService.getShardSummaries();
+        return ResponseEntity.ok(BaseResponse.success("Shard summaries retrieved successfully", shards));
+    }
 
+    /**
+     * Shard serving a hospital
+     */
+    @GetMapping("/tenants/{hospitalId}/shard")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @Operation(summary = "Get tenant shard", description = "Shard currently serving the hospital's data")
+    public ResponseEntity<BaseResponse<String>> getTenantShard(@PathVariable UUID hospitalId) {
+        String shard = tenantShardService.getTenantShard(hospitalId);
+        return ResponseEntity.ok(BaseResponse.success("Tenant shard retrieved successfully", shard));
+    }
 
-}
\ No newline at end of file
+    /**
+     * Move a hospital to another shard
+     */
+    @PostMapping("/tenants/{hospitalId}/move")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @Operation(summary = "Move tenant", description = "Copy the hospital's data to the target shard and switch it over online; writes are refused briefly during cutover")
+    public ResponseEntity<BaseResponse<TenantMoveResultDto>> moveTenant(
+            @PathVariable UUID hospitalId,
+            @RequestParam String targetShard,
+            @RequestParam(defaultValue = "false") boolean purgeSource) {
+        TenantMoveResultDto result = tenantShardService.moveTenant(hospitalId, targetShard, purgeSource);
+        return ResponseEntity.ok(BaseResponse.success("Tenant moved successfully", result));
+    }
+}
@@ -4,6 +4,7 @@ import com.healthcare.mvp.business.dto.BusinessUserDto;
 import com.healthcare.mvp.business.dto.CreateBusinessUserRequest;
 import com.healthcare.mvp.business.entity.BusinessUser;
 import com.healthcare.mvp.business.repository.BusinessUserRepository;
+import com.healthcare.mvp.hospital.dto.PartnerHospitalCountDto;
 import com.healthcare.mvp.hospital.repository.HospitalRepository;
 import com.healthcare.mvp.shared.constants.BusinessRole;
 import lombok.RequiredArgsConstructor;
@@ -321,8 +322,11 @@ public class BusinessUserService {
 //        metrics.put("activeUsers", businessUserRepository.countByIsActive(true));
         metrics.put("superAdminCount", businessUserRepository.countActiveUsersByRole(BusinessRole.SUPER_ADMIN));
         metrics.put("techAdvisorCount", businessUserRepository.countActiveUsersByRole(BusinessRole.TECH_ADVISOR));
-        metrics.put("totalHospitals", hospitalRepository.count());
-        metrics.put("activeHospitals", hospitalRepository.countByIsActive(true));
+        // One grouped query yields the per-partner breakdown and the hospital totals
+        List<PartnerHospitalCountDto> hospitalsByPartner = hospitalRepository.countHospitalsByPartner();
+        metrics.put("totalHospitals", hospitalsByPartner.stream().mapToLong(PartnerHospitalCountDto::getTotalHospitals).sum());
+        metrics.put("activeHospitals", hospitalsByPartner.stream().mapToLong(PartnerHospitalCountDto::getActiveHospitals).sum());
+        metrics.put("hospitalsByPartner", hospitalsByPartner);
         return metrics;
     }
 
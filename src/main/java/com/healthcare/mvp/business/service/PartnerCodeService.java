@@ -2,6 +2,8 @@ package com.healthcare.mvp.business.service;
 
 import com.healthcare.mvp.business.repository.BusinessUserRepository;
 import com.healthcare.mvp.shared.constants.BusinessRole;
+import com.healthcare.mvp.shared.sequence.CodeAllocator;
+import com.healthcare.mvp.shared.sequence.CodeSequence;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -14,6 +16,7 @@ import java.time.format.DateTimeFormatter;
 public class PartnerCodeService {
 
     private final BusinessUserRepository businessUserRepository;
+    private final CodeAllocator codeAllocator;
     private static final String CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
     private static final SecureRandom random = new SecureRandom();
 
@@ -32,36 +35,19 @@ public class PartnerCodeService {
     }
 
     /**
-     * Generate hospital partner code
+     * Generate hospital code, e.g. HSPCGH00042. The sequence number alone makes it unique.
      */
     public String generateHospitalCode(String hospitalName) {
-        String prefix = "HSP";
-        String nameCode = extractNameCode(hospitalName);
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("MMdd"));
-        String randomPart = generateRandomCode(3);
-
-        String baseCode = prefix + nameCode + timestamp + randomPart;
-        String uniqueCode = baseCode;
-        int counter = 1;
-
-        // Ensure uniqueness (you'll need to check against hospital repository)
-        while (isCodeTaken(uniqueCode)) {
-            uniqueCode = baseCode + String.format("%02d", counter);
-            counter++;
-        }
-
-        return uniqueCode;
+        String prefix = "HSP" + extractNameCode(hospitalName);
+        return codeAllocator.nextCode(CodeSequence.HOSPITAL_CODE, prefix, 5);
     }
 
     /**
-     * Generate appointment reference code
+     * Generate appointment reference code, e.g. APT20250314000123. The sequence number alone makes it unique.
      */
     public String generateAppointmentCode() {
-        String prefix = "APT";
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        String randomPart = generateRandomCode(4);
-
-        return prefix + timestamp + randomPart;
+        String prefix = "APT" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+        return codeAllocator.nextCode(CodeSequence.APPOINTMENT_CODE, prefix, 6);
     }
 
     /**
@@ -120,19 +106,6 @@ public class PartnerCodeService {
         return code.toString();
     }
 
-    /**
-     * Check if code is already taken (placeholder - implement based on your needs)
-     */
-    private boolean isCodeTaken(String code) {
-        // For business users
-        if (businessUserRepository.existsByPartnerCode(code)) {
-            return true;
-        }
-
-        // Add checks for hospital codes, appointment codes, etc. as needed
-        return false;
-    }
-
     /**
      * Validate partner code format
      */
@@ -0,0 +1,74 @@
+package com.healthcare.mvp.business.service;
+
+import com.healthcare.mvp.appointment.repository.AppointmentRepository;
+import com.healthcare.mvp.doctor.repository.DoctorRepository;
+import com.healthcare.mvp.hospital.cache.HospitalReferenceCache;
+import com.healthcare.mvp.patient.repository.PatientRepository;
+import com.healthcare.mvp.shared.dto.ShardSummaryDto;
+import com.healthcare.mvp.shared.dto.TenantMoveResultDto;
+import com.healthcare.mvp.shared.tenant.TenantMover;
+import com.healthcare.mvp.shared.tenant.TenantShardDirectory;
+import com.healthcare.mvp.shared.tenant.TenantShardFanout;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Super-admin view of tenant shards and the tenant move tool.
+ *
+ * Not @Transactional: the overview runs one read-only transaction per shard
+ * through TenantShardFanout, and a move commits batch by batch across shards.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TenantShardService {
+
+    private final TenantShardFanout shardFanout;
+    private final TenantShardDirectory shardDirectory;
+    private final TenantMover tenantMover;
+    private final HospitalReferenceCache hospitalReferenceCache;
+    private final PatientRepository patientRepository;
+    private final DoctorRepository doctorRepository;
+    private final AppointmentRepository appointmentRepository;
+
+    /**
+     * Tenant, patient, doctor and appointment totals of every shard
+     */
+    public List<ShardSummaryDto> getShardSummaries() {
+        Map<String, Integer> tenants = shardDirectory.tenantCounts();
+        Map<String, ShardSummaryDto> summaries = shardFanout.onEachShard(shard -> ShardSummaryDto.builder()
+                .shard(shard)
+                .movedTenants(tenants.getOrDefault(shard, 0))
+                .patients(patientRepository.count())
+                .doctors(doctorRepository.count())
+                .appointments(appointmentRepository.count())
+                .build());
+        return new ArrayList<>(summaries.values());
+    }
+
+    /**
+     * Shard currently serving the hospital
+     */
+    public String getTenantShard(UUID hospitalId) {
+        hospitalReferenceCache.require(hospitalId);
+        return shardDirectory.shardFor(hospitalId);
+    }
+
+    /**
+     * Move the hospital's data to another shard while it stays online
+     */
+    public TenantMoveResultDto moveTenant(UUID hospitalId, String targetShard, boolean purgeSource) {
+        hospitalReferenceCache.require(hospitalId);
+        if (targetShard == null || targetShard.isBlank()) {
+            throw new RuntimeException("Target shard is required");
+        }
+        log.info("Tenant move requested: hospital {} to shard {} (purge source: {})", hospitalId, targetShard, purgeSource);
+        return tenantMover.move(hospitalId, targetShard.trim(), purgeSource);
+    }
+}
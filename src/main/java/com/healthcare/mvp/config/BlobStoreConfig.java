@@ -0,0 +1,30 @@
+package com.healthcare.mvp.config;
+
+import com.healthcare.mvp.shared.storage.BlobStore;
+import com.healthcare.mvp.shared.storage.LocalFileBlobStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+
+/**
+ * Blob stores, injected by bean name. Only the local filesystem implementation
+ * exists today; another backend replaces a bean without touching its users.
+ */
+@Configuration
+public class BlobStoreConfig {
+
+    @Bean
+    public BlobStore prescriptionPdfStore(@Value("${app.prescription.pdf.root-dir:./data/prescriptions}") String rootDir) {
+        return new LocalFileBlobStore(Paths.get(rootDir));
+    }
+
+    /**
+     * Signed PDF/A copies kept for regulators; never swept
+     */
+    @Bean
+    public BlobStore prescriptionArchiveStore(@Value("${app.prescription.archive.root-dir:./data/prescription-archive}") String rootDir) {
+        return new LocalFileBlobStore(Paths.get(rootDir));
+    }
+}
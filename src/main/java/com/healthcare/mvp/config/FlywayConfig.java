@@ -0,0 +1,157 @@
+package com.healthcare.mvp.config;
+
+import com.healthcare.mvp.shared.tenant.TenantRoutingDataSource;
+import com.healthcare.mvp.shared.tenant.TenantShardProperties;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.JdbcSettings;
+import org.hibernate.cfg.SchemaToolingSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.spi.DelayedDropRegistryNotAvailableImpl;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies the db/migration scripts to every shard once Hibernate has built the schema.
+ *
+ * Entity tables are still created and extended by ddl-auto: update; the
+ * migrations add what Hibernate cannot express (sequences, partial and GIN
+ * indexes, type changes, backfills) and the tables only plain SQL uses. Boot
+ * would run Flyway before JPA starts, when a new database has no tables for
+ * those migrations to alter, so its run is a no-op and the migration happens
+ * right after the EntityManagerFactory is built instead - before the web
+ * server accepts requests or any startup job reads the database.
+ *
+ * Hibernate only updates the default shard, so for every other app.tenant.shards
+ * entry the same entity model is applied to that shard (when ddl-auto is
+ * update), its schema is created if it names one, and the migrations run there
+ * with their own history table. A shard is therefore ready for tenant moves,
+ * the archive job and the refill scheduler as soon as the application is up.
+ *
+ * Databases that predate Flyway have no history table; spring.flyway
+ * baselines them at version 2 (the hand-applied bootstrap scripts) and applies
+ * V003 onwards. Every migration is written to tolerate objects that already
+ * exist.
+ */
+@Configuration
+@Slf4j
+public class FlywayConfig {
+
+    private final EntityMetadataCapture entityMetadata = new EntityMetadataCapture();
+
+    /**
+     * Replaces Boot's migrate-before-JPA; see schemaMigration
+     */
+    @Bean
+    public FlywayMigrationStrategy deferredFlywayMigration() {
+        return flyway -> { };
+    }
+
+    /**
+     * Keeps Hibernate's entity model so ddl-auto can be repeated on the other shards
+     */
+    @Bean
+    public HibernatePropertiesCustomizer entityMetadataCapture() {
+        return properties -> properties.put(JpaSettings.INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () -> List.of(entityMetadata));
+    }
+
+    @Bean
+    public InitializingBean schemaMigration(Flyway flyway, EntityManagerFactory entityManagerFactory,
+                                            TenantRoutingDataSource routingDataSource,
+                                            TenantShardProperties shardProperties) {
+        return () -> {
+            logResult(TenantRoutingDataSource.DEFAULT_SHARD, flyway.migrate());
+
+            boolean updateEntityTables = "update".equals(
+                    String.valueOf(entityManagerFactory.getProperties().get(AvailableSettings.HBM2DDL_AUTO)));
+            for (String shard : routingDataSource.getShardKeys()) {
+                if (TenantRoutingDataSource.DEFAULT_SHARD.equals(shard)) {
+                    continue;
+                }
+                DataSource dataSource = routingDataSource.getShard(shard);
+                String schema = shardProperties.getShards().get(shard).getSchema();
+                if (schema != null) {
+                    new JdbcTemplate(dataSource).execute(
+                            "CREATE SCHEMA IF NOT EXISTS \"" + schema.replace("\"", "\"\"") + "\"");
+                }
+                if (updateEntityTables) {
+                    updateEntityTables(dataSource);
+                }
+
+                FluentConfiguration configuration = Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .dataSource(dataSource);
+                if (schema != null) {
+                    configuration.schemas(schema);
+                }
+                logResult(shard, configuration.load().migrate());
+            }
+        };
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    /**
+     * Hibernate's ddl-auto update against one shard's own pool
+     */
+    private void updateEntityTables(DataSource dataSource) {
+        if (entityMetadata.metadata == null) {
+            throw new IllegalStateException("Hibernate metadata was not captured; cannot create entity tables on the shards");
+        }
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(JdbcSettings.JAKARTA_NON_JTA_DATASOURCE, dataSource)
+                .build();
+        try {
+            SchemaManagementToolCoordinator.process(entityMetadata.metadata, registry,
+                    Map.of(SchemaToolingSettings.JAKARTA_HBM2DDL_DATABASE_ACTION, "update"),
+                    DelayedDropRegistryNotAvailableImpl.INSTANCE);
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+
+    private static void logResult(String shard, MigrateResult result) {
+        log.info("Database schema of shard {} at version {} ({} migrations applied)", shard,
+                result.targetSchemaVersion != null ? result.targetSchemaVersion : result.initialSchemaVersion,
+                result.migrationsExecuted);
+    }
+
+    /**
+     * Receives the entity model when the EntityManagerFactory is built
+     */
+    private static final class EntityMetadataCapture implements Integrator {
+        private volatile Metadata metadata;
+
+        @Override
+        public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                              SessionFactoryImplementor sessionFactory) {
+            this.metadata = metadata;
+        }
+
+        @Override
+        public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        }
+    }
+}
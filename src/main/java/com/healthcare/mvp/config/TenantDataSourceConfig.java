@@ -0,0 +1,94 @@
+package com.healthcare.mvp.config;
+
+import com.healthcare.mvp.shared.tenant.TenantFencedTransactionManager;
+import com.healthcare.mvp.shared.tenant.TenantRoutingDataSource;
+import com.healthcare.mvp.shared.tenant.TenantShardProperties;
+import com.healthcare.mvp.shared.tenant.TenantWriteFence;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tenant-routed application DataSource.
+ *
+ * spring.datasource becomes the default shard; every app.tenant.shards entry
+ * gets its own pool. JPA, JdbcTemplate and transactions all use the routing
+ * DataSource, so repositories follow the request's tenant without changes.
+ * With no shards configured every request lands on the default shard, exactly
+ * as before. The transaction manager refuses tenant writes on a shard a
+ * tenant move has fenced (TenantFencedTransactionManager).
+ */
+@Configuration
+@EnableConfigurationProperties(TenantShardProperties.class)
+@Slf4j
+public class TenantDataSourceConfig {
+
+    /**
+     * Default shard pool, configured by spring.datasource.hikari like Boot's own
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource defaultShardDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public TenantRoutingDataSource dataSource(HikariDataSource defaultShardDataSource,
+                                              DataSourceProperties properties,
+                                              TenantShardProperties tenantProperties) {
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        shards.put(TenantRoutingDataSource.DEFAULT_SHARD, defaultShardDataSource);
+        tenantProperties.getShards().forEach((key, shard) -> {
+            if (TenantRoutingDataSource.DEFAULT_SHARD.equals(key)) {
+                throw new IllegalStateException("Shard name '" + key + "' is reserved for spring.datasource");
+            }
+            shards.put(key, shardDataSource(key, shard, properties));
+        });
+        log.info("Tenant routing over shards {}", shards.keySet());
+        return new TenantRoutingDataSource(shards);
+    }
+
+    /**
+     * Replaces Boot's JpaTransactionManager so tenant writes respect a move's write fence
+     */
+    @Bean
+    public JpaTransactionManager transactionManager(TenantWriteFence writeFence,
+                                                    ObjectProvider<TransactionManagerCustomizers> customizers) {
+        JpaTransactionManager transactionManager = new TenantFencedTransactionManager(writeFence);
+        customizers.ifAvailable(customizer -> customizer.customize(transactionManager));
+        return transactionManager;
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private static HikariDataSource shardDataSource(String key, TenantShardProperties.Shard shard,
+                                                    DataSourceProperties defaults) {
+        if (shard.getUrl() == null && shard.getSchema() == null) {
+            throw new IllegalStateException("Shard '" + key + "' needs a url, a schema or both");
+        }
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("shard-" + key);
+        dataSource.setDriverClassName(defaults.determineDriverClassName());
+        dataSource.setJdbcUrl(shard.getUrl() != null ? shard.getUrl() : defaults.determineUrl());
+        dataSource.setUsername(shard.getUsername() != null ? shard.getUsername() : defaults.determineUsername());
+        dataSource.setPassword(shard.getPassword() != null ? shard.getPassword() : defaults.determinePassword());
+        dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+        if (shard.getSchema() != null) {
+            dataSource.setSchema(shard.getSchema());
+        }
+        return dataSource;
+    }
+}
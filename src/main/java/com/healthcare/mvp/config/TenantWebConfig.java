@@ -0,0 +1,18 @@
+package com.healthcare.mvp.config;
+
+import com.healthcare.mvp.shared.tenant.TenantAsyncInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Async request handling keeps the tenant that TenantResolutionFilter resolved
+ */
+@Configuration
+public class TenantWebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new TenantAsyncInterceptor());
+    }
+}
@@ -0,0 +1,100 @@
+package com.healthcare.mvp.doctor.availability;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.UUID;
+
+/**
+ * One doctor's availability compiled over a rolling horizon of days.
+ *
+ * The horizon is cut into fixed slots of SLOT_MINUTES; a set bit means the slot
+ * is bookable. Per-slot capacity is only materialised when some slot takes more
+ * than one patient, so the common single-capacity calendar is just the bitmap
+ * (a 28-day horizon is 2,688 bits). Immutable once compiled.
+ */
+public final class DoctorAvailabilityCalendar {
+
+    public static final int SLOT_MINUTES = 15;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    private final UUID doctorId;
+    private final LocalDate horizonStart;
+    private final int days;
+    private final BitSet open;
+    private final byte[] capacity;
+
+    DoctorAvailabilityCalendar(UUID doctorId, LocalDate horizonStart, int days, BitSet open, byte[] capacity) {
+        this.doctorId = doctorId;
+        this.horizonStart = horizonStart;
+        this.days = days;
+        this.open = open;
+        this.capacity = capacity;
+    }
+
+    public UUID getDoctorId() {
+        return doctorId;
+    }
+
+    public LocalDate getHorizonStart() {
+        return horizonStart;
+    }
+
+    /**
+     * Whether the compiled horizon contains the date
+     */
+    public boolean covers(LocalDate date) {
+        return !date.isBefore(horizonStart) && date.isBefore(horizonStart.plusDays(days));
+    }
+
+    /**
+     * Bookable capacity of the slot containing the time, 0 when closed or outside the horizon
+     */
+    public int capacityAt(LocalDateTime time) {
+        int slot = slotIndex(time);
+        if (slot < 0 || !open.get(slot)) {
+            return 0;
+        }
+        return capacity == null ? 1 : capacity[slot];
+    }
+
+    /**
+     * Start of the first open slot starting at or after the time within the horizon, or null.
+     * A slot already under way is not returned.
+     */
+    public LocalDateTime nextOpenSlot(LocalDateTime from) {
+        LocalDateTime start = from.isBefore(horizonStart.atStartOfDay()) ? horizonStart.atStartOfDay() : nextSlotStart(from);
+        int slot = slotIndex(start);
+        if (slot < 0) {
+            return null;
+        }
+        int next = open.nextSetBit(slot);
+        if (next < 0 || next >= days * SLOTS_PER_DAY) {
+            return null;
+        }
+        return horizonStart.atStartOfDay().plusMinutes((long) next * SLOT_MINUTES);
+    }
+
+    public static LocalDateTime slotStart(LocalDateTime time) {
+        LocalDateTime truncated = time.truncatedTo(ChronoUnit.MINUTES);
+        return truncated.minusMinutes(truncated.getMinute() % SLOT_MINUTES);
+    }
+
+    /**
+     * The time itself when it is a slot boundary, otherwise the start of the following slot
+     */
+    public static LocalDateTime nextSlotStart(LocalDateTime time) {
+        LocalDateTime slot = slotStart(time);
+        return slot.isBefore(time) ? slot.plusMinutes(SLOT_MINUTES) : slot;
+    }
+
+    private int slotIndex(LocalDateTime time) {
+        if (!covers(time.toLocalDate())) {
+            return -1;
+        }
+        int day = (int) ChronoUnit.DAYS.between(horizonStart, time.toLocalDate());
+        int minuteOfDay = time.getHour() * 60 + time.getMinute();
+        return day * SLOTS_PER_DAY + minuteOfDay / SLOT_MINUTES;
+    }
+}
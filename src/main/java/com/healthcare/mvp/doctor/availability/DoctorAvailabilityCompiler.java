@@ -0,0 +1,203 @@
+package com.healthcare.mvp.doctor.availability;
+
+import com.healthcare.mvp.doctor.dto.DoctorAvailabilityRowDto;
+import com.healthcare.mvp.doctor.entity.DoctorAvailabilityException;
+import com.healthcare.mvp.doctor.entity.DoctorAvailabilityTemplate;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.healthcare.mvp.doctor.availability.DoctorAvailabilityCalendar.SLOTS_PER_DAY;
+import static com.healthcare.mvp.doctor.availability.DoctorAvailabilityCalendar.SLOT_MINUTES;
+
+/**
+ * Compiles weekly templates and dated exceptions into a DoctorAvailabilityCalendar.
+ *
+ * Per day: template windows for that weekday are opened first (overlapping
+ * windows keep the larger capacity), then leave and holidays are closed, then
+ * extra hours are opened. Doctors without any template fall back to the legacy
+ * availableDays/availableHours (or availableFrom/availableTo) columns.
+ *
+ * An end time of 00:00 means end of day.
+ */
+@Slf4j
+public final class DoctorAvailabilityCompiler {
+
+    private static final Pattern LEGACY_HOURS = Pattern.compile(
+            "\"start\"\\s*:\\s*\"([^\"]+)\".*\"end\"\\s*:\\s*\"([^\"]+)\"");
+    private static final DateTimeFormatter LENIENT_TIME = DateTimeFormatter.ofPattern("H:mm[:ss]");
+
+    private DoctorAvailabilityCompiler() {
+    }
+
+    public static DoctorAvailabilityCalendar compile(DoctorAvailabilityRowDto doctor,
+                                                     Collection<DoctorAvailabilityTemplate> templates,
+                                                     Collection<DoctorAvailabilityException> exceptions,
+                                                     LocalDate horizonStart, int days) {
+        List<DoctorAvailabilityTemplate> weekly = templates.isEmpty() ? legacyTemplates(doctor) : new ArrayList<>(templates);
+        Slots slots = new Slots(days);
+
+        for (int day = 0; day < days; day++) {
+            LocalDate date = horizonStart.plusDays(day);
+            int dayOffset = day * SLOTS_PER_DAY;
+
+            for (DoctorAvailabilityTemplate template : weekly) {
+                if (template.getDayOfWeek() == date.getDayOfWeek() && isEffective(template, date)) {
+                    slots.open(dayOffset, template.getStartTime(), template.getEndTime(), capacityOf(template.getSlotCapacity()));
+                }
+            }
+            for (DoctorAvailabilityException exception : exceptions) {
+                if (exception.getExceptionDate().equals(date) && exception.getExceptionType().closes()) {
+                    slots.close(dayOffset, exception.getStartTime(), exception.getEndTime());
+                }
+            }
+            for (DoctorAvailabilityException exception : exceptions) {
+                if (exception.getExceptionDate().equals(date) && !exception.getExceptionType().closes()) {
+                    slots.open(dayOffset, exception.getStartTime(), exception.getEndTime(),
+                            capacityOf(exception.getSlotCapacity()));
+                }
+            }
+        }
+
+        return new DoctorAvailabilityCalendar(doctor.getDoctorId(), horizonStart, days, slots.open, slots.capacity);
+    }
+
+    /**
+     * Weekly windows implied by the legacy doctor columns, if they are parseable
+     */
+    static List<DoctorAvailabilityTemplate> legacyTemplates(DoctorAvailabilityRowDto doctor) {
+        if (doctor.getAvailableDays() == null || doctor.getAvailableDays().isBlank()) {
+            return List.of();
+        }
+
+        LocalTime start = doctor.getAvailableFrom();
+        LocalTime end = doctor.getAvailableTo();
+        if ((start == null || end == null) && doctor.getAvailableHours() != null) {
+            Matcher matcher = LEGACY_HOURS.matcher(doctor.getAvailableHours());
+            if (matcher.find()) {
+                start = parseTime(matcher.group(1));
+                end = parseTime(matcher.group(2));
+            }
+        }
+        if (start == null || end == null) {
+            return List.of();
+        }
+
+        List<DoctorAvailabilityTemplate> templates = new ArrayList<>();
+        for (String day : doctor.getAvailableDays().split(",")) {
+            DayOfWeek dayOfWeek = parseDay(day);
+            if (dayOfWeek == null) {
+                log.debug("Ignoring unrecognised available day '{}' for doctor {}", day, doctor.getDoctorId());
+                continue;
+            }
+            templates.add(DoctorAvailabilityTemplate.builder()
+                    .doctorId(doctor.getDoctorId())
+                    .hospitalId(doctor.getHospitalId())
+                    .dayOfWeek(dayOfWeek)
+                    .startTime(start)
+                    .endTime(end)
+                    .slotCapacity(1)
+                    .build());
+        }
+        return templates;
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private static boolean isEffective(DoctorAvailabilityTemplate template, LocalDate date) {
+        return (template.getEffectiveFrom() == null || !date.isBefore(template.getEffectiveFrom()))
+                && (template.getEffectiveTo() == null || !date.isAfter(template.getEffectiveTo()));
+    }
+
+    private static int capacityOf(Integer slotCapacity) {
+        return slotCapacity == null ? 1 : Math.max(1, Math.min(slotCapacity, Byte.MAX_VALUE));
+    }
+
+    private static DayOfWeek parseDay(String value) {
+        String day = value.trim().toUpperCase(Locale.ROOT);
+        if (day.length() < 3) {
+            return null;
+        }
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            if (dayOfWeek.name().startsWith(day)) {
+                return dayOfWeek;
+            }
+        }
+        return null;
+    }
+
+    private static LocalTime parseTime(String value) {
+        try {
+            return LocalTime.parse(value.trim(), LENIENT_TIME);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Mutable bitmap plus lazily allocated capacity array used while compiling
+     */
+    private static final class Slots {
+
+        private final BitSet open;
+        private final int size;
+        private byte[] capacity;
+
+        Slots(int days) {
+            this.size = days * SLOTS_PER_DAY;
+            this.open = new BitSet(size);
+        }
+
+        void open(int dayOffset, LocalTime start, LocalTime end, int slotCapacity) {
+            int from = dayOffset + startSlot(start);
+            int to = dayOffset + endSlot(end);
+            if (slotCapacity > 1 && capacity == null) {
+                capacity = new byte[size];
+                Arrays.fill(capacity, (byte) 1);
+            }
+            for (int slot = from; slot < to; slot++) {
+                if (capacity != null) {
+                    int current = open.get(slot) ? capacity[slot] : 0;
+                    capacity[slot] = (byte) Math.max(current, slotCapacity);
+                }
+                open.set(slot);
+            }
+        }
+
+        void close(int dayOffset, LocalTime start, LocalTime end) {
+            int from = dayOffset + startSlot(start);
+            int to = dayOffset + endSlot(end);
+            if (from < to) {
+                open.clear(from, to);
+            }
+        }
+
+        // Partial slots are never offered: round the start up and the end down
+        private static int startSlot(LocalTime start) {
+            if (start == null) {
+                return 0;
+            }
+            int minute = start.getHour() * 60 + start.getMinute();
+            return (minute + SLOT_MINUTES - 1) / SLOT_MINUTES;
+        }
+
+        private static int endSlot(LocalTime end) {
+            if (end == null || end.equals(LocalTime.MIDNIGHT)) {
+                return SLOTS_PER_DAY;
+            }
+            return (end.getHour() * 60 + end.getMinute()) / SLOT_MINUTES;
+        }
+    }
+}
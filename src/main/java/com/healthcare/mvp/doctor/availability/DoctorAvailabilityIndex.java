@@ -0,0 +1,257 @@
+package com.healthcare.mvp.doctor.availability;
+
+import com.healthcare.mvp.doctor.dto.DoctorAvailabilityRowDto;
+import com.healthcare.mvp.doctor.entity.Doctor;
+import com.healthcare.mvp.doctor.entity.DoctorAvailabilityException;
+import com.healthcare.mvp.doctor.entity.DoctorAvailabilityTemplate;
+import com.healthcare.mvp.doctor.event.DoctorAvailabilityChangedEvent;
+import com.healthcare.mvp.doctor.event.DoctorChangedEvent;
+import com.healthcare.mvp.doctor.repository.DoctorAvailabilityExceptionRepository;
+import com.healthcare.mvp.doctor.repository.DoctorAvailabilityTemplateRepository;
+import com.healthcare.mvp.doctor.repository.DoctorRepository;
+import com.healthcare.mvp.shared.tenant.TenantContext;
+import com.healthcare.mvp.shared.tenant.TenantShardDirectory;
+import com.healthcare.mvp.shared.tenant.TenantShardFanout;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Compiled availability calendars for every active doctor, cached per doctor.
+ *
+ * The roster (hospital, specialization, legacy availability columns) is held as
+ * lightweight projection rows, so answering "who is free at T" never loads
+ * Doctor entities. Calendars cover a rolling horizon starting today; they are
+ * compiled in bulk at startup, dropped when a doctor or its availability changes,
+ * and recompiled lazily (in one batch per query) on next use or once the day rolls over.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DoctorAvailabilityIndex {
+
+    private final DoctorRepository doctorRepository;
+    private final DoctorAvailabilityTemplateRepository templateRepository;
+    private final DoctorAvailabilityExceptionRepository exceptionRepository;
+    private final TenantShardFanout shardFanout;
+    private final TenantShardDirectory shardDirectory;
+
+    private final Map<UUID, DoctorAvailabilityRowDto> doctors = new ConcurrentHashMap<>();
+    private final Map<UUID, DoctorAvailabilityCalendar> calendars = new ConcurrentHashMap<>();
+    // Bumped on every invalidation so a compile racing with a change is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    @Value("${app.doctor.availability.horizon-days:28}")
+    private int horizonDays;
+
+    private volatile boolean ready = false;
+
+    /**
+     * Load the roster from every shard and compile every calendar once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        long startTime = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+
+        long startGeneration = generation.get();
+        Map<UUID, DoctorAvailabilityCalendar> compiled = new HashMap<>();
+        int loaded = 0;
+        for (Map<UUID, DoctorAvailabilityCalendar> shardCalendars : shardFanout.onEachShard(shard -> {
+            List<DoctorAvailabilityRowDto> rows = doctorRepository.findAvailabilityRows().stream()
+                    .filter(row -> shardDirectory.isServedBy(row.getHospitalId(), shard))
+                    .collect(Collectors.toList());
+            rows.forEach(row -> doctors.put(row.getDoctorId(), row));
+
+            Map<UUID, List<DoctorAvailabilityTemplate>> templates = templateRepository.findByIsActiveTrue().stream()
+                    .collect(Collectors.groupingBy(DoctorAvailabilityTemplate::getDoctorId));
+            List<DoctorAvailabilityException> exceptions =
+                    exceptionRepository.findAllBetween(today, today.plusDays(horizonDays - 1L));
+            return compileAll(rows, templates, exceptions, today, horizonDays);
+        }).values()) {
+            compiled.putAll(shardCalendars);
+            loaded += shardCalendars.size();
+        }
+        if (generation.get() == startGeneration) {
+            calendars.putAll(compiled);
+        }
+
+        ready = true;
+        log.info("Doctor availability compiled for {} doctors ({} days) in {}ms",
+                loaded, horizonDays, System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Track roster changes after doctor writes commit
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        Doctor doctor = event.getDoctor();
+        generation.incrementAndGet();
+        calendars.remove(doctor.getDoctorId());
+
+        if (event.getChangeType() == DoctorChangedEvent.ChangeType.DEACTIVATED
+                || !Boolean.TRUE.equals(doctor.getIsActive())) {
+            doctors.remove(doctor.getDoctorId());
+            return;
+        }
+        doctors.put(doctor.getDoctorId(), DoctorAvailabilityRowDto.builder()
+                .doctorId(doctor.getDoctorId())
+                .hospitalId(doctor.getHospitalId())
+                .firstName(doctor.getFirstName())
+                .lastName(doctor.getLastName())
+                .specialization(doctor.getSpecialization())
+                .availableDays(doctor.getAvailableDays())
+                .availableHours(doctor.getAvailableHours())
+                .availableFrom(doctor.getAvailableFrom())
+                .availableTo(doctor.getAvailableTo())
+                .build());
+    }
+
+    /**
+     * Drop calendars affected by a template or exception change after it commits
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAvailabilityChanged(DoctorAvailabilityChangedEvent event) {
+        generation.incrementAndGet();
+        if (event.getDoctorId() != null) {
+            calendars.remove(event.getDoctorId());
+            return;
+        }
+        doctors.values().stream()
+                .filter(row -> event.getHospitalId().equals(row.getHospitalId()))
+                .forEach(row -> calendars.remove(row.getDoctorId()));
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Roster row of an active doctor, or null
+     */
+    public DoctorAvailabilityRowDto row(UUID doctorId) {
+        return doctors.get(doctorId);
+    }
+
+    /**
+     * Today's cached calendar for the doctor, or null if it would need compiling
+     */
+    public DoctorAvailabilityCalendar cachedCalendar(UUID doctorId) {
+        DoctorAvailabilityCalendar calendar = calendars.get(doctorId);
+        return calendar != null && calendar.getHorizonStart().equals(LocalDate.now()) ? calendar : null;
+    }
+
+    /**
+     * Active doctors of a hospital, optionally restricted to one specialization (case-insensitive)
+     */
+    public List<DoctorAvailabilityRowDto> roster(UUID hospitalId, String specialization) {
+        String wanted = normalize(specialization);
+        return doctors.values().stream()
+                .filter(row -> hospitalId.equals(row.getHospitalId()))
+                .filter(row -> wanted == null || wanted.equals(normalize(row.getSpecialization())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Calendars covering the date for the given doctors. Within the cached horizon
+     * missing calendars are compiled in one batch and cached; dates beyond it get
+     * a single-day calendar that is not cached.
+     */
+    public Map<UUID, DoctorAvailabilityCalendar> calendarsFor(Collection<DoctorAvailabilityRowDto> rows, LocalDate date) {
+        LocalDate today = LocalDate.now();
+        boolean inHorizon = !date.isBefore(today) && date.isBefore(today.plusDays(horizonDays));
+
+        Map<UUID, DoctorAvailabilityCalendar> result = new HashMap<>();
+        List<DoctorAvailabilityRowDto> missing = new ArrayList<>();
+        for (DoctorAvailabilityRowDto row : rows) {
+            DoctorAvailabilityCalendar calendar = inHorizon ? calendars.get(row.getDoctorId()) : null;
+            if (calendar != null && calendar.getHorizonStart().equals(today)) {
+                result.put(row.getDoctorId(), calendar);
+            } else {
+                missing.add(row);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        LocalDate horizonStart = inHorizon ? today : date;
+        int days = inHorizon ? horizonDays : 1;
+        long startGeneration = generation.get();
+
+        // Templates and exceptions live on each doctor's tenant shard, which need not be the caller's
+        Map<String, List<DoctorAvailabilityRowDto>> missingByShard = missing.stream()
+                .collect(Collectors.groupingBy(row -> shardDirectory.shardFor(row.getHospitalId())));
+        Map<UUID, DoctorAvailabilityCalendar> compiled = new HashMap<>();
+        missingByShard.forEach((shard, shardRows) -> compiled.putAll(TenantContext.callOnShard(shard,
+                () -> compileFromDatabase(shardRows, horizonStart, days))));
+        if (inHorizon && generation.get() == startGeneration) {
+            calendars.putAll(compiled);
+        }
+        result.putAll(compiled);
+        return result;
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private Map<UUID, DoctorAvailabilityCalendar> compileFromDatabase(List<DoctorAvailabilityRowDto> rows,
+                                                                      LocalDate horizonStart, int days) {
+        Set<UUID> doctorIds = rows.stream().map(DoctorAvailabilityRowDto::getDoctorId).collect(Collectors.toSet());
+        Set<UUID> hospitalIds = rows.stream().map(DoctorAvailabilityRowDto::getHospitalId).collect(Collectors.toSet());
+        Map<UUID, List<DoctorAvailabilityTemplate>> templates = templateRepository.findByDoctorIdInAndIsActiveTrue(doctorIds)
+                .stream()
+                .collect(Collectors.groupingBy(DoctorAvailabilityTemplate::getDoctorId));
+        List<DoctorAvailabilityException> exceptions = exceptionRepository.findForDoctors(
+                doctorIds, hospitalIds, horizonStart, horizonStart.plusDays(days - 1L));
+        return compileAll(rows, templates, exceptions, horizonStart, days);
+    }
+
+    private Map<UUID, DoctorAvailabilityCalendar> compileAll(Collection<DoctorAvailabilityRowDto> rows,
+                                                             Map<UUID, List<DoctorAvailabilityTemplate>> templates,
+                                                             List<DoctorAvailabilityException> exceptions,
+                                                             LocalDate horizonStart, int days) {
+        Map<UUID, List<DoctorAvailabilityException>> byDoctor = new HashMap<>();
+        Map<UUID, List<DoctorAvailabilityException>> byHospital = new HashMap<>();
+        for (DoctorAvailabilityException exception : exceptions) {
+            if (exception.getDoctorId() != null) {
+                byDoctor.computeIfAbsent(exception.getDoctorId(), id -> new ArrayList<>()).add(exception);
+            } else {
+                byHospital.computeIfAbsent(exception.getHospitalId(), id -> new ArrayList<>()).add(exception);
+            }
+        }
+
+        Map<UUID, DoctorAvailabilityCalendar> compiled = new HashMap<>();
+        for (DoctorAvailabilityRowDto row : rows) {
+            List<DoctorAvailabilityException> applicable = new ArrayList<>(byHospital.getOrDefault(row.getHospitalId(), List.of()));
+            applicable.addAll(byDoctor.getOrDefault(row.getDoctorId(), List.of()));
+            compiled.put(row.getDoctorId(), DoctorAvailabilityCompiler.compile(
+                    row, templates.getOrDefault(row.getDoctorId(), List.of()), applicable, horizonStart, days));
+        }
+        return compiled;
+    }
+
+    public static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toUpperCase(Locale.ROOT);
+    }
+}
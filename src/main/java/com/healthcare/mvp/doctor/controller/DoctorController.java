@@ -1,18 +1,38 @@
 package com.healthcare.mvp.doctor.controller;
 
+import com.healthcare.mvp.doctor.directory.DoctorDirectoryQuery;
+import com.healthcare.mvp.doctor.directory.DoctorDirectorySort;
+import com.healthcare.mvp.doctor.dto.AvailabilityExceptionDto;
+import com.healthcare.mvp.doctor.dto.AvailabilityTemplateDto;
+import com.healthcare.mvp.doctor.dto.AvailableDoctorDto;
 import com.healthcare.mvp.doctor.dto.CreateDoctorRequest;
+import com.healthcare.mvp.doctor.dto.DoctorAvailabilityDto;
+import com.healthcare.mvp.doctor.dto.DoctorDirectoryResultDto;
 import com.healthcare.mvp.doctor.dto.DoctorDto;
+import com.healthcare.mvp.doctor.dto.DoctorProfileImageDto;
+import com.healthcare.mvp.doctor.dto.DoctorSearchResultDto;
+import com.healthcare.mvp.doctor.service.DoctorAvailabilityService;
+import com.healthcare.mvp.doctor.service.DoctorDirectoryService;
+import com.healthcare.mvp.doctor.service.DoctorProfileImageService;
 import com.healthcare.mvp.doctor.service.DoctorService;
 import com.healthcare.mvp.shared.dto.BaseResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -23,6 +43,9 @@ import java.util.UUID;
 public class DoctorController {
     
     private final DoctorService doctorService;
+    private final DoctorDirectoryService doctorDirectoryService;
+    private final DoctorAvailabilityService doctorAvailabilityService;
+    private final DoctorProfileImageService doctorProfileImageService;
     
     /**
      * Create doctor - Hospital Admin only
@@ -84,6 +107,51 @@ public class DoctorController {
         return ResponseEntity.ok(BaseResponse.success("Doctors found", doctors));
     }
     
+    /**
+     * Browse the doctor directory
+     */
+    @GetMapping("/directory")
+    @Operation(summary = "Doctor Directory", description = "Filter doctors by facets (OR within a facet, AND across facets) with per-facet counts")
+    @PreAuthorize("hasRole('HOSPITAL_ADMIN') or hasRole('DOCTOR') or hasRole('NURSE') or hasRole('RECEPTIONIST')")
+    public ResponseEntity<BaseResponse<DoctorDirectoryResultDto>> browseDirectory(
+            @RequestParam(required = false) UUID hospitalId,
+            @RequestParam(required = false) Set<String> specialization,
+            @RequestParam(required = false) Set<String> department,
+            @RequestParam(required = false) Set<String> language,
+            @RequestParam(required = false) Boolean telemedicine,
+            @RequestParam(required = false) Set<String> feeBand,
+            @RequestParam(required = false) Set<String> experienceBand,
+            @RequestParam(required = false) DoctorDirectorySort sort,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        DoctorDirectoryQuery query = DoctorDirectoryQuery.builder()
+                .hospitalId(hospitalId)
+                .specializations(specialization)
+                .departments(department)
+                .languages(language)
+                .telemedicine(telemedicine)
+                .feeBands(feeBand)
+                .experienceBands(experienceBand)
+                .sort(sort)
+                .build();
+        DoctorDirectoryResultDto result = doctorDirectoryService.browse(query, page, size);
+        return ResponseEntity.ok(BaseResponse.success("Doctor directory retrieved successfully", result));
+    }
+
+    /**
+     * Typo-tolerant ranked doctor search
+     */
+    @GetMapping("/directory/search")
+    @Operation(summary = "Fuzzy Doctor Search", description = "Typo-tolerant search over name, specialization, department and languages, ranked by match quality, telemedicine and next open slot")
+    @PreAuthorize("hasRole('HOSPITAL_ADMIN') or hasRole('DOCTOR') or hasRole('NURSE') or hasRole('RECEPTIONIST')")
+    public ResponseEntity<BaseResponse<List<DoctorSearchResultDto>>> fuzzySearchDoctors(
+            @RequestParam String q,
+            @RequestParam(required = false) UUID hospitalId,
+            @RequestParam(required = false) Integer limit) {
+        List<DoctorSearchResultDto> results = doctorDirectoryService.search(q, hospitalId, limit);
+        return ResponseEntity.ok(BaseResponse.success("Doctors found", results));
+    }
+
     /**
      * Get doctors by specialization
      */
@@ -119,4 +187,93 @@ public class DoctorController {
         doctorService.deactivateDoctor(doctorId);
         return ResponseEntity.ok(BaseResponse.success("Doctor deactivated successfully", "Deactivated"));
     }
-}
\ No newline at end of file
+
+    /**
+     * Upload doctor profile picture - Hospital Admin only
+     */
+    @PostMapping(value = "/{doctorId}/profile-image", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Upload Profile Image", description = "Upload a JPEG or PNG profile picture; thumbnails are generated in the background")
+    @PreAuthorize("hasRole('HOSPITAL_ADMIN')")
+    public ResponseEntity<BaseResponse<DoctorProfileImageDto>> uploadProfileImage(
+            @PathVariable UUID doctorId,
+            @RequestParam("file") MultipartFile file) throws IOException {
+        DoctorProfileImageDto image = doctorProfileImageService.uploadProfileImage(doctorId, file);
+        return ResponseEntity.ok(BaseResponse.success("Profile image uploaded successfully", image));
+    }
+
+    /**
+     * Download doctor profile picture
+     */
+    @GetMapping("/{doctorId}/profile-image")
+    @Operation(summary = "Get Profile Image", description = "Profile picture or a thumbnail (size=small|medium|large), with ETag and Range support")
+    @PreAuthorize("hasRole('HOSPITAL_ADMIN') or hasRole('DOCTOR') or hasRole('NURSE') or hasRole('RECEPTIONIST')")
+    public void getProfileImage(
+            @PathVariable UUID doctorId,
+            @RequestParam(required = false) String size,
+            @RequestParam(name = "v", required = false) String version,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        doctorProfileImageService.writeProfileImage(doctorId, size, version, request, response);
+    }
+
+    /**
+     * Find doctors free at a given time
+     */
+    @GetMapping("/available")
+    @Operation(summary = "Find Free Doctors", description = "Doctors of a hospital with a free place in the slot containing the given time")
+    @PreAuthorize("hasRole('HOSPITAL_ADMIN') or hasRole('DOCTOR') or hasRole('NURSE') or hasRole('RECEPTIONIST')")
+    public ResponseEntity<BaseResponse<List<AvailableDoctorDto>>> findFreeDoctors(
+            @RequestParam UUID hospitalId,
+            @RequestParam(required = false) String specialization,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        List<AvailableDoctorDto> doctors = doctorAvailabilityService.findFreeDoctors(hospitalId, specialization, at);
+        return ResponseEntity.ok(BaseResponse.success("Free doctors retrieved successfully", doctors));
+    }
+
+    /**
+     * Get doctor availability
+     */
+    @GetMapping("/{doctorId}/availability")
+    @Operation(summary = "Get Doctor Availability", description = "Weekly template and upcoming exceptions")
+    @PreAuthorize("hasRole('HOSPITAL_ADMIN') or hasRole('DOCTOR') or hasRole('NURSE') or hasRole('RECEPTIONIST')")
+    public ResponseEntity<BaseResponse<DoctorAvailabilityDto>> getAvailability(@PathVariable UUID doctorId) {
+        DoctorAvailabilityDto availability = doctorAvailabilityService.getAvailability(doctorId);
+        return ResponseEntity.ok(BaseResponse.success("Availability retrieved successfully", availability));
+    }
+
+    /**
+     * Replace weekly availability template - Hospital Admin only
+     */
+    @PutMapping("/{doctorId}/availability/templates")
+    @Operation(summary = "Replace Availability Template", description = "Replace the doctor's weekly working windows")
+    @PreAuthorize("hasRole('HOSPITAL_ADMIN')")
+    public ResponseEntity<BaseResponse<DoctorAvailabilityDto>> replaceTemplates(
+            @PathVariable UUID doctorId,
+            @Valid @RequestBody List<@Valid AvailabilityTemplateDto> templates) {
+        DoctorAvailabilityDto availability = doctorAvailabilityService.replaceTemplates(doctorId, templates);
+        return ResponseEntity.ok(BaseResponse.success("Availability template updated successfully", availability));
+    }
+
+    /**
+     * Add leave, holiday or extra hours - Hospital Admin only
+     */
+    @PostMapping("/availability/exceptions")
+    @Operation(summary = "Add Availability Exception", description = "Add leave, a holiday or extra hours")
+    @PreAuthorize("hasRole('HOSPITAL_ADMIN')")
+    public ResponseEntity<BaseResponse<AvailabilityExceptionDto>> addException(
+            @Valid @RequestBody AvailabilityExceptionDto request) {
+        AvailabilityExceptionDto exception = doctorAvailabilityService.addException(request);
+        return ResponseEntity.ok(BaseResponse.success("Availability exception added successfully", exception));
+    }
+
+    /**
+     * Remove availability exception - Hospital Admin only
+     */
+    @DeleteMapping("/availability/exceptions/{exceptionId}")
+    @Operation(summary = "Remove Availability Exception", description = "Remove leave, a holiday or extra hours")
+    @PreAuthorize("hasRole('HOSPITAL_ADMIN')")
+    public ResponseEntity<BaseResponse<String>> removeException(@PathVariable UUID exceptionId) {
+        doctorAvailabilityService.removeException(exceptionId);
+        return ResponseEntity.ok(BaseResponse.success("Availability exception removed successfully", "Removed"));
+    }
+}
@@ -0,0 +1,177 @@
+package com.healthcare.mvp.doctor.directory;
+
+import com.healthcare.mvp.doctor.dto.DoctorDirectoryEntryDto;
+import com.healthcare.mvp.doctor.dto.DoctorDirectoryResultDto;
+import com.healthcare.mvp.doctor.entity.Doctor;
+import com.healthcare.mvp.doctor.event.DoctorChangedEvent;
+import com.healthcare.mvp.doctor.repository.DoctorRepository;
+import com.healthcare.mvp.doctor.search.DoctorSearchIndex;
+import com.healthcare.mvp.hospital.cache.HospitalReferenceCache;
+import com.healthcare.mvp.hospital.entity.Hospital;
+import com.healthcare.mvp.hospital.event.HospitalChangedEvent;
+import com.healthcare.mvp.shared.tenant.TenantShardDirectory;
+import com.healthcare.mvp.shared.tenant.TenantShardFanout;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory doctor directory covering every hospital.
+ *
+ * Readers take the current DoctorDirectorySnapshot from an AtomicReference and
+ * query it without locking. Writers (one at a time) build a new snapshot from
+ * the old one plus the changed doctor and publish it with a single reference
+ * swap, so a query never sees a half-applied change.
+ *
+ * Seeded once at startup from every shard and kept current from DoctorChangedEvent after each commit;
+ * hospital renames (HospitalChangedEvent) are applied to that hospital's entries.
+ * Every published snapshot is also handed to DoctorSearchIndex.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DoctorDirectoryIndex {
+
+    private final DoctorRepository doctorRepository;
+    private final HospitalReferenceCache hospitalReferenceCache;
+    private final DoctorSearchIndex searchIndex;
+    private final TenantShardFanout shardFanout;
+    private final TenantShardDirectory shardDirectory;
+
+    private final AtomicReference<DoctorDirectorySnapshot> snapshot =
+            new AtomicReference<>(DoctorDirectorySnapshot.empty());
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile boolean ready = false;
+
+    /**
+     * Seed the directory from every shard once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        long startTime = System.currentTimeMillis();
+
+        List<DoctorDirectoryEntryDto> entries = shardFanout.onEachShard(shard -> doctorRepository.findByIsActiveTrue().stream()
+                        .filter(doctor -> shardDirectory.isServedBy(doctor.getHospitalId(), shard))
+                        .map(this::toEntry)
+                        .collect(Collectors.toList()))
+                .values().stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+
+        writeLock.lock();
+        try {
+            publish(DoctorDirectorySnapshot.of(entries));
+        } finally {
+            writeLock.unlock();
+        }
+
+        ready = true;
+        log.info("Doctor directory loaded {} doctors in {}ms", entries.size(), System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Swap in a rebuilt snapshot after doctor writes commit
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        Doctor doctor = event.getDoctor();
+        boolean active = event.getChangeType() != DoctorChangedEvent.ChangeType.DEACTIVATED
+                && Boolean.TRUE.equals(doctor.getIsActive());
+        DoctorDirectoryEntryDto entry = active ? toEntry(doctor) : null;
+
+        writeLock.lock();
+        try {
+            publish(snapshot.get().with(doctor.getDoctorId(), entry));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Re-label the hospital's doctors after a hospital rename commits
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHospitalChanged(HospitalChangedEvent event) {
+        Hospital hospital = event.getHospital();
+        writeLock.lock();
+        try {
+            List<DoctorDirectoryEntryDto> current = snapshot.get().entries();
+            boolean renamed = current.stream().anyMatch(entry -> hospital.getHospitalId().equals(entry.getHospitalId())
+                    && !Objects.equals(hospital.getHospitalName(), entry.getHospitalName()));
+            if (renamed) {
+                publish(DoctorDirectorySnapshot.of(current.stream()
+                        .map(entry -> hospital.getHospitalId().equals(entry.getHospitalId())
+                                ? entry.withHospitalName(hospital.getHospitalName())
+                                : entry)
+                        .collect(Collectors.toList())));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Filter, count and page the directory
+     */
+    public DoctorDirectoryResultDto query(DoctorDirectoryQuery query) {
+        return snapshot.get().query(query);
+    }
+
+    /**
+     * Active doctors per hospital, optionally only those with the given specialization
+     */
+    public Map<UUID, Integer> countsByHospital(String specialization) {
+        return snapshot.get().countsByHospital(specialization);
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    /**
+     * Swap in a new snapshot and keep the search index on the same doctors. Caller holds the write lock.
+     */
+    private void publish(DoctorDirectorySnapshot next) {
+        snapshot.set(next);
+        searchIndex.rebuild(next.entries());
+    }
+
+    private DoctorDirectoryEntryDto toEntry(Doctor doctor) {
+        List<String> languages = doctor.getLanguagesSpoken() == null ? List.of()
+                : Arrays.stream(doctor.getLanguagesSpoken().split(","))
+                        .map(String::trim)
+                        .filter(language -> !language.isEmpty())
+                        .collect(Collectors.toList());
+
+        return new DoctorDirectoryEntryDto(
+                doctor.getDoctorId(),
+                doctor.getHospitalId(),
+                hospitalReferenceCache.getName(doctor.getHospitalId()),
+                doctor.getDoctorCode(),
+                doctor.getFirstName(),
+                doctor.getLastName(),
+                doctor.getSpecialization(),
+                doctor.getDepartment(),
+                doctor.getQualification(),
+                doctor.getExperienceYears(),
+                doctor.getConsultationFee(),
+                languages,
+                Boolean.TRUE.equals(doctor.getIsTelemedicineEnabled()),
+                doctor.getProfilePictureUrl());
+    }
+}
@@ -0,0 +1,56 @@
+package com.healthcare.mvp.doctor.directory;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Directory filter. Values within one facet are OR-ed, facets are AND-ed;
+ * null or empty facets do not constrain the result. A null hospitalId
+ * searches every hospital.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DoctorDirectoryQuery {
+
+    private UUID hospitalId;
+    private Set<String> specializations;
+    private Set<String> departments;
+    private Set<String> languages;
+    private Boolean telemedicine;
+    private Set<String> feeBands;
+    private Set<String> experienceBands;
+    private DoctorDirectorySort sort;
+    private int page;
+    private int size;
+
+    /**
+     * Non-empty selections keyed by facet
+     */
+    Map<DoctorFacet, Set<String>> selections() {
+        Map<DoctorFacet, Set<String>> selections = new EnumMap<>(DoctorFacet.class);
+        putIfPresent(selections, DoctorFacet.SPECIALIZATION, specializations);
+        putIfPresent(selections, DoctorFacet.DEPARTMENT, departments);
+        putIfPresent(selections, DoctorFacet.LANGUAGE, languages);
+        if (telemedicine != null) {
+            selections.put(DoctorFacet.TELEMEDICINE, Set.of(telemedicine ? DoctorFacet.YES : DoctorFacet.NO));
+        }
+        putIfPresent(selections, DoctorFacet.FEE_BAND, feeBands);
+        putIfPresent(selections, DoctorFacet.EXPERIENCE_BAND, experienceBands);
+        return selections;
+    }
+
+    private static void putIfPresent(Map<DoctorFacet, Set<String>> selections, DoctorFacet facet, Set<String> values) {
+        if (values != null && !values.isEmpty()) {
+            selections.put(facet, values);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.healthcare.mvp.doctor.directory;
+
+import com.healthcare.mvp.doctor.dto.DoctorDirectoryEntryDto;
+import com.healthcare.mvp.doctor.dto.DoctorDirectoryResultDto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable, fully built view of the doctor directory.
+ *
+ * Doctors are stored in name order, so an entry's ordinal doubles as its NAME
+ * sort position. Every facet value owns a posting list (a bitmap of ordinals)
+ * and the other sort orders are precomputed ordinal arrays. Nothing is mutated
+ * after construction: a change produces a new snapshot, which lets readers run
+ * without locks while the index swaps snapshots underneath them.
+ */
+final class DoctorDirectorySnapshot {
+
+    private static final BitSet EMPTY = new BitSet();
+
+    private static final Comparator<DoctorDirectoryEntryDto> BY_NAME = Comparator
+            .comparing((DoctorDirectoryEntryDto entry) -> lower(entry.getLastName()))
+            .thenComparing(entry -> lower(entry.getFirstName()))
+            .thenComparing(DoctorDirectoryEntryDto::getDoctorId);
+
+    private final DoctorDirectoryEntryDto[] entries;
+    private final Map<UUID, DoctorDirectoryEntryDto> byDoctorId;
+    private final BitSet all;
+    private final Map<UUID, BitSet> byHospital;
+    private final Map<DoctorFacet, Map<String, BitSet>> postings;
+    private final Map<DoctorFacet, Map<String, String>> labels;
+    private final Map<DoctorDirectorySort, int[]> orders;
+
+    private DoctorDirectorySnapshot(Collection<DoctorDirectoryEntryDto> doctors) {
+        this.entries = doctors.stream().sorted(BY_NAME).toArray(DoctorDirectoryEntryDto[]::new);
+        this.byDoctorId = new HashMap<>(entries.length * 2);
+        this.all = new BitSet(entries.length);
+        this.byHospital = new HashMap<>();
+        this.postings = new EnumMap<>(DoctorFacet.class);
+        this.labels = new EnumMap<>(DoctorFacet.class);
+
+        for (DoctorFacet facet : DoctorFacet.values()) {
+            postings.put(facet, new HashMap<>());
+            labels.put(facet, new TreeMap<>());
+        }
+
+        for (int ordinal = 0; ordinal < entries.length; ordinal++) {
+            DoctorDirectoryEntryDto entry = entries[ordinal];
+            byDoctorId.put(entry.getDoctorId(), entry);
+            all.set(ordinal);
+            byHospital.computeIfAbsent(entry.getHospitalId(), id -> new BitSet()).set(ordinal);
+
+            for (DoctorFacet facet : DoctorFacet.values()) {
+                for (String value : facet.valuesOf(entry)) {
+                    String key = DoctorFacet.normalize(value);
+                    if (key != null) {
+                        postings.get(facet).computeIfAbsent(key, k -> new BitSet()).set(ordinal);
+                        labels.get(facet).putIfAbsent(key, value.trim());
+                    }
+                }
+            }
+        }
+
+        this.orders = new EnumMap<>(DoctorDirectorySort.class);
+        orders.put(DoctorDirectorySort.NAME, IntStream.range(0, entries.length).toArray());
+        orders.put(DoctorDirectorySort.FEE_ASC, order(Comparator.comparing(
+                DoctorDirectoryEntryDto::getConsultationFee, Comparator.nullsLast(Comparator.<BigDecimal>naturalOrder()))));
+        orders.put(DoctorDirectorySort.FEE_DESC, order(Comparator.comparing(
+                DoctorDirectoryEntryDto::getConsultationFee, Comparator.nullsLast(Comparator.<BigDecimal>reverseOrder()))));
+        orders.put(DoctorDirectorySort.EXPERIENCE_DESC, order(Comparator.comparing(
+                DoctorDirectoryEntryDto::getExperienceYears, Comparator.nullsLast(Comparator.<Integer>reverseOrder()))));
+    }
+
+    static DoctorDirectorySnapshot empty() {
+        return new DoctorDirectorySnapshot(List.of());
+    }
+
+    static DoctorDirectorySnapshot of(Collection<DoctorDirectoryEntryDto> doctors) {
+        return new DoctorDirectorySnapshot(doctors);
+    }
+
+    /**
+     * Copy of this snapshot with one doctor replaced, added or (when replacement is null) removed
+     */
+    DoctorDirectorySnapshot with(UUID doctorId, DoctorDirectoryEntryDto replacement) {
+        Map<UUID, DoctorDirectoryEntryDto> doctors = new LinkedHashMap<>(byDoctorId);
+        if (replacement == null) {
+            doctors.remove(doctorId);
+        } else {
+            doctors.put(doctorId, replacement);
+        }
+        return new DoctorDirectorySnapshot(doctors.values());
+    }
+
+    DoctorDirectoryEntryDto get(UUID doctorId) {
+        return byDoctorId.get(doctorId);
+    }
+
+    int size() {
+        return entries.length;
+    }
+
+    List<DoctorDirectoryEntryDto> entries() {
+        return List.of(entries);
+    }
+
+    /**
+     * Filter, count and page. Facet counts are disjunctive: each facet is counted
+     * against every other selection but not its own.
+     */
+    DoctorDirectoryResultDto query(DoctorDirectoryQuery query) {
+        BitSet base = query.getHospitalId() == null ? all : byHospital.getOrDefault(query.getHospitalId(), EMPTY);
+
+        Map<DoctorFacet, Set<String>> selections = query.selections();
+        Map<DoctorFacet, BitSet> selected = new EnumMap<>(DoctorFacet.class);
+        for (Map.Entry<DoctorFacet, Set<String>> selection : selections.entrySet()) {
+            Map<String, BitSet> facetPostings = postings.get(selection.getKey());
+            BitSet any = new BitSet();
+            for (String value : selection.getValue()) {
+                String key = DoctorFacet.normalize(value);
+                if (key != null) {
+                    any.or(facetPostings.getOrDefault(key, EMPTY));
+                }
+            }
+            selected.put(selection.getKey(), any);
+        }
+
+        BitSet matched = (BitSet) base.clone();
+        selected.values().forEach(matched::and);
+
+        Map<String, Map<String, Integer>> facetCounts = new LinkedHashMap<>();
+        for (DoctorFacet facet : DoctorFacet.values()) {
+            BitSet others = (BitSet) base.clone();
+            selected.forEach((other, bits) -> {
+                if (other != facet) {
+                    others.and(bits);
+                }
+            });
+
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            for (Map.Entry<String, String> label : labels.get(facet).entrySet()) {
+                BitSet bits = (BitSet) postings.get(facet).get(label.getKey()).clone();
+                bits.and(others);
+                int count = bits.cardinality();
+                if (count > 0) {
+                    counts.put(label.getValue(), count);
+                }
+            }
+            facetCounts.put(facet.name(), counts);
+        }
+
+        DoctorDirectorySort sort = query.getSort() == null ? DoctorDirectorySort.NAME : query.getSort();
+        int total = matched.cardinality();
+        int skip = query.getPage() * query.getSize();
+        List<DoctorDirectoryEntryDto> page = new ArrayList<>(Math.max(0, Math.min(query.getSize(), total - skip)));
+        if (skip < total) {
+            int seen = 0;
+            for (int ordinal : orders.get(sort)) {
+                if (page.size() >= query.getSize()) {
+                    break;
+                }
+                if (matched.get(ordinal) && seen++ >= skip) {
+                    page.add(entries[ordinal]);
+                }
+            }
+        }
+
+        return new DoctorDirectoryResultDto(total, query.getPage(), query.getSize(), page, facetCounts);
+    }
+
+    /**
+     * Doctors per hospital, counting only those with the specialization when one is given
+     */
+    Map<UUID, Integer> countsByHospital(String specialization) {
+        BitSet bits = all;
+        if (specialization != null) {
+            String key = DoctorFacet.normalize(specialization);
+            bits = key == null ? EMPTY : postings.get(DoctorFacet.SPECIALIZATION).getOrDefault(key, EMPTY);
+        }
+        Map<UUID, Integer> counts = new HashMap<>();
+        for (int ordinal = bits.nextSetBit(0); ordinal >= 0; ordinal = bits.nextSetBit(ordinal + 1)) {
+            counts.merge(entries[ordinal].getHospitalId(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    /**
+     * Ordinals ordered by the comparator, ties broken by name (i.e. by ordinal)
+     */
+    private int[] order(Comparator<DoctorDirectoryEntryDto> comparator) {
+        return IntStream.range(0, entries.length)
+                .boxed()
+                .sorted(Comparator.<Integer, DoctorDirectoryEntryDto>comparing(ordinal -> entries[ordinal], comparator)
+                        .thenComparing(Comparator.naturalOrder()))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static String lower(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,11 @@
+package com.healthcare.mvp.doctor.directory;
+
+/**
+ * Result orderings precomputed in every directory snapshot
+ */
+public enum DoctorDirectorySort {
+    NAME,
+    FEE_ASC,
+    FEE_DESC,
+    EXPERIENCE_DESC
+}
@@ -0,0 +1,81 @@
+package com.healthcare.mvp.doctor.directory;
+
+import com.healthcare.mvp.doctor.dto.DoctorDirectoryEntryDto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Attributes the doctor directory can be filtered and counted on.
+ * Fees and experience are indexed as fixed bands rather than raw values.
+ */
+public enum DoctorFacet {
+    SPECIALIZATION,
+    DEPARTMENT,
+    LANGUAGE,
+    TELEMEDICINE,
+    FEE_BAND,
+    EXPERIENCE_BAND;
+
+    public static final String YES = "YES";
+    public static final String NO = "NO";
+
+    private static final BigDecimal FEE_500 = BigDecimal.valueOf(500);
+    private static final BigDecimal FEE_1000 = BigDecimal.valueOf(1000);
+    private static final BigDecimal FEE_2000 = BigDecimal.valueOf(2000);
+
+    /**
+     * Display values of this facet for one doctor (a doctor may speak several languages)
+     */
+    List<String> valuesOf(DoctorDirectoryEntryDto entry) {
+        return switch (this) {
+            case SPECIALIZATION -> single(entry.getSpecialization());
+            case DEPARTMENT -> single(entry.getDepartment());
+            case LANGUAGE -> entry.getLanguagesSpoken();
+            case TELEMEDICINE -> List.of(entry.isTelemedicineEnabled() ? YES : NO);
+            case FEE_BAND -> single(feeBand(entry.getConsultationFee()));
+            case EXPERIENCE_BAND -> single(experienceBand(entry.getExperienceYears()));
+        };
+    }
+
+    static String feeBand(BigDecimal fee) {
+        if (fee == null) {
+            return null;
+        }
+        if (fee.compareTo(FEE_500) < 0) {
+            return "0-499";
+        }
+        if (fee.compareTo(FEE_1000) < 0) {
+            return "500-999";
+        }
+        return fee.compareTo(FEE_2000) < 0 ? "1000-1999" : "2000+";
+    }
+
+    static String experienceBand(Integer years) {
+        if (years == null) {
+            return null;
+        }
+        if (years < 5) {
+            return "0-4";
+        }
+        if (years < 10) {
+            return "5-9";
+        }
+        return years < 20 ? "10-19" : "20+";
+    }
+
+    /**
+     * Case- and whitespace-insensitive key used for posting lists and filter values
+     */
+    static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static List<String> single(String value) {
+        return value == null || value.isBlank() ? List.of() : List.of(value.trim());
+    }
+}
@@ -0,0 +1,47 @@
+package com.healthcare.mvp.doctor.dto;
+
+import com.healthcare.mvp.doctor.entity.DoctorAvailabilityException.ExceptionType;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Leave, holiday or extra hours on one date. exceptionId is ignored on input;
+ * leave doctorId empty for a hospital-wide holiday and the times empty for a whole day.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AvailabilityExceptionDto {
+
+    private UUID exceptionId;
+
+    @NotNull(message = "Hospital ID is required")
+    private UUID hospitalId;
+
+    private UUID doctorId;
+
+    @NotNull(message = "Exception date is required")
+    private LocalDate exceptionDate;
+
+    private LocalTime startTime;
+    private LocalTime endTime;
+
+    @NotNull(message = "Exception type is required")
+    private ExceptionType exceptionType;
+
+    @Min(value = 1, message = "Slot capacity must be at least 1")
+    @Max(value = 50, message = "Slot capacity cannot exceed 50")
+    private Integer slotCapacity;
+
+    private String reason;
+}
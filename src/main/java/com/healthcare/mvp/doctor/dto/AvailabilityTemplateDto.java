@@ -0,0 +1,42 @@
+package com.healthcare.mvp.doctor.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Weekly availability window. templateId is ignored on input.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AvailabilityTemplateDto {
+
+    private UUID templateId;
+
+    @NotNull(message = "Day of week is required")
+    private DayOfWeek dayOfWeek;
+
+    @NotNull(message = "Start time is required")
+    private LocalTime startTime;
+
+    @NotNull(message = "End time is required")
+    private LocalTime endTime;
+
+    @Min(value = 1, message = "Slot capacity must be at least 1")
+    @Max(value = 50, message = "Slot capacity cannot exceed 50")
+    private Integer slotCapacity;
+
+    private LocalDate effectiveFrom;
+    private LocalDate effectiveTo;
+}
@@ -0,0 +1,29 @@
+package com.healthcare.mvp.doctor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A doctor with at least one free place in the slot containing the requested time
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AvailableDoctorDto {
+
+    private UUID doctorId;
+    private UUID hospitalId;
+    private String firstName;
+    private String lastName;
+    private String specialization;
+    private LocalDateTime slotStart;
+    private LocalDateTime slotEnd;
+    private int slotCapacity;
+    private int booked;
+}
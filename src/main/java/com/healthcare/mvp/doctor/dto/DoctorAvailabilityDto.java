@@ -0,0 +1,26 @@
+package com.healthcare.mvp.doctor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A doctor's weekly template and upcoming exceptions. legacySchedule is set when
+ * no template exists and the old availableDays/availableHours fields are in effect.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DoctorAvailabilityDto {
+
+    private UUID doctorId;
+    private UUID hospitalId;
+    private boolean legacySchedule;
+    private List<AvailabilityTemplateDto> templates;
+    private List<AvailabilityExceptionDto> exceptions;
+}
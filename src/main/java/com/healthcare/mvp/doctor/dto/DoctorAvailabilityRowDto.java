@@ -0,0 +1,32 @@
+package com.healthcare.mvp.doctor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * The doctor columns the availability index needs, including the legacy
+ * availability fields used when a doctor has no weekly template yet.
+ * Also the JPQL constructor projection behind DoctorRepository.findAvailabilityRows,
+ * so the constructor argument order must match that query.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DoctorAvailabilityRowDto {
+
+    private UUID doctorId;
+    private UUID hospitalId;
+    private String firstName;
+    private String lastName;
+    private String specialization;
+    private String availableDays;
+    private String availableHours;
+    private LocalTime availableFrom;
+    private LocalTime availableTo;
+}
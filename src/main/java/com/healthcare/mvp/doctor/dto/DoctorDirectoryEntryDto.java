@@ -0,0 +1,68 @@
+package com.healthcare.mvp.doctor.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable doctor listing held by the directory index snapshot
+ */
+public final class DoctorDirectoryEntryDto {
+    private final UUID doctorId;
+    private final UUID hospitalId;
+    private final String hospitalName;
+    private final String doctorCode;
+    private final String firstName;
+    private final String lastName;
+    private final String specialization;
+    private final String department;
+    private final String qualification;
+    private final Integer experienceYears;
+    private final BigDecimal consultationFee;
+    private final List<String> languagesSpoken;
+    private final boolean telemedicineEnabled;
+    private final String profilePictureUrl;
+
+    public DoctorDirectoryEntryDto(UUID doctorId, UUID hospitalId, String hospitalName, String doctorCode,
+                                   String firstName, String lastName, String specialization, String department,
+                                   String qualification, Integer experienceYears, BigDecimal consultationFee,
+                                   List<String> languagesSpoken, boolean telemedicineEnabled, String profilePictureUrl) {
+        this.doctorId = doctorId;
+        this.hospitalId = hospitalId;
+        this.hospitalName = hospitalName;
+        this.doctorCode = doctorCode;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.specialization = specialization;
+        this.department = department;
+        this.qualification = qualification;
+        this.experienceYears = experienceYears;
+        this.consultationFee = consultationFee;
+        this.languagesSpoken = languagesSpoken == null ? List.of() : List.copyOf(languagesSpoken);
+        this.telemedicineEnabled = telemedicineEnabled;
+        this.profilePictureUrl = profilePictureUrl;
+    }
+
+    // Getters
+    public UUID getDoctorId() { return doctorId; }
+    public UUID getHospitalId() { return hospitalId; }
+    public String getHospitalName() { return hospitalName; }
+    public String getDoctorCode() { return doctorCode; }
+    public String getFirstName() { return firstName; }
+    public String getLastName() { return lastName; }
+    public String getFullName() { return "Dr. " + firstName + " " + lastName; }
+    public String getSpecialization() { return specialization; }
+    public String getDepartment() { return department; }
+    public String getQualification() { return qualification; }
+    public Integer getExperienceYears() { return experienceYears; }
+    public BigDecimal getConsultationFee() { return consultationFee; }
+    public List<String> getLanguagesSpoken() { return languagesSpoken; }
+    public boolean isTelemedicineEnabled() { return telemedicineEnabled; }
+    public String getProfilePictureUrl() { return profilePictureUrl; }
+
+    public DoctorDirectoryEntryDto withHospitalName(String name) {
+        return new DoctorDirectoryEntryDto(doctorId, hospitalId, name, doctorCode, firstName, lastName,
+                specialization, department, qualification, experienceYears, consultationFee,
+                languagesSpoken, telemedicineEnabled, profilePictureUrl);
+    }
+}
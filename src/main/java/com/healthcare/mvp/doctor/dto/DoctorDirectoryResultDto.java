@@ -0,0 +1,45 @@
+package com.healthcare.mvp.doctor.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of directory results plus per-facet counts.
+ * Each facet's counts honour every other active filter but not its own,
+ * so the UI can show how many doctors each additional OR choice would add.
+ */
+public class DoctorDirectoryResultDto {
+    private int totalMatches;
+    private int page;
+    private int size;
+    private List<DoctorDirectoryEntryDto> doctors;
+    private Map<String, Map<String, Integer>> facetCounts;
+
+    // Constructors
+    public DoctorDirectoryResultDto() {}
+
+    public DoctorDirectoryResultDto(int totalMatches, int page, int size, List<DoctorDirectoryEntryDto> doctors,
+                                    Map<String, Map<String, Integer>> facetCounts) {
+        this.totalMatches = totalMatches;
+        this.page = page;
+        this.size = size;
+        this.doctors = doctors;
+        this.facetCounts = facetCounts;
+    }
+
+    // Getters and Setters
+    public int getTotalMatches() { return totalMatches; }
+    public void setTotalMatches(int totalMatches) { this.totalMatches = totalMatches; }
+
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public List<DoctorDirectoryEntryDto> getDoctors() { return doctors; }
+    public void setDoctors(List<DoctorDirectoryEntryDto> doctors) { this.doctors = doctors; }
+
+    public Map<String, Map<String, Integer>> getFacetCounts() { return facetCounts; }
+    public void setFacetCounts(Map<String, Map<String, Integer>> facetCounts) { this.facetCounts = facetCounts; }
+}
@@ -0,0 +1,24 @@
+package com.healthcare.mvp.doctor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DoctorProfileImageDto {
+    private UUID doctorId;
+    private String profilePictureUrl;
+    private String contentType;
+    private long sizeBytes;
+    private int width;
+    private int height;
+    private String etag;
+    private Map<String, String> renditionUrls; // size name -> versioned URL
+}
@@ -0,0 +1,24 @@
+package com.healthcare.mvp.doctor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One ranked fuzzy search hit. matchScore reflects text similarity only;
+ * score also weighs telemedicine and how soon the doctor's schedule opens.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DoctorSearchResultDto {
+
+    private DoctorDirectoryEntryDto doctor;
+    private double score;
+    private double matchScore;
+    private LocalDateTime nextOpenSlot;
+}
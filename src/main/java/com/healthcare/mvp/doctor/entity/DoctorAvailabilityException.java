@@ -0,0 +1,61 @@
+package com.healthcare.mvp.doctor.entity;
+
+import com.healthcare.mvp.shared.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * A dated deviation from the weekly template: leave or a holiday closes time,
+ * extra hours open it. A null doctorId applies to every doctor of the hospital;
+ * null start/end times cover the whole day.
+ */
+@Entity
+@Table(name = "doctor_availability_exception")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true)
+public class DoctorAvailabilityException extends BaseEntity {
+
+    @Id
+    @Column(name = "exception_id")
+    private UUID exceptionId;
+
+    @Column(name = "hospital_id", nullable = false)
+    private UUID hospitalId;
+
+    @Column(name = "doctor_id")
+    private UUID doctorId;
+
+    @Column(name = "exception_date", nullable = false)
+    private LocalDate exceptionDate;
+
+    @Column(name = "start_time")
+    private LocalTime startTime;
+
+    @Column(name = "end_time")
+    private LocalTime endTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "exception_type", nullable = false)
+    private ExceptionType exceptionType;
+
+    @Column(name = "slot_capacity")
+    private Integer slotCapacity;
+
+    @Column(name = "reason", length = 500)
+    private String reason;
+
+    public enum ExceptionType {
+        LEAVE, HOLIDAY, EXTRA_HOURS;
+
+        public boolean closes() {
+            return this != EXTRA_HOURS;
+        }
+    }
+}
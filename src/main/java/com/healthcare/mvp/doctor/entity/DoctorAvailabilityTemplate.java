@@ -0,0 +1,53 @@
+package com.healthcare.mvp.doctor.entity;
+
+import com.healthcare.mvp.shared.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * One recurring weekly working window of a doctor, e.g. Monday 09:00-13:00
+ * taking two patients per slot. A doctor has any number of these.
+ */
+@Entity
+@Table(name = "doctor_availability_template")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true)
+public class DoctorAvailabilityTemplate extends BaseEntity {
+
+    @Id
+    @Column(name = "template_id")
+    private UUID templateId;
+
+    @Column(name = "doctor_id", nullable = false)
+    private UUID doctorId;
+
+    @Column(name = "hospital_id", nullable = false)
+    private UUID hospitalId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "day_of_week", nullable = false)
+    private DayOfWeek dayOfWeek;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime;
+
+    @Column(name = "slot_capacity", nullable = false)
+    private Integer slotCapacity;
+
+    @Column(name = "effective_from")
+    private LocalDate effectiveFrom;
+
+    @Column(name = "effective_to")
+    private LocalDate effectiveTo;
+}
@@ -0,0 +1,18 @@
+package com.healthcare.mvp.doctor.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Published when availability templates or exceptions change.
+ * A null doctorId means a hospital-wide change (e.g. a holiday).
+ */
+@Getter
+@RequiredArgsConstructor
+public class DoctorAvailabilityChangedEvent {
+
+    private final UUID hospitalId;
+    private final UUID doctorId;
+}
@@ -0,0 +1,33 @@
+package com.healthcare.mvp.doctor.event;
+
+import com.healthcare.mvp.doctor.entity.Doctor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published by DoctorService whenever a doctor row is written.
+ * In-memory read models (directory index, ...) listen for this after commit.
+ */
+@Getter
+@RequiredArgsConstructor
+public class DoctorChangedEvent {
+
+    private final Doctor doctor;
+    private final ChangeType changeType;
+
+    public enum ChangeType {
+        CREATED, UPDATED, DEACTIVATED
+    }
+
+    public static DoctorChangedEvent created(Doctor doctor) {
+        return new DoctorChangedEvent(doctor, ChangeType.CREATED);
+    }
+
+    public static DoctorChangedEvent updated(Doctor doctor) {
+        return new DoctorChangedEvent(doctor, ChangeType.UPDATED);
+    }
+
+    public static DoctorChangedEvent deactivated(Doctor doctor) {
+        return new DoctorChangedEvent(doctor, ChangeType.DEACTIVATED);
+    }
+}
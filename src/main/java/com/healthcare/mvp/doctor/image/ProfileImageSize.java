@@ -0,0 +1,39 @@
+package com.healthcare.mvp.doctor.image;
+
+import java.util.Locale;
+
+/**
+ * Renditions served for a doctor's profile picture. Thumbnails are scaled to fit
+ * within a square box of the given edge, keeping the aspect ratio.
+ */
+public enum ProfileImageSize {
+    SMALL(64),
+    MEDIUM(160),
+    LARGE(320),
+    ORIGINAL(0);
+
+    private final int maxEdge;
+
+    ProfileImageSize(int maxEdge) {
+        this.maxEdge = maxEdge;
+    }
+
+    public int getMaxEdge() {
+        return maxEdge;
+    }
+
+    public boolean isThumbnail() {
+        return this != ORIGINAL;
+    }
+
+    public static ProfileImageSize parse(String value) {
+        if (value == null || value.isBlank()) {
+            return ORIGINAL;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unknown image size: " + value);
+        }
+    }
+}
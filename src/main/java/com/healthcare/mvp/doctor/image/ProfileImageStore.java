@@ -0,0 +1,367 @@
+package com.healthcare.mvp.doctor.image;
+
+import com.healthcare.mvp.doctor.image.ThumbnailRenderer.ImageInfo;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Doctor profile pictures on local disk.
+ *
+ * Originals live at originals/&lt;doctorId&gt;/&lt;sha256&gt;.&lt;ext&gt; and are
+ * never evicted; the content hash doubles as the ETag and as the version in the
+ * picture URL, so a new upload changes the URL and old renditions simply stop
+ * being requested. Thumbnails are rendered on a small bounded worker pool -
+ * eagerly after upload, and again on demand if the LRU cache has dropped them.
+ * Concurrent requests for the same missing thumbnail share one render; when the
+ * pool is saturated the original is served instead of rendering on the request
+ * thread.
+ *
+ * A replaced original and its thumbnails are deleted only after a grace period,
+ * so downloads that resolved the old picture just before the upload can finish.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProfileImageStore {
+
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "jpeg", "image/jpeg",
+            "png", "image/png");
+
+    private final ThumbnailDiskCache thumbnailCache;
+
+    @Value("${app.doctor.images.root-dir:./data/doctor-images}")
+    private String rootDir;
+
+    @Value("${app.doctor.images.max-pixels:25000000}")
+    private long maxPixels;
+
+    @Value("${app.doctor.images.render-threads:2}")
+    private int renderThreads;
+
+    @Value("${app.doctor.images.render-queue-size:64}")
+    private int renderQueueSize;
+
+    @Value("${app.doctor.images.render-timeout-ms:3000}")
+    private long renderTimeoutMs;
+
+    @Value("${app.doctor.images.replaced-grace-seconds:300}")
+    private long replacedGraceSeconds;
+
+    private final Map<UUID, Optional<StoredImage>> current = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Path>> rendering = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor renderPool;
+    private ScheduledExecutorService retirer;
+    private Path originalsDir;
+
+    @PostConstruct
+    public void start() {
+        originalsDir = Paths.get(rootDir, "originals").toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(originalsDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create image directory " + originalsDir, e);
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        renderPool = new ThreadPoolExecutor(renderThreads, renderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(renderQueueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnail-render-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        retirer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "profile-image-retire");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        renderPool.shutdownNow();
+        // Nothing is downloading any more: delete replaced originals now rather than leave them behind
+        retirer.shutdownNow().forEach(Runnable::run);
+    }
+
+    /**
+     * Store an uploaded picture as the doctor's current original and queue its thumbnails
+     */
+    public StoredImage store(UUID doctorId, MultipartFile upload) throws IOException {
+        Path doctorDir = originalsDir.resolve(doctorId.toString());
+        Files.createDirectories(doctorDir);
+        Path temp = Files.createTempFile(doctorDir, "upload-", ".tmp");
+        try {
+            upload.transferTo(temp);
+            ImageInfo info = ThumbnailRenderer.probe(temp, maxPixels);
+            if (!CONTENT_TYPES.containsKey(info.getFormat())) {
+                throw new RuntimeException("Only JPEG and PNG images are accepted");
+            }
+
+            StoredImage previous = current(doctorId);
+            String hash = sha256(temp);
+            Path original = doctorDir.resolve(hash + "." + info.getFormat());
+            Files.move(temp, original, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            StoredImage image = new StoredImage(doctorId, hash, CONTENT_TYPES.get(info.getFormat()), original,
+                    Files.size(original), info.getWidth(), info.getHeight());
+            current.put(doctorId, Optional.of(image));
+
+            if (previous != null && !previous.getHash().equals(hash)) {
+                retireLater(previous.getDoctorId(), previous.getHash(), previous.getPath());
+            }
+            for (ProfileImageSize size : ProfileImageSize.values()) {
+                if (size.isThumbnail()) {
+                    try {
+                        renderAsync(image, size);
+                    } catch (RejectedExecutionException e) {
+                        log.debug("Render queue full, {} thumbnail of doctor {} will render on demand", size, doctorId);
+                    }
+                }
+            }
+            return image;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * The doctor's current original, or null if none was uploaded
+     */
+    public StoredImage current(UUID doctorId) {
+        return current.computeIfAbsent(doctorId, this::scan).orElse(null);
+    }
+
+    /**
+     * File to serve for the size. Missing thumbnails are rendered (at most one
+     * render per thumbnail at a time). If the render pool is full, or the render
+     * takes longer than the render timeout, null is returned and the caller
+     * serves the original meanwhile.
+     */
+    public Path rendition(StoredImage image, ProfileImageSize size) throws IOException {
+        if (!size.isThumbnail()) {
+            return image.getPath();
+        }
+        Path cached = thumbnailCache.get(thumbnailKey(image, size));
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<Path> render;
+        try {
+            render = renderAsync(image, size);
+        } catch (RejectedExecutionException e) {
+            log.debug("Render queue full, serving original for {} thumbnail of doctor {}", size, image.getDoctorId());
+            return null;
+        }
+        try {
+            return render.get(renderTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.debug("{} thumbnail of doctor {} still rendering, serving original", size, image.getDoctorId());
+            return null;
+        } catch (ExecutionException e) {
+            throw new IOException("Thumbnail rendering failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while rendering thumbnail", e);
+        }
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private CompletableFuture<Path> renderAsync(StoredImage image, ProfileImageSize size) {
+        String key = thumbnailKey(image, size);
+        CompletableFuture<Path> created = new CompletableFuture<>();
+        CompletableFuture<Path> existing = rendering.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            renderPool.execute(() -> {
+                try {
+                    created.complete(renderNow(image, size));
+                } catch (Throwable e) {
+                    created.completeExceptionally(e);
+                } finally {
+                    rendering.remove(key, created);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rendering.remove(key, created);
+            throw e;
+        }
+        return created;
+    }
+
+    private Path renderNow(StoredImage image, ProfileImageSize size) throws IOException {
+        String key = thumbnailKey(image, size);
+        Path cached = thumbnailCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Path temp = thumbnailCache.newTempFile(key);
+        try {
+            ThumbnailRenderer.render(image.getPath(), size.getMaxEdge(), temp);
+            return thumbnailCache.put(key, temp);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Delete a replaced original and its thumbnails once the grace period is over,
+     * unless it has been uploaded again meanwhile
+     */
+    private void retireLater(UUID doctorId, String hash, Path original) {
+        retirer.schedule(() -> {
+            StoredImage latest = current(doctorId);
+            if (latest != null && latest.getHash().equals(hash)) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(original);
+            } catch (IOException e) {
+                log.warn("Could not delete replaced profile image {}: {}", original, e.getMessage());
+            }
+            thumbnailCache.removeByPrefix(doctorId + "/" + hash);
+        }, replacedGraceSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * The newest original on disk; older ones a restart left behind are retired
+     */
+    private Optional<StoredImage> scan(UUID doctorId) {
+        Path doctorDir = originalsDir.resolve(doctorId.toString());
+        if (!Files.isDirectory(doctorDir)) {
+            return Optional.empty();
+        }
+        List<Path> originals = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(doctorDir)) {
+            for (Path file : files) {
+                String format = formatOf(file);
+                if (format != null && CONTENT_TYPES.containsKey(format)) {
+                    originals.add(file);
+                }
+            }
+            if (originals.isEmpty()) {
+                return Optional.empty();
+            }
+            originals.sort(Comparator.comparing(ProfileImageStore::modifiedTime).reversed());
+
+            Path file = originals.get(0);
+            String name = file.getFileName().toString();
+            String format = formatOf(file);
+            ImageInfo info = ThumbnailRenderer.probe(file, maxPixels);
+            for (Path stale : originals.subList(1, originals.size())) {
+                String staleName = stale.getFileName().toString();
+                retireLater(doctorId, staleName.substring(0, staleName.lastIndexOf('.')), stale);
+            }
+            return Optional.of(new StoredImage(doctorId, name.substring(0, name.length() - format.length() - 1),
+                    CONTENT_TYPES.get(format), file, Files.size(file), info.getWidth(), info.getHeight()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read profile image of doctor " + doctorId, e);
+        }
+    }
+
+    private static String formatOf(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? null : name.substring(dot + 1);
+    }
+
+    private static FileTime modifiedTime(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String thumbnailKey(StoredImage image, ProfileImageSize size) {
+        return image.getDoctorId() + "/" + image.getHash() + "-" + size.name().toLowerCase(Locale.ROOT) + ".jpg";
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream input = Files.newInputStream(file)) {
+            int read;
+            while ((read = input.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * A stored original. Thumbnail ETags derive from the same content hash.
+     */
+    public static final class StoredImage {
+        private final UUID doctorId;
+        private final String hash;
+        private final String contentType;
+        private final Path path;
+        private final long sizeBytes;
+        private final int width;
+        private final int height;
+
+        StoredImage(UUID doctorId, String hash, String contentType, Path path, long sizeBytes, int width, int height) {
+            this.doctorId = doctorId;
+            this.hash = hash;
+            this.contentType = contentType;
+            this.path = path;
+            this.sizeBytes = sizeBytes;
+            this.width = width;
+            this.height = height;
+        }
+
+        public UUID getDoctorId() { return doctorId; }
+        public String getHash() { return hash; }
+        public String getContentType() { return contentType; }
+        public Path getPath() { return path; }
+        public long getSizeBytes() { return sizeBytes; }
+        public int getWidth() { return width; }
+        public int getHeight() { return height; }
+    }
+}
@@ -0,0 +1,172 @@
+package com.healthcare.mvp.doctor.image;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Size-bounded LRU cache of rendered thumbnails on local disk.
+ *
+ * Entries are files under the cache directory keyed by their relative path; the
+ * in-memory map only tracks sizes in access order. When the total exceeds the
+ * budget the least recently served files are deleted - they are re-rendered from
+ * the original on the next request. Readers that already opened an evicted file
+ * keep reading it, since deletion only unlinks the name.
+ *
+ * Seeded from the directory at startup, oldest modification time first.
+ */
+@Component
+@Slf4j
+public class ThumbnailDiskCache {
+
+    @Value("${app.doctor.images.root-dir:./data/doctor-images}")
+    private String rootDir;
+
+    @Value("${app.doctor.images.cache-max-mb:256}")
+    private long cacheMaxMb;
+
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes = 0;
+    private Path cacheDir;
+
+    @PostConstruct
+    public void load() {
+        cacheDir = Paths.get(rootDir, "thumbnails").toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(cacheDir);
+            List<Path> files = new ArrayList<>();
+            try (Stream<Path> walk = Files.walk(cacheDir)) {
+                walk.filter(Files::isRegularFile).forEach(files::add);
+            }
+            files.sort(Comparator.comparing(ThumbnailDiskCache::lastModified));
+
+            synchronized (this) {
+                for (Path file : files) {
+                    if (file.getFileName().toString().endsWith(".tmp")) {
+                        Files.deleteIfExists(file); // left over from an interrupted render
+                        continue;
+                    }
+                    long size = Files.size(file);
+                    entries.put(cacheDir.relativize(file).toString(), size);
+                    totalBytes += size;
+                }
+                evict();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open thumbnail cache at " + cacheDir, e);
+        }
+        log.info("Thumbnail cache opened with {} files ({} KB) at {}", entries.size(), totalBytes / 1024, cacheDir);
+    }
+
+    /**
+     * The cached file for the key, or null on a miss. A hit counts as a use.
+     */
+    public synchronized Path get(String key) {
+        if (entries.get(key) == null) {
+            return null;
+        }
+        Path file = cacheDir.resolve(key);
+        if (!Files.exists(file)) {
+            totalBytes -= entries.remove(key);
+            return null;
+        }
+        return file;
+    }
+
+    /**
+     * A scratch file inside the cache directory, so the final move is atomic
+     */
+    public Path newTempFile(String key) throws IOException {
+        Path target = cacheDir.resolve(key);
+        Files.createDirectories(target.getParent());
+        return Files.createTempFile(target.getParent(), "render-", ".tmp");
+    }
+
+    /**
+     * Move a rendered temp file into place under the key and trim the cache
+     */
+    public Path put(String key, Path renderedFile) throws IOException {
+        Path target = cacheDir.resolve(key);
+        Files.move(renderedFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        long size = Files.size(target);
+
+        synchronized (this) {
+            Long previous = entries.put(key, size);
+            totalBytes += size - (previous == null ? 0 : previous);
+            evict();
+        }
+        return target;
+    }
+
+    /**
+     * Drop every entry whose key starts with the prefix, e.g. all renditions of a replaced original
+     */
+    public void removeByPrefix(String prefix) {
+        List<String> removed = new ArrayList<>();
+        synchronized (this) {
+            Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, Long> entry = iterator.next();
+                if (entry.getKey().startsWith(prefix)) {
+                    totalBytes -= entry.getValue();
+                    removed.add(entry.getKey());
+                    iterator.remove();
+                }
+            }
+        }
+        removed.forEach(this::deleteQuietly);
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    /**
+     * Caller holds the monitor. The newest entry is never evicted, so one
+     * oversized thumbnail still gets served.
+     */
+    private void evict() {
+        long budget = cacheMaxMb * 1024 * 1024;
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (totalBytes > budget && entries.size() > 1 && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            totalBytes -= eldest.getValue();
+            iterator.remove();
+            deleteQuietly(eldest.getKey());
+        }
+    }
+
+    private void deleteQuietly(String key) {
+        try {
+            Files.deleteIfExists(cacheDir.resolve(key));
+        } catch (IOException e) {
+            log.warn("Could not delete cached thumbnail {}: {}", key, e.getMessage());
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class).lastModifiedTime().toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+}
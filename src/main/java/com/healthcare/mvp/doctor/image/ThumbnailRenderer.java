@@ -0,0 +1,139 @@
+package com.healthcare.mvp.doctor.image;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Locale;
+
+/**
+ * Decodes an uploaded picture and writes scaled JPEG renditions.
+ *
+ * Dimensions are read from the header before any pixels are decoded so that a
+ * small file declaring a huge canvas is rejected cheaply. Large reductions are
+ * done in successive halvings, which keeps bilinear filtering sharp without the
+ * cost of area averaging.
+ */
+final class ThumbnailRenderer {
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private ThumbnailRenderer() {
+    }
+
+    /**
+     * Width, height and ImageIO format name of the image, without decoding it
+     */
+    static ImageInfo probe(Path file, long maxPixels) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                throw new RuntimeException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if (width <= 0 || height <= 0 || (long) width * height > maxPixels) {
+                    throw new RuntimeException("Image dimensions " + width + "x" + height + " are not allowed");
+                }
+                return new ImageInfo(width, height, reader.getFormatName().toLowerCase(Locale.ROOT));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scale the original to fit within maxEdge x maxEdge and write it as JPEG
+     */
+    static void render(Path original, int maxEdge, Path target) throws IOException {
+        BufferedImage source = ImageIO.read(original.toFile());
+        if (source == null) {
+            throw new IOException("Cannot decode image " + original.getFileName());
+        }
+
+        double scale = Math.min(1.0, (double) maxEdge / Math.max(source.getWidth(), source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        // Every step draws onto an opaque canvas, which also flattens alpha for JPEG
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            if (width / 2 >= targetWidth && height / 2 >= targetHeight) {
+                width /= 2;
+                height /= 2;
+            } else {
+                width = targetWidth;
+                height = targetHeight;
+            }
+            current = draw(current, width, height);
+        } while (width != targetWidth || height != targetHeight);
+        writeJpeg(current, target);
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private static void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    static final class ImageInfo {
+        private final int width;
+        private final int height;
+        private final String format;
+
+        ImageInfo(int width, int height, String format) {
+            this.width = width;
+            this.height = height;
+            this.format = format;
+        }
+
+        int getWidth() {
+            return width;
+        }
+
+        int getHeight() {
+            return height;
+        }
+
+        String getFormat() {
+            return format;
+        }
+    }
+}
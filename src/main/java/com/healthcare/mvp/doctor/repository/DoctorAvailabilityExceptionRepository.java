@@ -0,0 +1,37 @@
+package com.healthcare.mvp.doctor.repository;
+
+import com.healthcare.mvp.doctor.entity.DoctorAvailabilityException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface DoctorAvailabilityExceptionRepository extends JpaRepository<DoctorAvailabilityException, UUID> {
+
+    // Exceptions of the given doctors plus hospital-wide ones, within a date window
+    @Query("SELECT e FROM DoctorAvailabilityException e WHERE e.isActive = true " +
+           "AND e.exceptionDate BETWEEN :fromDate AND :toDate " +
+           "AND (e.doctorId IN :doctorIds OR (e.doctorId IS NULL AND e.hospitalId IN :hospitalIds))")
+    List<DoctorAvailabilityException> findForDoctors(@Param("doctorIds") Collection<UUID> doctorIds,
+                                                     @Param("hospitalIds") Collection<UUID> hospitalIds,
+                                                     @Param("fromDate") LocalDate fromDate,
+                                                     @Param("toDate") LocalDate toDate);
+
+    @Query("SELECT e FROM DoctorAvailabilityException e WHERE e.isActive = true " +
+           "AND e.exceptionDate BETWEEN :fromDate AND :toDate")
+    List<DoctorAvailabilityException> findAllBetween(@Param("fromDate") LocalDate fromDate,
+                                                     @Param("toDate") LocalDate toDate);
+
+    @Query("SELECT e FROM DoctorAvailabilityException e WHERE e.isActive = true AND e.exceptionDate >= :fromDate " +
+           "AND (e.doctorId = :doctorId OR (e.doctorId IS NULL AND e.hospitalId = :hospitalId)) " +
+           "ORDER BY e.exceptionDate, e.startTime")
+    List<DoctorAvailabilityException> findUpcomingForDoctor(@Param("doctorId") UUID doctorId,
+                                                            @Param("hospitalId") UUID hospitalId,
+                                                            @Param("fromDate") LocalDate fromDate);
+}
@@ -0,0 +1,29 @@
+package com.healthcare.mvp.doctor.repository;
+
+import com.healthcare.mvp.doctor.entity.DoctorAvailabilityTemplate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface DoctorAvailabilityTemplateRepository extends JpaRepository<DoctorAvailabilityTemplate, UUID> {
+
+    List<DoctorAvailabilityTemplate> findByDoctorIdAndIsActiveTrueOrderByDayOfWeekAscStartTimeAsc(UUID doctorId);
+
+    List<DoctorAvailabilityTemplate> findByDoctorIdInAndIsActiveTrue(Collection<UUID> doctorIds);
+
+    List<DoctorAvailabilityTemplate> findByIsActiveTrue();
+
+    // Replacing a doctor's week retires the old windows
+    @Modifying
+    @Query("UPDATE DoctorAvailabilityTemplate t SET t.isActive = false, t.version = COALESCE(t.version, 0) + 1, " +
+           "t.updatedDate = LOCAL DATETIME " +
+           "WHERE t.doctorId = :doctorId AND t.isActive = true")
+    int deactivateByDoctorId(@Param("doctorId") UUID doctorId);
+}
@@ -1,7 +1,10 @@
 package com.healthcare.mvp.doctor.repository;
 
+import com.healthcare.mvp.doctor.dto.DoctorAvailabilityRowDto;
 import com.healthcare.mvp.doctor.entity.Doctor;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,6 +19,14 @@ public interface DoctorRepository extends JpaRepository<Doctor, UUID> {
     // Basic finders
     Optional<Doctor> findByDoctorIdAndIsActiveTrue(UUID doctorId);
 
+    // All active doctors (directory index seed)
+    List<Doctor> findByIsActiveTrue();
+
+    // Serializes bookings for one doctor across nodes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Doctor d WHERE d.doctorId = :doctorId")
+    Optional<Doctor> lockByDoctorId(@Param("doctorId") UUID doctorId);
+
     // Find by hospital ID
     List<Doctor> findByHospitalIdAndIsActiveTrue(UUID hospitalId);
 
@@ -76,6 +87,13 @@ public interface DoctorRepository extends JpaRepository<Doctor, UUID> {
     @Query("SELECT d FROM Doctor d WHERE d.hospitalId = :hospitalId AND d.isActive = true AND d.availableDays IS NOT NULL")
     List<Doctor> findAvailableDoctorsByHospital(@Param("hospitalId") UUID hospitalId);
 
+    // Availability index rows for active doctors, without loading entities
+    @Query("SELECT new com.healthcare.mvp.doctor.dto.DoctorAvailabilityRowDto(" +
+           "d.doctorId, d.hospitalId, d.firstName, d.lastName, d.specialization, " +
+           "d.availableDays, d.availableHours, d.availableFrom, d.availableTo) " +
+           "FROM Doctor d WHERE d.isActive = true")
+    List<DoctorAvailabilityRowDto> findAvailabilityRows();
+
     // Find by consultation fee range
     @Query("SELECT d FROM Doctor d WHERE d.hospitalId = :hospitalId AND d.consultationFee BETWEEN :minFee AND :maxFee AND d.isActive = true")
     List<Doctor> findByHospitalAndConsultationFeeRange(@Param("hospitalId") UUID hospitalId,
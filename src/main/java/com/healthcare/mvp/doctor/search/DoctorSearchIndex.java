@@ -0,0 +1,96 @@
+package com.healthcare.mvp.doctor.search;
+
+import com.healthcare.mvp.doctor.availability.DoctorAvailabilityCalendar;
+import com.healthcare.mvp.doctor.availability.DoctorAvailabilityIndex;
+import com.healthcare.mvp.doctor.dto.DoctorDirectoryEntryDto;
+import com.healthcare.mvp.doctor.dto.DoctorSearchResultDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Typo-tolerant doctor search served from memory.
+ *
+ * Holds an immutable DoctorSearchSnapshot that DoctorDirectoryIndex replaces
+ * whenever its own snapshot is rebuilt, so both always describe the same doctors.
+ * Hits are ranked by a blend of text match quality, telemedicine, and how soon
+ * the doctor's cached availability calendar has an open slot (bookings are not
+ * consulted here, keeping the query free of database access).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DoctorSearchIndex {
+
+    private static final double MATCH_WEIGHT = 0.8;
+    private static final double TELEMEDICINE_WEIGHT = 0.1;
+    private static final double SLOT_WEIGHT = 0.1;
+
+    private final DoctorAvailabilityIndex availabilityIndex;
+
+    private final AtomicReference<DoctorSearchSnapshot> snapshot =
+            new AtomicReference<>(DoctorSearchSnapshot.empty());
+
+    @Value("${app.doctor.availability.horizon-days:28}")
+    private int horizonDays;
+
+    /**
+     * Replace the search snapshot; called by DoctorDirectoryIndex under its write lock
+     */
+    public void rebuild(Collection<DoctorDirectoryEntryDto> doctors) {
+        long startTime = System.nanoTime();
+        snapshot.set(DoctorSearchSnapshot.of(doctors));
+        log.debug("Doctor search index rebuilt for {} doctors in {}us",
+                doctors.size(), (System.nanoTime() - startTime) / 1000);
+    }
+
+    /**
+     * Ranked doctors matching every token of the query, optionally within one hospital
+     */
+    public List<DoctorSearchResultDto> search(String query, UUID hospitalId, int limit) {
+        DoctorSearchSnapshot current = snapshot.get();
+        Map<Integer, Float> matches = current.match(query, hospitalId);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        double horizonMinutes = Duration.ofDays(horizonDays).toMinutes();
+
+        List<DoctorSearchResultDto> results = new ArrayList<>(matches.size());
+        for (Map.Entry<Integer, Float> match : matches.entrySet()) {
+            DoctorDirectoryEntryDto doctor = current.entry(match.getKey());
+            DoctorAvailabilityCalendar calendar = availabilityIndex.cachedCalendar(doctor.getDoctorId());
+            LocalDateTime nextOpenSlot = calendar == null ? null : calendar.nextOpenSlot(now);
+
+            double slotScore = nextOpenSlot == null ? 0
+                    : Math.max(0, 1 - Duration.between(now, nextOpenSlot).toMinutes() / horizonMinutes);
+            double score = MATCH_WEIGHT * match.getValue()
+                    + (doctor.isTelemedicineEnabled() ? TELEMEDICINE_WEIGHT : 0)
+                    + SLOT_WEIGHT * slotScore;
+
+            results.add(DoctorSearchResultDto.builder()
+                    .doctor(doctor)
+                    .score(score)
+                    .matchScore(match.getValue())
+                    .nextOpenSlot(nextOpenSlot)
+                    .build());
+        }
+
+        results.sort(Comparator.comparingDouble(DoctorSearchResultDto::getScore).reversed()
+                .thenComparing(result -> result.getDoctor().getLastName(),
+                        Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+        return results.size() > limit ? new ArrayList<>(results.subList(0, limit)) : results;
+    }
+}
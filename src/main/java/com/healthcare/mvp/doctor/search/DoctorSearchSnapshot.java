@@ -0,0 +1,325 @@
+package com.healthcare.mvp.doctor.search;
+
+import com.healthcare.mvp.doctor.dto.DoctorDirectoryEntryDto;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable term index over doctor names, specializations, departments and languages.
+ *
+ * Every distinct term keeps a posting list of doctor ordinals with the weight of
+ * the field it came from. Query tokens are matched against terms exactly, by
+ * prefix (binary search over the sorted vocabulary) and fuzzily: padded trigrams
+ * select candidate terms, which are then verified with an edit-distance bound
+ * using optimal-string-alignment Damerau-Levenshtein (so "cardiolgy" still hits
+ * "cardiology" and "shrma" hits "sharma").
+ */
+final class DoctorSearchSnapshot {
+
+    static final float NAME_WEIGHT = 1.0f;
+    static final float SPECIALIZATION_WEIGHT = 0.9f;
+    static final float DEPARTMENT_WEIGHT = 0.7f;
+    static final float LANGUAGE_WEIGHT = 0.5f;
+
+    private static final float EXACT_QUALITY = 1.0f;
+    private static final float PREFIX_QUALITY = 0.85f;
+    private static final float[] EDIT_QUALITY = {1.0f, 0.75f, 0.5f};
+    private static final int MIN_PREFIX_LENGTH = 3;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+    private static final Set<String> STOP_WORDS = Set.of("dr", "doctor", "and", "of", "the");
+
+    private final DoctorDirectoryEntryDto[] entries;
+    private final String[] terms;               // sorted vocabulary; term id = index
+    private final int[][] postings;             // term id -> doctor ordinals
+    private final float[][] weights;            // term id -> field weight per posting
+    private final Map<String, int[]> trigrams;  // trigram -> term ids
+    private final int[][] lengthTerms;          // term length -> term ids
+
+    private DoctorSearchSnapshot(Collection<DoctorDirectoryEntryDto> doctors) {
+        this.entries = doctors.toArray(DoctorDirectoryEntryDto[]::new);
+
+        Map<String, Map<Integer, Float>> termDoctors = new HashMap<>();
+        for (int ordinal = 0; ordinal < entries.length; ordinal++) {
+            DoctorDirectoryEntryDto entry = entries[ordinal];
+            addTerms(termDoctors, ordinal, entry.getFirstName(), NAME_WEIGHT);
+            addTerms(termDoctors, ordinal, entry.getLastName(), NAME_WEIGHT);
+            addTerms(termDoctors, ordinal, entry.getSpecialization(), SPECIALIZATION_WEIGHT);
+            addTerms(termDoctors, ordinal, entry.getDepartment(), DEPARTMENT_WEIGHT);
+            for (String language : entry.getLanguagesSpoken()) {
+                addTerms(termDoctors, ordinal, language, LANGUAGE_WEIGHT);
+            }
+        }
+
+        this.terms = termDoctors.keySet().toArray(String[]::new);
+        Arrays.sort(terms);
+        this.postings = new int[terms.length][];
+        this.weights = new float[terms.length][];
+
+        Map<String, List<Integer>> gramTerms = new HashMap<>();
+        for (int termId = 0; termId < terms.length; termId++) {
+            Map<Integer, Float> doctorsOfTerm = termDoctors.get(terms[termId]);
+            postings[termId] = new int[doctorsOfTerm.size()];
+            weights[termId] = new float[doctorsOfTerm.size()];
+            int i = 0;
+            for (Map.Entry<Integer, Float> posting : doctorsOfTerm.entrySet()) {
+                postings[termId][i] = posting.getKey();
+                weights[termId][i] = posting.getValue();
+                i++;
+            }
+            for (String gram : trigramsOf(terms[termId])) {
+                gramTerms.computeIfAbsent(gram, g -> new ArrayList<>()).add(termId);
+            }
+        }
+
+        this.trigrams = new HashMap<>(gramTerms.size() * 2);
+        gramTerms.forEach((gram, ids) -> trigrams.put(gram, ids.stream().mapToInt(Integer::intValue).toArray()));
+
+        int longest = 0;
+        for (String term : terms) {
+            longest = Math.max(longest, term.length());
+        }
+        int[] lengthCounts = new int[longest + 1];
+        for (String term : terms) {
+            lengthCounts[term.length()]++;
+        }
+        this.lengthTerms = new int[longest + 1][];
+        for (int length = 0; length <= longest; length++) {
+            lengthTerms[length] = new int[lengthCounts[length]];
+            lengthCounts[length] = 0;
+        }
+        for (int termId = 0; termId < terms.length; termId++) {
+            int length = terms[termId].length();
+            lengthTerms[length][lengthCounts[length]++] = termId;
+        }
+    }
+
+    static DoctorSearchSnapshot empty() {
+        return new DoctorSearchSnapshot(List.of());
+    }
+
+    static DoctorSearchSnapshot of(Collection<DoctorDirectoryEntryDto> doctors) {
+        return new DoctorSearchSnapshot(doctors);
+    }
+
+    int size() {
+        return entries.length;
+    }
+
+    DoctorDirectoryEntryDto entry(int ordinal) {
+        return entries[ordinal];
+    }
+
+    /**
+     * Match score in (0, 1] per doctor ordinal. Every query token must match
+     * some term of the doctor; the score is the mean of each token's best
+     * (match quality x field weight).
+     */
+    Map<Integer, Float> match(String query, UUID hospitalId) {
+        List<String> tokens = queryTokens(query);
+        if (tokens.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Integer, Float> combined = null;
+        for (String token : tokens) {
+            Map<Integer, Float> tokenScores = matchToken(token);
+            if (combined == null) {
+                combined = tokenScores;
+            } else {
+                Map<Integer, Float> both = new HashMap<>();
+                for (Map.Entry<Integer, Float> scored : combined.entrySet()) {
+                    Float other = tokenScores.get(scored.getKey());
+                    if (other != null) {
+                        both.put(scored.getKey(), scored.getValue() + other);
+                    }
+                }
+                combined = both;
+            }
+            if (combined.isEmpty()) {
+                return Map.of();
+            }
+        }
+
+        Map<Integer, Float> result = new HashMap<>();
+        for (Map.Entry<Integer, Float> scored : combined.entrySet()) {
+            if (hospitalId == null || hospitalId.equals(entries[scored.getKey()].getHospitalId())) {
+                result.put(scored.getKey(), scored.getValue() / tokens.size());
+            }
+        }
+        return result;
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    /**
+     * Only the terms the token hits are touched: the prefix range and the
+     * verified fuzzy candidates, never the whole vocabulary
+     */
+    private Map<Integer, Float> matchToken(String token) {
+        Map<Integer, Float> termQuality = new HashMap<>();
+
+        // Exact and prefix: one contiguous range of the sorted vocabulary
+        int from = Arrays.binarySearch(terms, token);
+        if (from < 0) {
+            from = -from - 1;
+        }
+        for (int termId = from; termId < terms.length && terms[termId].startsWith(token); termId++) {
+            if (terms[termId].length() == token.length()) {
+                termQuality.put(termId, EXACT_QUALITY);
+            } else if (token.length() >= MIN_PREFIX_LENGTH) {
+                termQuality.put(termId, PREFIX_QUALITY);
+            }
+        }
+
+        // Fuzzy: trigram candidates verified against the edit bound
+        int maxEdits = maxEdits(token.length());
+        if (maxEdits > 0) {
+            for (int termId : fuzzyCandidates(token, maxEdits)) {
+                int distance = boundedDistance(token, terms[termId], maxEdits);
+                if (distance <= maxEdits) {
+                    termQuality.merge(termId, EDIT_QUALITY[distance], Math::max);
+                }
+            }
+        }
+
+        Map<Integer, Float> scores = new HashMap<>();
+        for (Map.Entry<Integer, Float> matched : termQuality.entrySet()) {
+            int termId = matched.getKey();
+            float quality = matched.getValue();
+            int[] doctors = postings[termId];
+            for (int i = 0; i < doctors.length; i++) {
+                scores.merge(doctors[i], quality * weights[termId][i], Math::max);
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Terms sharing enough padded trigrams with the token to possibly lie within
+     * maxEdits (one edit, transpositions included, touches at most 4 trigrams).
+     * Falls back to the terms of nearby lengths when the token is too short for
+     * the trigram filter to prune anything.
+     */
+    private List<Integer> fuzzyCandidates(String token, int maxEdits) {
+        Set<String> grams = trigramsOf(token);
+        int threshold = grams.size() - 4 * maxEdits;
+        List<Integer> result = new ArrayList<>();
+
+        if (threshold <= 0) {
+            int shortest = Math.max(token.length() - maxEdits, 0);
+            int longest = Math.min(token.length() + maxEdits, lengthTerms.length - 1);
+            for (int length = shortest; length <= longest; length++) {
+                for (int termId : lengthTerms[length]) {
+                    result.add(termId);
+                }
+            }
+            return result;
+        }
+
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (String gram : grams) {
+            int[] ids = trigrams.get(gram);
+            if (ids == null) {
+                continue;
+            }
+            for (int termId : ids) {
+                if (shared.merge(termId, 1, Integer::sum) == threshold
+                        && Math.abs(terms[termId].length() - token.length()) <= maxEdits) {
+                    result.add(termId);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static int maxEdits(int length) {
+        if (length <= 3) {
+            return 0;
+        }
+        return length <= 6 ? 1 : 2;
+    }
+
+    /**
+     * Optimal string alignment distance, abandoned as soon as it must exceed maxEdits
+     */
+    static int boundedDistance(String a, String b, int maxEdits) {
+        if (Math.abs(a.length() - b.length()) > maxEdits) {
+            return maxEdits + 1;
+        }
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    private static void addTerms(Map<String, Map<Integer, Float>> termDoctors, int ordinal, String text, float weight) {
+        for (String term : tokenize(text)) {
+            termDoctors.computeIfAbsent(term, t -> new HashMap<>()).merge(ordinal, weight, Math::max);
+        }
+    }
+
+    static List<String> queryTokens(String query) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : tokenize(query)) {
+            if (!STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        String cleaned = NON_ALPHANUMERIC.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+        return cleaned.isEmpty() ? List.of() : Arrays.asList(cleaned.split(" "));
+    }
+
+    private static Set<String> trigramsOf(String term) {
+        String padded = "$" + term + "$";
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,295 @@
+package com.healthcare.mvp.doctor.service;
+
+import com.healthcare.mvp.appointment.dto.AppointmentSlotRowDto;
+import com.healthcare.mvp.appointment.entity.Appointment.AppointmentStatus;
+import com.healthcare.mvp.appointment.repository.AppointmentRepository;
+import com.healthcare.mvp.doctor.availability.DoctorAvailabilityCalendar;
+import com.healthcare.mvp.doctor.availability.DoctorAvailabilityIndex;
+import com.healthcare.mvp.doctor.dto.AvailabilityExceptionDto;
+import com.healthcare.mvp.doctor.dto.AvailabilityTemplateDto;
+import com.healthcare.mvp.doctor.dto.AvailableDoctorDto;
+import com.healthcare.mvp.doctor.dto.DoctorAvailabilityDto;
+import com.healthcare.mvp.doctor.dto.DoctorAvailabilityRowDto;
+import com.healthcare.mvp.doctor.entity.Doctor;
+import com.healthcare.mvp.doctor.entity.DoctorAvailabilityException;
+import com.healthcare.mvp.doctor.entity.DoctorAvailabilityException.ExceptionType;
+import com.healthcare.mvp.doctor.entity.DoctorAvailabilityTemplate;
+import com.healthcare.mvp.doctor.event.DoctorAvailabilityChangedEvent;
+import com.healthcare.mvp.doctor.repository.DoctorAvailabilityExceptionRepository;
+import com.healthcare.mvp.doctor.repository.DoctorAvailabilityTemplateRepository;
+import com.healthcare.mvp.doctor.repository.DoctorRepository;
+import com.healthcare.mvp.hospital.cache.HospitalReferenceCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static com.healthcare.mvp.doctor.availability.DoctorAvailabilityCalendar.SLOT_MINUTES;
+
+/**
+ * Doctor availability: weekly templates, dated exceptions, and the
+ * "which doctors are free at time T" query served from DoctorAvailabilityIndex.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class DoctorAvailabilityService {
+
+    private static final List<AppointmentStatus> BOOKED_STATUSES =
+            List.of(AppointmentStatus.SCHEDULED, AppointmentStatus.CONFIRMED, AppointmentStatus.IN_PROGRESS);
+
+    private final DoctorRepository doctorRepository;
+    private final HospitalReferenceCache hospitalReferenceCache;
+    private final DoctorAvailabilityTemplateRepository templateRepository;
+    private final DoctorAvailabilityExceptionRepository exceptionRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final DoctorAvailabilityIndex availabilityIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Appointments starting this long before a slot can still overlap it
+    @Value("${app.doctor.availability.max-appointment-minutes:240}")
+    private int maxAppointmentMinutes;
+
+    /**
+     * Get a doctor's weekly template and upcoming exceptions
+     */
+    public DoctorAvailabilityDto getAvailability(UUID doctorId) {
+        Doctor doctor = findActiveDoctor(doctorId);
+
+        List<AvailabilityTemplateDto> templates = templateRepository
+                .findByDoctorIdAndIsActiveTrueOrderByDayOfWeekAscStartTimeAsc(doctorId)
+                .stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+        List<AvailabilityExceptionDto> exceptions = exceptionRepository
+                .findUpcomingForDoctor(doctorId, doctor.getHospitalId(), LocalDate.now())
+                .stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+
+        return DoctorAvailabilityDto.builder()
+                .doctorId(doctorId)
+                .hospitalId(doctor.getHospitalId())
+                .legacySchedule(templates.isEmpty())
+                .templates(templates)
+                .exceptions(exceptions)
+                .build();
+    }
+
+    /**
+     * Replace a doctor's weekly template
+     */
+    public DoctorAvailabilityDto replaceTemplates(UUID doctorId, List<AvailabilityTemplateDto> requests) {
+        log.info("Replacing availability template for doctor: {}", doctorId);
+        Doctor doctor = findActiveDoctor(doctorId);
+
+        for (AvailabilityTemplateDto request : requests) {
+            validateWindow(request.getStartTime(), request.getEndTime());
+            if (request.getEffectiveFrom() != null && request.getEffectiveTo() != null
+                    && request.getEffectiveFrom().isAfter(request.getEffectiveTo())) {
+                throw new RuntimeException("Effective from date cannot be after effective to date");
+            }
+        }
+
+        templateRepository.deactivateByDoctorId(doctorId);
+        templateRepository.saveAll(requests.stream()
+                .map(request -> DoctorAvailabilityTemplate.builder()
+                        .templateId(UUID.randomUUID())
+                        .doctorId(doctorId)
+                        .hospitalId(doctor.getHospitalId())
+                        .dayOfWeek(request.getDayOfWeek())
+                        .startTime(request.getStartTime())
+                        .endTime(request.getEndTime())
+                        .slotCapacity(request.getSlotCapacity() == null ? 1 : request.getSlotCapacity())
+                        .effectiveFrom(request.getEffectiveFrom())
+                        .effectiveTo(request.getEffectiveTo())
+                        .build())
+                .collect(Collectors.toList()));
+
+        eventPublisher.publishEvent(new DoctorAvailabilityChangedEvent(doctor.getHospitalId(), doctorId));
+        log.info("Availability template replaced for doctor {} with {} windows", doctorId, requests.size());
+        return getAvailability(doctorId);
+    }
+
+    /**
+     * Add leave, a holiday or extra hours
+     */
+    public AvailabilityExceptionDto addException(AvailabilityExceptionDto request) {
+        log.info("Adding {} on {} for hospital {} doctor {}", request.getExceptionType(),
+                request.getExceptionDate(), request.getHospitalId(), request.getDoctorId());
+
+        if (!hospitalReferenceCache.exists(request.getHospitalId())) {
+            throw new RuntimeException("Hospital not found with ID: " + request.getHospitalId());
+        }
+        if (request.getDoctorId() != null) {
+            Doctor doctor = findActiveDoctor(request.getDoctorId());
+            if (!doctor.getHospitalId().equals(request.getHospitalId())) {
+                throw new RuntimeException("Doctor does not belong to hospital: " + request.getHospitalId());
+            }
+        } else if (request.getExceptionType() != ExceptionType.HOLIDAY) {
+            throw new RuntimeException("Only holidays can apply to the whole hospital");
+        }
+        if ((request.getStartTime() == null) != (request.getEndTime() == null)) {
+            throw new RuntimeException("Provide both start and end time, or neither for the whole day");
+        }
+        if (request.getStartTime() != null) {
+            validateWindow(request.getStartTime(), request.getEndTime());
+        } else if (request.getExceptionType() == ExceptionType.EXTRA_HOURS) {
+            throw new RuntimeException("Extra hours require a start and end time");
+        }
+
+        DoctorAvailabilityException saved = exceptionRepository.save(DoctorAvailabilityException.builder()
+                .exceptionId(UUID.randomUUID())
+                .hospitalId(request.getHospitalId())
+                .doctorId(request.getDoctorId())
+                .exceptionDate(request.getExceptionDate())
+                .startTime(request.getStartTime())
+                .endTime(request.getEndTime())
+                .exceptionType(request.getExceptionType())
+                .slotCapacity(request.getExceptionType() == ExceptionType.EXTRA_HOURS
+                        ? (request.getSlotCapacity() == null ? 1 : request.getSlotCapacity()) : null)
+                .reason(request.getReason())
+                .build());
+
+        eventPublisher.publishEvent(new DoctorAvailabilityChangedEvent(saved.getHospitalId(), saved.getDoctorId()));
+        return convertToDto(saved);
+    }
+
+    /**
+     * Remove an exception
+     */
+    public void removeException(UUID exceptionId) {
+        DoctorAvailabilityException exception = exceptionRepository.findById(exceptionId)
+                .filter(existing -> Boolean.TRUE.equals(existing.getIsActive()))
+                .orElseThrow(() -> new RuntimeException("Availability exception not found with ID: " + exceptionId));
+
+        exception.setIsActive(false);
+        exceptionRepository.save(exception);
+        eventPublisher.publishEvent(new DoctorAvailabilityChangedEvent(exception.getHospitalId(), exception.getDoctorId()));
+        log.info("Availability exception removed: {}", exceptionId);
+    }
+
+    /**
+     * Doctors of the hospital (optionally of one specialization) with a free place
+     * in the slot containing the given time
+     */
+    @Transactional(readOnly = true)
+    public List<AvailableDoctorDto> findFreeDoctors(UUID hospitalId, String specialization, LocalDateTime at) {
+        if (!availabilityIndex.isReady()) {
+            throw new RuntimeException("Doctor availability is still loading, please retry shortly");
+        }
+
+        LocalDateTime slotStart = DoctorAvailabilityCalendar.slotStart(at);
+        LocalDateTime slotEnd = slotStart.plusMinutes(SLOT_MINUTES);
+
+        List<DoctorAvailabilityRowDto> roster = availabilityIndex.roster(hospitalId, specialization);
+        Map<UUID, DoctorAvailabilityCalendar> calendars = availabilityIndex.calendarsFor(roster, slotStart.toLocalDate());
+
+        Map<UUID, Integer> capacities = new HashMap<>();
+        for (DoctorAvailabilityRowDto row : roster) {
+            int capacity = calendars.get(row.getDoctorId()).capacityAt(slotStart);
+            if (capacity > 0) {
+                capacities.put(row.getDoctorId(), capacity);
+            }
+        }
+        if (capacities.isEmpty()) {
+            return List.of();
+        }
+
+        // One query for the occupancy of every open candidate
+        Map<UUID, Integer> booked = new HashMap<>();
+        for (AppointmentSlotRowDto appointment : appointmentRepository.findBookedSlotRows(
+                capacities.keySet(), BOOKED_STATUSES, slotStart.minusMinutes(maxAppointmentMinutes), slotEnd)) {
+            int duration = appointment.getDurationMinutes() == null ? SLOT_MINUTES : appointment.getDurationMinutes();
+            if (appointment.getAppointmentDateTime().plusMinutes(duration).isAfter(slotStart)) {
+                booked.merge(appointment.getDoctorId(), 1, Integer::sum);
+            }
+        }
+
+        List<AvailableDoctorDto> free = new ArrayList<>();
+        for (DoctorAvailabilityRowDto row : roster) {
+            Integer capacity = capacities.get(row.getDoctorId());
+            int taken = booked.getOrDefault(row.getDoctorId(), 0);
+            if (capacity != null && taken < capacity) {
+                free.add(AvailableDoctorDto.builder()
+                        .doctorId(row.getDoctorId())
+                        .hospitalId(row.getHospitalId())
+                        .firstName(row.getFirstName())
+                        .lastName(row.getLastName())
+                        .specialization(row.getSpecialization())
+                        .slotStart(slotStart)
+                        .slotEnd(slotEnd)
+                        .slotCapacity(capacity)
+                        .booked(taken)
+                        .build());
+            }
+        }
+        free.sort(Comparator.comparingInt(AvailableDoctorDto::getBooked)
+                .thenComparing(AvailableDoctorDto::getLastName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+        return free;
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private Doctor findActiveDoctor(UUID doctorId) {
+        return doctorRepository.findById(doctorId)
+                .filter(doctor -> Boolean.TRUE.equals(doctor.getIsActive()))
+                .orElseThrow(() -> new RuntimeException("Doctor not found with ID: " + doctorId));
+    }
+
+    /**
+     * Windows must be slot-aligned; an end time of 00:00 means end of day
+     */
+    private void validateWindow(LocalTime startTime, LocalTime endTime) {
+        if (!endTime.equals(LocalTime.MIDNIGHT) && !startTime.isBefore(endTime)) {
+            throw new RuntimeException("Start time must be before end time");
+        }
+        if (!isSlotAligned(startTime) || !isSlotAligned(endTime)) {
+            throw new RuntimeException("Times must fall on " + SLOT_MINUTES + "-minute boundaries");
+        }
+    }
+
+    private boolean isSlotAligned(LocalTime time) {
+        return time.getMinute() % SLOT_MINUTES == 0 && time.getSecond() == 0 && time.getNano() == 0;
+    }
+
+    private AvailabilityTemplateDto convertToDto(DoctorAvailabilityTemplate template) {
+        return AvailabilityTemplateDto.builder()
+                .templateId(template.getTemplateId())
+                .dayOfWeek(template.getDayOfWeek())
+                .startTime(template.getStartTime())
+                .endTime(template.getEndTime())
+                .slotCapacity(template.getSlotCapacity())
+                .effectiveFrom(template.getEffectiveFrom())
+                .effectiveTo(template.getEffectiveTo())
+                .build();
+    }
+
+    private AvailabilityExceptionDto convertToDto(DoctorAvailabilityException exception) {
+        return AvailabilityExceptionDto.builder()
+                .exceptionId(exception.getExceptionId())
+                .hospitalId(exception.getHospitalId())
+                .doctorId(exception.getDoctorId())
+                .exceptionDate(exception.getExceptionDate())
+                .startTime(exception.getStartTime())
+                .endTime(exception.getEndTime())
+                .exceptionType(exception.getExceptionType())
+                .slotCapacity(exception.getSlotCapacity())
+                .reason(exception.getReason())
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.healthcare.mvp.doctor.service;
+
+import com.healthcare.mvp.doctor.directory.DoctorDirectoryIndex;
+import com.healthcare.mvp.doctor.directory.DoctorDirectoryQuery;
+import com.healthcare.mvp.doctor.dto.DoctorDirectoryResultDto;
+import com.healthcare.mvp.doctor.dto.DoctorSearchResultDto;
+import com.healthcare.mvp.doctor.search.DoctorSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * "Find a doctor" directory browsing with faceted filters, and typo-tolerant search.
+ *
+ * Not @Transactional: answered entirely from DoctorDirectoryIndex and DoctorSearchIndex.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DoctorDirectoryService {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+    public static final int MAX_SEARCH_LIMIT = 50;
+
+    private final DoctorDirectoryIndex directoryIndex;
+    private final DoctorSearchIndex searchIndex;
+
+    /**
+     * Filter the directory and return one page with facet counts
+     */
+    public DoctorDirectoryResultDto browse(DoctorDirectoryQuery query, Integer page, Integer size) {
+        if (!directoryIndex.isReady()) {
+            throw new RuntimeException("Doctor directory is still loading, please retry shortly");
+        }
+        if (page != null && page < 0) {
+            throw new RuntimeException("Page cannot be negative");
+        }
+
+        query.setPage(page == null ? 0 : page);
+        query.setSize(size == null ? DEFAULT_SIZE : Math.max(1, Math.min(size, MAX_SIZE)));
+        log.debug("Browsing doctor directory: {}", query);
+        return directoryIndex.query(query);
+    }
+
+    /**
+     * Fuzzy search over name, specialization, department and languages, best matches first
+     */
+    public List<DoctorSearchResultDto> search(String query, UUID hospitalId, Integer limit) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new RuntimeException("Search term cannot be empty");
+        }
+        if (!directoryIndex.isReady()) {
+            throw new RuntimeException("Doctor directory is still loading, please retry shortly");
+        }
+
+        int effectiveLimit = limit == null ? DEFAULT_SEARCH_LIMIT : Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        return searchIndex.search(query.trim(), hospitalId, effectiveLimit);
+    }
+}
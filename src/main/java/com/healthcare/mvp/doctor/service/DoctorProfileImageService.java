@@ -0,0 +1,116 @@
+package com.healthcare.mvp.doctor.service;
+
+import com.healthcare.mvp.doctor.dto.DoctorDto;
+import com.healthcare.mvp.doctor.dto.DoctorProfileImageDto;
+import com.healthcare.mvp.doctor.image.ProfileImageSize;
+import com.healthcare.mvp.doctor.image.ProfileImageStore;
+import com.healthcare.mvp.doctor.image.ProfileImageStore.StoredImage;
+import com.healthcare.mvp.shared.util.FileResponseWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Doctor profile picture upload and download.
+ *
+ * Not @Transactional: file I/O must not hold a database connection; only the
+ * profilePictureUrl update goes through DoctorService.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DoctorProfileImageService {
+
+    private static final String VERSIONED_CACHE_CONTROL = "private, max-age=31536000, immutable";
+    private static final String REVALIDATE_CACHE_CONTROL = "private, no-cache";
+
+    private final DoctorService doctorService;
+    private final ProfileImageStore imageStore;
+
+    @Value("${app.doctor.images.max-upload-bytes:5242880}")
+    private long maxUploadBytes;
+
+    /**
+     * Store a new profile picture and point the doctor at it
+     */
+    public DoctorProfileImageDto uploadProfileImage(UUID doctorId, MultipartFile file) throws IOException {
+        DoctorDto doctor = doctorService.getDoctorById(doctorId)
+                .orElseThrow(() -> new RuntimeException("Doctor not found with ID: " + doctorId));
+        if (!Boolean.TRUE.equals(doctor.getIsActive())) {
+            throw new RuntimeException("Doctor is not active: " + doctorId);
+        }
+        if (file == null || file.isEmpty()) {
+            throw new RuntimeException("Image file cannot be empty");
+        }
+        if (file.getSize() > maxUploadBytes) {
+            throw new RuntimeException("Image exceeds the maximum size of " + maxUploadBytes / 1024 + " KB");
+        }
+
+        StoredImage image = imageStore.store(doctorId, file);
+        String url = imageUrl(doctorId, image, ProfileImageSize.ORIGINAL);
+        doctorService.updateProfilePicture(doctorId, url);
+
+        Map<String, String> renditions = new LinkedHashMap<>();
+        for (ProfileImageSize size : ProfileImageSize.values()) {
+            renditions.put(size.name(), imageUrl(doctorId, image, size));
+        }
+        log.info("Profile image {} stored for doctor {} ({} bytes, {}x{})",
+                image.getHash(), doctorId, image.getSizeBytes(), image.getWidth(), image.getHeight());
+
+        return DoctorProfileImageDto.builder()
+                .doctorId(doctorId)
+                .profilePictureUrl(url)
+                .contentType(image.getContentType())
+                .sizeBytes(image.getSizeBytes())
+                .width(image.getWidth())
+                .height(image.getHeight())
+                .etag(image.getHash())
+                .renditionUrls(renditions)
+                .build();
+    }
+
+    /**
+     * Stream the requested rendition. Versioned URLs are cacheable for a year;
+     * anything else must be revalidated with the ETag.
+     */
+    public void writeProfileImage(UUID doctorId, String sizeName, String version,
+                                  HttpServletRequest request, HttpServletResponse response) throws IOException {
+        StoredImage image = imageStore.current(doctorId);
+        if (image == null) {
+            throw new RuntimeException("Profile image not found for doctor: " + doctorId);
+        }
+
+        ProfileImageSize size = ProfileImageSize.parse(sizeName);
+        Path file = imageStore.rendition(image, size);
+        boolean versioned = version != null && version.length() >= 8 && image.getHash().startsWith(version);
+        if (file == null) {
+            // Thumbnail still rendering: serve the original, but don't let it be cached as the thumbnail
+            FileResponseWriter.write(request, response, image.getPath(), image.getContentType(),
+                    image.getHash(), REVALIDATE_CACHE_CONTROL);
+            return;
+        }
+
+        String etag = size.isThumbnail() ? image.getHash() + "-" + size.name().toLowerCase(Locale.ROOT) : image.getHash();
+        String contentType = size.isThumbnail() ? "image/jpeg" : image.getContentType();
+        FileResponseWriter.write(request, response, file, contentType, etag,
+                versioned ? VERSIONED_CACHE_CONTROL : REVALIDATE_CACHE_CONTROL);
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private static String imageUrl(UUID doctorId, StoredImage image, ProfileImageSize size) {
+        String url = "/api/doctors/" + doctorId + "/profile-image?v=" + image.getHash().substring(0, 16);
+        return size == ProfileImageSize.ORIGINAL ? url : url + "&size=" + size.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -3,11 +3,15 @@ package com.healthcare.mvp.doctor.service;
 import com.healthcare.mvp.doctor.dto.CreateDoctorRequest;
 import com.healthcare.mvp.doctor.dto.DoctorDto;
 import com.healthcare.mvp.doctor.entity.Doctor;
+import com.healthcare.mvp.doctor.event.DoctorChangedEvent;
 import com.healthcare.mvp.doctor.repository.DoctorRepository;
-import com.healthcare.mvp.hospital.entity.Hospital;
-import com.healthcare.mvp.hospital.repository.HospitalRepository;
+import com.healthcare.mvp.hospital.cache.HospitalReferenceCache;
+import com.healthcare.mvp.hospital.dto.HospitalReferenceDto;
+import com.healthcare.mvp.shared.sequence.CodeAllocator;
+import com.healthcare.mvp.shared.sequence.CodeSequence;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,7 +28,9 @@ import java.util.stream.Collectors;
 public class DoctorService {
 
     private final DoctorRepository doctorRepository;
-    private final HospitalRepository hospitalRepository;
+    private final HospitalReferenceCache hospitalReferenceCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CodeAllocator codeAllocator;
 
     /**
      * Create a new doctor
@@ -33,8 +39,7 @@ public class DoctorService {
         log.info("Creating new doctor for hospital: {}", request.getHospitalId());
 
         // Validate hospital exists
-        Hospital hospital = hospitalRepository.findById(request.getHospitalId())
-                .orElseThrow(() -> new RuntimeException("Hospital not found with ID: " + request.getHospitalId()));
+        HospitalReferenceDto hospital = hospitalReferenceCache.require(request.getHospitalId());
 
         // Validate email uniqueness
         if (doctorRepository.existsByEmail(request.getEmail())) {
@@ -86,6 +91,7 @@ public class DoctorService {
         }
 
         Doctor savedDoctor = doctorRepository.save(doctor);
+        eventPublisher.publishEvent(DoctorChangedEvent.created(savedDoctor));
         log.info("Doctor created successfully with ID: {} and code: {}", savedDoctor.getDoctorId(), savedDoctor.getDoctorCode());
 
         return convertToDto(savedDoctor);
@@ -98,7 +104,7 @@ public class DoctorService {
         log.debug("Fetching doctors for hospital: {}", hospitalId);
 
         // Validate hospital exists
-        if (!hospitalRepository.existsById(hospitalId)) {
+        if (!hospitalReferenceCache.exists(hospitalId)) {
             throw new RuntimeException("Hospital not found with ID: " + hospitalId);
         }
 
@@ -223,11 +229,26 @@ public class DoctorService {
         }
 
         Doctor savedDoctor = doctorRepository.save(doctor);
+        eventPublisher.publishEvent(DoctorChangedEvent.updated(savedDoctor));
         log.info("Doctor updated successfully: {}", savedDoctor.getDoctorCode());
 
         return convertToDto(savedDoctor);
     }
 
+    /**
+     * Point the doctor at a newly uploaded profile picture
+     */
+    public DoctorDto updateProfilePicture(UUID doctorId, String profilePictureUrl) {
+        Doctor doctor = doctorRepository.findById(doctorId)
+                .orElseThrow(() -> new RuntimeException("Doctor not found with ID: " + doctorId));
+
+        doctor.setProfilePictureUrl(profilePictureUrl);
+        doctor.setUpdatedBy(getCurrentUserId());
+        Doctor savedDoctor = doctorRepository.save(doctor);
+        eventPublisher.publishEvent(DoctorChangedEvent.updated(savedDoctor));
+        return convertToDto(savedDoctor);
+    }
+
     /**
      * Deactivate doctor
      */
@@ -240,6 +261,7 @@ public class DoctorService {
         doctor.setIsActive(false);
         doctor.setUpdatedBy(getCurrentUserId());
         doctorRepository.save(doctor);
+        eventPublisher.publishEvent(DoctorChangedEvent.deactivated(doctor));
 
         log.info("Doctor deactivated successfully: {}", doctor.getDoctorCode());
     }
@@ -271,18 +293,10 @@ public class DoctorService {
     // ========================= HELPER METHODS =========================
 
     /**
-     * Generate unique doctor code
+     * Generate unique doctor code from the doctor code sequence
      */
     private String generateDoctorCode() {
-        Long count = doctorRepository.count();
-        int nextNumber = count.intValue() + 1;
-        String code;
-        do {
-            code = "DOC" + String.format("%05d", nextNumber);
-            nextNumber++;
-        } while (doctorRepository.existsByDoctorCode(code));
-
-        return code;
+        return codeAllocator.nextCode(CodeSequence.DOCTOR_CODE, "DOC", 5);
     }
 
     /**
@@ -351,17 +365,8 @@ public class DoctorService {
             dto.setLanguagesSpoken(List.of(doctor.getLanguagesSpoken().split(",")));
         }
 
-        // Set hospital name if relationship is loaded
-//        if (doctor.getHospitalId() != null) {
-//            dto.setHospitalName(doctor.getHospitalId().getHospitalName());
-//        } else {
-            // Fetch hospital name separately
-           Hospital hospital= hospitalRepository.findByHospitalId(doctor.getHospitalId())
-                    .orElseThrow(() -> new RuntimeException("Hospital not found with ID: " + doctor.getHospitalId()));
-
-
-        dto.setHospitalName(hospital.getHospitalName());
-//        }
+        // Hospital name from the reference cache - no query per mapped doctor
+        dto.setHospitalName(hospitalReferenceCache.require(doctor.getHospitalId()).getHospitalName());
 
         return dto;
     }
@@ -0,0 +1,105 @@
+package com.healthcare.mvp.hospital.cache;
+
+import com.healthcare.mvp.hospital.dto.HospitalReferenceDto;
+import com.healthcare.mvp.hospital.entity.Hospital;
+import com.healthcare.mvp.hospital.event.HospitalChangedEvent;
+import com.healthcare.mvp.hospital.repository.HospitalRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hospital reference data (name, code, location, active flag) for DTO mappers
+ * and hospital-scoped existence checks.
+ *
+ * Hospitals are few and rarely change, so every row is held in memory. The
+ * cache is warmed before the other startup indexes load and kept current from
+ * HospitalChangedEvent after each commit. A miss falls through to the database
+ * and caches the row, so hospitals created on another node are still found;
+ * misses for unknown IDs are not cached.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HospitalReferenceCache {
+
+    private final HospitalRepository hospitalRepository;
+
+    private final Map<UUID, HospitalReferenceDto> hospitals = new ConcurrentHashMap<>();
+
+    /**
+     * Warm the cache from the database before any other ready listener runs
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void loadAll() {
+        long startTime = System.currentTimeMillis();
+        for (HospitalReferenceDto hospital : hospitalRepository.findAllReferences()) {
+            hospitals.put(hospital.getHospitalId(), hospital);
+        }
+        log.info("Hospital reference cache loaded {} hospitals in {}ms",
+                hospitals.size(), System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Replace the cached record after hospital writes commit
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHospitalChanged(HospitalChangedEvent event) {
+        Hospital hospital = event.getHospital();
+        boolean active = event.getChangeType() != HospitalChangedEvent.ChangeType.DEACTIVATED
+                && !Boolean.FALSE.equals(hospital.getIsActive());
+        hospitals.put(hospital.getHospitalId(), toReference(hospital, active));
+    }
+
+    public Optional<HospitalReferenceDto> find(UUID hospitalId) {
+        if (hospitalId == null) {
+            return Optional.empty();
+        }
+        HospitalReferenceDto cached = hospitals.get(hospitalId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return hospitalRepository.findByHospitalId(hospitalId).map(hospital -> {
+            HospitalReferenceDto reference = toReference(hospital, Boolean.TRUE.equals(hospital.getIsActive()));
+            hospitals.putIfAbsent(hospitalId, reference);
+            return reference;
+        });
+    }
+
+    /**
+     * The hospital or a RuntimeException in the services' usual wording
+     */
+    public HospitalReferenceDto require(UUID hospitalId) {
+        return find(hospitalId)
+                .orElseThrow(() -> new RuntimeException("Hospital not found with ID: " + hospitalId));
+    }
+
+    /**
+     * Same semantics as existsById: inactive hospitals exist
+     */
+    public boolean exists(UUID hospitalId) {
+        return find(hospitalId).isPresent();
+    }
+
+    public String getName(UUID hospitalId) {
+        return find(hospitalId).map(HospitalReferenceDto::getHospitalName).orElse(null);
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private static HospitalReferenceDto toReference(Hospital hospital, boolean active) {
+        return new HospitalReferenceDto(hospital.getHospitalId(), hospital.getHospitalName(),
+                hospital.getHospitalCode(), hospital.getCity(), hospital.getState(), active);
+    }
+}
@@ -2,8 +2,15 @@ package com.healthcare.mvp.hospital.controller;
 
 import com.healthcare.mvp.hospital.dto.CreateHospitalRequest;
 import com.healthcare.mvp.hospital.dto.HospitalDto;
+import com.healthcare.mvp.hospital.dto.HospitalListFilter;
+import com.healthcare.mvp.hospital.dto.HospitalScrollDto;
+import com.healthcare.mvp.hospital.dto.HospitalSummaryDto;
+import com.healthcare.mvp.hospital.dto.NearbyHospitalDto;
+import com.healthcare.mvp.hospital.dto.PartnerHospitalCountDto;
+import com.healthcare.mvp.hospital.service.HospitalProximityService;
 import com.healthcare.mvp.hospital.service.HospitalService;
 import com.healthcare.mvp.shared.dto.BaseResponse;
+import com.healthcare.mvp.shared.dto.PageResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -22,6 +29,9 @@ public class HospitalController {
     
     @Autowired
     private HospitalService hospitalService;
+
+    @Autowired
+    private HospitalProximityService hospitalProximityService;
     
     /**
      * Create Hospital (by Super Admin or Tech Advisor)
@@ -36,24 +46,79 @@ public class HospitalController {
     }
     
     /**
-     * Get all hospitals
+     * List hospitals, one page at a time
      */
     @GetMapping
-    @Operation(summary = "Get all hospitals", description = "Retrieve list of all active hospitals")
-    public ResponseEntity<BaseResponse<List<HospitalDto>>> getAllHospitals() {
-        List<HospitalDto> hospitals = hospitalService.getAllHospitals();
+    @Operation(summary = "List hospitals", description = "Page through hospitals by name, optionally filtered by city, state, active flag, bringing business user or partner code")
+    public ResponseEntity<BaseResponse<PageResponse<HospitalSummaryDto>>> getAllHospitals(
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String state,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) UUID broughtBy,
+            @RequestParam(required = false) String partnerCode,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
+        HospitalListFilter filter = new HospitalListFilter(city, state, active, broughtBy, partnerCode);
+        PageResponse<HospitalSummaryDto> hospitals = PageResponse.of(hospitalService.listHospitals(filter, page, size));
         return ResponseEntity.ok(BaseResponse.success("Hospitals retrieved successfully", hospitals));
     }
-    
+
+    /**
+     * Scroll through hospitals with a keyset cursor
+     */
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll hospitals", description = "Keyset-paged hospital listing by name; pass nextCursor back to continue. Same filters as the paged listing.")
+    public ResponseEntity<BaseResponse<HospitalScrollDto>> scrollHospitals(
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String state,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) UUID broughtBy,
+            @RequestParam(required = false) String partnerCode,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        HospitalListFilter filter = new HospitalListFilter(city, state, active, broughtBy, partnerCode);
+        HospitalScrollDto hospitals = hospitalService.scrollHospitals(filter, cursor, size);
+        return ResponseEntity.ok(BaseResponse.success("Hospitals retrieved successfully", hospitals));
+    }
+
     /**
      * Get hospitals by business user
      */
     @GetMapping("/business-user/{businessUserId}")
     @Operation(summary = "Get hospitals by business user", description = "Get hospitals brought by specific Tech Advisor")
-    public ResponseEntity<BaseResponse<List<HospitalDto>>> getHospitalsByBusinessUser(@PathVariable String partnerCodeUsed) {
-        List<HospitalDto> hospitals = hospitalService.getHospitalsByBusinessUser(partnerCodeUsed);
+    public ResponseEntity<BaseResponse<PageResponse<HospitalSummaryDto>>> getHospitalsByBusinessUser(
+            @PathVariable UUID businessUserId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
+        HospitalListFilter filter = HospitalListFilter.builder().broughtByBusinessUser(businessUserId).build();
+        PageResponse<HospitalSummaryDto> hospitals = PageResponse.of(hospitalService.listHospitals(filter, page, size));
         return ResponseEntity.ok(BaseResponse.success("Hospitals retrieved successfully", hospitals));
     }
+
+    /**
+     * Hospital counts per partner
+     */
+    @GetMapping("/partner-counts")
+    @Operation(summary = "Hospital counts per partner", description = "Total and active hospitals per partner code, for partner dashboards")
+    public ResponseEntity<BaseResponse<List<PartnerHospitalCountDto>>> getPartnerHospitalCounts() {
+        List<PartnerHospitalCountDto> counts = hospitalService.getPartnerHospitalCounts();
+        return ResponseEntity.ok(BaseResponse.success("Partner hospital counts retrieved successfully", counts));
+    }
+
+    /**
+     * Hospitals near a point
+     */
+    @GetMapping("/nearby")
+    @Operation(summary = "Nearby hospitals", description = "Active hospitals nearest to lat/lon, or all within radiusKm when given, optionally only those with an active doctor of the specialization")
+    public ResponseEntity<BaseResponse<List<NearbyHospitalDto>>> getNearbyHospitals(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) String specialization,
+            @RequestParam(required = false) Integer limit) {
+        List<NearbyHospitalDto> hospitals = hospitalProximityService.findNearby(lat, lon, radiusKm, specialization, limit);
+        return ResponseEntity.ok(BaseResponse.success("Nearby hospitals retrieved successfully", hospitals));
+    }
     
     /**
      * Get hospital by ID
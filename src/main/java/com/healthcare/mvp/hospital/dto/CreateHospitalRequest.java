@@ -1,5 +1,7 @@
 package com.healthcare.mvp.hospital.dto;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -46,6 +48,14 @@ public class CreateHospitalRequest {
     @Size(max = 255, message = "Website URL must not exceed 255 characters")
     private String website;
 
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+
     private String partnerCodeUsed;
     
     private UUID techSupport1Id; // Primary tech support
@@ -81,6 +91,10 @@ public class CreateHospitalRequest {
     public void setEmail(String email) { this.email = email; }
     public String getWebsite() { return website; }
     public void setWebsite(String website) { this.website = website; }
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
     public String getPartnerCodeUsed() { return address; }
     public void setPartnerCodeUsed(String partnerCodeUsed) { this.address = address; }
     public UUID getTechSupport1Id() { return techSupport1Id; }
@@ -19,6 +19,8 @@ public class HospitalDto {
     private String phoneNumber;
     private String email;
     private String website;
+    private Double latitude;
+    private Double longitude;
     private String broughtByBusinessUserName;
     private String broughtByPartnerCode;
     private String partnerCodeUsed;
@@ -62,6 +64,10 @@ public class HospitalDto {
     public void setEmail(String email) { this.email = email; }
     public String getWebsite() { return website; }
     public void setWebsite(String website) { this.website = website; }
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
     public String getBroughtByBusinessUserName() { return broughtByBusinessUserName; }
     public void setBroughtByBusinessUserName(String broughtByBusinessUserName) { this.broughtByBusinessUserName = broughtByBusinessUserName; }
     public String getBroughtByPartnerCode() { return broughtByPartnerCode; }
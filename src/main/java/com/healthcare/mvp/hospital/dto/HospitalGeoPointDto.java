@@ -0,0 +1,24 @@
+package com.healthcare.mvp.hospital.dto;
+
+import java.util.UUID;
+
+/**
+ * Coordinates of one active hospital, as loaded into HospitalGeoIndex. Constructor
+ * projection of HospitalRepository.findGeoPoints - argument order must match that query.
+ */
+public final class HospitalGeoPointDto {
+    private final UUID hospitalId;
+    private final double latitude;
+    private final double longitude;
+
+    public HospitalGeoPointDto(UUID hospitalId, Double latitude, Double longitude) {
+        this.hospitalId = hospitalId;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    // Getters
+    public UUID getHospitalId() { return hospitalId; }
+    public double getLatitude() { return latitude; }
+    public double getLongitude() { return longitude; }
+}
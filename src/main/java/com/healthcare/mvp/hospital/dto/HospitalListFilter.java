@@ -0,0 +1,24 @@
+package com.healthcare.mvp.hospital.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Optional hospital listing filters; null fields are not applied.
+ * City and state match case-insensitively.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HospitalListFilter {
+    private String city;
+    private String state;
+    private Boolean active;
+    private UUID broughtByBusinessUser;
+    private String partnerCode;
+}
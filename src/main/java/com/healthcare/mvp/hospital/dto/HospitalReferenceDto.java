@@ -0,0 +1,35 @@
+package com.healthcare.mvp.hospital.dto;
+
+import java.util.UUID;
+
+/**
+ * Immutable hospital reference data held by HospitalReferenceCache. Also the
+ * constructor projection of HospitalRepository.findAllReferences - argument
+ * order must match that query.
+ */
+public final class HospitalReferenceDto {
+    private final UUID hospitalId;
+    private final String hospitalName;
+    private final String hospitalCode;
+    private final String city;
+    private final String state;
+    private final boolean active;
+
+    public HospitalReferenceDto(UUID hospitalId, String hospitalName, String hospitalCode,
+                                String city, String state, Boolean active) {
+        this.hospitalId = hospitalId;
+        this.hospitalName = hospitalName;
+        this.hospitalCode = hospitalCode;
+        this.city = city;
+        this.state = state;
+        this.active = Boolean.TRUE.equals(active);
+    }
+
+    // Getters
+    public UUID getHospitalId() { return hospitalId; }
+    public String getHospitalName() { return hospitalName; }
+    public String getHospitalCode() { return hospitalCode; }
+    public String getCity() { return city; }
+    public String getState() { return state; }
+    public boolean isActive() { return active; }
+}
@@ -0,0 +1,21 @@
+package com.healthcare.mvp.hospital.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One keyset page of hospitals ordered by name. Pass nextCursor back to continue.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HospitalScrollDto {
+    private List<HospitalSummaryDto> hospitals;
+    private String nextCursor;
+    private boolean hasMore;
+}
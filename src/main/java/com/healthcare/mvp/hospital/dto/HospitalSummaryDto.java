@@ -0,0 +1,34 @@
+package com.healthcare.mvp.hospital.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Listing columns of a hospital. Also the JPQL constructor projection behind
+ * the HospitalRepository summary queries, so the constructor argument order
+ * must match those queries.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HospitalSummaryDto {
+    private UUID hospitalId;
+    private String hospitalName;
+    private String hospitalCode;
+    private String city;
+    private String state;
+    private String country;
+    private String phoneNumber;
+    private String email;
+    private String subscriptionPlan;
+    private String partnerCodeUsed;
+    private UUID broughtByBusinessUser;
+    private Boolean isActive;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,29 @@
+package com.healthcare.mvp.hospital.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * One hospital in a proximity search, with its distance from the search origin
+ * and how many active doctors there match the requested specialization (all
+ * active doctors when none was requested).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NearbyHospitalDto {
+    private UUID hospitalId;
+    private String hospitalName;
+    private String hospitalCode;
+    private String city;
+    private String state;
+    private Double latitude;
+    private Double longitude;
+    private Double distanceKm;
+    private Integer matchingDoctors;
+}
@@ -0,0 +1,20 @@
+package com.healthcare.mvp.hospital.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Hospital counts of one partner code. JPQL constructor projection of
+ * HospitalRepository.countHospitalsByPartner - argument order must match that query.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PartnerHospitalCountDto {
+    private String partnerCode;
+    private Long totalHospitals;
+    private Long activeHospitals;
+}
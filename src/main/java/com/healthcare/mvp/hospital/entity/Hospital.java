@@ -58,6 +58,13 @@ public class Hospital extends LegacyBaseEntity {
     @Column(name = "website")
     private String website;
 
+    // WGS84 coordinates for proximity search; both null when not geocoded
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
     @Column(name = "brought_by_business_user")
     private UUID broughtByBusinessUser;
 
@@ -0,0 +1,33 @@
+package com.healthcare.mvp.hospital.event;
+
+import com.healthcare.mvp.hospital.entity.Hospital;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published by HospitalService whenever a hospital row is written.
+ * The hospital reference cache, geo index and doctor directory listen for this after commit.
+ */
+@Getter
+@RequiredArgsConstructor
+public class HospitalChangedEvent {
+
+    private final Hospital hospital;
+    private final ChangeType changeType;
+
+    public enum ChangeType {
+        CREATED, UPDATED, DEACTIVATED
+    }
+
+    public static HospitalChangedEvent created(Hospital hospital) {
+        return new HospitalChangedEvent(hospital, ChangeType.CREATED);
+    }
+
+    public static HospitalChangedEvent updated(Hospital hospital) {
+        return new HospitalChangedEvent(hospital, ChangeType.UPDATED);
+    }
+
+    public static HospitalChangedEvent deactivated(Hospital hospital) {
+        return new HospitalChangedEvent(hospital, ChangeType.DEACTIVATED);
+    }
+}
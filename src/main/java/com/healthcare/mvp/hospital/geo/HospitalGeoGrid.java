@@ -0,0 +1,292 @@
+package com.healthcare.mvp.hospital.geo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Hospitals bucketed into fixed latitude/longitude cells.
+ *
+ * A radius query only visits the cells overlapping the circle's bounding box
+ * (wrapping across the antimeridian, widening to every longitude near the
+ * poles) and then filters by great-circle distance. A k-nearest query runs
+ * radius queries with a doubling radius until k hospitals are found: anything
+ * outside the radius is farther than everything inside it, so the first k
+ * inside are the true k nearest. When the bounding box spans more cells than
+ * are populated (wide radii over a sparse grid), the populated cells are
+ * walked instead, so no query costs more than one pass over the hospitals.
+ *
+ * Points are moved between cells in place, so updates are O(1) and never
+ * rebuild the grid. Guarded by a read/write lock - reads vastly outnumber
+ * hospital edits.
+ */
+final class HospitalGeoGrid {
+
+    static final double EARTH_RADIUS_KM = 6371.0088;
+    static final double MAX_DISTANCE_KM = Math.PI * EARTH_RADIUS_KM;
+
+    private static final Comparator<Hit> BY_DISTANCE = Comparator
+            .comparingDouble(Hit::getDistanceKm)
+            .thenComparing(Hit::getHospitalId);
+
+    private final double cellDegrees;
+    private final int rows;
+    private final int columns;
+    private final Map<Long, List<Point>> cells = new HashMap<>();
+    private final Map<UUID, Point> points = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    HospitalGeoGrid(double cellDegrees) {
+        if (!(cellDegrees > 0 && cellDegrees <= 90)) {
+            throw new IllegalArgumentException("Cell size must be between 0 and 90 degrees: " + cellDegrees);
+        }
+        this.cellDegrees = cellDegrees;
+        this.rows = (int) Math.ceil(180 / cellDegrees);
+        this.columns = (int) Math.ceil(360 / cellDegrees);
+    }
+
+    /**
+     * Add the hospital or move it to its new coordinates
+     */
+    void put(UUID hospitalId, double latitude, double longitude) {
+        Point point = new Point(hospitalId, latitude, longitude);
+        long cell = cellOf(latitude, longitude);
+        lock.writeLock().lock();
+        try {
+            Point previous = points.put(hospitalId, point);
+            if (previous != null) {
+                detach(previous);
+            }
+            cells.computeIfAbsent(cell, key -> new ArrayList<>()).add(point);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(UUID hospitalId) {
+        lock.writeLock().lock();
+        try {
+            Point previous = points.remove(hospitalId);
+            if (previous != null) {
+                detach(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            points.clear();
+            cells.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return points.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Accepted hospitals within radiusKm of the origin, nearest first
+     */
+    List<Hit> within(double latitude, double longitude, double radiusKm, Predicate<UUID> accept) {
+        lock.readLock().lock();
+        try {
+            List<Hit> hits = collect(latitude, longitude, radiusKm, accept);
+            hits.sort(BY_DISTANCE);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The k accepted hospitals nearest to the origin, nearest first
+     */
+    List<Hit> nearest(double latitude, double longitude, int k, Predicate<UUID> accept) {
+        lock.readLock().lock();
+        try {
+            double radiusKm = Math.toRadians(cellDegrees) * EARTH_RADIUS_KM;
+            while (true) {
+                List<Hit> hits = collect(latitude, longitude, radiusKm, accept);
+                if (hits.size() >= k || radiusKm >= MAX_DISTANCE_KM) {
+                    hits.sort(BY_DISTANCE);
+                    return hits.size() > k ? new ArrayList<>(hits.subList(0, k)) : hits;
+                }
+                radiusKm = Math.min(radiusKm * 2, MAX_DISTANCE_KM);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Great-circle distance by the haversine formula
+     */
+    static double distanceKm(double fromLatitude, double fromLongitude, double toLatitude, double toLongitude) {
+        double fromLat = Math.toRadians(fromLatitude);
+        double toLat = Math.toRadians(toLatitude);
+        return haversine(fromLat, Math.cos(fromLat), Math.toRadians(fromLongitude),
+                toLat, Math.cos(toLat), Math.toRadians(toLongitude));
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    /**
+     * Caller holds the read lock
+     */
+    private List<Hit> collect(double latitude, double longitude, double radiusKm, Predicate<UUID> accept) {
+        double angle = radiusKm / EARTH_RADIUS_KM;
+        double originLat = Math.toRadians(latitude);
+        double originCos = Math.cos(originLat);
+        double originLon = Math.toRadians(longitude);
+
+        double minLat = latitude - Math.toDegrees(angle);
+        double maxLat = latitude + Math.toDegrees(angle);
+        int firstRow = row(Math.max(-90, minLat));
+        int lastRow = row(Math.min(90, maxLat));
+
+        // Columns to scan: all of them if the circle reaches a pole, else the
+        // longitude span of the circle at its widest latitude
+        int firstColumn = 0;
+        int columnCount = columns;
+        if (minLat > -90 && maxLat < 90) {
+            double spread = Math.toDegrees(Math.asin(Math.min(1, Math.sin(angle) / originCos)));
+            int from = (int) Math.floor((longitude - spread + 180) / cellDegrees);
+            int to = (int) Math.floor((longitude + spread + 180) / cellDegrees);
+            if (to - from + 1 < columns) {
+                firstColumn = Math.floorMod(from, columns);
+                columnCount = to - from + 1;
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        if ((long) (lastRow - firstRow + 1) * columnCount > cells.size()) {
+            for (Map.Entry<Long, List<Point>> cell : cells.entrySet()) {
+                int row = (int) (cell.getKey() >>> 32);
+                int column = (int) (long) cell.getKey();
+                if (row >= firstRow && row <= lastRow && Math.floorMod(column - firstColumn, columns) < columnCount) {
+                    addHits(hits, cell.getValue(), originLat, originCos, originLon, radiusKm, accept);
+                }
+            }
+            return hits;
+        }
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int i = 0; i < columnCount; i++) {
+                List<Point> cell = cells.get(key(row, (firstColumn + i) % columns));
+                if (cell != null) {
+                    addHits(hits, cell, originLat, originCos, originLon, radiusKm, accept);
+                }
+            }
+        }
+        return hits;
+    }
+
+    private static void addHits(List<Hit> hits, List<Point> cell, double originLat, double originCos, double originLon,
+                                double radiusKm, Predicate<UUID> accept) {
+        for (Point point : cell) {
+            double distance = haversine(originLat, originCos, originLon,
+                    point.latitudeRadians, point.latitudeCosine, point.longitudeRadians);
+            if (distance <= radiusKm && (accept == null || accept.test(point.hospitalId))) {
+                hits.add(new Hit(point.hospitalId, point.latitude, point.longitude, distance));
+            }
+        }
+    }
+
+    private void detach(Point point) {
+        long cell = cellOf(point.latitude, point.longitude);
+        List<Point> bucket = cells.get(cell);
+        if (bucket != null) {
+            bucket.remove(point);
+            if (bucket.isEmpty()) {
+                cells.remove(cell);
+            }
+        }
+    }
+
+    private long cellOf(double latitude, double longitude) {
+        int column = Math.floorMod((int) Math.floor((longitude + 180) / cellDegrees), columns);
+        return key(row(latitude), column);
+    }
+
+    private int row(double latitude) {
+        return Math.min(rows - 1, Math.max(0, (int) Math.floor((latitude + 90) / cellDegrees)));
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) | column;
+    }
+
+    private static double haversine(double fromLat, double fromCos, double fromLon,
+                                     double toLat, double toCos, double toLon) {
+        double sinLat = Math.sin((toLat - fromLat) / 2);
+        double sinLon = Math.sin((toLon - fromLon) / 2);
+        double a = sinLat * sinLat + fromCos * toCos * sinLon * sinLon;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * An indexed hospital with its trigonometry precomputed
+     */
+    private static final class Point {
+        private final UUID hospitalId;
+        private final double latitude;
+        private final double longitude;
+        private final double latitudeRadians;
+        private final double latitudeCosine;
+        private final double longitudeRadians;
+
+        private Point(UUID hospitalId, double latitude, double longitude) {
+            this.hospitalId = hospitalId;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.latitudeRadians = Math.toRadians(latitude);
+            this.latitudeCosine = Math.cos(latitudeRadians);
+            this.longitudeRadians = Math.toRadians(longitude);
+        }
+    }
+
+    static final class Hit {
+        private final UUID hospitalId;
+        private final double latitude;
+        private final double longitude;
+        private final double distanceKm;
+
+        Hit(UUID hospitalId, double latitude, double longitude, double distanceKm) {
+            this.hospitalId = hospitalId;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.distanceKm = distanceKm;
+        }
+
+        UUID getHospitalId() {
+            return hospitalId;
+        }
+
+        double getLatitude() {
+            return latitude;
+        }
+
+        double getLongitude() {
+            return longitude;
+        }
+
+        double getDistanceKm() {
+            return distanceKm;
+        }
+    }
+}
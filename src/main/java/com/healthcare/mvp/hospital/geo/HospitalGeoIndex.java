@@ -0,0 +1,115 @@
+package com.healthcare.mvp.hospital.geo;
+
+import com.healthcare.mvp.hospital.dto.HospitalGeoPointDto;
+import com.healthcare.mvp.hospital.dto.NearbyHospitalDto;
+import com.healthcare.mvp.hospital.entity.Hospital;
+import com.healthcare.mvp.hospital.event.HospitalChangedEvent;
+import com.healthcare.mvp.hospital.repository.HospitalRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * In-memory spatial index of active, geocoded hospitals for "near me" searches.
+ *
+ * Seeded once at startup and kept current from HospitalChangedEvent after each
+ * commit: a moved hospital is re-bucketed, a deactivated or un-geocoded one is
+ * dropped. Nothing is rebuilt wholesale after startup. Hospitals are global
+ * rows kept on the default shard (hospital endpoints never resolve a tenant),
+ * so the startup load reads only that shard even when tenants have moved.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HospitalGeoIndex {
+
+    private final HospitalRepository hospitalRepository;
+
+    @Value("${app.hospital.geo.cell-degrees:0.25}")
+    private double cellDegrees;
+
+    private HospitalGeoGrid grid;
+    private volatile boolean ready = false;
+
+    @PostConstruct
+    public void init() {
+        grid = new HospitalGeoGrid(cellDegrees);
+    }
+
+    /**
+     * Seed the index from the database once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        long startTime = System.currentTimeMillis();
+        List<HospitalGeoPointDto> points = hospitalRepository.findGeoPoints();
+        for (HospitalGeoPointDto point : points) {
+            grid.put(point.getHospitalId(), point.getLatitude(), point.getLongitude());
+        }
+        ready = true;
+        log.info("Hospital geo index loaded {} hospitals in {}ms", points.size(), System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Move, add or drop the hospital after hospital writes commit
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHospitalChanged(HospitalChangedEvent event) {
+        Hospital hospital = event.getHospital();
+        boolean indexable = event.getChangeType() != HospitalChangedEvent.ChangeType.DEACTIVATED
+                && !Boolean.FALSE.equals(hospital.getIsActive())
+                && hospital.getLatitude() != null && hospital.getLongitude() != null;
+        if (indexable) {
+            grid.put(hospital.getHospitalId(), hospital.getLatitude(), hospital.getLongitude());
+        } else {
+            grid.remove(hospital.getHospitalId());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return grid.size();
+    }
+
+    /**
+     * Accepted hospitals within radiusKm, nearest first. Only ID, coordinates and distance are filled in.
+     */
+    public List<NearbyHospitalDto> within(double latitude, double longitude, double radiusKm, Predicate<UUID> accept) {
+        return toDtos(grid.within(latitude, longitude, radiusKm, accept));
+    }
+
+    /**
+     * The k accepted hospitals nearest to the point, nearest first. Only ID, coordinates and distance are filled in.
+     */
+    public List<NearbyHospitalDto> nearest(double latitude, double longitude, int k, Predicate<UUID> accept) {
+        return toDtos(grid.nearest(latitude, longitude, k, accept));
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private static List<NearbyHospitalDto> toDtos(List<HospitalGeoGrid.Hit> hits) {
+        List<NearbyHospitalDto> result = new ArrayList<>(hits.size());
+        for (HospitalGeoGrid.Hit hit : hits) {
+            result.add(NearbyHospitalDto.builder()
+                    .hospitalId(hit.getHospitalId())
+                    .latitude(hit.getLatitude())
+                    .longitude(hit.getLongitude())
+                    .distanceKm(Math.round(hit.getDistanceKm() * 100) / 100.0)
+                    .build());
+        }
+        return result;
+    }
+}
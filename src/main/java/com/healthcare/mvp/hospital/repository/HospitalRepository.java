@@ -1,7 +1,12 @@
 package com.healthcare.mvp.hospital.repository;
 
-import com.healthcare.mvp.hospital.dto.HospitalDto;
+import com.healthcare.mvp.hospital.dto.HospitalGeoPointDto;
+import com.healthcare.mvp.hospital.dto.HospitalReferenceDto;
+import com.healthcare.mvp.hospital.dto.HospitalSummaryDto;
+import com.healthcare.mvp.hospital.dto.PartnerHospitalCountDto;
 import com.healthcare.mvp.hospital.entity.Hospital;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -52,5 +57,56 @@ public interface HospitalRepository extends JpaRepository<Hospital, UUID> {
     @Query("SELECT COUNT(h) FROM Hospital h WHERE h.isActive = true")
     Long countActiveHospitals();
 
-    List<HospitalDto> findByPartnerCodeUsed(String partnerCodeUsed);
+    String SUMMARY_SELECT = "SELECT new com.healthcare.mvp.hospital.dto.HospitalSummaryDto(" +
+            "h.hospitalId, h.hospitalName, h.hospitalCode, h.city, h.state, h.country, h.phoneNumber, h.email, " +
+            "h.subscriptionPlan, h.partnerCodeUsed, h.broughtByBusinessUser, h.isActive, h.createdAt) FROM Hospital h ";
+
+    String SUMMARY_FILTER = "WHERE (:city IS NULL OR LOWER(h.city) = :city) " +
+            "AND (:state IS NULL OR LOWER(h.state) = :state) " +
+            "AND (:active IS NULL OR h.isActive = :active) " +
+            "AND (:broughtBy IS NULL OR h.broughtByBusinessUser = :broughtBy) " +
+            "AND (:partnerCode IS NULL OR h.partnerCodeUsed = :partnerCode) ";
+
+    /**
+     * Filtered hospital listing by name. City and state must be passed lower-cased.
+     */
+    @Query(value = SUMMARY_SELECT + SUMMARY_FILTER + "ORDER BY h.hospitalName, h.hospitalId",
+           countQuery = "SELECT COUNT(h) FROM Hospital h " + SUMMARY_FILTER)
+    Page<HospitalSummaryDto> findSummaries(@Param("city") String city,
+                                           @Param("state") String state,
+                                           @Param("active") Boolean active,
+                                           @Param("broughtBy") UUID broughtBy,
+                                           @Param("partnerCode") String partnerCode,
+                                           Pageable pageable);
+
+    /**
+     * Keyset variant of findSummaries: the rows after (afterName, afterId), no count query
+     */
+    @Query(SUMMARY_SELECT + SUMMARY_FILTER +
+           "AND (h.hospitalName > :afterName OR (h.hospitalName = :afterName AND h.hospitalId > :afterId)) " +
+           "ORDER BY h.hospitalName, h.hospitalId")
+    List<HospitalSummaryDto> findSummariesAfter(@Param("city") String city,
+                                                @Param("state") String state,
+                                                @Param("active") Boolean active,
+                                                @Param("broughtBy") UUID broughtBy,
+                                                @Param("partnerCode") String partnerCode,
+                                                @Param("afterName") String afterName,
+                                                @Param("afterId") UUID afterId,
+                                                Pageable pageable);
+
+    // Total and active hospitals per partner code, for partner dashboards
+    @Query("SELECT new com.healthcare.mvp.hospital.dto.PartnerHospitalCountDto(" +
+           "h.partnerCodeUsed, COUNT(h), SUM(CASE WHEN h.isActive = true THEN 1L ELSE 0L END)) " +
+           "FROM Hospital h GROUP BY h.partnerCodeUsed ORDER BY COUNT(h) DESC")
+    List<PartnerHospitalCountDto> countHospitalsByPartner();
+
+    // Reference rows for HospitalReferenceCache
+    @Query("SELECT new com.healthcare.mvp.hospital.dto.HospitalReferenceDto(" +
+           "h.hospitalId, h.hospitalName, h.hospitalCode, h.city, h.state, h.isActive) FROM Hospital h")
+    List<HospitalReferenceDto> findAllReferences();
+
+    // Coordinates of active, geocoded hospitals for HospitalGeoIndex
+    @Query("SELECT new com.healthcare.mvp.hospital.dto.HospitalGeoPointDto(h.hospitalId, h.latitude, h.longitude) " +
+           "FROM Hospital h WHERE h.isActive = true AND h.latitude IS NOT NULL AND h.longitude IS NOT NULL")
+    List<HospitalGeoPointDto> findGeoPoints();
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.healthcare.mvp.hospital.service;
+
+import com.healthcare.mvp.doctor.directory.DoctorDirectoryIndex;
+import com.healthcare.mvp.hospital.cache.HospitalReferenceCache;
+import com.healthcare.mvp.hospital.dto.HospitalReferenceDto;
+import com.healthcare.mvp.hospital.dto.NearbyHospitalDto;
+import com.healthcare.mvp.hospital.geo.HospitalGeoIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * "Hospitals near me": radius and k-nearest searches joined against the doctor
+ * directory, so a specialization filter only returns hospitals that have an
+ * active doctor with it.
+ *
+ * Not @Transactional: answered entirely from HospitalGeoIndex, DoctorDirectoryIndex
+ * and HospitalReferenceCache.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HospitalProximityService {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private final HospitalGeoIndex geoIndex;
+    private final DoctorDirectoryIndex directoryIndex;
+    private final HospitalReferenceCache hospitalReferenceCache;
+
+    @Value("${app.hospital.geo.max-radius-km:500}")
+    private double maxRadiusKm;
+
+    /**
+     * Hospitals within radiusKm of the point, or the nearest ones when no radius is given; nearest first
+     */
+    public List<NearbyHospitalDto> findNearby(double latitude, double longitude, Double radiusKm,
+                                              String specialization, Integer limit) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new RuntimeException("Latitude must be between -90 and 90 and longitude between -180 and 180");
+        }
+        if (radiusKm != null && (radiusKm <= 0 || radiusKm > maxRadiusKm)) {
+            throw new RuntimeException("Radius must be greater than 0 and at most " + maxRadiusKm + " km");
+        }
+        if (!geoIndex.isReady() || !directoryIndex.isReady()) {
+            throw new RuntimeException("Hospital search is still loading, please retry shortly");
+        }
+
+        String filter = specialization == null || specialization.isBlank() ? null : specialization.trim();
+        Map<UUID, Integer> doctorCounts = directoryIndex.countsByHospital(filter);
+        Predicate<UUID> accept = filter == null ? null : doctorCounts::containsKey;
+        int effectiveLimit = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        List<NearbyHospitalDto> hospitals = radiusKm == null
+                ? geoIndex.nearest(latitude, longitude, effectiveLimit, accept)
+                : geoIndex.within(latitude, longitude, radiusKm, accept);
+        if (hospitals.size() > effectiveLimit) {
+            hospitals = hospitals.subList(0, effectiveLimit);
+        }
+
+        for (NearbyHospitalDto hospital : hospitals) {
+            hospitalReferenceCache.find(hospital.getHospitalId()).ifPresent(reference -> label(hospital, reference));
+            hospital.setMatchingDoctors(doctorCounts.getOrDefault(hospital.getHospitalId(), 0));
+        }
+        log.debug("Nearby search at ({}, {}) radius {} specialization {} returned {} hospitals",
+                latitude, longitude, radiusKm, filter, hospitals.size());
+        return hospitals;
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private static void label(NearbyHospitalDto hospital, HospitalReferenceDto reference) {
+        hospital.setHospitalName(reference.getHospitalName());
+        hospital.setHospitalCode(reference.getHospitalCode());
+        hospital.setCity(reference.getCity());
+        hospital.setState(reference.getState());
+    }
+}
@@ -1,43 +1,114 @@
 package com.healthcare.mvp.hospital.service;
 
 import com.healthcare.mvp.business.entity.BusinessUser;
+import com.healthcare.mvp.business.service.PartnerCodeService;
 import com.healthcare.mvp.hospital.dto.CreateHospitalRequest;
 import com.healthcare.mvp.hospital.dto.HospitalDto;
+import com.healthcare.mvp.hospital.dto.HospitalListFilter;
+import com.healthcare.mvp.hospital.dto.HospitalScrollDto;
+import com.healthcare.mvp.hospital.dto.HospitalSummaryDto;
+import com.healthcare.mvp.hospital.dto.PartnerHospitalCountDto;
 import com.healthcare.mvp.hospital.entity.Hospital;
+import com.healthcare.mvp.hospital.event.HospitalChangedEvent;
 import com.healthcare.mvp.hospital.repository.HospitalRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class HospitalService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final UUID CURSOR_START = new UUID(0L, 0L);
+    private static final String CURSOR_SEPARATOR = "|";
+
     private final HospitalRepository hospitalRepository;
+    private final PartnerCodeService partnerCodeService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public HospitalDto createHospital(CreateHospitalRequest request, UUID createdByBusinessUserId) {
         Hospital hospital = new Hospital();
         hospital.setHospitalName(request.getHospitalName());
+        hospital.setHospitalCode(partnerCodeService.generateHospitalCode(request.getHospitalName()));
         hospital.setAddress(request.getAddress());
         hospital.setPartnerCodeUsed(request.getPartnerCodeUsed()); // Assume this field exists
-        return convertToDto(hospitalRepository.save(hospital));
+        setCoordinates(hospital, request);
+        Hospital savedHospital = hospitalRepository.save(hospital);
+        eventPublisher.publishEvent(HospitalChangedEvent.created(savedHospital));
+        return convertToDto(savedHospital);
     }
 
-    public List<HospitalDto> getAllHospitals() {
-        return hospitalRepository.findAll()
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    /**
+     * One page of hospitals ordered by name, with a total count
+     */
+    @Transactional(readOnly = true)
+    public Page<HospitalSummaryDto> listHospitals(HospitalListFilter filter, int page, Integer size) {
+        HospitalListFilter criteria = normalize(filter);
+        return hospitalRepository.findSummaries(criteria.getCity(), criteria.getState(), criteria.getActive(),
+                criteria.getBroughtByBusinessUser(), criteria.getPartnerCode(),
+                PageRequest.of(Math.max(page, 0), pageSize(size)));
     }
 
-    public List<HospitalDto> getHospitalsByBusinessUser(String partnerCodeUsed) {
-        return hospitalRepository.findByPartnerCodeUsed(partnerCodeUsed) ;
+    /**
+     * Keyset-paged hospitals ordered by name, starting after the cursor (null for the first page).
+     * Cost per page is independent of how deep the caller has scrolled; no total is computed.
+     */
+    @Transactional(readOnly = true)
+    public HospitalScrollDto scrollHospitals(HospitalListFilter filter, String cursor, Integer size) {
+        HospitalListFilter criteria = normalize(filter);
+        int limit = pageSize(size);
+        String afterName = "";
+        UUID afterId = CURSOR_START;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = decoded.lastIndexOf(CURSOR_SEPARATOR);
+                afterName = decoded.substring(0, separator);
+                afterId = UUID.fromString(decoded.substring(separator + 1));
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid hospital cursor");
+            }
+        }
+
+        // Fetch one extra row to learn whether another page follows
+        List<HospitalSummaryDto> rows = hospitalRepository.findSummariesAfter(criteria.getCity(), criteria.getState(),
+                criteria.getActive(), criteria.getBroughtByBusinessUser(), criteria.getPartnerCode(),
+                afterName, afterId, PageRequest.of(0, limit + 1));
+        boolean hasMore = rows.size() > limit;
+        List<HospitalSummaryDto> hospitals = hasMore ? rows.subList(0, limit) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            HospitalSummaryDto last = hospitals.get(hospitals.size() - 1);
+            String raw = last.getHospitalName() + CURSOR_SEPARATOR + last.getHospitalId();
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+        return HospitalScrollDto.builder()
+                .hospitals(List.copyOf(hospitals))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Total and active hospital counts per partner code, in one grouped query
+     */
+    @Transactional(readOnly = true)
+    public List<PartnerHospitalCountDto> getPartnerHospitalCounts() {
+        return hospitalRepository.countHospitalsByPartner();
     }
 
     public Optional<HospitalDto> getHospitalById(UUID hospitalId) {
@@ -56,7 +127,10 @@ public class HospitalService {
         hospital.setHospitalName(request.getHospitalName());
         hospital.setAddress(request.getAddress());
         hospital.setPartnerCodeUsed(request.getPartnerCodeUsed());
-        return convertToDto(hospitalRepository.save(hospital));
+        setCoordinates(hospital, request);
+        Hospital savedHospital = hospitalRepository.save(hospital);
+        eventPublisher.publishEvent(HospitalChangedEvent.updated(savedHospital));
+        return convertToDto(savedHospital);
     }
 
     public void deactivateHospital(UUID hospitalId) {
@@ -64,6 +138,37 @@ public class HospitalService {
                 .orElseThrow(() -> new RuntimeException("Hospital not found"));
         hospital.setIsActive(false); // Assume an 'active' field exists
         hospitalRepository.save(hospital);
+        eventPublisher.publishEvent(HospitalChangedEvent.deactivated(hospital));
+    }
+
+    private void setCoordinates(Hospital hospital, CreateHospitalRequest request) {
+        if ((request.getLatitude() == null) != (request.getLongitude() == null)) {
+            throw new RuntimeException("Latitude and longitude must be provided together");
+        }
+        hospital.setLatitude(request.getLatitude());
+        hospital.setLongitude(request.getLongitude());
+    }
+
+    private HospitalListFilter normalize(HospitalListFilter filter) {
+        if (filter == null) {
+            return new HospitalListFilter();
+        }
+        return HospitalListFilter.builder()
+                .city(lowerOrNull(filter.getCity()))
+                .state(lowerOrNull(filter.getState()))
+                .active(filter.getActive())
+                .broughtByBusinessUser(filter.getBroughtByBusinessUser())
+                .partnerCode(filter.getPartnerCode() == null || filter.getPartnerCode().isBlank()
+                        ? null : filter.getPartnerCode().trim())
+                .build();
+    }
+
+    private static String lowerOrNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static int pageSize(Integer size) {
+        return size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
     }
 
     private HospitalDto convertToDto(Hospital hospital) {
@@ -72,6 +177,8 @@ public class HospitalService {
         dto.setHospitalName(hospital.getHospitalName());
         dto.setAddress(hospital.getAddress());
         dto.setPartnerCodeUsed(hospital.getPartnerCodeUsed());
+        dto.setLatitude(hospital.getLatitude());
+        dto.setLongitude(hospital.getLongitude());
         return dto;
     }
 
@@ -4,6 +4,9 @@ import com.healthcare.mvp.notification.entity.Notification;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.UUID;
 
@@ -11,4 +14,14 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
     Page<Notification> findByHospitalIdAndRecipientIdAndRecipientTypeAndIsActiveTrue(
         UUID hospitalId, UUID recipientId, String recipientType, Pageable pageable);
     boolean existsByNotificationIdAndHospitalIdAndIsActiveTrue(UUID notificationId, UUID hospitalId);
-}
\ No newline at end of file
+
+    /**
+     * Patient merge - move up to {@code chunkSize} patient notifications from one patient to another
+     */
+    @Modifying
+    @Query(value = "UPDATE notification SET recipient_id = :survivorId, version = COALESCE(version, 0) + 1, updated_date = NOW() " +
+            "WHERE notification_id IN (SELECT notification_id FROM notification WHERE recipient_id = :loserId AND recipient_type = 'PATIENT' LIMIT :chunkSize)", nativeQuery = true)
+    int repointPatientChunk(@Param("loserId") UUID loserId,
+                            @Param("survivorId") UUID survivorId,
+                            @Param("chunkSize") int chunkSize);
+}
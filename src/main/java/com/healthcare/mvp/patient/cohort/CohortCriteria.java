@@ -0,0 +1,25 @@
+package com.healthcare.mvp.patient.cohort;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * Combined demographic filter. Null fields do not constrain the cohort;
+ * multiple blood groups match any of them.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CohortCriteria {
+
+    private Integer minAge;
+    private Integer maxAge;
+    private String gender;
+    private Set<String> bloodGroups;
+    private Boolean active;
+}
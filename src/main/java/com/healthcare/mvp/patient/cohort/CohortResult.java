@@ -0,0 +1,21 @@
+package com.healthcare.mvp.patient.cohort;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Cohort size plus one page of matching patient IDs
+ */
+@Getter
+@AllArgsConstructor
+public class CohortResult {
+
+    private final int count;
+    private final List<UUID> patientIds;
+
+    /** Position to resume from, or null when this is the last page */
+    private final Integer nextCursor;
+}
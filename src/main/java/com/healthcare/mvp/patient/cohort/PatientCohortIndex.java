@@ -0,0 +1,308 @@
+package com.healthcare.mvp.patient.cohort;
+
+import com.healthcare.mvp.patient.dto.PatientCohortRowDto;
+import com.healthcare.mvp.patient.entity.Patient;
+import com.healthcare.mvp.patient.event.PatientChangedEvent;
+import com.healthcare.mvp.patient.event.PatientStatusChangedEvent;
+import com.healthcare.mvp.patient.repository.PatientRepository;
+import com.healthcare.mvp.shared.tenant.TenantShardDirectory;
+import com.healthcare.mvp.shared.tenant.TenantShardFanout;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-hospital bitmap index over patient demographics.
+ *
+ * Every patient in a hospital gets a dense ordinal, and each attribute value
+ * (active flag, gender, blood group, birth year) owns a bitmap of ordinals.
+ * A combined filter is a handful of word-wise AND/OR operations and a count is
+ * a popcount, so cohorts are answered without touching the database. Age is
+ * indexed by birth year rather than by age so the bitmaps never go stale; the
+ * two boundary years of an age range are refined against the exact birth date.
+ *
+ * Seeded once at startup from every shard and kept current from PatientChangedEvent and
+ * PatientStatusChangedEvent after each commit.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PatientCohortIndex {
+
+    private static final UUID CURSOR_START = new UUID(0L, 0L);
+
+    private final PatientRepository patientRepository;
+    private final TenantShardFanout shardFanout;
+    private final TenantShardDirectory shardDirectory;
+
+    private final Map<UUID, HospitalCohort> hospitals = new ConcurrentHashMap<>();
+
+    @Value("${app.patient.cohort.load-batch-size:5000}")
+    private int loadBatchSize;
+
+    private volatile boolean ready = false;
+
+    /**
+     * Seed the index from every shard once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        long startTime = System.currentTimeMillis();
+        int loaded = shardFanout.onEachShard(this::loadShard).values().stream().mapToInt(Integer::intValue).sum();
+
+        ready = true;
+        log.info("Patient cohort index loaded {} patients across {} hospitals in {}ms",
+                loaded, hospitals.size(), System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Keep the bitmaps current after patient writes commit
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPatientChanged(PatientChangedEvent event) {
+        Patient patient = event.getPatient();
+        boolean active = event.getChangeType() != PatientChangedEvent.ChangeType.DEACTIVATED
+                && Boolean.TRUE.equals(patient.getIsActive());
+
+        cohortFor(patient.getHospitalId()).put(PatientCohortRowDto.builder()
+                .patientId(patient.getPatientId())
+                .hospitalId(patient.getHospitalId())
+                .dateOfBirth(patient.getDateOfBirth())
+                .gender(patient.getGender())
+                .bloodGroup(patient.getBloodGroup())
+                .isActive(active)
+                .build());
+    }
+
+    /**
+     * Bulk status changes only flip the active bitmap; demographics are unchanged
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPatientStatusChanged(PatientStatusChangedEvent event) {
+        HospitalCohort cohort = hospitals.get(event.getHospitalId());
+        if (cohort != null) {
+            cohort.setActive(event.getPatientIds(), event.isActive());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Count the hospital's patients matching the criteria and return the page
+     * of IDs that follows {@code cursor} (null for the first page)
+     */
+    public CohortResult query(UUID hospitalId, CohortCriteria criteria, Integer cursor, int limit) {
+        HospitalCohort cohort = hospitals.get(hospitalId);
+        if (cohort == null) {
+            return new CohortResult(0, List.of(), null);
+        }
+        return cohort.query(criteria, LocalDate.now(), cursor == null ? -1 : cursor, limit);
+    }
+
+    /**
+     * Index the patients of the tenants the shard serves; runs on the shard fan-out pool
+     */
+    private int loadShard(String shard) {
+        int loaded = 0;
+        PageRequest batch = PageRequest.of(0, loadBatchSize);
+        UUID cursor = CURSOR_START;
+        List<PatientCohortRowDto> rows;
+        do {
+            rows = patientRepository.findCohortRowsAfter(cursor, batch);
+            for (PatientCohortRowDto row : rows) {
+                if (shardDirectory.isServedBy(row.getHospitalId(), shard)) {
+                    cohortFor(row.getHospitalId()).put(row);
+                    loaded++;
+                }
+            }
+            if (!rows.isEmpty()) {
+                cursor = rows.get(rows.size() - 1).getPatientId();
+            }
+        } while (rows.size() == loadBatchSize);
+        return loaded;
+    }
+
+    private HospitalCohort cohortFor(UUID hospitalId) {
+        return hospitals.computeIfAbsent(hospitalId, id -> new HospitalCohort());
+    }
+
+    static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Bitmaps for a single hospital. Ordinals are never reused, so a cursor
+     * stays valid across concurrent inserts.
+     */
+    private static final class HospitalCohort {
+
+        private static final int NO_BIRTH_DATE = Integer.MIN_VALUE;
+        private static final BitSet EMPTY = new BitSet();
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final List<UUID> patientIds = new ArrayList<>();
+        private final Map<UUID, Integer> ordinals = new HashMap<>();
+        private int[] birthEpochDays = new int[1024];
+
+        private final BitSet present = new BitSet();
+        private final BitSet active = new BitSet();
+        private final Map<String, BitSet> byGender = new HashMap<>();
+        private final Map<String, BitSet> byBloodGroup = new HashMap<>();
+        private final Map<Integer, BitSet> byBirthYear = new HashMap<>();
+
+        void put(PatientCohortRowDto row) {
+            lock.writeLock().lock();
+            try {
+                int ordinal = ordinals.computeIfAbsent(row.getPatientId(), id -> {
+                    patientIds.add(id);
+                    return patientIds.size() - 1;
+                });
+                clear(ordinal);
+
+                present.set(ordinal);
+                if (Boolean.TRUE.equals(row.getIsActive())) {
+                    active.set(ordinal);
+                }
+                String gender = normalize(row.getGender());
+                if (gender != null) {
+                    byGender.computeIfAbsent(gender, key -> new BitSet()).set(ordinal);
+                }
+                String bloodGroup = normalize(row.getBloodGroup());
+                if (bloodGroup != null) {
+                    byBloodGroup.computeIfAbsent(bloodGroup, key -> new BitSet()).set(ordinal);
+                }
+
+                if (ordinal >= birthEpochDays.length) {
+                    birthEpochDays = Arrays.copyOf(birthEpochDays, Math.max(ordinal + 1, birthEpochDays.length * 2));
+                }
+                LocalDate dateOfBirth = row.getDateOfBirth();
+                if (dateOfBirth != null) {
+                    birthEpochDays[ordinal] = (int) dateOfBirth.toEpochDay();
+                    byBirthYear.computeIfAbsent(dateOfBirth.getYear(), key -> new BitSet()).set(ordinal);
+                } else {
+                    birthEpochDays[ordinal] = NO_BIRTH_DATE;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Patients not yet in the index are skipped; they arrive with their own change event
+         */
+        void setActive(List<UUID> ids, boolean isActive) {
+            lock.writeLock().lock();
+            try {
+                for (UUID patientId : ids) {
+                    Integer ordinal = ordinals.get(patientId);
+                    if (ordinal != null && present.get(ordinal)) {
+                        active.set(ordinal, isActive);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        CohortResult query(CohortCriteria criteria, LocalDate today, int cursor, int limit) {
+            lock.readLock().lock();
+            try {
+                BitSet matched = (BitSet) present.clone();
+
+                if (criteria.getActive() != null) {
+                    if (criteria.getActive()) {
+                        matched.and(active);
+                    } else {
+                        matched.andNot(active);
+                    }
+                }
+                if (criteria.getGender() != null) {
+                    matched.and(byGender.getOrDefault(normalize(criteria.getGender()), EMPTY));
+                }
+                if (criteria.getBloodGroups() != null && !criteria.getBloodGroups().isEmpty()) {
+                    BitSet anyBloodGroup = new BitSet();
+                    for (String bloodGroup : criteria.getBloodGroups()) {
+                        anyBloodGroup.or(byBloodGroup.getOrDefault(normalize(bloodGroup), EMPTY));
+                    }
+                    matched.and(anyBloodGroup);
+                }
+                if (criteria.getMinAge() != null || criteria.getMaxAge() != null) {
+                    matched.and(ageRange(criteria.getMinAge(), criteria.getMaxAge(), today));
+                }
+
+                int count = matched.cardinality();
+                List<UUID> page = new ArrayList<>(Math.min(limit, count));
+                int ordinal = matched.nextSetBit(cursor + 1);
+                int last = -1;
+                while (ordinal >= 0 && page.size() < limit) {
+                    page.add(patientIds.get(ordinal));
+                    last = ordinal;
+                    ordinal = matched.nextSetBit(ordinal + 1);
+                }
+                return new CohortResult(count, page, ordinal >= 0 ? last : null);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Patients whose age today lies in [minAge, maxAge]: whole birth years
+         * inside the range are OR-ed in, the boundary years are checked per patient
+         */
+        private BitSet ageRange(Integer minAge, Integer maxAge, LocalDate today) {
+            // Born on or before latestBirth, and strictly after earliestBirthExclusive
+            long latestBirth = minAge == null ? Long.MAX_VALUE : today.minusYears(minAge).toEpochDay();
+            long earliestBirthExclusive = maxAge == null ? Long.MIN_VALUE : today.minusYears(maxAge + 1L).toEpochDay();
+
+            BitSet result = new BitSet();
+            for (Map.Entry<Integer, BitSet> entry : byBirthYear.entrySet()) {
+                int year = entry.getKey();
+                long yearStart = LocalDate.of(year, 1, 1).toEpochDay();
+                long yearEnd = LocalDate.of(year, 12, 31).toEpochDay();
+
+                if (yearEnd <= latestBirth && yearStart > earliestBirthExclusive) {
+                    result.or(entry.getValue());
+                } else if (yearStart <= latestBirth && yearEnd > earliestBirthExclusive) {
+                    BitSet bucket = entry.getValue();
+                    for (int i = bucket.nextSetBit(0); i >= 0; i = bucket.nextSetBit(i + 1)) {
+                        long birth = birthEpochDays[i];
+                        if (birth <= latestBirth && birth > earliestBirthExclusive) {
+                            result.set(i);
+                        }
+                    }
+                }
+            }
+            return result;
+        }
+
+        private void clear(int ordinal) {
+            present.clear(ordinal);
+            active.clear(ordinal);
+            byGender.values().forEach(bits -> bits.clear(ordinal));
+            byBloodGroup.values().forEach(bits -> bits.clear(ordinal));
+            byBirthYear.values().forEach(bits -> bits.clear(ordinal));
+        }
+    }
+}
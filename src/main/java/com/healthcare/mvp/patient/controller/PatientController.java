@@ -1,9 +1,24 @@
 package com.healthcare.mvp.patient.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthcare.mvp.patient.cohort.CohortCriteria;
+import com.healthcare.mvp.patient.dto.BulkPatientStatusRequest;
+import com.healthcare.mvp.patient.dto.BulkPatientStatusResultDto;
 import com.healthcare.mvp.patient.dto.CreatePatientRequest;
+import com.healthcare.mvp.patient.dto.MergePatientsRequest;
+import com.healthcare.mvp.patient.dto.PatientCohortDto;
 import com.healthcare.mvp.patient.dto.PatientDto;
+import com.healthcare.mvp.patient.dto.PatientMergeDto;
+import com.healthcare.mvp.patient.dto.PatientSuggestionDto;
+import com.healthcare.mvp.patient.dto.PatientTimelineDto;
+import com.healthcare.mvp.patient.service.PatientBulkStatusService;
+import com.healthcare.mvp.patient.service.PatientCohortService;
+import com.healthcare.mvp.patient.service.PatientMergeService;
 import com.healthcare.mvp.patient.service.PatientService;
+import com.healthcare.mvp.patient.service.PatientTimelineService;
+import com.healthcare.mvp.patient.service.PatientTypeaheadService;
 import com.healthcare.mvp.shared.dto.BaseResponse;
+import com.healthcare.mvp.shared.security.SecurityUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,15 +30,22 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/api/patients")
@@ -35,6 +57,12 @@ import java.util.UUID;
 public class PatientController {
     
     private final PatientService patientService;
+    private final PatientTypeaheadService patientTypeaheadService;
+    private final PatientTimelineService patientTimelineService;
+    private final PatientCohortService patientCohortService;
+    private final PatientMergeService patientMergeService;
+    private final PatientBulkStatusService patientBulkStatusService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Register new patient - Hospital Admin, Receptionist, or Doctor
@@ -158,6 +186,176 @@ public class PatientController {
         }
     }
 
+    /**
+     * Merge a confirmed duplicate into the surviving patient - Hospital Admin only
+     */
+    @PostMapping("/merge")
+    @Operation(summary = "Merge Patients", description = "Re-point all records of a duplicate patient to the surviving patient and deactivate the duplicate. Re-submit to resume a failed merge.")
+    @PreAuthorize("hasRole('HOSPITAL_ADMIN')")
+    public ResponseEntity<BaseResponse<PatientMergeDto>> mergePatients(
+            @Valid @RequestBody MergePatientsRequest request) {
+
+        try {
+            PatientMergeDto merge = patientMergeService.mergePatients(
+                    request.getSurvivorPatientId(), request.getLoserPatientId());
+            return ResponseEntity.ok(BaseResponse.success("Patients merged successfully", merge));
+        } catch (Exception e) {
+            log.error("Failed to merge patient {} into {}: {}",
+                    request.getLoserPatientId(), request.getSurvivorPatientId(), e.getMessage(), e);
+            return ResponseEntity.badRequest().body(
+                BaseResponse.error("Failed to merge patients: " + e.getMessage())
+            );
+        }
+    }
+
+    @GetMapping("/merge/{mergeId}")
+    @Operation(summary = "Get Patient Merge", description = "Progress and checkpoint of a patient merge")
+    @PreAuthorize("hasRole('HOSPITAL_ADMIN')")
+    public ResponseEntity<BaseResponse<PatientMergeDto>> getMerge(@PathVariable UUID mergeId) {
+        try {
+            return ResponseEntity.ok(BaseResponse.success("Patient merge found", patientMergeService.getMerge(mergeId)));
+        } catch (Exception e) {
+            log.error("Failed to fetch patient merge {}: {}", mergeId, e.getMessage(), e);
+            return ResponseEntity.badRequest().body(
+                BaseResponse.error("Failed to fetch patient merge: " + e.getMessage())
+            );
+        }
+    }
+
+    /**
+     * Bulk deactivation by ID list or inactivity cutoff - Hospital Admin only
+     */
+    @PostMapping("/bulk/deactivate")
+    @Operation(summary = "Bulk Deactivate Patients", description = "Deactivate listed or dormant patients in chunks and cancel their future appointments")
+    @PreAuthorize("hasRole('HOSPITAL_ADMIN')")
+    public ResponseEntity<BaseResponse<BulkPatientStatusResultDto>> bulkDeactivatePatients(
+            @Valid @RequestBody BulkPatientStatusRequest request) {
+
+        try {
+            BulkPatientStatusResultDto result = patientBulkStatusService.deactivatePatients(
+                    request, SecurityUtils.getCurrentAuditor().orElse(null), null);
+            return ResponseEntity.ok(BaseResponse.success("Patients deactivated", result));
+        } catch (Exception e) {
+            log.error("Bulk deactivation failed for hospital {}: {}", request.getHospitalId(), e.getMessage(), e);
+            return ResponseEntity.badRequest().body(
+                BaseResponse.error("Failed to deactivate patients: " + e.getMessage())
+            );
+        }
+    }
+
+    /**
+     * Bulk deactivation with per-chunk progress streamed as newline-delimited JSON
+     */
+    @PostMapping(value = "/bulk/deactivate/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Bulk Deactivate Patients (streamed)", description = "Same as bulk deactivate, streaming one progress line per committed chunk")
+    @PreAuthorize("hasRole('HOSPITAL_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> bulkDeactivatePatientsStreamed(
+            @Valid @RequestBody BulkPatientStatusRequest request) {
+
+        UUID userId = SecurityUtils.getCurrentAuditor().orElse(null);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> streamProgress(out, progress ->
+                        patientBulkStatusService.deactivatePatients(request, userId, progress)));
+    }
+
+    /**
+     * Bulk reactivation by ID list - Hospital Admin only
+     */
+    @PostMapping("/bulk/reactivate")
+    @Operation(summary = "Bulk Reactivate Patients", description = "Reactivate listed patients in chunks")
+    @PreAuthorize("hasRole('HOSPITAL_ADMIN')")
+    public ResponseEntity<BaseResponse<BulkPatientStatusResultDto>> bulkReactivatePatients(
+            @Valid @RequestBody BulkPatientStatusRequest request) {
+
+        try {
+            BulkPatientStatusResultDto result = patientBulkStatusService.reactivatePatients(
+                    request, SecurityUtils.getCurrentAuditor().orElse(null), null);
+            return ResponseEntity.ok(BaseResponse.success("Patients reactivated", result));
+        } catch (Exception e) {
+            log.error("Bulk reactivation failed for hospital {}: {}", request.getHospitalId(), e.getMessage(), e);
+            return ResponseEntity.badRequest().body(
+                BaseResponse.error("Failed to reactivate patients: " + e.getMessage())
+            );
+        }
+    }
+
+    /**
+     * Demographic cohort - patients matching age range, gender, blood group and active flag
+     */
+    @GetMapping("/cohort")
+    @Operation(summary = "Find Patient Cohort", description = "Cohort size and a page of patients matching combined demographic filters")
+    @PreAuthorize("hasRole('HOSPITAL_ADMIN') or hasRole('DOCTOR')")
+    public ResponseEntity<BaseResponse<PatientCohortDto>> findCohort(
+            @RequestParam UUID hospitalId,
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Integer maxAge,
+            @RequestParam(required = false) String gender,
+            @RequestParam(required = false) List<String> bloodGroup,
+            @RequestParam(defaultValue = "true") Boolean active,
+            @RequestParam(required = false) Integer cursor,
+            @RequestParam(required = false) Integer limit) {
+
+        try {
+            CohortCriteria criteria = cohortCriteria(minAge, maxAge, gender, bloodGroup, active);
+            PatientCohortDto cohort = patientCohortService.findCohort(hospitalId, criteria, cursor, limit);
+            return ResponseEntity.ok(BaseResponse.success("Cohort retrieved", cohort));
+        } catch (Exception e) {
+            log.error("Failed to query cohort for hospital {}: {}", hospitalId, e.getMessage(), e);
+            return ResponseEntity.badRequest().body(
+                BaseResponse.error("Failed to query cohort: " + e.getMessage())
+            );
+        }
+    }
+
+    /**
+     * Demographic cohort size only
+     */
+    @GetMapping("/cohort/count")
+    @Operation(summary = "Count Patient Cohort", description = "Number of patients matching combined demographic filters")
+    @PreAuthorize("hasRole('HOSPITAL_ADMIN') or hasRole('DOCTOR')")
+    public ResponseEntity<BaseResponse<Long>> countCohort(
+            @RequestParam UUID hospitalId,
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Integer maxAge,
+            @RequestParam(required = false) String gender,
+            @RequestParam(required = false) List<String> bloodGroup,
+            @RequestParam(defaultValue = "true") Boolean active) {
+
+        try {
+            CohortCriteria criteria = cohortCriteria(minAge, maxAge, gender, bloodGroup, active);
+            return ResponseEntity.ok(BaseResponse.success("Cohort counted",
+                    patientCohortService.countCohort(hospitalId, criteria)));
+        } catch (Exception e) {
+            log.error("Failed to count cohort for hospital {}: {}", hospitalId, e.getMessage(), e);
+            return ResponseEntity.badRequest().body(
+                BaseResponse.error("Failed to count cohort: " + e.getMessage())
+            );
+        }
+    }
+
+    /**
+     * Patient 360 timeline - appointments, visits, prescriptions and bills in one newest-first page
+     */
+    @GetMapping("/{patientId}/timeline")
+    @Operation(summary = "Get Patient Timeline", description = "Chronological patient history, newest first. Pass nextCursor to page into older history.")
+    @PreAuthorize("hasRole('HOSPITAL_ADMIN') or hasRole('DOCTOR') or hasRole('NURSE')")
+    public ResponseEntity<BaseResponse<PatientTimelineDto>> getPatientTimeline(
+            @PathVariable UUID patientId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+
+        try {
+            PatientTimelineDto timeline = patientTimelineService.getTimeline(patientId, cursor, limit);
+            return ResponseEntity.ok(BaseResponse.success("Patient timeline retrieved", timeline));
+        } catch (Exception e) {
+            log.error("Failed to fetch timeline for patient {}: {}", patientId, e.getMessage(), e);
+            return ResponseEntity.badRequest().body(
+                BaseResponse.error("Failed to fetch patient timeline: " + e.getMessage())
+            );
+        }
+    }
+
     /**
      * Search patients globally - Hospital Admin or Doctor (for cross-hospital visits)
      */
@@ -178,6 +376,49 @@ public class PatientController {
         }
     }
 
+    /**
+     * Find patients by phone number - the first lookup callers ask for
+     */
+    @GetMapping("/by-phone")
+    @Operation(summary = "Find Patients by Phone", description = "Look up patients by phone number (normalized to E.164)")
+    @PreAuthorize("hasRole('HOSPITAL_ADMIN') or hasRole('DOCTOR') or hasRole('NURSE') or hasRole('RECEPTIONIST')")
+    public ResponseEntity<BaseResponse<List<PatientDto>>> findPatientsByPhone(
+            @RequestParam String phone,
+            @RequestParam(required = false) UUID hospitalId) {
+
+        try {
+            List<PatientDto> patients = patientService.findPatientsByPhone(phone, hospitalId);
+            return ResponseEntity.ok(BaseResponse.success("Patients found", patients));
+        } catch (Exception e) {
+            log.error("Failed to find patients by phone: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest().body(
+                BaseResponse.error("Failed to find patients: " + e.getMessage())
+            );
+        }
+    }
+
+    /**
+     * Typeahead lookup for registration desks - served from the in-memory prefix index
+     */
+    @GetMapping("/typeahead")
+    @Operation(summary = "Patient Typeahead", description = "Prefix suggestions over patient name and MRN within a hospital")
+    @PreAuthorize("hasRole('HOSPITAL_ADMIN') or hasRole('DOCTOR') or hasRole('NURSE') or hasRole('RECEPTIONIST')")
+    public ResponseEntity<BaseResponse<List<PatientSuggestionDto>>> typeahead(
+            @RequestParam UUID hospitalId,
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+
+        try {
+            List<PatientSuggestionDto> suggestions = patientTypeaheadService.suggest(hospitalId, q, limit);
+            return ResponseEntity.ok(BaseResponse.success("Suggestions found", suggestions));
+        } catch (Exception e) {
+            log.error("Failed to suggest patients for hospital {}: {}", hospitalId, e.getMessage(), e);
+            return ResponseEntity.badRequest().body(
+                BaseResponse.error("Failed to suggest patients: " + e.getMessage())
+            );
+        }
+    }
+
     /**
      * Update patient details - Hospital Admin, Doctor, or Receptionist
      */
@@ -198,4 +439,39 @@ public class PatientController {
             );
         }
     }
-}
\ No newline at end of file
+
+    private CohortCriteria cohortCriteria(Integer minAge, Integer maxAge, String gender,
+                                          List<String> bloodGroups, Boolean active) {
+        return CohortCriteria.builder()
+                .minAge(minAge)
+                .maxAge(maxAge)
+                .gender(gender)
+                .bloodGroups(bloodGroups == null ? null : new HashSet<>(bloodGroups))
+                .active(active)
+                .build();
+    }
+
+    private void streamProgress(OutputStream out, Consumer<Consumer<BulkPatientStatusResultDto>> job) {
+        AtomicBoolean connected = new AtomicBoolean(true);
+        Consumer<BulkPatientStatusResultDto> writeLine = progress -> {
+            if (!connected.get()) {
+                return;
+            }
+            try {
+                out.write(objectMapper.writeValueAsBytes(progress));
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                // Keep the job running - committed chunks are never rolled back by a dropped client
+                connected.set(false);
+                log.warn("Client disconnected from bulk status stream: {}", e.getMessage());
+            }
+        };
+        try {
+            job.accept(writeLine);
+        } catch (Exception e) {
+            log.error("Bulk status stream failed: {}", e.getMessage(), e);
+            writeLine.accept(BulkPatientStatusResultDto.builder().done(true).error(e.getMessage()).build());
+        }
+    }
+}
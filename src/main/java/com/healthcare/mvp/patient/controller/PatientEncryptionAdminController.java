@@ -0,0 +1,66 @@
+package com.healthcare.mvp.patient.controller;
+
+import com.healthcare.mvp.patient.dto.ReencryptionStatusDto;
+import com.healthcare.mvp.patient.service.PatientReencryptionService;
+import com.healthcare.mvp.shared.dto.BaseResponse;
+import com.healthcare.mvp.shared.encryption.EncryptionKeyStore;
+import com.healthcare.mvp.shared.exception.BusinessException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/admin/encryption")
+@CrossOrigin(origins = "*", maxAge = 3600)
+@Tag(name = "Admin - PHI Encryption", description = "Data key rotation and patient re-encryption")
+@RequiredArgsConstructor
+@Slf4j
+public class PatientEncryptionAdminController {
+
+    private final EncryptionKeyStore keyStore;
+    private final PatientReencryptionService reencryptionService;
+
+    @PostMapping("/keys/rotate")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @Operation(summary = "Rotate data key", description = "Generate a new active data key. Existing rows stay readable under their old key until re-encrypted. Single-node deployments only.")
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<BaseResponse<UUID>> rotateKey() {
+        try {
+            UUID keyId = keyStore.rotate();
+            log.warn("PHI data key rotated, new active key: {}", keyId);
+            return ResponseEntity.ok(BaseResponse.success("Data key rotated", keyId));
+        } catch (BusinessException e) {
+            return ResponseEntity.status(e.getHttpStatus()).body(BaseResponse.error(e.getErrorCode(), e.getMessage()));
+        } catch (Exception e) {
+            log.error("Failed to rotate PHI data key", e);
+            return ResponseEntity.badRequest().body(BaseResponse.error("ROTATION_FAILED", "Failed to rotate key: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/patients/reencrypt")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @Operation(summary = "Re-encrypt patients", description = "Start a background run that seals every patient not yet under the active key")
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<BaseResponse<ReencryptionStatusDto>> startReencryption() {
+        try {
+            return ResponseEntity.ok(BaseResponse.success("Re-encryption started", reencryptionService.start()));
+        } catch (BusinessException e) {
+            return ResponseEntity.status(e.getHttpStatus()).body(BaseResponse.error(e.getErrorCode(), e.getMessage()));
+        }
+    }
+
+    @GetMapping("/patients/reencrypt")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @Operation(summary = "Re-encryption status", description = "Progress and throughput of the current or last re-encryption run")
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<BaseResponse<ReencryptionStatusDto>> getReencryptionStatus() {
+        return ResponseEntity.ok(BaseResponse.success("Re-encryption status", reencryptionService.getStatus()));
+    }
+}
@@ -0,0 +1,36 @@
+package com.healthcare.mvp.patient.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Past;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Selects the patients of one hospital for bulk deactivation or reactivation:
+ * either an explicit ID list, or (deactivation only) every patient with no
+ * activity since the cutoff date.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkPatientStatusRequest {
+
+    @NotNull(message = "Hospital ID is required")
+    private UUID hospitalId;
+
+    @Size(max = 100000, message = "At most 100000 patient IDs per request")
+    private List<UUID> patientIds;
+
+    @Past(message = "Inactivity cutoff must be in the past")
+    private LocalDate inactiveSince;
+
+    private String reason;
+}
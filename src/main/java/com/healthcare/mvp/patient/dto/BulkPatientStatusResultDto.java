@@ -0,0 +1,27 @@
+package com.healthcare.mvp.patient.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress (done = false) or final counts (done = true) of a bulk status change
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkPatientStatusResultDto {
+
+    private String operation;
+    private long patientsMatched;
+    private long patientsUpdated;
+    private long appointmentsCancelled;
+    private int chunks;
+    private long elapsedMs;
+    private boolean done;
+    private String error;
+}
@@ -0,0 +1,22 @@
+package com.healthcare.mvp.patient.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MergePatientsRequest {
+
+    @NotNull(message = "Surviving patient ID is required")
+    private UUID survivorPatientId;
+
+    @NotNull(message = "Duplicate patient ID is required")
+    private UUID loserPatientId;
+}
@@ -0,0 +1,24 @@
+package com.healthcare.mvp.patient.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Cohort size and one page of its patients. Pass nextCursor back for the next page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PatientCohortDto {
+
+    private long count;
+    private List<PatientDto> patients;
+    private Integer nextCursor;
+}
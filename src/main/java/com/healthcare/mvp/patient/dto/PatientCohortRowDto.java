@@ -0,0 +1,28 @@
+package com.healthcare.mvp.patient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Demographic attributes indexed by PatientCohortIndex.
+ * Also the JPQL constructor projection behind PatientRepository.findCohortRowsAfter,
+ * so the constructor argument order must match that query.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PatientCohortRowDto {
+
+    private UUID patientId;
+    private UUID hospitalId;
+    private LocalDate dateOfBirth;
+    private String gender;
+    private String bloodGroup;
+    private Boolean isActive;
+}
@@ -1,5 +1,6 @@
 package com.healthcare.mvp.patient.dto;
 
+import com.healthcare.mvp.patient.entity.ContactInfo;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -32,8 +33,8 @@ public class PatientDto {
     private String address;
     private String bloodGroup;       // A+, B-, AB+, O-, etc.
 
-    // Contact Information (JSON string)
-    private String contactInfo;
+    // Contact Information (JSONB document)
+    private ContactInfo contactInfo;
     
     // Emergency Contact
     private String emergencyContactName;
@@ -0,0 +1,27 @@
+package com.healthcare.mvp.patient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PatientMergeDto {
+
+    private UUID mergeId;
+    private UUID hospitalId;
+    private UUID survivorPatientId;
+    private UUID loserPatientId;
+    private String status;
+    private String currentStep;
+    private long rowsMoved;
+    private String lastError;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,39 @@
+package com.healthcare.mvp.patient.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Compact patient suggestion returned by the registration-desk typeahead.
+ * Also used as the JPQL constructor projection that seeds the index, so the
+ * constructor argument order must match PatientRepository.findSuggestionsAfter.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PatientSuggestionDto {
+
+    private UUID patientId;
+
+    @JsonIgnore
+    private UUID hospitalId;
+
+    private String mrn;
+    private String firstName;
+    private String lastName;
+    private LocalDate dateOfBirth;
+
+    public String getFullName() {
+        if (firstName != null && lastName != null) {
+            return firstName + " " + lastName;
+        }
+        return firstName != null ? firstName : (lastName != null ? lastName : "");
+    }
+}
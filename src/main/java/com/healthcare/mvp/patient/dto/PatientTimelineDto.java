@@ -0,0 +1,29 @@
+package com.healthcare.mvp.patient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A page of a patient's chronological timeline, newest first.
+ *
+ * Pass nextCursor back to fetch older history. When partial is true one or more
+ * sources missed the deadline (listed in unavailableSources) and their entries
+ * are absent from this page - retry the same cursor rather than paging on.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PatientTimelineDto {
+
+    private PatientDto patient;
+    private List<TimelineEntryDto> entries;
+    private String nextCursor;
+    private boolean hasMore;
+    private boolean partial;
+    private List<TimelineEntryDto.EntryType> unavailableSources;
+}
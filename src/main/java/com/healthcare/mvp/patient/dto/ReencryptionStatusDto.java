@@ -0,0 +1,29 @@
+package com.healthcare.mvp.patient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Progress of the patient PHI re-encryption job
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReencryptionStatusDto {
+
+    private boolean running;
+    private UUID activeKeyId;
+    private long processed;
+    private long failed;
+    private long batches;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long elapsedMs;
+    private double rowsPerSecond;
+}
@@ -0,0 +1,40 @@
+package com.healthcare.mvp.patient.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One event on a patient's timeline
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TimelineEntryDto {
+
+    /**
+     * Declaration order is the tie-break between entries at the same instant
+     */
+    public enum EntryType {
+        APPOINTMENT, ENCOUNTER, PRESCRIPTION, INVOICE
+    }
+
+    private EntryType type;
+    private UUID id;
+    private LocalDateTime occurredAt;
+    private boolean upcoming;
+
+    private String title;
+    private String status;
+    private String summary;
+    private UUID doctorId;
+    private BigDecimal amount;
+}
@@ -0,0 +1,33 @@
+package com.healthcare.mvp.patient.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Typed document stored in patient.contact_info (JSONB).
+ *
+ * phoneE164 is the normalized form of phone and is what the GIN-indexed
+ * phone lookup matches on; phone keeps whatever the front desk typed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ContactInfo implements Serializable {
+
+    private String phone;
+    private String phoneE164;
+    private String address;
+    private String emergencyContactName;
+    private String emergencyContactPhone;
+    private String emergencyContactPhoneE164;
+    private String emergencyContactRelationship;
+}
@@ -5,6 +5,8 @@ import com.healthcare.mvp.shared.entity.BaseEntity;
 import com.healthcare.mvp.user.entity.Users;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDate;
 import java.util.UUID;
@@ -50,11 +52,18 @@ public class Patient extends BaseEntity {
     @Column(name = "encrypted_lastname")
     private byte[] encryptedLastname;
 
+    @Column(name = "first_name_bidx", length = 32)
+    private String firstNameBlindIndex; // HMAC blind index for equality search on encrypted first name
+
+    @Column(name = "last_name_bidx", length = 32)
+    private String lastNameBlindIndex; // HMAC blind index for equality search on encrypted last name
+
     @Column(name = "date_of_birth", nullable = false)
     private LocalDate dateOfBirth;
 
-    @Column(name = "contact_info")
-    private String contactInfo; // JSONB for phone, email, etc.
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "contact_info", columnDefinition = "jsonb")
+    private ContactInfo contactInfo; // JSONB, GIN-indexed for phone lookup
 
     @Column(name = "email")
     private String email;
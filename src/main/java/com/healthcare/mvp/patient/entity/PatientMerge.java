@@ -0,0 +1,65 @@
+package com.healthcare.mvp.patient.entity;
+
+import com.healthcare.mvp.shared.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Checkpoint for merging a duplicate (loser) patient into the surviving record.
+ *
+ * currentStep and rowsMoved are committed together with each re-pointed chunk,
+ * so an interrupted merge resumes exactly where it stopped.
+ */
+@Entity
+@Table(name = "patient_merge")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true)
+public class PatientMerge extends BaseEntity {
+
+    @Id
+    @Column(name = "merge_id")
+    private UUID mergeId;
+
+    @Column(name = "hospital_id", nullable = false)
+    private UUID hospitalId;
+
+    @Column(name = "survivor_patient_id", nullable = false)
+    private UUID survivorPatientId;
+
+    @Column(name = "loser_patient_id", nullable = false)
+    private UUID loserPatientId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private MergeStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "current_step", nullable = false)
+    private MergeStep currentStep;
+
+    @Column(name = "rows_moved", nullable = false)
+    private Long rowsMoved;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    public enum MergeStatus {
+        IN_PROGRESS, FAILED, COMPLETED
+    }
+
+    /**
+     * Executed in declaration order
+     */
+    public enum MergeStep {
+        DEACTIVATE_LOSER, APPOINTMENTS, PRESCRIPTIONS, ENCOUNTERS, INVOICES, NOTIFICATIONS, DONE
+    }
+}
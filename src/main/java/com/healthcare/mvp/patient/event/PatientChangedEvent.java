@@ -0,0 +1,34 @@
+package com.healthcare.mvp.patient.event;
+
+import com.healthcare.mvp.patient.entity.Patient;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published by PatientService whenever a patient row is written.
+ * In-memory read models (typeahead, cohort indexes, ...) listen for this
+ * after commit instead of polling the patient table.
+ */
+@Getter
+@RequiredArgsConstructor
+public class PatientChangedEvent {
+
+    private final Patient patient;
+    private final ChangeType changeType;
+
+    public enum ChangeType {
+        CREATED, UPDATED, DEACTIVATED
+    }
+
+    public static PatientChangedEvent created(Patient patient) {
+        return new PatientChangedEvent(patient, ChangeType.CREATED);
+    }
+
+    public static PatientChangedEvent updated(Patient patient) {
+        return new PatientChangedEvent(patient, ChangeType.UPDATED);
+    }
+
+    public static PatientChangedEvent deactivated(Patient patient) {
+        return new PatientChangedEvent(patient, ChangeType.DEACTIVATED);
+    }
+}
@@ -0,0 +1,22 @@
+package com.healthcare.mvp.patient.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published by PatientBulkStatusService once per chunk of patients switched
+ * active or inactive with a set-based update. Carries only the IDs, so a bulk
+ * run never loads the patients it changed; in-memory read models that need
+ * more than the active flag read it back themselves after commit.
+ */
+@Getter
+@RequiredArgsConstructor
+public class PatientStatusChangedEvent {
+
+    private final UUID hospitalId;
+    private final List<UUID> patientIds;
+    private final boolean active;
+}
@@ -0,0 +1,104 @@
+package com.healthcare.mvp.patient.migration;
+
+import com.healthcare.mvp.shared.util.PhoneNumberUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Migration 20: recomputes contact_info.phoneE164 and emergencyContactPhoneE164
+ * with PhoneNumberUtils.toE164, the normalization registration and the phone
+ * lookup use.
+ *
+ * V003's SQL backfill only approximated it (no 00 prefix or trunk 0 handling,
+ * a hard-coded +91, and '+' with nothing usable when the number had no digits),
+ * so backfilled patients could be missed by the lookup. This runs in Java so the
+ * stored values are exactly what toE164 produces for app.patient.default-country-code;
+ * numbers toE164 rejects lose the key. Boot hands Spring-managed JavaMigrations to
+ * Flyway, and FlywayConfig copies them to every shard.
+ */
+@Component
+@Slf4j
+public class PatientPhoneE164Backfill implements JavaMigration {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final UUID MIN_ID = new UUID(0, 0);
+
+    @Value("${app.patient.default-country-code:91}")
+    private String defaultCountryCode;
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("020");
+    }
+
+    @Override
+    public String getDescription() {
+        return "patient phone e164 backfill";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+
+        UUID after = MIN_ID;
+        int updated = 0;
+        while (true) {
+            List<ContactPhones> batch = jdbcTemplate.query(
+                    "SELECT patient_id, contact_info->>'phone', contact_info->>'phoneE164', " +
+                    "contact_info->>'emergencyContactPhone', contact_info->>'emergencyContactPhoneE164' " +
+                    "FROM patient WHERE patient_id > ? AND contact_info IS NOT NULL " +
+                    "ORDER BY patient_id LIMIT ?",
+                    (rs, rowNum) -> new ContactPhones(rs.getObject(1, UUID.class), rs.getString(2),
+                            rs.getString(3), rs.getString(4), rs.getString(5)),
+                    after, BATCH_SIZE);
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            List<Object[]> changes = new ArrayList<>();
+            for (ContactPhones row : batch) {
+                String phoneE164 = PhoneNumberUtils.toE164(row.phone(), defaultCountryCode);
+                String emergencyE164 = PhoneNumberUtils.toE164(row.emergencyPhone(), defaultCountryCode);
+                if (!Objects.equals(phoneE164, row.phoneE164()) || !Objects.equals(emergencyE164, row.emergencyE164())) {
+                    changes.add(new Object[] {phoneE164, emergencyE164, row.patientId()});
+                }
+            }
+            if (!changes.isEmpty()) {
+                // jsonb_strip_nulls drops the keys toE164 rejected, as @JsonInclude(NON_NULL) does on save
+                jdbcTemplate.batchUpdate(
+                        "UPDATE patient SET contact_info = (contact_info - 'phoneE164' - 'emergencyContactPhoneE164') " +
+                        "|| jsonb_strip_nulls(jsonb_build_object('phoneE164', CAST(? AS text), " +
+                        "'emergencyContactPhoneE164', CAST(? AS text))) WHERE patient_id = ?",
+                        changes);
+                updated += changes.size();
+            }
+            after = batch.get(batch.size() - 1).patientId();
+        }
+        log.info("Normalized the E.164 phones of {} patients with default country code {}", updated, defaultCountryCode);
+    }
+
+    private record ContactPhones(UUID patientId, String phone, String phoneE164,
+                                 String emergencyPhone, String emergencyE164) {
+    }
+}
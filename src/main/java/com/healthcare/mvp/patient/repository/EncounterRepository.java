@@ -4,11 +4,38 @@ import com.healthcare.mvp.patient.entity.Encounter;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
 
 public interface EncounterRepository extends JpaRepository<Encounter, UUID> {
     Page<Encounter> findByHospitalIdAndPatientIdAndIsActiveTrue(UUID hospitalId, UUID patientId, Pageable pageable);
 
     boolean existsByEncounterIdAndHospitalIdAndIsActiveTrue(UUID encounterId, UUID hospitalId);
-}
\ No newline at end of file
+
+    /**
+     * Patient timeline - keyset page of encounters older than (before, beforeId), newest first
+     */
+    @Query("SELECT e FROM Encounter e WHERE e.hospitalId = :hospitalId AND e.patientId = :patientId AND e.isActive = true " +
+            "AND (e.visitDate < :before OR (e.visitDate = :before AND e.encounterId < :beforeId)) " +
+            "ORDER BY e.visitDate DESC, e.encounterId DESC")
+    List<Encounter> findPatientTimelinePage(@Param("hospitalId") UUID hospitalId,
+                                            @Param("patientId") UUID patientId,
+                                            @Param("before") OffsetDateTime before,
+                                            @Param("beforeId") UUID beforeId,
+                                            Pageable pageable);
+
+    /**
+     * Patient merge - move up to {@code chunkSize} encounters from one patient to another
+     */
+    @Modifying
+    @Query(value = "UPDATE encounter SET patient_id = :survivorId, version = COALESCE(version, 0) + 1, updated_date = NOW() " +
+            "WHERE encounter_id IN (SELECT encounter_id FROM encounter WHERE patient_id = :loserId LIMIT :chunkSize)", nativeQuery = true)
+    int repointPatientChunk(@Param("loserId") UUID loserId,
+                            @Param("survivorId") UUID survivorId,
+                            @Param("chunkSize") int chunkSize);
+}
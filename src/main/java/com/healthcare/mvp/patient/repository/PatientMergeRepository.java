@@ -0,0 +1,16 @@
+package com.healthcare.mvp.patient.repository;
+
+import com.healthcare.mvp.patient.entity.PatientMerge;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface PatientMergeRepository extends JpaRepository<PatientMerge, UUID> {
+
+    Optional<PatientMerge> findFirstByLoserPatientIdAndStatusIn(UUID loserPatientId,
+                                                                Collection<PatientMerge.MergeStatus> statuses);
+}
@@ -1,13 +1,18 @@
 package com.healthcare.mvp.patient.repository;
 
+import com.healthcare.mvp.patient.dto.PatientCohortRowDto;
+import com.healthcare.mvp.patient.dto.PatientSuggestionDto;
 import com.healthcare.mvp.patient.entity.Patient;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -112,14 +117,15 @@ public interface PatientRepository extends JpaRepository<Patient, UUID> {
     
     boolean existsByGlobalPatientId(String globalPatientId);
 
-    List<Patient> findByBloodGroupAndIsActive(String bloodGroup, Boolean isActive);
-    
     /**
-     * Find patients by age range
+     * Demographic attributes of every patient (active or not) for seeding the cohort index,
+     * as the next keyset chunk after the cursor.
+     * Age, gender and blood group filters are answered by PatientCohortIndex, not SQL.
      */
-    @Query("SELECT p FROM Patient p WHERE p.isActive = true AND " +
-           "YEAR(CURRENT_DATE) - YEAR(p.dateOfBirth) BETWEEN :minAge AND :maxAge")
-    List<Patient> findPatientsByAgeRange(@Param("minAge") int minAge, @Param("maxAge") int maxAge);
+    @Query("SELECT new com.healthcare.mvp.patient.dto.PatientCohortRowDto(" +
+            "p.patientId, p.hospitalId, p.dateOfBirth, p.gender, p.bloodGroup, p.isActive) FROM Patient p " +
+            "WHERE p.patientId > :afterId ORDER BY p.patientId")
+    List<PatientCohortRowDto> findCohortRowsAfter(@Param("afterId") UUID afterId, Pageable pageable);
 
     /**
      * Additional hospital-specific queries using direct hospitalId field
@@ -129,4 +135,94 @@ public interface PatientRepository extends JpaRepository<Patient, UUID> {
 
     @Query("SELECT p FROM Patient p WHERE p.hospitalId = :hospitalId AND p.isActive = true")
     Page<Patient> findActivePatientsByHospitalWithPagination(@Param("hospitalId") UUID hospitalId, Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Compact projection used to seed the in-memory typeahead index: the next
+     * keyset chunk of active patients after the cursor
+     */
+    @Query("SELECT new com.healthcare.mvp.patient.dto.PatientSuggestionDto(" +
+           "p.patientId, p.hospitalId, p.mrn, p.firstName, p.lastName, p.dateOfBirth) " +
+           "FROM Patient p WHERE p.isActive = true AND p.patientId > :afterId ORDER BY p.patientId")
+    List<PatientSuggestionDto> findSuggestionsAfter(@Param("afterId") UUID afterId, Pageable pageable);
+
+    /**
+     * Typeahead projection of the given active patients of one hospital
+     */
+    @Query("SELECT new com.healthcare.mvp.patient.dto.PatientSuggestionDto(" +
+           "p.patientId, p.hospitalId, p.mrn, p.firstName, p.lastName, p.dateOfBirth) " +
+           "FROM Patient p WHERE p.hospitalId = :hospitalId AND p.isActive = true AND p.patientId IN :patientIds")
+    List<PatientSuggestionDto> findSuggestionsByIds(@Param("hospitalId") UUID hospitalId,
+                                                    @Param("patientIds") Collection<UUID> patientIds);
+
+    /**
+     * Active patients as entities after the cursor, for loaders that need to decrypt names
+     */
+    @Query("SELECT p FROM Patient p WHERE p.isActive = true AND p.patientId > :afterId ORDER BY p.patientId")
+    List<Patient> findActiveAfter(@Param("afterId") UUID afterId, Pageable pageable);
+
+    /**
+     * Phone lookup on the normalized E.164 number inside contact_info.
+     * JSONB containment so the query is served by idx_patient_contact_info_gin.
+     */
+    @Query(value = "SELECT * FROM patient p WHERE p.is_active = true " +
+                   "AND p.contact_info @> jsonb_build_object('phoneE164', CAST(:phoneE164 AS text))",
+           nativeQuery = true)
+    List<Patient> findActiveByPhoneE164(@Param("phoneE164") String phoneE164);
+
+    @Query(value = "SELECT * FROM patient p WHERE p.hospital_id = :hospitalId AND p.is_active = true " +
+                   "AND p.contact_info @> jsonb_build_object('phoneE164', CAST(:phoneE164 AS text))",
+           nativeQuery = true)
+    List<Patient> findActiveByHospitalIdAndPhoneE164(@Param("hospitalId") UUID hospitalId,
+                                                     @Param("phoneE164") String phoneE164);
+
+    /**
+     * Hospital search when names are encrypted: names match on their HMAC blind
+     * index (exact, normalized), email and MRN still match by substring
+     */
+    @Query("SELECT p FROM Patient p WHERE p.hospitalId = :hospitalId AND p.isActive = true AND " +
+            "(p.firstNameBlindIndex = :nameIndex OR p.lastNameBlindIndex = :nameIndex OR " +
+            "LOWER(COALESCE(p.email, '')) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "p.mrn LIKE CONCAT('%', :searchTerm, '%'))")
+    Page<Patient> searchPatientsByHospitalWithBlindIndex(@Param("hospitalId") UUID hospitalId,
+                                                         @Param("searchTerm") String searchTerm,
+                                                         @Param("nameIndex") String nameIndex,
+                                                         Pageable pageable);
+
+    /**
+     * Keyset scan for the re-encryption job: IDs after the cursor that are not
+     * yet sealed under the active key
+     */
+    @Query("SELECT p.patientId FROM Patient p WHERE p.patientId > :afterId AND " +
+            "(p.isEncrypted = false OR p.encryptionKeyId IS NULL OR p.encryptionKeyId <> :activeKeyId) " +
+            "ORDER BY p.patientId")
+    List<UUID> findIdsNeedingEncryption(@Param("afterId") UUID afterId,
+                                        @Param("activeKeyId") UUID activeKeyId,
+                                        Pageable pageable);
+
+    /**
+     * Bulk deactivation - next keyset chunk of active patients with no activity since the cutoff:
+     * not updated and no appointment on or after it
+     */
+    @Query("SELECT p.patientId FROM Patient p WHERE p.hospitalId = :hospitalId AND p.isActive = true " +
+            "AND p.patientId > :afterId AND p.updatedDate < :cutoff " +
+            "AND NOT EXISTS (SELECT 1 FROM Appointment a WHERE a.patientId = p.patientId " +
+            "AND a.appointmentDateTime >= :cutoff) " +
+            "ORDER BY p.patientId")
+    List<UUID> findDormantPatientIds(@Param("hospitalId") UUID hospitalId,
+                                     @Param("cutoff") LocalDateTime cutoff,
+                                     @Param("afterId") UUID afterId,
+                                     Pageable pageable);
+
+    /**
+     * Set-based status change for one chunk; rows already in the target state are skipped
+     */
+    @Modifying
+    @Query("UPDATE Patient p SET p.isActive = :active, p.version = COALESCE(p.version, 0) + 1, " +
+            "p.updatedDate = :now, p.updatedBy = :userId " +
+            "WHERE p.hospitalId = :hospitalId AND p.patientId IN :patientIds AND p.isActive <> :active")
+    int updateActiveStatus(@Param("hospitalId") UUID hospitalId,
+                           @Param("patientIds") Collection<UUID> patientIds,
+                           @Param("active") boolean active,
+                           @Param("now") LocalDateTime now,
+                           @Param("userId") UUID userId);
+}
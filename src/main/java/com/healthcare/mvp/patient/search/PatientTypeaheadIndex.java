@@ -0,0 +1,313 @@
+package com.healthcare.mvp.patient.search;
+
+import com.healthcare.mvp.patient.dto.PatientSuggestionDto;
+import com.healthcare.mvp.patient.entity.Patient;
+import com.healthcare.mvp.patient.event.PatientChangedEvent;
+import com.healthcare.mvp.patient.event.PatientStatusChangedEvent;
+import com.healthcare.mvp.patient.repository.PatientRepository;
+import com.healthcare.mvp.patient.service.PatientPhiProtector;
+import com.healthcare.mvp.shared.tenant.TenantShardDirectory;
+import com.healthcare.mvp.shared.tenant.TenantShardFanout;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Per-hospital in-memory prefix index over normalized patient names and MRNs.
+ *
+ * Each hospital gets a sorted skip list of "token -> patient" keys, so a prefix
+ * lookup is a single subMap range scan. Reads are lock-free; writes are
+ * serialized per hospital. The index is seeded once at startup from every shard and then kept
+ * current from PatientChangedEvent and PatientStatusChangedEvent after each commit.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PatientTypeaheadIndex {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9 ]");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final char KEY_SEPARATOR = '\u0001';
+    private static final UUID CURSOR_START = new UUID(0L, 0L);
+
+    private final PatientRepository patientRepository;
+    private final PatientPhiProtector phiProtector;
+    private final TenantShardFanout shardFanout;
+    private final TenantShardDirectory shardDirectory;
+
+    private final Map<UUID, HospitalPrefixIndex> hospitals = new ConcurrentHashMap<>();
+
+    @Value("${app.patient.typeahead.max-patients-per-hospital:200000}")
+    private int maxPatientsPerHospital;
+
+    @Value("${app.patient.typeahead.load-batch-size:5000}")
+    private int loadBatchSize;
+
+    private volatile boolean ready = false;
+
+    /**
+     * Seed the index from every shard once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        long startTime = System.currentTimeMillis();
+        int loaded = shardFanout.onEachShard(this::loadShard).values().stream().mapToInt(Integer::intValue).sum();
+
+        ready = true;
+        log.info("Patient typeahead index loaded {} patients across {} hospitals in {}ms",
+                loaded, hospitals.size(), System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Keep the index current after patient writes commit
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPatientChanged(PatientChangedEvent event) {
+        Patient patient = event.getPatient();
+        HospitalPrefixIndex index = indexFor(patient.getHospitalId());
+
+        if (event.getChangeType() == PatientChangedEvent.ChangeType.DEACTIVATED
+                || !Boolean.TRUE.equals(patient.getIsActive())) {
+            index.remove(patient.getPatientId());
+            return;
+        }
+
+        index.put(toSuggestion(patient));
+    }
+
+    /**
+     * Bulk status changes: deactivated patients are dropped; reactivated ones
+     * are read back, since the index kept nothing of them
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPatientStatusChanged(PatientStatusChangedEvent event) {
+        HospitalPrefixIndex index = indexFor(event.getHospitalId());
+        if (!event.isActive()) {
+            event.getPatientIds().forEach(index::remove);
+            return;
+        }
+
+        if (phiProtector.isPlaintextCleared()) {
+            for (Patient patient : patientRepository.findAllById(event.getPatientIds())) {
+                if (event.getHospitalId().equals(patient.getHospitalId()) && Boolean.TRUE.equals(patient.getIsActive())) {
+                    index.put(toSuggestion(patient));
+                }
+            }
+        } else {
+            patientRepository.findSuggestionsByIds(event.getHospitalId(), event.getPatientIds()).forEach(index::put);
+        }
+    }
+
+    /**
+     * True when the index holds a complete view of the hospital's patients.
+     * Callers should fall back to the database otherwise.
+     */
+    public boolean canServe(UUID hospitalId) {
+        if (!ready) {
+            return false;
+        }
+        HospitalPrefixIndex index = hospitals.get(hospitalId);
+        return index == null || !index.isSaturated();
+    }
+
+    /**
+     * Return up to {@code limit} suggestions whose name or MRN starts with the query
+     */
+    public List<PatientSuggestionDto> suggest(UUID hospitalId, String query, int limit) {
+        HospitalPrefixIndex index = hospitals.get(hospitalId);
+        String prefix = normalize(query);
+        if (index == null || prefix.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return index.search(prefix, limit);
+    }
+
+    public int size(UUID hospitalId) {
+        HospitalPrefixIndex index = hospitals.get(hospitalId);
+        return index == null ? 0 : index.size();
+    }
+
+    /**
+     * Index the active patients of the tenants the shard serves; runs on the shard fan-out pool
+     */
+    private int loadShard(String shard) {
+        int loaded = 0;
+        PageRequest batch = PageRequest.of(0, loadBatchSize);
+        UUID cursor = CURSOR_START;
+        if (phiProtector.isPlaintextCleared()) {
+            // Names only exist encrypted - load entities and decrypt in memory
+            List<Patient> patients;
+            do {
+                patients = patientRepository.findActiveAfter(cursor, batch);
+                for (Patient patient : patients) {
+                    if (shardDirectory.isServedBy(patient.getHospitalId(), shard)
+                            && indexFor(patient.getHospitalId()).put(toSuggestion(patient))) {
+                        loaded++;
+                    }
+                }
+                if (!patients.isEmpty()) {
+                    cursor = patients.get(patients.size() - 1).getPatientId();
+                }
+            } while (patients.size() == loadBatchSize);
+        } else {
+            List<PatientSuggestionDto> suggestions;
+            do {
+                suggestions = patientRepository.findSuggestionsAfter(cursor, batch);
+                for (PatientSuggestionDto suggestion : suggestions) {
+                    if (shardDirectory.isServedBy(suggestion.getHospitalId(), shard)
+                            && indexFor(suggestion.getHospitalId()).put(suggestion)) {
+                        loaded++;
+                    }
+                }
+                if (!suggestions.isEmpty()) {
+                    cursor = suggestions.get(suggestions.size() - 1).getPatientId();
+                }
+            } while (suggestions.size() == loadBatchSize);
+        }
+        return loaded;
+    }
+
+    private PatientSuggestionDto toSuggestion(Patient patient) {
+        return PatientSuggestionDto.builder()
+                .patientId(patient.getPatientId())
+                .hospitalId(patient.getHospitalId())
+                .mrn(patient.getMrn())
+                .firstName(phiProtector.firstName(patient))
+                .lastName(phiProtector.lastName(patient))
+                .dateOfBirth(patient.getDateOfBirth())
+                .build();
+    }
+
+    private HospitalPrefixIndex indexFor(UUID hospitalId) {
+        return hospitals.computeIfAbsent(hospitalId, id -> new HospitalPrefixIndex(id, maxPatientsPerHospital));
+    }
+
+    /**
+     * Lower-case, strip accents and punctuation, collapse whitespace
+     */
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase();
+        String cleaned = NON_ALPHANUMERIC.matcher(stripped).replaceAll(" ");
+        return WHITESPACE.matcher(cleaned).replaceAll(" ").trim();
+    }
+
+    /**
+     * Prefix index for a single hospital
+     */
+    private static final class HospitalPrefixIndex {
+
+        private final UUID hospitalId;
+        private final int maxPatients;
+        private final ConcurrentSkipListMap<String, UUID> keys = new ConcurrentSkipListMap<>();
+        private final ConcurrentHashMap<UUID, PatientSuggestionDto> patients = new ConcurrentHashMap<>();
+        private volatile boolean saturated = false;
+
+        private HospitalPrefixIndex(UUID hospitalId, int maxPatients) {
+            this.hospitalId = hospitalId;
+            this.maxPatients = maxPatients;
+        }
+
+        synchronized boolean put(PatientSuggestionDto suggestion) {
+            PatientSuggestionDto previous = patients.get(suggestion.getPatientId());
+            if (previous == null && patients.size() >= maxPatients) {
+                if (!saturated) {
+                    log.warn("Typeahead index for hospital {} reached its budget of {} patients; " +
+                            "further lookups fall back to the database", hospitalId, maxPatients);
+                }
+                saturated = true;
+                return false;
+            }
+            if (previous != null) {
+                for (String token : tokens(previous)) {
+                    keys.remove(key(token, previous.getPatientId()));
+                }
+            }
+            patients.put(suggestion.getPatientId(), suggestion);
+            for (String token : tokens(suggestion)) {
+                keys.put(key(token, suggestion.getPatientId()), suggestion.getPatientId());
+            }
+            return true;
+        }
+
+        synchronized void remove(UUID patientId) {
+            PatientSuggestionDto previous = patients.remove(patientId);
+            if (previous != null) {
+                for (String token : tokens(previous)) {
+                    keys.remove(key(token, patientId));
+                }
+            }
+        }
+
+        List<PatientSuggestionDto> search(String prefix, int limit) {
+            ConcurrentNavigableMap<String, UUID> range =
+                    keys.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+
+            Set<UUID> matched = new LinkedHashSet<>();
+            for (UUID patientId : range.values()) {
+                matched.add(patientId);
+                if (matched.size() >= limit) {
+                    break;
+                }
+            }
+
+            List<PatientSuggestionDto> results = new ArrayList<>(matched.size());
+            for (UUID patientId : matched) {
+                PatientSuggestionDto suggestion = patients.get(patientId);
+                if (suggestion != null) {
+                    results.add(suggestion);
+                }
+            }
+            return results;
+        }
+
+        boolean isSaturated() {
+            return saturated;
+        }
+
+        int size() {
+            return patients.size();
+        }
+
+        private static Set<String> tokens(PatientSuggestionDto suggestion) {
+            String first = normalize(suggestion.getFirstName());
+            String last = normalize(suggestion.getLastName());
+            Set<String> tokens = new LinkedHashSet<>();
+            if (!first.isEmpty()) tokens.add(first);
+            if (!last.isEmpty()) tokens.add(last);
+            if (!first.isEmpty() && !last.isEmpty()) {
+                tokens.add(first + " " + last);
+                tokens.add(last + " " + first);
+            }
+            String mrn = normalize(suggestion.getMrn());
+            if (!mrn.isEmpty()) tokens.add(mrn);
+            return tokens;
+        }
+
+        private static String key(String token, UUID patientId) {
+            return token + KEY_SEPARATOR + patientId;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.healthcare.mvp.patient.service;
+
+import com.healthcare.mvp.appointment.entity.Appointment.AppointmentStatus;
+import com.healthcare.mvp.appointment.repository.AppointmentRepository;
+import com.healthcare.mvp.patient.dto.BulkPatientStatusRequest;
+import com.healthcare.mvp.patient.dto.BulkPatientStatusResultDto;
+import com.healthcare.mvp.patient.event.PatientStatusChangedEvent;
+import com.healthcare.mvp.patient.repository.PatientRepository;
+import com.healthcare.mvp.shared.audit.AuditLogger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Set-based patient deactivation and reactivation.
+ *
+ * Patients are selected either from an explicit ID list or, for deactivation,
+ * by a keyset scan for patients with no activity since a cutoff. Each chunk is
+ * one UPDATE (with a version bump) plus, on deactivation, one UPDATE cancelling
+ * the chunk's future appointments, committed in its own transaction. Progress is
+ * reported to the caller after every chunk. Read models hear about each chunk
+ * through one PatientStatusChangedEvent of IDs; no patient is loaded.
+ *
+ * Not @Transactional: transactions are per chunk via TransactionTemplate.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PatientBulkStatusService {
+
+    private static final UUID CURSOR_START = new UUID(0L, 0L);
+    private static final List<AppointmentStatus> OPEN_APPOINTMENT_STATUSES =
+            List.of(AppointmentStatus.SCHEDULED, AppointmentStatus.CONFIRMED);
+    private static final String DEFAULT_REASON = "Patient deactivated";
+
+    private final PatientRepository patientRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditLogger auditLogger;
+
+    @Value("${app.patient.bulk-status.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Deactivate the selected patients and cancel their future appointments
+     */
+    public BulkPatientStatusResultDto deactivatePatients(BulkPatientStatusRequest request, UUID userId,
+                                                         Consumer<BulkPatientStatusResultDto> progress) {
+        return changeStatus(request, false, userId, progress);
+    }
+
+    /**
+     * Reactivate the listed patients. Appointments cancelled by the deactivation stay cancelled.
+     */
+    public BulkPatientStatusResultDto reactivatePatients(BulkPatientStatusRequest request, UUID userId,
+                                                         Consumer<BulkPatientStatusResultDto> progress) {
+        if (request.getInactiveSince() != null) {
+            throw new RuntimeException("Reactivation requires an explicit patient ID list");
+        }
+        return changeStatus(request, true, userId, progress);
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private BulkPatientStatusResultDto changeStatus(BulkPatientStatusRequest request, boolean active, UUID userId,
+                                                    Consumer<BulkPatientStatusResultDto> progress) {
+        boolean byIds = request.getPatientIds() != null && !request.getPatientIds().isEmpty();
+        if (byIds == (request.getInactiveSince() != null)) {
+            throw new RuntimeException("Provide exactly one of patient IDs or an inactivity cutoff");
+        }
+
+        String operation = active ? "REACTIVATE" : "DEACTIVATE";
+        String reason = request.getReason() != null && !request.getReason().isBlank()
+                ? request.getReason().trim() : DEFAULT_REASON;
+        UUID hospitalId = request.getHospitalId();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long startTime = System.currentTimeMillis();
+
+        BulkPatientStatusResultDto result = BulkPatientStatusResultDto.builder().operation(operation).build();
+        log.info("Bulk {} of patients in hospital {} started", operation, hospitalId);
+
+        if (byIds) {
+            List<UUID> patientIds = new ArrayList<>(new LinkedHashSet<>(request.getPatientIds()));
+            for (int from = 0; from < patientIds.size(); from += chunkSize) {
+                List<UUID> chunk = patientIds.subList(from, Math.min(from + chunkSize, patientIds.size()));
+                applyChunk(transactionTemplate, hospitalId, chunk, active, reason, userId, result);
+                report(result, startTime, progress);
+            }
+        } else {
+            LocalDateTime cutoff = request.getInactiveSince().atStartOfDay();
+            UUID cursor = CURSOR_START;
+            while (true) {
+                List<UUID> chunk = patientRepository.findDormantPatientIds(
+                        hospitalId, cutoff, cursor, PageRequest.of(0, chunkSize));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                cursor = chunk.get(chunk.size() - 1);
+                applyChunk(transactionTemplate, hospitalId, chunk, active, reason, userId, result);
+                report(result, startTime, progress);
+            }
+        }
+
+        result.setDone(true);
+        result.setElapsedMs(System.currentTimeMillis() - startTime);
+
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("hospitalId", hospitalId);
+        metadata.put("patientsMatched", result.getPatientsMatched());
+        metadata.put("patientsUpdated", result.getPatientsUpdated());
+        metadata.put("appointmentsCancelled", result.getAppointmentsCancelled());
+        metadata.put("inactiveSince", request.getInactiveSince());
+        metadata.put("reason", reason);
+        auditLogger.logBusinessEvent("PATIENT_BULK_" + operation,
+                "Bulk " + operation.toLowerCase() + " of " + result.getPatientsUpdated() + " patients", metadata);
+
+        log.info("Bulk {} finished: {} of {} patients updated, {} appointments cancelled in {}ms",
+                operation, result.getPatientsUpdated(), result.getPatientsMatched(),
+                result.getAppointmentsCancelled(), result.getElapsedMs());
+        report(result, startTime, progress);
+        return result;
+    }
+
+    private void applyChunk(TransactionTemplate transactionTemplate, UUID hospitalId, List<UUID> chunk,
+                            boolean active, String reason, UUID userId, BulkPatientStatusResultDto result) {
+        int[] counts = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            int updated = patientRepository.updateActiveStatus(hospitalId, chunk, active, now, userId);
+            int cancelled = active ? 0 : appointmentRepository.cancelFutureAppointmentsForPatients(
+                    hospitalId, chunk, OPEN_APPOINTMENT_STATUSES, AppointmentStatus.CANCELLED, reason, now);
+
+            // Keep the in-memory read models in step once this chunk commits
+            eventPublisher.publishEvent(new PatientStatusChangedEvent(hospitalId, List.copyOf(chunk), active));
+            return new int[]{updated, cancelled};
+        });
+
+        result.setPatientsMatched(result.getPatientsMatched() + chunk.size());
+        result.setPatientsUpdated(result.getPatientsUpdated() + counts[0]);
+        result.setAppointmentsCancelled(result.getAppointmentsCancelled() + counts[1]);
+        result.setChunks(result.getChunks() + 1);
+    }
+
+    private void report(BulkPatientStatusResultDto result, long startTime,
+                        Consumer<BulkPatientStatusResultDto> progress) {
+        if (progress != null) {
+            result.setElapsedMs(System.currentTimeMillis() - startTime);
+            progress.accept(result);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.healthcare.mvp.patient.service;
+
+import com.healthcare.mvp.patient.cohort.CohortCriteria;
+import com.healthcare.mvp.patient.cohort.CohortResult;
+import com.healthcare.mvp.patient.cohort.PatientCohortIndex;
+import com.healthcare.mvp.patient.dto.PatientCohortDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * Demographic cohort queries (age range, gender, blood group, active flag).
+ *
+ * Filtering and counting are answered by PatientCohortIndex; the database is
+ * only hit to load the single page of patients being returned.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PatientCohortService {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private final PatientCohortIndex cohortIndex;
+    private final PatientService patientService;
+
+    /**
+     * Count the patients in a cohort
+     */
+    public long countCohort(UUID hospitalId, CohortCriteria criteria) {
+        validate(criteria);
+        return cohortIndex.query(hospitalId, criteria, null, 0).getCount();
+    }
+
+    /**
+     * Get the cohort size and one page of its patients
+     */
+    public PatientCohortDto findCohort(UUID hospitalId, CohortCriteria criteria, Integer cursor, Integer limit) {
+        validate(criteria);
+        int pageSize = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        CohortResult result = cohortIndex.query(hospitalId, criteria, cursor, pageSize);
+        return PatientCohortDto.builder()
+                .count(result.getCount())
+                .patients(patientService.getPatientsByIds(result.getPatientIds()))
+                .nextCursor(result.getNextCursor())
+                .build();
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private void validate(CohortCriteria criteria) {
+        if (!cohortIndex.isReady()) {
+            throw new RuntimeException("Cohort index is still loading, please retry shortly");
+        }
+        if (criteria.getMinAge() != null && criteria.getMinAge() < 0) {
+            throw new RuntimeException("Minimum age cannot be negative");
+        }
+        if (criteria.getMinAge() != null && criteria.getMaxAge() != null
+                && criteria.getMinAge() > criteria.getMaxAge()) {
+            throw new RuntimeException("Minimum age cannot be greater than maximum age");
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.healthcare.mvp.patient.service;
+
+import com.healthcare.mvp.appointment.repository.AppointmentRepository;
+import com.healthcare.mvp.billing.repository.InvoiceRepository;
+import com.healthcare.mvp.notification.repository.NotificationRepository;
+import com.healthcare.mvp.patient.dto.PatientMergeDto;
+import com.healthcare.mvp.patient.entity.Patient;
+import com.healthcare.mvp.patient.entity.PatientMerge;
+import com.healthcare.mvp.patient.entity.PatientMerge.MergeStatus;
+import com.healthcare.mvp.patient.entity.PatientMerge.MergeStep;
+import com.healthcare.mvp.patient.event.PatientChangedEvent;
+import com.healthcare.mvp.patient.repository.EncounterRepository;
+import com.healthcare.mvp.patient.repository.PatientMergeRepository;
+import com.healthcare.mvp.patient.repository.PatientRepository;
+import com.healthcare.mvp.prescription.repository.PrescriptionRepository;
+import com.healthcare.mvp.shared.audit.AuditLogger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Merges a confirmed duplicate (loser) patient into the surviving record.
+ *
+ * The loser is deactivated first so nothing new gets booked against it, then
+ * every child table is re-pointed in bulk UPDATE chunks. Each chunk runs in its
+ * own short transaction together with the PatientMerge checkpoint, so row locks
+ * are held for one chunk only and a failed merge resumes from where it stopped
+ * when requested again.
+ *
+ * Not @Transactional: transactions are per chunk via TransactionTemplate.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PatientMergeService {
+
+    private static final List<MergeStatus> OPEN_STATUSES = List.of(MergeStatus.IN_PROGRESS, MergeStatus.FAILED);
+
+    private final PatientRepository patientRepository;
+    private final PatientMergeRepository patientMergeRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final PrescriptionRepository prescriptionRepository;
+    private final EncounterRepository encounterRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final NotificationRepository notificationRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditLogger auditLogger;
+
+    @Value("${app.patient.merge.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Merge the loser patient into the survivor, or resume an interrupted merge of the same pair
+     */
+    public PatientMergeDto mergePatients(UUID survivorPatientId, UUID loserPatientId) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long startTime = System.currentTimeMillis();
+
+        PatientMerge merge = transactionTemplate.execute(status -> startOrResume(survivorPatientId, loserPatientId));
+        UUID mergeId = merge.getMergeId();
+        log.info("Merging patient {} into {} (merge {}, resuming at {})",
+                loserPatientId, survivorPatientId, mergeId, merge.getCurrentStep());
+
+        try {
+            while (merge.getCurrentStep() != MergeStep.DONE) {
+                merge = transactionTemplate.execute(status -> runNextChunk(mergeId));
+            }
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(status -> markFailed(mergeId, e));
+            log.error("Patient merge {} failed: {}", mergeId, e.getMessage(), e);
+            throw new RuntimeException("Patient merge failed, submit it again to resume: " + e.getMessage(), e);
+        }
+
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("mergeId", mergeId);
+        metadata.put("hospitalId", merge.getHospitalId());
+        metadata.put("survivorPatientId", survivorPatientId);
+        metadata.put("loserPatientId", loserPatientId);
+        metadata.put("rowsMoved", merge.getRowsMoved());
+        metadata.put("durationMs", System.currentTimeMillis() - startTime);
+        auditLogger.logBusinessEvent("PATIENT_MERGED",
+                "Patient " + loserPatientId + " merged into " + survivorPatientId, metadata);
+
+        log.info("Patient merge {} completed: {} rows re-pointed", mergeId, merge.getRowsMoved());
+        return convertToDto(merge);
+    }
+
+    /**
+     * Get merge progress
+     */
+    public PatientMergeDto getMerge(UUID mergeId) {
+        return patientMergeRepository.findById(mergeId)
+                .map(this::convertToDto)
+                .orElseThrow(() -> new RuntimeException("Patient merge not found with ID: " + mergeId));
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private PatientMerge startOrResume(UUID survivorPatientId, UUID loserPatientId) {
+        PatientMerge open = patientMergeRepository
+                .findFirstByLoserPatientIdAndStatusIn(loserPatientId, OPEN_STATUSES)
+                .orElse(null);
+        if (open != null) {
+            if (!open.getSurvivorPatientId().equals(survivorPatientId)) {
+                throw new RuntimeException("Patient " + loserPatientId + " is already being merged into "
+                        + open.getSurvivorPatientId());
+            }
+            open.setStatus(MergeStatus.IN_PROGRESS);
+            open.setLastError(null);
+            return patientMergeRepository.save(open);
+        }
+
+        if (survivorPatientId.equals(loserPatientId)) {
+            throw new RuntimeException("Cannot merge a patient into itself");
+        }
+        if (patientMergeRepository.findFirstByLoserPatientIdAndStatusIn(survivorPatientId, OPEN_STATUSES).isPresent()) {
+            throw new RuntimeException("Surviving patient is itself being merged away: " + survivorPatientId);
+        }
+
+        Patient survivor = patientRepository.findById(survivorPatientId)
+                .orElseThrow(() -> new RuntimeException("Patient not found with ID: " + survivorPatientId));
+        Patient loser = patientRepository.findById(loserPatientId)
+                .orElseThrow(() -> new RuntimeException("Patient not found with ID: " + loserPatientId));
+
+        if (!Boolean.TRUE.equals(survivor.getIsActive())) {
+            throw new RuntimeException("Surviving patient is not active: " + survivorPatientId);
+        }
+        if (!Boolean.TRUE.equals(loser.getIsActive())) {
+            throw new RuntimeException("Duplicate patient is already inactive: " + loserPatientId);
+        }
+        if (!survivor.getHospitalId().equals(loser.getHospitalId())) {
+            throw new RuntimeException("Patients belong to different hospitals and cannot be merged");
+        }
+
+        return patientMergeRepository.save(PatientMerge.builder()
+                .mergeId(UUID.randomUUID())
+                .hospitalId(survivor.getHospitalId())
+                .survivorPatientId(survivorPatientId)
+                .loserPatientId(loserPatientId)
+                .status(MergeStatus.IN_PROGRESS)
+                .currentStep(MergeStep.DEACTIVATE_LOSER)
+                .rowsMoved(0L)
+                .build());
+    }
+
+    /**
+     * Execute one unit of work for the current step and advance the checkpoint
+     */
+    private PatientMerge runNextChunk(UUID mergeId) {
+        PatientMerge merge = patientMergeRepository.findById(mergeId)
+                .orElseThrow(() -> new RuntimeException("Patient merge not found with ID: " + mergeId));
+        UUID loserId = merge.getLoserPatientId();
+        UUID survivorId = merge.getSurvivorPatientId();
+
+        int moved;
+        switch (merge.getCurrentStep()) {
+            case DEACTIVATE_LOSER -> {
+                Patient loser = patientRepository.findById(loserId)
+                        .orElseThrow(() -> new RuntimeException("Patient not found with ID: " + loserId));
+                loser.setIsActive(false);
+                patientRepository.save(loser);
+                // Typeahead and cohort indexes drop the loser once this chunk commits
+                eventPublisher.publishEvent(PatientChangedEvent.deactivated(loser));
+                moved = 0;
+            }
+            case APPOINTMENTS -> moved = appointmentRepository.repointPatientChunk(loserId, survivorId, chunkSize);
+            case PRESCRIPTIONS -> moved = prescriptionRepository.repointPatientChunk(loserId, survivorId, chunkSize);
+            case ENCOUNTERS -> moved = encounterRepository.repointPatientChunk(loserId, survivorId, chunkSize);
+            case INVOICES -> moved = invoiceRepository.repointPatientChunk(loserId, survivorId, chunkSize);
+            case NOTIFICATIONS -> moved = notificationRepository.repointPatientChunk(loserId, survivorId, chunkSize);
+            default -> throw new IllegalStateException("Unexpected merge step: " + merge.getCurrentStep());
+        }
+
+        merge.setRowsMoved(merge.getRowsMoved() + moved);
+        // A short chunk means the table has no rows left for the loser
+        if (merge.getCurrentStep() == MergeStep.DEACTIVATE_LOSER || moved < chunkSize) {
+            MergeStep next = MergeStep.values()[merge.getCurrentStep().ordinal() + 1];
+            merge.setCurrentStep(next);
+            if (next == MergeStep.DONE) {
+                merge.setStatus(MergeStatus.COMPLETED);
+                merge.setCompletedAt(LocalDateTime.now());
+            }
+        }
+        return patientMergeRepository.save(merge);
+    }
+
+    private void markFailed(UUID mergeId, RuntimeException cause) {
+        patientMergeRepository.findById(mergeId).ifPresent(merge -> {
+            String message = cause.getMessage() == null ? cause.getClass().getSimpleName() : cause.getMessage();
+            merge.setStatus(MergeStatus.FAILED);
+            merge.setLastError(message.length() > 1000 ? message.substring(0, 1000) : message);
+            patientMergeRepository.save(merge);
+        });
+    }
+
+    private PatientMergeDto convertToDto(PatientMerge merge) {
+        return PatientMergeDto.builder()
+                .mergeId(merge.getMergeId())
+                .hospitalId(merge.getHospitalId())
+                .survivorPatientId(merge.getSurvivorPatientId())
+                .loserPatientId(merge.getLoserPatientId())
+                .status(merge.getStatus().name())
+                .currentStep(merge.getCurrentStep().name())
+                .rowsMoved(merge.getRowsMoved())
+                .lastError(merge.getLastError())
+                .startedAt(merge.getCreatedDate())
+                .completedAt(merge.getCompletedAt())
+                .build();
+    }
+}
@@ -0,0 +1,133 @@
+package com.healthcare.mvp.patient.service;
+
+import com.healthcare.mvp.patient.entity.Patient;
+import com.healthcare.mvp.shared.encryption.BlindIndexer;
+import com.healthcare.mvp.shared.encryption.PhiCipher;
+import com.healthcare.mvp.shared.exception.EncryptionException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Seals and opens the encrypted name fields on Patient.
+ *
+ * seal() writes encryptedFirstname/encryptedLastname under the active key,
+ * refreshes the blind indexes and stamps encryptionKeyId. While
+ * app.encryption.patient.clear-plaintext is false the plaintext name columns
+ * are kept as well, so existing LIKE searches and other modules keep working
+ * during the migration; once it is true they are blanked and reads go through
+ * firstName()/lastName().
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PatientPhiProtector {
+
+    private static final byte[] FIRST_NAME_FIELD = "first_name".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] LAST_NAME_FIELD = "last_name".getBytes(StandardCharsets.UTF_8);
+
+    private final PhiCipher phiCipher;
+    private final BlindIndexer blindIndexer;
+
+    @Value("${app.encryption.patient.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.encryption.patient.clear-plaintext:false}")
+    private boolean clearPlaintext;
+
+    /**
+     * Encrypt the patient's names under the active key. The patient ID must already be assigned.
+     */
+    public void seal(Patient patient) {
+        if (!enabled) {
+            return;
+        }
+
+        String firstName = firstName(patient);
+        String lastName = lastName(patient);
+        UUID keyId = phiCipher.getActiveKeyId();
+
+        patient.setEncryptedFirstname(encrypt(keyId, patient.getPatientId(), FIRST_NAME_FIELD, firstName));
+        patient.setEncryptedLastname(encrypt(keyId, patient.getPatientId(), LAST_NAME_FIELD, lastName));
+        patient.setFirstNameBlindIndex(blindIndexer.index(firstName));
+        patient.setLastNameBlindIndex(blindIndexer.index(lastName));
+        patient.setEncryptionKeyId(keyId);
+        patient.setIsEncrypted(true);
+
+        if (clearPlaintext) {
+            patient.setFirstName("");
+            patient.setLastName("");
+        }
+    }
+
+    /**
+     * True when the row is not sealed under the currently active key
+     */
+    public boolean needsReencryption(Patient patient) {
+        return enabled && (!patient.getIsEncrypted()
+                || !phiCipher.getActiveKeyId().equals(patient.getEncryptionKeyId()));
+    }
+
+    public String firstName(Patient patient) {
+        return open(patient, patient.getFirstName(), patient.getEncryptedFirstname(), FIRST_NAME_FIELD);
+    }
+
+    public String lastName(Patient patient) {
+        return open(patient, patient.getLastName(), patient.getEncryptedLastname(), LAST_NAME_FIELD);
+    }
+
+    /**
+     * Blind index for an exact name search term
+     */
+    public String nameBlindIndex(String searchTerm) {
+        return blindIndexer.index(searchTerm);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isPlaintextCleared() {
+        return enabled && clearPlaintext;
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private String open(Patient patient, String plaintext, byte[] sealed, byte[] field) {
+        if (plaintext != null && !plaintext.isEmpty()) {
+            return plaintext;
+        }
+        if (!patient.getIsEncrypted() || sealed == null || sealed.length == 0) {
+            return plaintext;
+        }
+        try {
+            byte[] opened = phiCipher.decrypt(patient.getEncryptionKeyId(), sealed,
+                    associatedData(patient.getPatientId(), field));
+            return new String(opened, StandardCharsets.UTF_8);
+        } catch (EncryptionException e) {
+            log.error("Failed to decrypt {} for patient {}: {}",
+                    new String(field, StandardCharsets.UTF_8), patient.getPatientId(), e.getMessage());
+            return plaintext;
+        }
+    }
+
+    private byte[] encrypt(UUID keyId, UUID patientId, byte[] field, String value) {
+        if (value == null) {
+            return null;
+        }
+        return phiCipher.encrypt(keyId, value.getBytes(StandardCharsets.UTF_8), associatedData(patientId, field));
+    }
+
+    private byte[] associatedData(UUID patientId, byte[] field) {
+        return ByteBuffer.allocate(16 + field.length)
+                .putLong(patientId.getMostSignificantBits())
+                .putLong(patientId.getLeastSignificantBits())
+                .put(field)
+                .array();
+    }
+}
@@ -0,0 +1,214 @@
+package com.healthcare.mvp.patient.service;
+
+import com.healthcare.mvp.patient.dto.ReencryptionStatusDto;
+import com.healthcare.mvp.patient.entity.Patient;
+import com.healthcare.mvp.patient.repository.PatientRepository;
+import com.healthcare.mvp.shared.encryption.PhiCipher;
+import com.healthcare.mvp.shared.exception.BusinessException;
+import com.healthcare.mvp.shared.tenant.TenantContext;
+import com.healthcare.mvp.shared.tenant.TenantRoutingDataSource;
+import com.healthcare.mvp.shared.tenant.TenantWriteFence;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Re-seals patient PHI under the active data key after a rotation, or seals
+ * legacy plaintext rows for the first time.
+ *
+ * IDs are read sequentially with a keyset cursor; each batch is then sealed on a
+ * bounded worker pool in its own transaction, so a failed batch never rolls back
+ * work already committed. Not @Transactional for the same reason. Shards are
+ * read one after another; every batch is sealed on the shard it was read from.
+ * Patients of a tenant that a move has fenced on the shard are left as they
+ * are and picked up by the next run on the tenant's new shard.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PatientReencryptionService {
+
+    private static final UUID CURSOR_START = new UUID(0L, 0L);
+
+    private final PatientRepository patientRepository;
+    private final PatientPhiProtector phiProtector;
+    private final PhiCipher phiCipher;
+    private final PlatformTransactionManager transactionManager;
+    private final TenantRoutingDataSource routingDataSource;
+    private final TenantWriteFence writeFence;
+
+    @Value("${app.encryption.reencrypt.threads:4}")
+    private int threads;
+
+    @Value("${app.encryption.reencrypt.batch-size:500}")
+    private int batchSize;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+
+    private volatile UUID activeKeyId;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    /**
+     * Start a re-encryption run in the background
+     */
+    public ReencryptionStatusDto start() {
+        if (!phiProtector.isEnabled()) {
+            throw new BusinessException("ENCRYPTION_DISABLED", "Patient encryption is disabled");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessException("REENCRYPTION_RUNNING",
+                    "A re-encryption run is already in progress", HttpStatus.CONFLICT);
+        }
+
+        processed.set(0);
+        failed.set(0);
+        batches.set(0);
+        activeKeyId = phiCipher.getActiveKeyId();
+        startedAt = LocalDateTime.now();
+        finishedAt = null;
+        startNanos = System.nanoTime();
+        endNanos = 0;
+
+        Thread coordinator = new Thread(this::run, "patient-reencryption");
+        coordinator.setDaemon(true);
+        coordinator.start();
+
+        return getStatus();
+    }
+
+    /**
+     * Current (or last) run progress
+     */
+    public ReencryptionStatusDto getStatus() {
+        boolean isRunning = running.get();
+        long elapsedNanos = startNanos == 0 ? 0 : (isRunning ? System.nanoTime() : endNanos) - startNanos;
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        long done = processed.get();
+
+        return ReencryptionStatusDto.builder()
+                .running(isRunning)
+                .activeKeyId(activeKeyId)
+                .processed(done)
+                .failed(failed.get())
+                .batches(batches.get())
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .elapsedMs(elapsedMs)
+                .rowsPerSecond(elapsedMs == 0 ? 0 : done * 1000.0 / elapsedMs)
+                .build();
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private void run() {
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        // Cap queued batches so the reader never gets far ahead of the workers
+        Semaphore inFlight = new Semaphore(threads * 2);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        UUID keyId = activeKeyId;
+
+        log.info("Patient re-encryption started under key {} ({} threads, batch size {})",
+                keyId, threads, batchSize);
+        try {
+            for (String shard : routingDataSource.getShardKeys()) {
+                TenantContext.callOnShard(shard, () -> {
+                    readShard(workers, inFlight, transactionTemplate, keyId);
+                    return null;
+                });
+            }
+            workers.shutdown();
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.shutdownNow();
+            log.warn("Patient re-encryption interrupted");
+        } catch (Exception e) {
+            workers.shutdownNow();
+            log.error("Patient re-encryption aborted: {}", e.getMessage(), e);
+        } finally {
+            endNanos = System.nanoTime();
+            finishedAt = LocalDateTime.now();
+            running.set(false);
+            ReencryptionStatusDto status = getStatus();
+            log.info("Patient re-encryption finished: {} sealed, {} failed in {}ms ({} rows/s)",
+                    status.getProcessed(), status.getFailed(), status.getElapsedMs(),
+                    Math.round(status.getRowsPerSecond()));
+        }
+    }
+
+    /**
+     * Queue the current shard's batches; each worker task runs on the same shard
+     */
+    private void readShard(ExecutorService workers, Semaphore inFlight, TransactionTemplate transactionTemplate, UUID keyId) {
+        UUID cursor = CURSOR_START;
+        while (true) {
+            List<UUID> ids = patientRepository.findIdsNeedingEncryption(
+                    cursor, keyId, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                return;
+            }
+            cursor = ids.get(ids.size() - 1);
+
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while queueing re-encryption batches", e);
+            }
+            workers.submit(TenantContext.wrap(() -> {
+                try {
+                    reencryptBatch(transactionTemplate, ids);
+                } finally {
+                    inFlight.release();
+                }
+                return null;
+            }));
+        }
+    }
+
+    private void reencryptBatch(TransactionTemplate transactionTemplate, List<UUID> ids) {
+        try {
+            Integer sealed = transactionTemplate.execute(txStatus -> {
+                int count = 0;
+                List<Patient> patients = patientRepository.findAllById(ids);
+                Set<UUID> fenced = writeFence.fencedAmong(patients.stream().map(Patient::getHospitalId).toList());
+                // Managed entities - dirty checking flushes the new ciphertext on commit
+                for (Patient patient : patients) {
+                    if (!fenced.contains(patient.getHospitalId()) && phiProtector.needsReencryption(patient)) {
+                        phiProtector.seal(patient);
+                        count++;
+                    }
+                }
+                return count;
+            });
+            processed.addAndGet(sealed == null ? 0 : sealed);
+        } catch (Exception e) {
+            // Typically an optimistic lock clash with a concurrent edit - that edit sealed the row anyway
+            failed.addAndGet(ids.size());
+            log.warn("Re-encryption batch of {} patients failed: {}", ids.size(), e.getMessage());
+        }
+        batches.incrementAndGet();
+    }
+}
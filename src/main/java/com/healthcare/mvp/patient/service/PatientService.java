@@ -1,15 +1,20 @@
 package com.healthcare.mvp.patient.service;
 
-import com.healthcare.mvp.hospital.entity.Hospital;
-import com.healthcare.mvp.hospital.repository.HospitalRepository;
+import com.healthcare.mvp.hospital.cache.HospitalReferenceCache;
+import com.healthcare.mvp.hospital.dto.HospitalReferenceDto;
 import com.healthcare.mvp.patient.dto.CreatePatientRequest;
 import com.healthcare.mvp.patient.dto.PatientDto;
+import com.healthcare.mvp.patient.entity.ContactInfo;
 import com.healthcare.mvp.patient.entity.Patient;
+import com.healthcare.mvp.patient.event.PatientChangedEvent;
 import com.healthcare.mvp.patient.repository.PatientRepository;
 import com.healthcare.mvp.user.entity.Users;
+import com.healthcare.mvp.shared.util.PhoneNumberUtils;
 import com.healthcare.mvp.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -18,8 +23,11 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,8 +37,13 @@ import java.util.stream.Collectors;
 public class PatientService {
     
     private final PatientRepository patientRepository;
-    private final HospitalRepository hospitalRepository;
+    private final HospitalReferenceCache hospitalReferenceCache;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PatientPhiProtector phiProtector;
+
+    @Value("${app.patient.default-country-code:91}")
+    private String defaultCountryCode;
 
     /**
      * Register a new patient
@@ -39,8 +52,7 @@ public class PatientService {
         log.info("Registering new patient for hospital: {}", request.getHospitalId());
 
         // Validate hospital exists
-        Hospital hospital = hospitalRepository.findById(request.getHospitalId())
-                .orElseThrow(() -> new RuntimeException("Hospital not found with ID: " + request.getHospitalId()));
+        HospitalReferenceDto hospital = hospitalReferenceCache.require(request.getHospitalId());
         
         // Validate email uniqueness if provided
         if (request.getEmail() != null && !request.getEmail().trim().isEmpty()) {
@@ -77,16 +89,18 @@ public class PatientService {
                 .email(request.getEmail())
                 .bloodGroup(request.getBloodGroup())
                 .contactInfo(buildContactInfo(request))
-                .encryptedFirstname(new byte[0]) // Placeholder for encryption
-                .encryptedLastname(new byte[0])  // Placeholder for encryption
-                .isEncrypted(false) // Set to true when implementing encryption
+                .isEncrypted(false) // set by phiProtector.seal below
 //                .isActive(true)
 //                .createdBy(getCurrentUserId())
 //                .updatedBy(getCurrentUserId())
                 .build();
         
+        // Encrypt names and compute blind indexes
+        phiProtector.seal(patient);
+
         // Save patient
         Patient savedPatient = patientRepository.save(patient);
+        eventPublisher.publishEvent(PatientChangedEvent.created(savedPatient));
         log.info("Patient registered successfully with Global ID: {} and MRN: {}",
                 savedPatient.getGlobalPatientId(), savedPatient.getMrn());
 
@@ -100,7 +114,7 @@ public class PatientService {
         log.debug("Fetching patients for hospital: {} with pagination", hospitalId);
 
         // Validate hospital exists
-        if (!hospitalRepository.existsById(hospitalId)) {
+        if (!hospitalReferenceCache.exists(hospitalId)) {
             throw new RuntimeException("Hospital not found with ID: " + hospitalId);
         }
 
@@ -115,10 +129,17 @@ public class PatientService {
         log.debug("Searching patients for hospital: {} with term: {}", hospitalId, searchTerm);
 
         // Validate hospital exists
-        if (!hospitalRepository.existsById(hospitalId)) {
+        if (!hospitalReferenceCache.exists(hospitalId)) {
             throw new RuntimeException("Hospital not found with ID: " + hospitalId);
         }
 
+        if (phiProtector.isPlaintextCleared()) {
+            // Names are only stored encrypted - match them through the blind index
+            return patientRepository.searchPatientsByHospitalWithBlindIndex(
+                            hospitalId, searchTerm, phiProtector.nameBlindIndex(searchTerm), pageable)
+                    .map(this::convertToDto);
+        }
+
         return patientRepository.searchPatientsByHospitalWithPagination(hospitalId, searchTerm, pageable)
                 .map(this::convertToDto);
     }
@@ -130,7 +151,7 @@ public class PatientService {
         log.debug("Fetching all active patients for hospital: {}", hospitalId);
 
         // Validate hospital exists
-        if (!hospitalRepository.existsById(hospitalId)) {
+        if (!hospitalReferenceCache.exists(hospitalId)) {
             throw new RuntimeException("Hospital not found with ID: " + hospitalId);
         }
 
@@ -156,6 +177,20 @@ public class PatientService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Get patients by ID, in the order given
+     */
+    public List<PatientDto> getPatientsByIds(List<UUID> patientIds) {
+        Map<UUID, Patient> patients = patientRepository.findAllById(patientIds).stream()
+                .collect(Collectors.toMap(Patient::getPatientId, Function.identity()));
+
+        return patientIds.stream()
+                .map(patients::get)
+                .filter(Objects::nonNull)
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Get patient by ID
      */
@@ -197,8 +232,10 @@ public class PatientService {
         patient.setBloodGroup(request.getBloodGroup());
         patient.setContactInfo(buildContactInfo(request));
         patient.setUpdatedBy(getCurrentUserId());
+        phiProtector.seal(patient);
 
         Patient savedPatient = patientRepository.save(patient);
+        eventPublisher.publishEvent(PatientChangedEvent.updated(savedPatient));
         log.info("Patient updated successfully: {}", savedPatient.getGlobalPatientId());
 
         return convertToDto(savedPatient);
@@ -228,6 +265,26 @@ public class PatientService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Find patients by phone number, optionally within a hospital
+     */
+    public List<PatientDto> findPatientsByPhone(String phoneNumber, UUID hospitalId) {
+        log.debug("Fetching patients by phone for hospital: {}", hospitalId);
+
+        String phoneE164 = PhoneNumberUtils.toE164(phoneNumber, defaultCountryCode);
+        if (phoneE164 == null) {
+            throw new RuntimeException("Invalid phone number: " + phoneNumber);
+        }
+
+        List<Patient> patients = hospitalId != null
+                ? patientRepository.findActiveByHospitalIdAndPhoneE164(hospitalId, phoneE164)
+                : patientRepository.findActiveByPhoneE164(phoneE164);
+
+        return patients.stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Deactivate patient (soft delete)
      */
@@ -240,6 +297,7 @@ public class PatientService {
         patient.setIsActive(false);
         patient.setUpdatedBy(getCurrentUserId());
         patientRepository.save(patient);
+        eventPublisher.publishEvent(PatientChangedEvent.deactivated(patient));
 
         log.info("Patient deactivated successfully: {}", patient.getGlobalPatientId());
     }
@@ -267,25 +325,22 @@ public class PatientService {
     }
 
     /**
-     * Build contact info JSON string
+     * Build the typed contact info document; Hibernate serializes it to JSONB
      */
-    private String buildContactInfo(CreatePatientRequest request) {
-        StringBuilder contactInfo = new StringBuilder("{");
-        boolean hasContent = false;
-
-        if (request.getPhoneNumber() != null && !request.getPhoneNumber().trim().isEmpty()) {
-            contactInfo.append("\"phone\":\"").append(request.getPhoneNumber().trim()).append("\"");
-            hasContent = true;
-        }
-
-        if (request.getAddress() != null && !request.getAddress().trim().isEmpty()) {
-            if (hasContent) contactInfo.append(",");
-            contactInfo.append("\"address\":\"").append(request.getAddress().trim().replace("\"", "\\\"")).append("\"");
-            hasContent = true;
-        }
+    private ContactInfo buildContactInfo(CreatePatientRequest request) {
+        return ContactInfo.builder()
+                .phone(trimToNull(request.getPhoneNumber()))
+                .phoneE164(PhoneNumberUtils.toE164(request.getPhoneNumber(), defaultCountryCode))
+                .address(trimToNull(request.getAddress()))
+                .emergencyContactName(trimToNull(request.getEmergencyContactName()))
+                .emergencyContactPhone(trimToNull(request.getEmergencyContactPhone()))
+                .emergencyContactPhoneE164(PhoneNumberUtils.toE164(request.getEmergencyContactPhone(), defaultCountryCode))
+                .emergencyContactRelationship(trimToNull(request.getEmergencyContactRelationship()))
+                .build();
+    }
 
-        contactInfo.append("}");
-        return hasContent ? contactInfo.toString() : "{}";
+    private String trimToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim();
     }
 
     /**
@@ -306,25 +361,29 @@ public class PatientService {
         dto.setHospitalId(patient.getHospitalId());
         dto.setGlobalPatientId(patient.getGlobalPatientId());
         dto.setMrn(patient.getMrn());
-        dto.setFirstName(patient.getFirstName());
-        dto.setLastName(patient.getLastName());
+        dto.setFirstName(phiProtector.firstName(patient));
+        dto.setLastName(phiProtector.lastName(patient));
         dto.setDateOfBirth(patient.getDateOfBirth());
         dto.setGender(patient.getGender());
         dto.setEmail(patient.getEmail());
         dto.setBloodGroup(patient.getBloodGroup());
         dto.setContactInfo(patient.getContactInfo());
+        if (patient.getContactInfo() != null) {
+            ContactInfo contactInfo = patient.getContactInfo();
+            dto.setPhoneNumber(contactInfo.getPhone());
+            dto.setAddress(contactInfo.getAddress());
+            dto.setEmergencyContactName(contactInfo.getEmergencyContactName());
+            dto.setEmergencyContactPhone(contactInfo.getEmergencyContactPhone());
+            dto.setEmergencyContactRelationship(contactInfo.getEmergencyContactRelationship());
+        }
         dto.setIsActive(patient.getIsActive());
+        dto.setIsEncrypted(patient.getIsEncrypted());
+        dto.setEncryptionKeyId(patient.getEncryptionKeyId());
         dto.setCreatedAt(OffsetDateTime.from(patient.getCreatedDate()));
         dto.setUpdatedAt(OffsetDateTime.from(patient.getUpdatedDate()));
 
-        // Set hospital name if hospital relationship is loaded
-        if (patient.getHospital() != null) {
-            dto.setHospitalName(patient.getHospital().getHospitalName());
-        } else {
-            // Fetch hospital name separately
-            hospitalRepository.findById(patient.getHospitalId())
-                    .ifPresent(hospital -> dto.setHospitalName(hospital.getHospitalName()));
-        }
+        // Hospital name from the reference cache; touching the lazy relationship would load it per row
+        dto.setHospitalName(hospitalReferenceCache.getName(patient.getHospitalId()));
 
         return dto;
     }
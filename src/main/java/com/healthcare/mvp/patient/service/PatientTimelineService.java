@@ -0,0 +1,365 @@
+package com.healthcare.mvp.patient.service;
+
+import com.healthcare.mvp.appointment.entity.Appointment;
+import com.healthcare.mvp.appointment.repository.AppointmentRepository;
+import com.healthcare.mvp.billing.entity.Invoice;
+import com.healthcare.mvp.billing.repository.InvoiceRepository;
+import com.healthcare.mvp.patient.dto.PatientDto;
+import com.healthcare.mvp.patient.dto.PatientTimelineDto;
+import com.healthcare.mvp.patient.dto.TimelineEntryDto;
+import com.healthcare.mvp.patient.dto.TimelineEntryDto.EntryType;
+import com.healthcare.mvp.patient.entity.Encounter;
+import com.healthcare.mvp.patient.repository.EncounterRepository;
+import com.healthcare.mvp.prescription.entity.Prescription;
+import com.healthcare.mvp.prescription.repository.PrescriptionRepository;
+import com.healthcare.mvp.shared.tenant.TenantContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Patient 360 timeline: appointments, encounters, prescriptions and invoices
+ * merged into one newest-first stream.
+ *
+ * Each source is read concurrently on its own virtual thread as a keyset page
+ * sorted by (time DESC, id DESC), all under a single deadline, then the sorted
+ * pages are k-way merged. The cursor is the last returned (time, type, id), so
+ * every source can resume exactly where the merged stream stopped.
+ *
+ * Not @Transactional: each source query runs in its own short read-only
+ * transaction on its own thread.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PatientTimelineService {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private static final LocalDateTime OPEN_END = LocalDateTime.of(9999, 12, 31, 0, 0);
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+    private static final UUID MAX_ID = new UUID(-1L, -1L);
+    private static final String CURSOR_SEPARATOR = "|";
+
+    private static final Comparator<TimelineEntryDto> NEWEST_FIRST =
+            Comparator.comparing(TimelineEntryDto::getOccurredAt, Comparator.reverseOrder())
+                    .thenComparing(TimelineEntryDto::getType);
+
+    private final PatientService patientService;
+    private final AppointmentRepository appointmentRepository;
+    private final EncounterRepository encounterRepository;
+    private final PrescriptionRepository prescriptionRepository;
+    private final InvoiceRepository invoiceRepository;
+
+    @Value("${app.patient.timeline.deadline-ms:2000}")
+    private long deadlineMs;
+
+    /**
+     * Get one page of the patient's timeline, starting after the given cursor
+     */
+    public PatientTimelineDto getTimeline(UUID patientId, String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        TimelineCursor after = TimelineCursor.decode(cursor);
+
+        // Primary-key lookup first: it scopes every source to the patient's hospital
+        PatientDto patient = patientService.getPatientById(patientId)
+                .orElseThrow(() -> new RuntimeException("Patient not found with ID: " + patientId));
+        UUID hospitalId = patient.getHospitalId();
+
+        // One extra row per source tells us whether older history exists
+        Pageable page = PageRequest.of(0, pageSize + 1);
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<EntryType, Callable<List<TimelineEntryDto>>> sources = new EnumMap<>(EntryType.class);
+        sources.put(EntryType.APPOINTMENT, () -> {
+            Bound bound = Bound.forSource(after, EntryType.APPOINTMENT);
+            return appointmentRepository.findPatientTimelinePage(hospitalId, patientId, bound.time(), bound.id(), page)
+                    .stream().map(appointment -> toEntry(appointment, now)).toList();
+        });
+        sources.put(EntryType.ENCOUNTER, () -> {
+            Bound bound = Bound.forSource(after, EntryType.ENCOUNTER);
+            return encounterRepository.findPatientTimelinePage(hospitalId, patientId, toOffset(bound.time()), bound.id(), page)
+                    .stream().map(encounter -> toEntry(encounter, now)).toList();
+        });
+        sources.put(EntryType.PRESCRIPTION, () -> {
+            Bound bound = Bound.forSource(after, EntryType.PRESCRIPTION);
+            // Prescriptions are dated, not timed - they sit at the start of their day
+            LocalDate beforeDate = bound.time().toLocalDate();
+            UUID beforeId = bound.id();
+            if (!bound.time().equals(beforeDate.atStartOfDay())) {
+                beforeDate = beforeDate.plusDays(1);
+                beforeId = MIN_ID;
+            }
+            return prescriptionRepository.findPatientTimelinePage(hospitalId, patientId, beforeDate, beforeId, page)
+                    .stream().map(prescription -> toEntry(prescription, now)).toList();
+        });
+        sources.put(EntryType.INVOICE, () -> {
+            Bound bound = Bound.forSource(after, EntryType.INVOICE);
+            return invoiceRepository.findPatientTimelinePage(hospitalId, patientId, toOffset(bound.time()), bound.id(), page)
+                    .stream().map(invoice -> toEntry(invoice, now)).toList();
+        });
+
+        List<List<TimelineEntryDto>> sortedStreams = new ArrayList<>();
+        List<EntryType> unavailable = new ArrayList<>();
+        fanOut(patientId, sources, sortedStreams, unavailable);
+
+        List<TimelineEntryDto> merged = merge(sortedStreams, pageSize + 1);
+        boolean hasMore = merged.size() > pageSize;
+        List<TimelineEntryDto> entries = hasMore ? merged.subList(0, pageSize) : merged;
+
+        return PatientTimelineDto.builder()
+                .patient(patient)
+                .entries(new ArrayList<>(entries))
+                .nextCursor(hasMore ? TimelineCursor.of(entries.get(entries.size() - 1)).encode() : null)
+                .hasMore(hasMore)
+                .partial(!unavailable.isEmpty())
+                .unavailableSources(unavailable)
+                .build();
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    /**
+     * Run every source on its own virtual thread and collect what finishes before the deadline
+     */
+    private void fanOut(UUID patientId,
+                        Map<EntryType, Callable<List<TimelineEntryDto>>> sources,
+                        List<List<TimelineEntryDto>> results,
+                        List<EntryType> unavailable) {
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            Map<EntryType, Future<List<TimelineEntryDto>>> futures = new EnumMap<>(EntryType.class);
+            sources.forEach((type, source) -> futures.put(type, executor.submit(TenantContext.wrap(source))));
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+            for (Map.Entry<EntryType, Future<List<TimelineEntryDto>>> entry : futures.entrySet()) {
+                Future<List<TimelineEntryDto>> future = entry.getValue();
+                try {
+                    results.add(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+                } catch (TimeoutException e) {
+                    future.cancel(true);
+                    unavailable.add(entry.getKey());
+                    log.warn("Timeline source {} missed the {}ms deadline for patient {}",
+                            entry.getKey(), deadlineMs, patientId);
+                } catch (ExecutionException e) {
+                    unavailable.add(entry.getKey());
+                    log.error("Timeline source {} failed for patient {}: {}",
+                            entry.getKey(), patientId, e.getCause().getMessage(), e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Timeline request interrupted", e);
+                }
+            }
+        } finally {
+            // Don't wait for cancelled stragglers - the deadline has already been spent
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * K-way merge of newest-first streams, stopping after {@code limit} entries
+     */
+    private static List<TimelineEntryDto> merge(List<List<TimelineEntryDto>> streams, int limit) {
+        PriorityQueue<StreamHead> heads = new PriorityQueue<>(Math.max(1, streams.size()),
+                (a, b) -> NEWEST_FIRST.compare(a.current(), b.current()));
+        for (List<TimelineEntryDto> stream : streams) {
+            if (!stream.isEmpty()) {
+                heads.add(new StreamHead(stream));
+            }
+        }
+
+        List<TimelineEntryDto> merged = new ArrayList<>(limit);
+        while (!heads.isEmpty() && merged.size() < limit) {
+            StreamHead head = heads.poll();
+            merged.add(head.current());
+            if (head.advance()) {
+                heads.add(head);
+            }
+        }
+        return merged;
+    }
+
+    private static OffsetDateTime toOffset(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toOffsetDateTime();
+    }
+
+    private static LocalDateTime toLocal(OffsetDateTime time) {
+        return time.atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+    }
+
+    private TimelineEntryDto toEntry(Appointment appointment, LocalDateTime now) {
+        return TimelineEntryDto.builder()
+                .type(EntryType.APPOINTMENT)
+                .id(appointment.getAppointmentId())
+                .occurredAt(appointment.getAppointmentDateTime())
+                .upcoming(appointment.getAppointmentDateTime().isAfter(now))
+                .title(appointment.getAppointmentType() != null ? appointment.getAppointmentType().name() : "APPOINTMENT")
+                .status(appointment.getStatus() != null ? appointment.getStatus().name() : null)
+                .summary(appointment.getChiefComplaint())
+                .doctorId(appointment.getDoctorId())
+                .build();
+    }
+
+    private TimelineEntryDto toEntry(Encounter encounter, LocalDateTime now) {
+        LocalDateTime visitDate = toLocal(encounter.getVisitDate());
+        return TimelineEntryDto.builder()
+                .type(EntryType.ENCOUNTER)
+                .id(encounter.getEncounterId())
+                .occurredAt(visitDate)
+                .upcoming(visitDate.isAfter(now))
+                .title("Visit")
+                .summary(encounter.getSymptoms())
+                .doctorId(encounter.getDoctorId())
+                .build();
+    }
+
+    private TimelineEntryDto toEntry(Prescription prescription, LocalDateTime now) {
+        LocalDateTime prescribedOn = prescription.getPrescriptionDate().atStartOfDay();
+        return TimelineEntryDto.builder()
+                .type(EntryType.PRESCRIPTION)
+                .id(prescription.getPrescriptionId())
+                .occurredAt(prescribedOn)
+                .upcoming(prescribedOn.isAfter(now))
+                .title("Prescription " + prescription.getPrescriptionNumber())
+                .status(prescription.getStatus())
+                .summary(prescription.getMedication())
+                .doctorId(prescription.getDoctorId())
+                .build();
+    }
+
+    private TimelineEntryDto toEntry(Invoice invoice, LocalDateTime now) {
+        LocalDateTime createdDate = toLocal(invoice.getCreatedDate());
+        return TimelineEntryDto.builder()
+                .type(EntryType.INVOICE)
+                .id(invoice.getInvoiceId())
+                .occurredAt(createdDate)
+                .upcoming(createdDate.isAfter(now))
+                .title("Invoice")
+                .status(invoice.getStatus())
+                .amount(invoice.getTotalAmount())
+                .build();
+    }
+
+    /**
+     * Read position within one sorted source stream
+     */
+    private static final class StreamHead {
+
+        private final List<TimelineEntryDto> entries;
+        private int position;
+
+        private StreamHead(List<TimelineEntryDto> entries) {
+            this.entries = entries;
+        }
+
+        TimelineEntryDto current() {
+            return entries.get(position);
+        }
+
+        boolean advance() {
+            return ++position < entries.size();
+        }
+    }
+
+    /**
+     * Exclusive upper bound (time, id) for one source's keyset query
+     */
+    private static final class Bound {
+
+        private final LocalDateTime time;
+        private final UUID id;
+
+        private Bound(LocalDateTime time, UUID id) {
+            this.time = time;
+            this.id = id;
+        }
+
+        LocalDateTime time() {
+            return time;
+        }
+
+        UUID id() {
+            return id;
+        }
+
+        /**
+         * Translate the merged-stream cursor into a per-source bound. At the cursor's
+         * instant, sources ordered before the cursor's type are exhausted, sources
+         * ordered after it have not started, and the cursor's own source resumes
+         * after the cursor's id.
+         */
+        static Bound forSource(TimelineCursor cursor, EntryType source) {
+            if (cursor == null) {
+                return new Bound(OPEN_END, MAX_ID);
+            }
+            int order = source.compareTo(cursor.type);
+            if (order == 0) {
+                return new Bound(cursor.occurredAt, cursor.id);
+            }
+            return new Bound(cursor.occurredAt, order > 0 ? MAX_ID : MIN_ID);
+        }
+    }
+
+    /**
+     * Opaque paging cursor: the last entry returned, as base64url("time|type|id")
+     */
+    private static final class TimelineCursor {
+
+        private final LocalDateTime occurredAt;
+        private final EntryType type;
+        private final UUID id;
+
+        private TimelineCursor(LocalDateTime occurredAt, EntryType type, UUID id) {
+            this.occurredAt = occurredAt;
+            this.type = type;
+            this.id = id;
+        }
+
+        static TimelineCursor of(TimelineEntryDto entry) {
+            return new TimelineCursor(entry.getOccurredAt(), entry.getType(), entry.getId());
+        }
+
+        static TimelineCursor decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return null;
+            }
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                String[] parts = decoded.split("\\" + CURSOR_SEPARATOR);
+                return new TimelineCursor(LocalDateTime.parse(parts[0]), EntryType.valueOf(parts[1]), UUID.fromString(parts[2]));
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid timeline cursor");
+            }
+        }
+
+        String encode() {
+            String raw = occurredAt + CURSOR_SEPARATOR + type.name() + CURSOR_SEPARATOR + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.healthcare.mvp.patient.service;
+
+import com.healthcare.mvp.patient.dto.PatientSuggestionDto;
+import com.healthcare.mvp.patient.search.PatientTypeaheadIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Registration-desk patient lookup.
+ *
+ * Deliberately not @Transactional: the hot path is served from
+ * PatientTypeaheadIndex and must not acquire a database connection.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PatientTypeaheadService {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 25;
+
+    private final PatientTypeaheadIndex typeaheadIndex;
+    private final PatientService patientService;
+
+    /**
+     * Suggest patients whose name or MRN starts with the query
+     */
+    public List<PatientSuggestionDto> suggest(UUID hospitalId, String query, Integer limit) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new RuntimeException("Query cannot be empty");
+        }
+
+        int effectiveLimit = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        if (typeaheadIndex.canServe(hospitalId)) {
+            return typeaheadIndex.suggest(hospitalId, query, effectiveLimit);
+        }
+
+        // Index still warming up or over its memory budget - bounded database fallback
+        log.debug("Typeahead falling back to database for hospital: {}", hospitalId);
+        return patientService.searchPatientsByHospital(
+                        hospitalId, query.trim(), PageRequest.of(0, effectiveLimit))
+                .map(patient -> PatientSuggestionDto.builder()
+                        .patientId(patient.getPatientId())
+                        .hospitalId(patient.getHospitalId())
+                        .mrn(patient.getMrn())
+                        .firstName(patient.getFirstName())
+                        .lastName(patient.getLastName())
+                        .dateOfBirth(patient.getDateOfBirth())
+                        .build())
+                .getContent();
+    }
+}
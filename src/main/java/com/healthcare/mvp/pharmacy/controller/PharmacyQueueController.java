@@ -0,0 +1,48 @@
+package com.healthcare.mvp.pharmacy.controller;
+
+import com.healthcare.mvp.pharmacy.dto.PharmacyJobDto;
+import com.healthcare.mvp.pharmacy.service.PharmacyQueueService;
+import com.healthcare.mvp.shared.dto.BaseResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/pharmacy/jobs")
+@Tag(name = "Pharmacy Queue", description = "Prescription fill and refill work queue for pharmacy terminals")
+@RequiredArgsConstructor
+public class PharmacyQueueController {
+    private final PharmacyQueueService pharmacyQueueService;
+
+    @PostMapping("/claim")
+    @PreAuthorize("hasRole('PHARMACY_ADMIN') or hasRole('PHARMACY_STAFF')")
+    @Operation(summary = "Claim next job", description = "Leases the hospital's oldest queued job to the caller, waiting up to waitSeconds for one to arrive")
+    public ResponseEntity<BaseResponse<PharmacyJobDto>> claimNextJob(
+            @RequestParam(defaultValue = "20") long waitSeconds) {
+        PharmacyJobDto job = pharmacyQueueService.claimNext(waitSeconds);
+        return ResponseEntity.ok(BaseResponse.success(job == null ? "No pharmacy job available" : "Pharmacy job claimed", job));
+    }
+
+    @PostMapping("/{jobId}/complete")
+    @PreAuthorize("hasRole('PHARMACY_ADMIN') or hasRole('PHARMACY_STAFF')")
+    @Operation(summary = "Complete job", description = "Marks a job the caller holds as fulfilled")
+    public ResponseEntity<BaseResponse<Void>> completeJob(@PathVariable UUID jobId) {
+        pharmacyQueueService.complete(jobId);
+        return ResponseEntity.ok(BaseResponse.success("Pharmacy job completed"));
+    }
+
+    @PostMapping("/{jobId}/release")
+    @PreAuthorize("hasRole('PHARMACY_ADMIN') or hasRole('PHARMACY_STAFF')")
+    @Operation(summary = "Release job", description = "Returns a job the caller holds to the queue, optionally after a delay")
+    public ResponseEntity<BaseResponse<Void>> releaseJob(
+            @PathVariable UUID jobId,
+            @RequestParam(defaultValue = "0") long retryAfterSeconds) {
+        pharmacyQueueService.release(jobId, retryAfterSeconds);
+        return ResponseEntity.ok(BaseResponse.success("Pharmacy job released"));
+    }
+}
@@ -0,0 +1,32 @@
+package com.healthcare.mvp.pharmacy.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A pharmacy fulfillment job. FILL jobs cover a whole new prescription;
+ * REFILL jobs one medication whose supply is running out.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PharmacyJobDto {
+    private UUID jobId;
+    private UUID hospitalId;
+    private UUID prescriptionId;
+    private UUID refillId;
+    private String jobType;
+    private String medicationName;
+    private String status;
+    private int attempts;
+    private UUID claimedBy;
+    private LocalDateTime claimedAt;
+    private LocalDateTime leaseUntil;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,143 @@
+package com.healthcare.mvp.pharmacy.queue;
+
+import com.healthcare.mvp.pharmacy.dto.PharmacyJobDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * SQL behind the pharmacy work queue.
+ *
+ * A terminal claims the oldest available job of its hospital with
+ * FOR UPDATE SKIP LOCKED, so concurrent claims each lock a different row and
+ * never wait on one another. A claim is a lease: only the claimant can complete
+ * or release the job, and a lease that runs out puts the job back in the queue
+ * (or fails it after max attempts), after which the late claimant's completion
+ * is refused. Jobs are idempotent per prescription fill and per refill.
+ *
+ * Every statement runs on the shard of the calling thread's TenantContext, so
+ * callers pick the shard and the transaction. The set-based statements run by
+ * the refill scheduler skip tenants a move has fenced on the shard
+ * (tenant_write_fenced); terminal calls are tenant transactions, checked when
+ * they commit.
+ */
+@Component
+@RequiredArgsConstructor
+public class PharmacyJobQueue {
+
+    private static final String JOB_COLUMNS = "job_id, hospital_id, prescription_id, refill_id, job_type, medication_name, " +
+            "status, attempts, claimed_by, claimed_at, lease_until, created_at";
+
+    private static final RowMapper<PharmacyJobDto> JOB_MAPPER = (rs, rowNum) -> PharmacyJobDto.builder()
+            .jobId(rs.getObject("job_id", UUID.class))
+            .hospitalId(rs.getObject("hospital_id", UUID.class))
+            .prescriptionId(rs.getObject("prescription_id", UUID.class))
+            .refillId(rs.getObject("refill_id", UUID.class))
+            .jobType(rs.getString("job_type"))
+            .medicationName(rs.getString("medication_name"))
+            .status(rs.getString("status"))
+            .attempts(rs.getInt("attempts"))
+            .claimedBy(rs.getObject("claimed_by", UUID.class))
+            .claimedAt(toLocalDateTime(rs.getTimestamp("claimed_at")))
+            .leaseUntil(toLocalDateTime(rs.getTimestamp("lease_until")))
+            .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Queue a FILL job for every active prescription created since the given
+     * time that has none yet, except those of the excluded hospitals; returns
+     * the hospital of each job queued
+     */
+    public List<UUID> enqueueFills(LocalDateTime createdSince, UUID[] excludedHospitals) {
+        return jdbcTemplate.queryForList(
+                "INSERT INTO pharmacy_job (job_id, hospital_id, prescription_id, job_type, status, available_at, created_at) " +
+                "SELECT gen_random_uuid(), p.hospital_id, p.prescription_id, 'FILL', 'QUEUED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP " +
+                "FROM prescription p WHERE p.created_at >= ? AND p.is_active = true AND p.hospital_id <> ALL (?) " +
+                "AND NOT tenant_write_fenced(p.hospital_id) " +
+                "ON CONFLICT (prescription_id) WHERE job_type = 'FILL' DO NOTHING RETURNING hospital_id",
+                UUID.class, Timestamp.valueOf(createdSince), excludedHospitals);
+    }
+
+    /**
+     * Queue a REFILL job; false if the refill already has one
+     */
+    public boolean enqueueRefill(UUID hospitalId, UUID prescriptionId, UUID refillId, String medicationName) {
+        return jdbcTemplate.update(
+                "INSERT INTO pharmacy_job (job_id, hospital_id, prescription_id, refill_id, job_type, medication_name, status, available_at, created_at) " +
+                "VALUES (?, ?, ?, ?, 'REFILL', ?, 'QUEUED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+                "ON CONFLICT (refill_id) WHERE refill_id IS NOT NULL DO NOTHING",
+                UUID.randomUUID(), hospitalId, prescriptionId, refillId, medicationName) > 0;
+    }
+
+    /**
+     * Lease the hospital's oldest available job to the claimant, or null if none is free
+     */
+    public PharmacyJobDto claim(UUID hospitalId, UUID claimant, long leaseSeconds) {
+        List<PharmacyJobDto> claimed = jdbcTemplate.query(
+                "UPDATE pharmacy_job SET status = 'CLAIMED', claimed_by = ?, claimed_at = CURRENT_TIMESTAMP, " +
+                "lease_until = CURRENT_TIMESTAMP + make_interval(secs => ?), attempts = attempts + 1, updated_at = CURRENT_TIMESTAMP " +
+                "WHERE job_id = (SELECT job_id FROM pharmacy_job WHERE hospital_id = ? AND status = 'QUEUED' " +
+                "AND available_at <= CURRENT_TIMESTAMP ORDER BY available_at, job_id LIMIT 1 FOR UPDATE SKIP LOCKED) " +
+                "RETURNING " + JOB_COLUMNS,
+                JOB_MAPPER, claimant, leaseSeconds, hospitalId);
+        return claimed.isEmpty() ? null : claimed.get(0);
+    }
+
+    /**
+     * Mark the job done; false unless the claimant still holds it
+     */
+    public boolean complete(UUID jobId, UUID hospitalId, UUID claimant) {
+        return jdbcTemplate.update(
+                "UPDATE pharmacy_job SET status = 'DONE', completed_at = CURRENT_TIMESTAMP, lease_until = NULL, " +
+                "updated_at = CURRENT_TIMESTAMP " +
+                "WHERE job_id = ? AND hospital_id = ? AND status = 'CLAIMED' AND claimed_by = ?",
+                jobId, hospitalId, claimant) > 0;
+    }
+
+    /**
+     * Hand the job back to the queue after the delay; false unless the claimant still holds it
+     */
+    public boolean release(UUID jobId, UUID hospitalId, UUID claimant, long delaySeconds) {
+        return jdbcTemplate.update(
+                "UPDATE pharmacy_job SET status = 'QUEUED', claimed_by = NULL, claimed_at = NULL, lease_until = NULL, " +
+                "available_at = CURRENT_TIMESTAMP + make_interval(secs => ?), updated_at = CURRENT_TIMESTAMP " +
+                "WHERE job_id = ? AND hospital_id = ? AND status = 'CLAIMED' AND claimed_by = ?",
+                delaySeconds, jobId, hospitalId, claimant) > 0;
+    }
+
+    /**
+     * Requeue jobs whose lease ran out, failing those out of attempts, except
+     * those of the excluded hospitals; returns the hospital of each job requeued
+     */
+    public List<UUID> requeueExpired(int maxAttempts, UUID[] excludedHospitals) {
+        List<Object[]> expired = jdbcTemplate.query(
+                "UPDATE pharmacy_job SET status = CASE WHEN attempts >= ? THEN 'FAILED' ELSE 'QUEUED' END, " +
+                "claimed_by = NULL, claimed_at = NULL, lease_until = NULL, available_at = CURRENT_TIMESTAMP, " +
+                "updated_at = CURRENT_TIMESTAMP " +
+                "WHERE status = 'CLAIMED' AND lease_until < CURRENT_TIMESTAMP AND hospital_id <> ALL (?) " +
+                "AND NOT tenant_write_fenced(hospital_id) " +
+                "RETURNING hospital_id, status",
+                (rs, rowNum) -> new Object[]{rs.getObject("hospital_id", UUID.class), rs.getString("status")},
+                maxAttempts, excludedHospitals);
+        List<UUID> requeued = new ArrayList<>(expired.size());
+        for (Object[] row : expired) {
+            if ("QUEUED".equals(row[1])) {
+                requeued.add((UUID) row[0]);
+            }
+        }
+        return requeued;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
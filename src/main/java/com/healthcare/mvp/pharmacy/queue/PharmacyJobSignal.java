@@ -0,0 +1,45 @@
+package com.healthcare.mvp.pharmacy.queue;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wakes terminals long-polling this node for a hospital's pharmacy jobs.
+ *
+ * Each new job releases one permit, so one waiting terminal wakes per job
+ * instead of all of them racing for it. Permits are only a hint: a waiter
+ * drains them before trying to claim, and the claim itself is what decides.
+ * Jobs queued by another node are not signalled here; waiters find them when
+ * their wait times out.
+ */
+@Component
+public class PharmacyJobSignal {
+
+    private final Map<UUID, Semaphore> permits = new ConcurrentHashMap<>();
+
+    public void jobsAdded(UUID hospitalId, int count) {
+        if (count > 0) {
+            semaphore(hospitalId).release(count);
+        }
+    }
+
+    public void drain(UUID hospitalId) {
+        semaphore(hospitalId).drainPermits();
+    }
+
+    /**
+     * Wait for a job to be added; false when the wait timed out
+     */
+    public boolean await(UUID hospitalId, long timeoutMillis) throws InterruptedException {
+        return semaphore(hospitalId).tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private Semaphore semaphore(UUID hospitalId) {
+        return permits.computeIfAbsent(hospitalId, key -> new Semaphore(0));
+    }
+}
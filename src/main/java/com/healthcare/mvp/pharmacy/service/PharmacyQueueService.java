@@ -0,0 +1,121 @@
+package com.healthcare.mvp.pharmacy.service;
+
+import com.healthcare.mvp.pharmacy.dto.PharmacyJobDto;
+import com.healthcare.mvp.pharmacy.queue.PharmacyJobQueue;
+import com.healthcare.mvp.pharmacy.queue.PharmacyJobSignal;
+import com.healthcare.mvp.shared.exception.AuthorizationException;
+import com.healthcare.mvp.shared.exception.BusinessException;
+import com.healthcare.mvp.shared.security.SecurityUtils;
+import com.healthcare.mvp.shared.tenant.TenantContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+/**
+ * Pharmacy terminals claim, complete and release fulfillment jobs of their
+ * own hospital.
+ *
+ * An idle terminal long-polls: the claim waits up to max-wait-seconds for a job
+ * instead of the terminal re-asking every few seconds, and a job queued on this
+ * node wakes exactly one waiter.
+ *
+ * Not @Transactional: each claim attempt is its own short transaction, so no
+ * connection is held while a terminal waits.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PharmacyQueueService {
+
+    private final PharmacyJobQueue jobQueue;
+    private final PharmacyJobSignal jobSignal;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.pharmacy.queue.lease-minutes:15}")
+    private long leaseMinutes;
+
+    @Value("${app.pharmacy.queue.max-wait-seconds:25}")
+    private long maxWaitSeconds;
+
+    /**
+     * Lease the next job of the caller's hospital, waiting up to waitSeconds for one; null if none came
+     */
+    public PharmacyJobDto claimNext(long waitSeconds) {
+        UUID hospitalId = currentHospitalId();
+        UUID claimant = UUID.fromString(SecurityUtils.getCurrentUserId());
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long deadline = System.currentTimeMillis() + Math.min(Math.max(waitSeconds, 0), maxWaitSeconds) * 1000;
+
+        try {
+            while (true) {
+                // Drained before looking, so a job queued after the look leaves a permit behind
+                jobSignal.drain(hospitalId);
+                PharmacyJobDto job = transaction.execute(status -> jobQueue.claim(hospitalId, claimant, leaseMinutes * 60));
+                if (job != null) {
+                    log.info("Pharmacy job {} ({}) claimed by {}", job.getJobId(), job.getJobType(), claimant);
+                    return job;
+                }
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0 || !jobSignal.await(hospitalId, remaining)) {
+                    return null;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Mark a job the caller holds as fulfilled
+     */
+    public void complete(UUID jobId) {
+        UUID hospitalId = currentHospitalId();
+        UUID claimant = UUID.fromString(SecurityUtils.getCurrentUserId());
+        Boolean completed = new TransactionTemplate(transactionManager).execute(status ->
+                jobQueue.complete(jobId, hospitalId, claimant));
+        if (!Boolean.TRUE.equals(completed)) {
+            throw notHeld(jobId);
+        }
+        log.info("Pharmacy job {} completed by {}", jobId, claimant);
+    }
+
+    /**
+     * Give a job the caller holds back to the queue, available again after retryAfterSeconds
+     */
+    public void release(UUID jobId, long retryAfterSeconds) {
+        UUID hospitalId = currentHospitalId();
+        UUID claimant = UUID.fromString(SecurityUtils.getCurrentUserId());
+        long delay = Math.max(retryAfterSeconds, 0);
+        Boolean released = new TransactionTemplate(transactionManager).execute(status ->
+                jobQueue.release(jobId, hospitalId, claimant, delay));
+        if (!Boolean.TRUE.equals(released)) {
+            throw notHeld(jobId);
+        }
+        if (delay == 0) {
+            jobSignal.jobsAdded(hospitalId, 1);
+        }
+        log.info("Pharmacy job {} released by {}", jobId, claimant);
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private static UUID currentHospitalId() {
+        UUID hospitalId = TenantContext.getHospitalId();
+        if (hospitalId == null) {
+            throw new AuthorizationException("Pharmacy jobs are only available to hospital staff");
+        }
+        return hospitalId;
+    }
+
+    private static BusinessException notHeld(UUID jobId) {
+        return new BusinessException("PHARMACY_JOB_NOT_HELD",
+                "Pharmacy job " + jobId + " is not claimed by you; its lease may have expired", HttpStatus.CONFLICT);
+    }
+}
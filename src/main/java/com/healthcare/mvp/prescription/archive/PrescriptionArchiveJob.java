@@ -0,0 +1,339 @@
+package com.healthcare.mvp.prescription.archive;
+
+import com.healthcare.mvp.prescription.dto.PrescriptionArchiveStatusDto;
+import com.healthcare.mvp.prescription.entity.Prescription;
+import com.healthcare.mvp.prescription.pdf.PrescriptionDocument;
+import com.healthcare.mvp.prescription.pdf.PrescriptionDocumentFactory;
+import com.healthcare.mvp.prescription.pdf.PrescriptionPdfAssets;
+import com.healthcare.mvp.prescription.pdf.PrescriptionPdfRenderer;
+import com.healthcare.mvp.prescription.repository.PrescriptionRepository;
+import com.healthcare.mvp.shared.storage.BlobStore;
+import com.healthcare.mvp.shared.storage.StoredBlob;
+import com.healthcare.mvp.shared.tenant.TenantContext;
+import com.healthcare.mvp.shared.tenant.TenantRoutingDataSource;
+import com.healthcare.mvp.shared.tenant.TenantShardDirectory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Batch job that keeps a signed PDF/A copy of every prescription.
+ *
+ * Each shard is scanned in prescription_id order for prescriptions whose
+ * current version has no archive row. A batch is rendered and signed on a
+ * worker pool, each worker recording its own archive row, and the shard's
+ * checkpoint advances past the batch once every worker has finished. A run
+ * stopped anywhere - shutdown, crash, failure - resumes after the last
+ * checkpoint; work already done is skipped because the scan and each worker
+ * check the archive rows, and a row is only ever replaced by a newer version.
+ * Failed prescriptions stay pending and are retried on the next pass; a shard
+ * that fails as a whole is reported in lastError and the run moves on to the
+ * next one. The archive and checkpoint tables (V014) are created on every
+ * shard at startup by FlywayConfig. Tenants the directory assigns to another
+ * shard are skipped, so the copy a move leaves on its source is not archived
+ * twice, and so is a prescription whose tenant a move fences while it is being
+ * signed.
+ *
+ * Signed copies go to their own blob store and are never swept. The request
+ * path is untouched: runs are triggered on a timer or by a super admin.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PrescriptionArchiveJob {
+
+    private final PrescriptionArchiveLedger ledger;
+    private final PrescriptionRepository prescriptionRepository;
+    private final PrescriptionDocumentFactory documentFactory;
+    private final PrescriptionPdfAssets assets;
+    private final PrescriptionPdfRenderer renderer;
+    private final BlobStore prescriptionArchiveStore;
+    private final TenantRoutingDataSource routingDataSource;
+    private final TenantShardDirectory shardDirectory;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.prescription.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.prescription.archive.keystore-path:}")
+    private String keystorePath;
+
+    @Value("${app.prescription.archive.keystore-password:}")
+    private String keystorePassword;
+
+    @Value("${app.prescription.archive.key-alias:}")
+    private String keyAlias;
+
+    @Value("${app.prescription.archive.icc-profile:}")
+    private String iccProfilePath;
+
+    @Value("${app.prescription.archive.reason:Archived copy of prescription}")
+    private String reason;
+
+    @Value("${app.prescription.archive.location:}")
+    private String location;
+
+    @Value("${app.prescription.archive.worker-threads:4}")
+    private int workerThreads;
+
+    @Value("${app.prescription.archive.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.prescription.archive.interval-minutes:1440}")
+    private long intervalMinutes;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicLong scanned = new AtomicLong();
+    private final AtomicLong archived = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile String currentShard;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String lastError;
+
+    private PrescriptionSigner signer;
+    private byte[] iccProfile;
+    private ThreadPoolExecutor workers;
+    private ScheduledExecutorService coordinator;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        if (keystorePath.isBlank() || iccProfilePath.isBlank()) {
+            throw new IllegalStateException("Prescription archival needs app.prescription.archive.keystore-path and icc-profile");
+        }
+        if (!assets.isEmbedded()) {
+            throw new IllegalStateException("Prescription archival needs embedded fonts; set app.prescription.pdf.font-regular and font-bold");
+        }
+        signer = new PrescriptionSigner(Paths.get(keystorePath), keystorePassword.toCharArray(), keyAlias, reason, location);
+        try {
+            iccProfile = Files.readAllBytes(Paths.get(iccProfilePath));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read ICC profile " + iccProfilePath, e);
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        // The coordinator never has more than one batch in flight, so the queue never fills
+        workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(batchSize), runnable -> {
+                    Thread thread = new Thread(runnable, "prescription-archive-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        coordinator = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "prescription-archive-coordinator");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void schedule() {
+        if (enabled && intervalMinutes > 0) {
+            coordinator.scheduleWithFixedDelay(() -> {
+                if (running.compareAndSet(false, true)) {
+                    runAll();
+                }
+            }, 1, intervalMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (coordinator != null) {
+            coordinator.shutdownNow();
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Start a run in the background unless one is in progress
+     */
+    public PrescriptionArchiveStatusDto start() {
+        if (!enabled) {
+            throw new RuntimeException("Prescription archival is not enabled");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("Prescription archival is already running");
+        }
+        coordinator.execute(this::runAll);
+        return status();
+    }
+
+    /**
+     * Counters and throughput of the current or last run
+     */
+    public PrescriptionArchiveStatusDto status() {
+        LocalDateTime start = startedAt;
+        LocalDateTime end = finishedAt != null || !running.get() ? finishedAt : LocalDateTime.now();
+        long elapsed = start == null || end == null ? 0 : Math.max(0, Duration.between(start, end).toMillis());
+        return PrescriptionArchiveStatusDto.builder()
+                .enabled(enabled)
+                .running(running.get())
+                .currentShard(currentShard)
+                .scanned(scanned.get())
+                .archived(archived.get())
+                .skipped(skipped.get())
+                .failed(failed.get())
+                .elapsedMillis(elapsed)
+                .documentsPerSecond(elapsed == 0 ? 0 : Math.round(archived.get() * 100_000.0 / elapsed) / 100.0)
+                .startedAt(start)
+                .finishedAt(finishedAt)
+                .lastError(lastError)
+                .build();
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    /**
+     * Runs on the coordinator thread, which owns the running flag for the duration
+     */
+    private void runAll() {
+        scanned.set(0);
+        archived.set(0);
+        skipped.set(0);
+        failed.set(0);
+        lastError = null;
+        finishedAt = null;
+        startedAt = LocalDateTime.now();
+        try {
+            for (String shard : routingDataSource.getShardKeys()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+                currentShard = shard;
+                // One shard's failure (e.g. its schema is behind) must not hold back the others
+                try {
+                    TenantContext.callOnShard(shard, () -> {
+                        runShard(shard);
+                        return null;
+                    });
+                } catch (RuntimeException e) {
+                    lastError = "Shard " + shard + ": " + e.getMessage();
+                    log.error("Prescription archive run stopped on shard {}: {}", shard, e.getMessage(), e);
+                }
+            }
+        } finally {
+            currentShard = null;
+            finishedAt = LocalDateTime.now();
+            running.set(false);
+            PrescriptionArchiveStatusDto status = status();
+            log.info("Prescription archive run finished: {} archived, {} skipped, {} failed in {} ms ({}/s)",
+                    status.getArchived(), status.getSkipped(), status.getFailed(),
+                    status.getElapsedMillis(), status.getDocumentsPerSecond());
+        }
+    }
+
+    private void runShard(String shard) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        UUID cursor = transaction.execute(status -> ledger.loadCursor());
+        if (cursor != null) {
+            log.info("Resuming prescription archival on shard {} after {}", shard, cursor);
+        }
+
+        while (!Thread.currentThread().isInterrupted()) {
+            UUID after = cursor;
+            // Re-read per batch, so a tenant moved away during the run stops being archived here
+            UUID[] servedElsewhere = shardDirectory.tenantsServedElsewhere(shard);
+            List<UUID> batch = transaction.execute(status -> ledger.findPending(after, batchSize, servedElsewhere));
+            if (batch == null || batch.isEmpty()) {
+                transaction.executeWithoutResult(status -> ledger.saveCursor(null, 0));
+                return;
+            }
+
+            List<Future<Boolean>> results = new ArrayList<>(batch.size());
+            for (UUID prescriptionId : batch) {
+                results.add(workers.submit(TenantContext.wrap(() -> archive(prescriptionId))));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                try {
+                    (results.get(i).get() ? archived : skipped).incrementAndGet();
+                } catch (ExecutionException e) {
+                    failed.incrementAndGet();
+                    lastError = e.getCause().getMessage();
+                    log.warn("Archiving prescription {} failed: {}", batch.get(i), e.getCause().getMessage());
+                } catch (InterruptedException e) {
+                    results.forEach(result -> result.cancel(true));
+                    Thread.currentThread().interrupt();
+                    log.info("Prescription archival interrupted on shard {}; it resumes after {}", shard, cursor);
+                    return;
+                }
+            }
+            scanned.addAndGet(batch.size());
+
+            cursor = batch.get(batch.size() - 1);
+            UUID checkpoint = cursor;
+            transaction.executeWithoutResult(status -> ledger.saveCursor(checkpoint, batch.size()));
+            PrescriptionArchiveStatusDto progress = status();
+            log.info("Prescription archival on shard {}: {} scanned, {} archived, {} failed, {}/s",
+                    shard, progress.getScanned(), progress.getArchived(), progress.getFailed(),
+                    progress.getDocumentsPerSecond());
+        }
+    }
+
+    /**
+     * Runs on a worker. True when a signed copy was stored, false when there was nothing to do.
+     */
+    private boolean archive(UUID prescriptionId) throws IOException {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        PrescriptionDocument document = readOnly.execute(status -> {
+            Prescription prescription = prescriptionRepository.findById(prescriptionId).orElse(null);
+            if (prescription == null || Boolean.FALSE.equals(prescription.getIsActive())) {
+                return null;
+            }
+            PrescriptionDocument pending = documentFactory.create(prescription);
+            return ledger.isArchived(prescriptionId, pending.getLastModified()) ? null : pending;
+        });
+        if (document == null) {
+            return false;
+        }
+
+        // PdfSigner reads its input randomly, so the unsigned rendition is held in memory;
+        // prescriptions are a few tens of KB and at most one per worker is in flight
+        ByteArrayOutputStream unsigned = new ByteArrayOutputStream(64 * 1024);
+        renderer.renderArchival(document, assets.letterhead(document.getHospitalId()), iccProfile, unsigned);
+
+        LocalDateTime signedAt = LocalDateTime.now();
+        StoredBlob blob = prescriptionArchiveStore.put(out -> signer.sign(unsigned.toByteArray(),
+                GregorianCalendar.from(signedAt.atZone(ZoneId.systemDefault())), out));
+
+        Boolean recorded = new TransactionTemplate(transactionManager).execute(status ->
+                ledger.record(prescriptionId, document.getHospitalId(), blob.getKey(), document.getLastModified(),
+                        signedAt, signer.getSubject()));
+        return Boolean.TRUE.equals(recorded);
+    }
+}
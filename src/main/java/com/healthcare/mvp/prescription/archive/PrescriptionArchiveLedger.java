@@ -0,0 +1,93 @@
+package com.healthcare.mvp.prescription.archive;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * SQL behind the archive job: the keyset scan for prescriptions whose current
+ * version has no signed copy, the archive rows, and the job checkpoint.
+ *
+ * Every statement runs on the shard of the calling thread's TenantContext, so
+ * callers pick the shard and the transaction.
+ */
+@Component
+@RequiredArgsConstructor
+class PrescriptionArchiveLedger {
+
+    static final String JOB_NAME = "prescription-archive";
+    private static final UUID MIN_ID = new UUID(0, 0);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Next prescriptions after the cursor, in id order, that are unarchived or edited since archiving,
+     * leaving out the excluded hospitals (tenants served by another shard)
+     */
+    List<UUID> findPending(UUID after, int limit, UUID[] excludedHospitals) {
+        return jdbcTemplate.queryForList(
+                "SELECT p.prescription_id FROM prescription p " +
+                "LEFT JOIN prescription_archive a ON a.prescription_id = p.prescription_id " +
+                "WHERE p.prescription_id > ? AND p.is_active = true AND p.hospital_id <> ALL (?) " +
+                "AND (a.prescription_id IS NULL OR a.source_updated_at < p.updated_at) " +
+                "ORDER BY p.prescription_id LIMIT ?",
+                UUID.class, after == null ? MIN_ID : after, excludedHospitals, limit);
+    }
+
+    /**
+     * Whether the given version of the prescription is already archived
+     */
+    boolean isArchived(UUID prescriptionId, LocalDateTime sourceUpdatedAt) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM prescription_archive WHERE prescription_id = ? AND source_updated_at >= ?",
+                Integer.class, prescriptionId, Timestamp.valueOf(sourceUpdatedAt));
+        return count != null && count > 0;
+    }
+
+    /**
+     * Record the signed copy; an older version never overwrites a newer one, and nothing is recorded
+     * for a tenant a move has fenced on this shard
+     */
+    boolean record(UUID prescriptionId, UUID hospitalId, String blobKey, LocalDateTime sourceUpdatedAt,
+                   LocalDateTime signedAt, String signerSubject) {
+        return jdbcTemplate.update(
+                "INSERT INTO prescription_archive (prescription_id, hospital_id, blob_key, source_updated_at, signed_at, signer_subject, updated_at) " +
+                "SELECT ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP WHERE NOT tenant_write_fenced(?) " +
+                "ON CONFLICT (prescription_id) DO UPDATE SET blob_key = EXCLUDED.blob_key, " +
+                "source_updated_at = EXCLUDED.source_updated_at, signed_at = EXCLUDED.signed_at, " +
+                "signer_subject = EXCLUDED.signer_subject, updated_at = CURRENT_TIMESTAMP " +
+                "WHERE prescription_archive.source_updated_at < EXCLUDED.source_updated_at",
+                prescriptionId, hospitalId, blobKey, Timestamp.valueOf(sourceUpdatedAt),
+                Timestamp.valueOf(signedAt), signerSubject, hospitalId) > 0;
+    }
+
+    /**
+     * Cursor the last run stopped at, or null to start a new pass
+     */
+    UUID loadCursor() {
+        List<String> keys = jdbcTemplate.queryForList(
+                "SELECT last_key FROM batch_job_checkpoint WHERE job_name = ?", String.class, JOB_NAME);
+        return keys.isEmpty() || keys.get(0) == null ? null : UUID.fromString(keys.get(0));
+    }
+
+    /**
+     * Persist the cursor and add to the pass's processed count; a null cursor
+     * marks the pass complete, and the next save starts a new one
+     */
+    void saveCursor(UUID cursor, long processed) {
+        jdbcTemplate.update(
+                "INSERT INTO batch_job_checkpoint (job_name, last_key, pass_started_at, processed, updated_at) " +
+                "VALUES (?, ?, CURRENT_TIMESTAMP, ?, CURRENT_TIMESTAMP) " +
+                "ON CONFLICT (job_name) DO UPDATE SET last_key = EXCLUDED.last_key, " +
+                "processed = CASE WHEN batch_job_checkpoint.last_key IS NULL THEN EXCLUDED.processed " +
+                "ELSE batch_job_checkpoint.processed + EXCLUDED.processed END, updated_at = CURRENT_TIMESTAMP, " +
+                "pass_started_at = CASE WHEN batch_job_checkpoint.last_key IS NULL THEN CURRENT_TIMESTAMP " +
+                "ELSE batch_job_checkpoint.pass_started_at END",
+                JOB_NAME, cursor == null ? null : cursor.toString(), processed);
+    }
+}
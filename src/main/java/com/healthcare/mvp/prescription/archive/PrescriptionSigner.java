@@ -0,0 +1,124 @@
+package com.healthcare.mvp.prescription.archive;
+
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.StampingProperties;
+import com.itextpdf.signatures.BouncyCastleDigest;
+import com.itextpdf.signatures.DigestAlgorithms;
+import com.itextpdf.signatures.IExternalDigest;
+import com.itextpdf.signatures.IExternalSignature;
+import com.itextpdf.signatures.PdfSigner;
+import com.itextpdf.signatures.PrivateKeySignature;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.util.Calendar;
+import java.util.Collections;
+
+/**
+ * Signs PDFs with a key from a PKCS#12 keystore.
+ *
+ * The keystore is read once; the private key and chain are immutable and the
+ * signature objects are created per document, so one signer serves every
+ * archive worker concurrently. Signatures are invisible, detached CAdES over
+ * SHA-256, appended incrementally so a PDF/A input stays PDF/A.
+ */
+@Slf4j
+class PrescriptionSigner {
+
+    private final PrivateKey privateKey;
+    private final Certificate[] chain;
+    private final String subject;
+    private final String reason;
+    private final String location;
+
+    PrescriptionSigner(Path keystorePath, char[] password, String alias, String reason, String location) {
+        try (InputStream in = Files.newInputStream(keystorePath)) {
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            keyStore.load(in, password);
+            String keyAlias = alias == null || alias.isBlank() ? firstKeyAlias(keyStore) : alias;
+            if (keyAlias == null || !keyStore.isKeyEntry(keyAlias)) {
+                throw new IllegalStateException("No private key " + (alias == null || alias.isBlank() ? "" : "'" + alias + "' ")
+                        + "in keystore " + keystorePath);
+            }
+            this.privateKey = (PrivateKey) keyStore.getKey(keyAlias, password);
+            this.chain = keyStore.getCertificateChain(keyAlias);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read signing keystore " + keystorePath, e);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot load signing key from " + keystorePath, e);
+        }
+        this.subject = chain[0] instanceof X509Certificate certificate
+                ? certificate.getSubjectX500Principal().getName() : chain[0].getType();
+        this.reason = reason;
+        this.location = location;
+        log.info("Prescription signing key loaded: {}", subject);
+    }
+
+    /**
+     * Subject of the signing certificate, recorded with each archived copy
+     */
+    String getSubject() {
+        return subject;
+    }
+
+    /**
+     * Write a signed copy of the PDF to the stream, which is left open
+     */
+    void sign(byte[] pdf, Calendar signDate, OutputStream out) throws IOException {
+        try {
+            PdfSigner signer = new PdfSigner(new PdfReader(new ByteArrayInputStream(pdf)), new UncloseableStream(out),
+                    new StampingProperties().useAppendMode());
+            signer.setFieldName("PrescriptionSignature");
+            signer.setSignDate(signDate);
+            signer.setReason(reason).setLocation(location);
+
+            IExternalDigest digest = new BouncyCastleDigest();
+            IExternalSignature signature = new PrivateKeySignature(privateKey, DigestAlgorithms.SHA256, null);
+            signer.signDetached(digest, signature, chain, Collections.emptyList(), null, null, 0, PdfSigner.CryptoStandard.CADES);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Signing failed: " + e.getMessage(), e);
+        }
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private static String firstKeyAlias(KeyStore keyStore) throws GeneralSecurityException {
+        for (String alias : Collections.list(keyStore.aliases())) {
+            if (keyStore.isKeyEntry(alias)) {
+                return alias;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * PdfSigner closes its output when done; the caller owns this one
+     */
+    private static final class UncloseableStream extends FilterOutputStream {
+        private UncloseableStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            out.write(buffer, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+}
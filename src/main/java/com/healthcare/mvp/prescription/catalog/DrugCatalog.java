@@ -0,0 +1,210 @@
+package com.healthcare.mvp.prescription.catalog;
+
+import com.healthcare.mvp.prescription.entity.Medication;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable drug name dictionary, front-coded in one byte array.
+ *
+ * Names are sorted by their Medication.drugKey, so every name starting with a
+ * prefix sits in one contiguous run, the property autocomplete needs from a
+ * trie. Within a block of BLOCK_SIZE names each entry stores only the length of
+ * the prefix it shares with the previous name plus the remaining UTF-8 bytes;
+ * the first entry of a block is stored whole and its key is kept as a String
+ * for binary search. A 500k-name catalog takes a fraction of the memory of the
+ * same names as String objects, let alone a node-per-character trie.
+ */
+final class DrugCatalog {
+
+    private static final int BLOCK_SIZE = 16;
+
+    private final byte[] data;
+    private final int[] blockStarts;
+    private final String[] blockKeys;
+    private final int size;
+
+    private DrugCatalog(byte[] data, int[] blockStarts, String[] blockKeys, int size) {
+        this.data = data;
+        this.blockStarts = blockStarts;
+        this.blockKeys = blockKeys;
+        this.size = size;
+    }
+
+    static DrugCatalog empty() {
+        return of(List.of());
+    }
+
+    /**
+     * Build from display names; names with the same drugKey keep the first spelling
+     */
+    static DrugCatalog of(Collection<String> names) {
+        TreeMap<String, String> byKey = new TreeMap<>();
+        for (String name : names) {
+            String key = Medication.drugKey(name);
+            if (key != null) {
+                byKey.putIfAbsent(key, name.trim().replaceAll("\\s+", " "));
+            }
+        }
+
+        int blocks = (byKey.size() + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        int[] blockStarts = new int[blocks];
+        String[] blockKeys = new String[blocks];
+        ByteArrayOutputStream out = new ByteArrayOutputStream(byKey.size() * 12);
+        byte[] previous = new byte[0];
+        int entry = 0;
+        for (Map.Entry<String, String> drug : byKey.entrySet()) {
+            byte[] name = drug.getValue().getBytes(StandardCharsets.UTF_8);
+            int shared = 0;
+            if (entry % BLOCK_SIZE == 0) {
+                blockStarts[entry / BLOCK_SIZE] = out.size();
+                blockKeys[entry / BLOCK_SIZE] = drug.getKey();
+            } else {
+                shared = Arrays.mismatch(previous, name);
+                shared = shared < 0 ? name.length : Math.min(shared, name.length);
+                writeVarInt(out, shared);
+            }
+            writeVarInt(out, name.length - shared);
+            out.write(name, shared, name.length - shared);
+            previous = name;
+            entry++;
+        }
+        return new DrugCatalog(out.toByteArray(), blockStarts, blockKeys, byKey.size());
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Approximate heap held by this catalog
+     */
+    long memoryBytes() {
+        long bytes = 16L + data.length + 16L + 4L * blockStarts.length + 16L + 4L * blockKeys.length;
+        for (String key : blockKeys) {
+            bytes += 40L + key.length();
+        }
+        return bytes;
+    }
+
+    /**
+     * Display name of the drug, or null if it is not in the catalog
+     */
+    String find(String drugKey) {
+        if (drugKey == null || size == 0) {
+            return null;
+        }
+        int block = Arrays.binarySearch(blockKeys, drugKey);
+        block = block >= 0 ? block : -block - 2;
+        if (block < 0) {
+            return null;
+        }
+        Cursor cursor = new Cursor(block);
+        for (int i = 0; i < BLOCK_SIZE && cursor.next(); i++) {
+            String name = cursor.name();
+            int order = key(name).compareTo(drugKey);
+            if (order == 0) {
+                return name;
+            }
+            if (order > 0) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Up to limit display names whose drugKey starts with keyPrefix, in key order
+     */
+    List<String> withPrefix(String keyPrefix, int limit) {
+        List<String> names = new ArrayList<>(Math.min(limit, 16));
+        if (size == 0 || limit <= 0) {
+            return names;
+        }
+        int block = Arrays.binarySearch(blockKeys, keyPrefix);
+        block = block >= 0 ? block : Math.max(-block - 2, 0);
+        Cursor cursor = new Cursor(block);
+        while (names.size() < limit && cursor.next()) {
+            String name = cursor.name();
+            String key = key(name);
+            if (key.startsWith(keyPrefix)) {
+                names.add(name);
+            } else if (key.compareTo(keyPrefix) > 0) {
+                break;
+            }
+        }
+        return names;
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    /**
+     * Stored names are already trimmed and single-spaced, so their drugKey is just the lower case
+     */
+    private static String key(String storedName) {
+        return storedName.toLowerCase(Locale.ROOT);
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * Decodes entries forward from the start of a block
+     */
+    private final class Cursor {
+        private int entry;
+        private int position;
+        private byte[] name = new byte[64];
+        private int length;
+
+        private Cursor(int block) {
+            this.entry = block * BLOCK_SIZE - 1;
+            this.position = blockStarts[block];
+        }
+
+        private boolean next() {
+            if (entry + 1 >= size) {
+                return false;
+            }
+            entry++;
+            int shared = entry % BLOCK_SIZE == 0 ? 0 : readVarInt();
+            int suffix = readVarInt();
+            if (shared + suffix > name.length) {
+                name = Arrays.copyOf(name, Math.max(name.length * 2, shared + suffix));
+            }
+            System.arraycopy(data, position, name, shared, suffix);
+            position += suffix;
+            length = shared + suffix;
+            return true;
+        }
+
+        private String name() {
+            return new String(name, 0, length, StandardCharsets.UTF_8);
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+}
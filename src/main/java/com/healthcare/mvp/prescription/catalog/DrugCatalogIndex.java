@@ -0,0 +1,246 @@
+package com.healthcare.mvp.prescription.catalog;
+
+import com.healthcare.mvp.prescription.dto.DrugSuggestionDto;
+import com.healthcare.mvp.prescription.entity.Medication;
+import com.healthcare.mvp.prescription.entity.Prescription;
+import com.healthcare.mvp.prescription.event.PrescriptionCreatedEvent;
+import com.healthcare.mvp.prescription.repository.PrescriptionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Drug name autocomplete over a local catalog file, ranked per hospital.
+ *
+ * The catalog is one drug name per line ('#' starts a comment) and is held as a
+ * front-coded DrugCatalog. Like DrugInteractionIndex, a daemon thread polls the
+ * file and swaps in a rebuilt catalog through an AtomicReference, so lookups
+ * never lock. A catalog whose estimated size exceeds max-memory-mb is rejected
+ * and the loaded one kept.
+ *
+ * Each hospital's prescription counts per drugKey are read from the database on
+ * its first lookup, then kept current in memory from the PrescriptionCreatedEvent
+ * of each saved prescription, after it commits. Counting is a map read plus an atomic increment; a drug
+ * new to the hospital is added with putIfAbsent. The counts are a ranking
+ * signal, not a ledger: a prescription that commits while its hospital is being
+ * loaded may be missed until the next restart.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DrugCatalogIndex {
+
+    private final PrescriptionRepository prescriptionRepository;
+
+    @Value("${app.prescription.catalog.file:./data/drug-catalog.txt}")
+    private String catalogPath;
+
+    @Value("${app.prescription.catalog.reload-check-seconds:60}")
+    private long reloadCheckSeconds;
+
+    @Value("${app.prescription.catalog.max-memory-mb:64}")
+    private long maxMemoryMb;
+
+    private final AtomicReference<LoadedCatalog> current =
+            new AtomicReference<>(new LoadedCatalog(DrugCatalog.empty(), -1, -1));
+    private final Map<UUID, Map<String, AtomicLong>> hospitalCounts = new ConcurrentHashMap<>();
+    private ScheduledExecutorService watcher;
+    private Path catalogFile;
+    private volatile boolean missingReported = false;
+
+    @PostConstruct
+    public void start() {
+        catalogFile = Paths.get(catalogPath).toAbsolutePath().normalize();
+        reloadIfChanged();
+        watcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "drug-catalog-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        watcher.scheduleWithFixedDelay(this::reloadIfChanged, reloadCheckSeconds, reloadCheckSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        watcher.shutdownNow();
+    }
+
+    /**
+     * Catalog drugs starting with the typed text: the hospital's most prescribed
+     * first, then the rest alphabetically
+     */
+    public List<DrugSuggestionDto> suggest(String typed, UUID hospitalId, int limit) {
+        String prefix = Medication.drugKey(typed);
+        if (prefix == null || limit <= 0) {
+            return List.of();
+        }
+        DrugCatalog catalog = current.get().catalog;
+
+        List<DrugSuggestionDto> suggestions = new ArrayList<>(limit);
+        Set<String> suggested = new HashSet<>();
+        if (hospitalId != null) {
+            PriorityQueue<Map.Entry<String, Long>> top = new PriorityQueue<>(limit + 1, Map.Entry.comparingByValue());
+            for (Map.Entry<String, AtomicLong> count : countsFor(hospitalId).entrySet()) {
+                if (!count.getKey().startsWith(prefix)) {
+                    continue;
+                }
+                top.add(Map.entry(count.getKey(), count.getValue().get()));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<Map.Entry<String, Long>> ranked = new ArrayList<>(top);
+            ranked.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+            for (Map.Entry<String, Long> drug : ranked) {
+                String name = catalog.find(drug.getKey());
+                if (name != null) {
+                    suggestions.add(suggestion(name, drug.getKey(), drug.getValue()));
+                    suggested.add(drug.getKey());
+                }
+            }
+        }
+
+        if (suggestions.size() < limit) {
+            for (String name : catalog.withPrefix(prefix, limit + suggested.size())) {
+                String key = Medication.drugKey(name);
+                if (suggestions.size() < limit && !suggested.contains(key)) {
+                    suggestions.add(suggestion(name, key, 0));
+                }
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Count the drugs of a committed prescription towards the hospital it was saved under
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPrescriptionCreated(PrescriptionCreatedEvent event) {
+        Prescription prescription = event.getPrescription();
+        Map<String, AtomicLong> counts = prescription.getHospitalId() == null
+                ? null : hospitalCounts.get(prescription.getHospitalId());
+        if (counts == null || prescription.getMedications() == null) {
+            return; // not loaded yet; the database already has this prescription
+        }
+        for (Medication medication : prescription.getMedications()) {
+            String key = medication.getDrugKey();
+            if (key == null) {
+                continue;
+            }
+            AtomicLong count = counts.get(key);
+            if (count == null) {
+                AtomicLong created = new AtomicLong();
+                count = counts.putIfAbsent(key, created);
+                count = count == null ? created : count;
+            }
+            count.incrementAndGet();
+        }
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private Map<String, AtomicLong> countsFor(UUID hospitalId) {
+        Map<String, AtomicLong> counts = hospitalCounts.get(hospitalId);
+        if (counts != null) {
+            return counts;
+        }
+        Map<String, AtomicLong> loaded = new ConcurrentHashMap<>();
+        for (Object[] row : prescriptionRepository.countDrugKeysByHospital(hospitalId)) {
+            loaded.put((String) row[0], new AtomicLong(((Number) row[1]).longValue()));
+        }
+        counts = hospitalCounts.putIfAbsent(hospitalId, loaded);
+        return counts == null ? loaded : counts;
+    }
+
+    private static DrugSuggestionDto suggestion(String name, String drugKey, long count) {
+        return DrugSuggestionDto.builder()
+                .name(name)
+                .drugKey(drugKey)
+                .prescriptionCount(count)
+                .build();
+    }
+
+    /**
+     * Runs at startup and on the watcher thread
+     */
+    private void reloadIfChanged() {
+        try {
+            if (!Files.isRegularFile(catalogFile)) {
+                if (!missingReported) {
+                    missingReported = true;
+                    log.warn("No drug catalog at {}; autocomplete returns no suggestions", catalogFile);
+                }
+                return;
+            }
+            missingReported = false;
+            BasicFileAttributes attributes = Files.readAttributes(catalogFile, BasicFileAttributes.class);
+            long modified = attributes.lastModifiedTime().toMillis();
+            LoadedCatalog loaded = current.get();
+            if (modified == loaded.modifiedMillis && attributes.size() == loaded.sizeBytes) {
+                return;
+            }
+
+            long startTime = System.currentTimeMillis();
+            List<String> names = new ArrayList<>();
+            try (BufferedReader reader = Files.newBufferedReader(catalogFile, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank() && !line.startsWith("#")) {
+                        names.add(line);
+                    }
+                }
+            }
+            DrugCatalog catalog = DrugCatalog.of(names);
+            long memoryBytes = catalog.memoryBytes();
+            if (memoryBytes > maxMemoryMb * 1024 * 1024) {
+                log.error("Drug catalog {} needs {}KB, over the {}MB cap; keeping the loaded one",
+                        catalogFile, memoryBytes / 1024, maxMemoryMb);
+                current.set(new LoadedCatalog(loaded.catalog, modified, attributes.size()));
+                return;
+            }
+            current.set(new LoadedCatalog(catalog, modified, attributes.size()));
+            log.info("Drug catalog loaded: {} names, {}KB in {}ms",
+                    catalog.size(), memoryBytes / 1024, System.currentTimeMillis() - startTime);
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not load drug catalog {}; keeping the previous one: {}", catalogFile, e.getMessage(), e);
+        }
+    }
+
+    private static final class LoadedCatalog {
+        private final DrugCatalog catalog;
+        private final long modifiedMillis;
+        private final long sizeBytes;
+
+        private LoadedCatalog(DrugCatalog catalog, long modifiedMillis, long sizeBytes) {
+            this.catalog = catalog;
+            this.modifiedMillis = modifiedMillis;
+            this.sizeBytes = sizeBytes;
+        }
+    }
+}
@@ -1,16 +1,31 @@
 package com.healthcare.mvp.prescription.controller;
 
+import com.healthcare.mvp.prescription.archive.PrescriptionArchiveJob;
 import com.healthcare.mvp.prescription.dto.CreatePrescriptionRequest;
+import com.healthcare.mvp.prescription.dto.DrugInteractionCheckDto;
+import com.healthcare.mvp.prescription.dto.DrugInteractionCheckRequest;
+import com.healthcare.mvp.prescription.dto.DrugSuggestionDto;
+import com.healthcare.mvp.prescription.dto.PrescriptionArchiveStatusDto;
 import com.healthcare.mvp.prescription.dto.PrescriptionDto;
+import com.healthcare.mvp.prescription.dto.PrescriptionHistoryFilter;
+import com.healthcare.mvp.prescription.dto.PrescriptionScrollDto;
+import com.healthcare.mvp.prescription.dto.PrescriptionSummaryDto;
+import com.healthcare.mvp.prescription.service.PrescriptionPdfService;
 import com.healthcare.mvp.prescription.service.PrescriptionService;
 import com.healthcare.mvp.shared.dto.BaseResponse;
+import com.healthcare.mvp.shared.dto.PageResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.MediaType;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -18,6 +33,8 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class PrescriptionController {
     private final PrescriptionService prescriptionService;
+    private final PrescriptionPdfService prescriptionPdfService;
+    private final PrescriptionArchiveJob prescriptionArchiveJob;
 
     @PostMapping
     @PreAuthorize("hasRole('DOCTOR') or hasRole('HOSPITAL_ADMIN')")
@@ -26,10 +43,115 @@ public class PrescriptionController {
         return ResponseEntity.ok(BaseResponse.success("Prescription created", prescription));
     }
 
+    @PostMapping("/interactions/check")
+    @PreAuthorize("hasRole('DOCTOR') or hasRole('HOSPITAL_ADMIN') or hasRole('PHARMACY_ADMIN') or hasRole('PHARMACY_STAFF')")
+    public ResponseEntity<BaseResponse<DrugInteractionCheckDto>> checkDrugInteractions(
+            @Valid @RequestBody DrugInteractionCheckRequest request) {
+        DrugInteractionCheckDto result = prescriptionService.checkInteractions(request.getPatientId(), request.getMedications());
+        return ResponseEntity.ok(BaseResponse.success("Drug interactions checked", result));
+    }
+
+    @GetMapping("/drugs/autocomplete")
+    @PreAuthorize("hasRole('DOCTOR') or hasRole('HOSPITAL_ADMIN') or hasRole('PHARMACY_ADMIN') or hasRole('PHARMACY_STAFF')")
+    public ResponseEntity<BaseResponse<List<DrugSuggestionDto>>> autocompleteDrugs(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<DrugSuggestionDto> suggestions = prescriptionService.suggestDrugs(q, limit);
+        return ResponseEntity.ok(BaseResponse.success("Drug suggestions retrieved", suggestions));
+    }
+
     @GetMapping("/pdf/{prescriptionId}")
     @PreAuthorize("hasRole('DOCTOR') or hasRole('PATIENT')")
-    public ResponseEntity<byte[]> generatePrescriptionPdf(@PathVariable UUID prescriptionId) {
-        byte[] pdf = prescriptionService.generatePrescriptionPdf(prescriptionId);
-        return ResponseEntity.ok().contentType(MediaType.APPLICATION_PDF).body(pdf);
+    public void generatePrescriptionPdf(@PathVariable UUID prescriptionId, HttpServletRequest request,
+                                        HttpServletResponse response) throws IOException {
+        prescriptionPdfService.writePrescriptionPdf(prescriptionId, request, response);
+    }
+
+    @GetMapping("/doctor/{doctorId}")
+    @PreAuthorize("hasRole('DOCTOR') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<BaseResponse<PageResponse<PrescriptionSummaryDto>>> getDoctorPrescriptionHistory(
+            @PathVariable UUID doctorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "true") Boolean active,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
+        PrescriptionHistoryFilter filter = new PrescriptionHistoryFilter(fromDate, toDate, status, active);
+        PageResponse<PrescriptionSummaryDto> prescriptions = PageResponse.of(
+                prescriptionService.getDoctorPrescriptionHistory(doctorId, filter, page, size));
+        return ResponseEntity.ok(BaseResponse.success("Prescriptions retrieved", prescriptions));
+    }
+
+    @GetMapping("/doctor/{doctorId}/scroll")
+    @PreAuthorize("hasRole('DOCTOR') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<BaseResponse<PrescriptionScrollDto>> scrollDoctorPrescriptions(
+            @PathVariable UUID doctorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "true") Boolean active,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        PrescriptionHistoryFilter filter = new PrescriptionHistoryFilter(fromDate, toDate, status, active);
+        PrescriptionScrollDto prescriptions = prescriptionService.scrollDoctorPrescriptions(doctorId, filter, cursor, size);
+        return ResponseEntity.ok(BaseResponse.success("Prescriptions retrieved", prescriptions));
+    }
+
+    @GetMapping("/patient/{patientId}")
+    @PreAuthorize("hasRole('PATIENT') or hasRole('DOCTOR') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<BaseResponse<PageResponse<PrescriptionSummaryDto>>> getPatientPrescriptionHistory(
+            @PathVariable UUID patientId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "true") Boolean active,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
+        PrescriptionHistoryFilter filter = new PrescriptionHistoryFilter(fromDate, toDate, status, active);
+        PageResponse<PrescriptionSummaryDto> prescriptions = PageResponse.of(
+                prescriptionService.getPatientPrescriptionHistory(patientId, filter, page, size));
+        return ResponseEntity.ok(BaseResponse.success("Prescriptions retrieved", prescriptions));
+    }
+
+    @GetMapping("/patient/{patientId}/scroll")
+    @PreAuthorize("hasRole('PATIENT') or hasRole('DOCTOR') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<BaseResponse<PrescriptionScrollDto>> scrollPatientPrescriptions(
+            @PathVariable UUID patientId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "true") Boolean active,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        PrescriptionHistoryFilter filter = new PrescriptionHistoryFilter(fromDate, toDate, status, active);
+        PrescriptionScrollDto prescriptions = prescriptionService.scrollPatientPrescriptions(patientId, filter, cursor, size);
+        return ResponseEntity.ok(BaseResponse.success("Prescriptions retrieved", prescriptions));
+    }
+
+    @GetMapping("/hospital/{hospitalId}/by-drug")
+    @PreAuthorize("hasRole('HOSPITAL_ADMIN') or hasRole('DOCTOR') or hasRole('PHARMACY_ADMIN') or hasRole('PHARMACY_STAFF')")
+    public ResponseEntity<BaseResponse<PageResponse<PrescriptionDto>>> getHospitalPrescriptionsByDrug(
+            @PathVariable UUID hospitalId,
+            @RequestParam String drug,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        PageResponse<PrescriptionDto> prescriptions = PageResponse.of(
+                prescriptionService.getHospitalPrescriptionsByDrug(hospitalId, drug, page, size));
+        return ResponseEntity.ok(BaseResponse.success("Prescriptions retrieved", prescriptions));
+    }
+
+    @PostMapping("/archive/run")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<BaseResponse<PrescriptionArchiveStatusDto>> startPrescriptionArchive() {
+        PrescriptionArchiveStatusDto status = prescriptionArchiveJob.start();
+        return ResponseEntity.ok(BaseResponse.success("Prescription archival started", status));
+    }
+
+    @GetMapping("/archive/status")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<BaseResponse<PrescriptionArchiveStatusDto>> getPrescriptionArchiveStatus() {
+        PrescriptionArchiveStatusDto status = prescriptionArchiveJob.status();
+        return ResponseEntity.ok(BaseResponse.success("Prescription archive status retrieved", status));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,26 @@
+package com.healthcare.mvp.prescription.dto;
+
+import com.healthcare.mvp.prescription.interaction.InteractionSeverity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Interactions found for a proposed prescription, most severe first.
+ * unrecognizedDrugs are names the interaction dataset does not know, so they
+ * were not checked.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DrugInteractionCheckDto {
+    private List<DrugInteractionDto> interactions;
+    private InteractionSeverity highestSeverity;
+    private List<String> unrecognizedDrugs;
+    private LocalDateTime datasetLoadedAt;
+}
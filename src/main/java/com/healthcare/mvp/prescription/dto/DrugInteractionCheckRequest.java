@@ -0,0 +1,22 @@
+package com.healthcare.mvp.prescription.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DrugInteractionCheckRequest {
+    @NotNull(message = "Patient ID is required")
+    private UUID patientId;
+    @NotEmpty(message = "Medications are required")
+    private List<MedicationDto> medications;
+}
@@ -0,0 +1,26 @@
+package com.healthcare.mvp.prescription.dto;
+
+import com.healthcare.mvp.prescription.interaction.InteractionSeverity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * One interacting pair. existingPrescriptionId is the patient's active
+ * prescription that contains interactingDrug, or null when both drugs are on
+ * the new prescription.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DrugInteractionDto {
+    private String drug;
+    private String interactingDrug;
+    private InteractionSeverity severity;
+    private String description;
+    private UUID existingPrescriptionId;
+}
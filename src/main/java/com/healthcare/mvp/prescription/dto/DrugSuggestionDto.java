@@ -0,0 +1,20 @@
+package com.healthcare.mvp.prescription.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Catalog drug offered while typing a medication name. prescriptionCount is
+ * how often the caller's hospital has prescribed it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DrugSuggestionDto {
+    private String name;
+    private String drugKey;
+    private long prescriptionCount;
+}
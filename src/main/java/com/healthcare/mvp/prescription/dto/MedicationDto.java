@@ -1,9 +1,13 @@
 package com.healthcare.mvp.prescription.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 @Builder
 public class MedicationDto {
     private String name;
@@ -11,4 +15,5 @@ public class MedicationDto {
     private String frequency;
     private Integer durationDays;
     private String route; // ORAL, IV, TOPICAL, etc.
+    private String instructions;
 }
@@ -0,0 +1,32 @@
+package com.healthcare.mvp.prescription.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of the current (or last) prescription archive run. Counts cover the
+ * whole run across shards; documentsPerSecond is archived documents over
+ * elapsed time.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PrescriptionArchiveStatusDto {
+    private boolean enabled;
+    private boolean running;
+    private String currentShard;
+    private long scanned;
+    private long archived;
+    private long skipped;
+    private long failed;
+    private long elapsedMillis;
+    private double documentsPerSecond;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String lastError;
+}
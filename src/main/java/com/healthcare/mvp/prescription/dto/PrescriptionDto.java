@@ -4,11 +4,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.JdbcTypeCode;
-import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Data
@@ -24,8 +23,7 @@ public class PrescriptionDto {
     private UUID medicalRecordId;
     private LocalDate prescriptionDate;
     private String prescriptionNumber;
-    @JdbcTypeCode(SqlTypes.JSON)
-    private String medications;
+    private List<MedicationDto> medications;
     private String generalInstructions;
     private String dietaryInstructions;
     private LocalDate followUpDate;
@@ -0,0 +1,23 @@
+package com.healthcare.mvp.prescription.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Optional prescription history filters; null fields are not applied.
+ * The date range is inclusive on both ends.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PrescriptionHistoryFilter {
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private String status;
+    private Boolean active;
+}
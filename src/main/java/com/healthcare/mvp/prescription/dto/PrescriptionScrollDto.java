@@ -0,0 +1,21 @@
+package com.healthcare.mvp.prescription.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One keyset page of prescriptions, newest first. Pass nextCursor back to continue.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PrescriptionScrollDto {
+    private List<PrescriptionSummaryDto> prescriptions;
+    private String nextCursor;
+    private boolean hasMore;
+}
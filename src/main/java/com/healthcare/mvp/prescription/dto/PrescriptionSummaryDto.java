@@ -0,0 +1,32 @@
+package com.healthcare.mvp.prescription.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * History listing columns of a prescription, without medications or
+ * instructions. Also the JPQL constructor projection behind the
+ * PrescriptionRepository summary queries, so the constructor argument order
+ * must match those queries; the history indexes from V016 include exactly
+ * these columns.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PrescriptionSummaryDto {
+    private UUID prescriptionId;
+    private UUID patientId;
+    private UUID doctorId;
+    private UUID hospitalId;
+    private LocalDate prescriptionDate;
+    private String prescriptionNumber;
+    private String status;
+    private LocalDate followUpDate;
+    private Boolean isActive;
+}
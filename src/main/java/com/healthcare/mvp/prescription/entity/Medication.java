@@ -0,0 +1,86 @@
+package com.healthcare.mvp.prescription.entity;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.io.Serializable;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * One element of the typed array stored in prescription.medications (JSONB).
+ *
+ * Immutable, so Hibernate can keep the parsed list as its own dirty-checking
+ * snapshot instead of deep-copying it on every load. drugKey is the normalized
+ * name the GIN-indexed drug lookup matches on; name keeps what the doctor
+ * typed. Older documents spelled the name medicationName or drugName.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class Medication implements Serializable {
+
+    private final String name;
+    private final String drugKey;
+    private final String dosage;
+    private final String frequency;
+    private final Integer durationDays;
+    private final String route;
+    private final String instructions;
+
+    @JsonCreator
+    public Medication(@JsonProperty("name") @JsonAlias({"medicationName", "drugName"}) String name,
+                      @JsonProperty("dosage") String dosage,
+                      @JsonProperty("frequency") String frequency,
+                      @JsonProperty("durationDays") Integer durationDays,
+                      @JsonProperty("route") String route,
+                      @JsonProperty("instructions") String instructions) {
+        this.name = name == null ? null : name.trim();
+        this.drugKey = drugKey(name);
+        this.dosage = dosage;
+        this.frequency = frequency;
+        this.durationDays = durationDays;
+        this.route = route;
+        this.instructions = instructions;
+    }
+
+    /**
+     * Normalized drug name: trimmed, single-spaced, lower case. Matches the V015 backfill.
+     */
+    public static String drugKey(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        return name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    // Getters
+    public String getName() { return name; }
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public String getDrugKey() { return drugKey; }
+    public String getDosage() { return dosage; }
+    public String getFrequency() { return frequency; }
+    public Integer getDurationDays() { return durationDays; }
+    public String getRoute() { return route; }
+    public String getInstructions() { return instructions; }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Medication that)) {
+            return false;
+        }
+        return Objects.equals(name, that.name) && Objects.equals(dosage, that.dosage)
+                && Objects.equals(frequency, that.frequency) && Objects.equals(durationDays, that.durationDays)
+                && Objects.equals(route, that.route) && Objects.equals(instructions, that.instructions);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, dosage, frequency, durationDays, route, instructions);
+    }
+}
@@ -4,10 +4,13 @@ import com.healthcare.mvp.shared.entity.LegacyBaseEntity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.Mutability;
 import org.hibernate.type.SqlTypes;
+import org.hibernate.type.descriptor.java.Immutability;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Entity
@@ -45,9 +48,12 @@ public class Prescription extends LegacyBaseEntity {
     @Column(name = "prescription_number", nullable = false, unique = true)
     private String prescriptionNumber;
 
-    @Column(name = "medications", nullable = false)
+    // Parsed once per load and shared with Hibernate's snapshot instead of deep-copied,
+    // so replace the list to change it - in-place edits are not detected
+    @Column(name = "medications", nullable = false, columnDefinition = "jsonb")
     @JdbcTypeCode(SqlTypes.JSON)
-    private String medications;
+    @Mutability(Immutability.class)
+    private List<Medication> medications; // JSONB array, GIN-indexed for drug lookup
 
     @Column(name = "general_instructions")
     private String generalInstructions;
@@ -0,0 +1,16 @@
+package com.healthcare.mvp.prescription.event;
+
+import com.healthcare.mvp.prescription.entity.Prescription;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published by PrescriptionService once a new prescription row is saved.
+ * The drug catalog counts its medications towards the hospital's ranking after commit.
+ */
+@Getter
+@RequiredArgsConstructor
+public class PrescriptionCreatedEvent {
+
+    private final Prescription prescription;
+}
@@ -0,0 +1,189 @@
+package com.healthcare.mvp.prescription.interaction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable drug interaction graph in compressed sparse row form.
+ *
+ * Drug keys are interned to dense int ids once at build time. The interactions
+ * of drug d are the slice targets[offsets[d] .. offsets[d + 1]), sorted by
+ * target id, with the edge's severity ordinal and description index at the same
+ * positions in the parallel arrays. Every interaction is stored in both
+ * directions, so looking up a pair is one binary search in the first drug's
+ * row. Descriptions are deduplicated, since datasets repeat the same text for
+ * whole drug classes.
+ */
+final class DrugInteractionGraph {
+
+    private static final InteractionSeverity[] SEVERITIES = InteractionSeverity.values();
+
+    private final Map<String, Integer> ids;
+    private final String[] drugKeys;
+    private final int[] offsets;
+    private final int[] targets;
+    private final byte[] severities;
+    private final int[] descriptionIds;
+    private final String[] descriptions;
+
+    private DrugInteractionGraph(Map<String, Integer> ids, String[] drugKeys, int[] offsets, int[] targets,
+                                 byte[] severities, int[] descriptionIds, String[] descriptions) {
+        this.ids = ids;
+        this.drugKeys = drugKeys;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.severities = severities;
+        this.descriptionIds = descriptionIds;
+        this.descriptions = descriptions;
+    }
+
+    static DrugInteractionGraph empty() {
+        return new Builder().build();
+    }
+
+    /**
+     * Interned id of the drug, or -1 if the dataset does not know it
+     */
+    int idOf(String drugKey) {
+        Integer id = drugKey == null ? null : ids.get(drugKey);
+        return id == null ? -1 : id;
+    }
+
+    String drugKey(int id) {
+        return drugKeys[id];
+    }
+
+    /**
+     * Position of the a-b interaction in the edge arrays, or -1 if the pair does not interact
+     */
+    int edge(int a, int b) {
+        int index = Arrays.binarySearch(targets, offsets[a], offsets[a + 1], b);
+        return index >= 0 ? index : -1;
+    }
+
+    InteractionSeverity severity(int edge) {
+        return SEVERITIES[severities[edge]];
+    }
+
+    String description(int edge) {
+        return descriptions[descriptionIds[edge]];
+    }
+
+    int drugCount() {
+        return drugKeys.length;
+    }
+
+    /**
+     * Number of distinct interacting pairs
+     */
+    int interactionCount() {
+        return targets.length / 2;
+    }
+
+    /**
+     * Collects pairs and builds the graph. Repeated pairs keep the most severe entry.
+     */
+    static final class Builder {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> drugKeys = new ArrayList<>();
+        private final Map<String, Integer> descriptionIds = new HashMap<>();
+        private final List<String> descriptions = new ArrayList<>();
+        private final Map<Long, Integer> pairs = new HashMap<>();
+        private int[] from = new int[1024];
+        private int[] to = new int[1024];
+        private byte[] severity = new byte[1024];
+        private int[] description = new int[1024];
+        private int count = 0;
+
+        void add(String drugKeyA, String drugKeyB, InteractionSeverity level, String text) {
+            int a = intern(drugKeyA);
+            int b = intern(drugKeyB);
+            if (a == b) {
+                return;
+            }
+            int textId = descriptionIds.computeIfAbsent(text == null ? "" : text, key -> {
+                descriptions.add(key);
+                return descriptions.size() - 1;
+            });
+            long pair = ((long) Math.min(a, b) << 32) | Math.max(a, b);
+            Integer existing = pairs.get(pair);
+            if (existing != null) {
+                if (level.ordinal() > severity[existing]) {
+                    severity[existing] = (byte) level.ordinal();
+                    description[existing] = textId;
+                }
+                return;
+            }
+            if (count == from.length) {
+                int capacity = count * 2;
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                severity = Arrays.copyOf(severity, capacity);
+                description = Arrays.copyOf(description, capacity);
+            }
+            pairs.put(pair, count);
+            from[count] = a;
+            to[count] = b;
+            severity[count] = (byte) level.ordinal();
+            description[count] = textId;
+            count++;
+        }
+
+        DrugInteractionGraph build() {
+            int drugs = drugKeys.size();
+            int[] offsets = new int[drugs + 1];
+            for (int i = 0; i < count; i++) {
+                offsets[from[i] + 1]++;
+                offsets[to[i] + 1]++;
+            }
+            for (int d = 0; d < drugs; d++) {
+                offsets[d + 1] += offsets[d];
+            }
+
+            int[] next = Arrays.copyOf(offsets, drugs);
+            int[] edgeOf = new int[count * 2];
+            int[] targets = new int[count * 2];
+            for (int i = 0; i < count; i++) {
+                int forward = next[from[i]]++;
+                targets[forward] = to[i];
+                edgeOf[forward] = i;
+                int backward = next[to[i]]++;
+                targets[backward] = from[i];
+                edgeOf[backward] = i;
+            }
+
+            // Sort each row by target, carrying the source edge along in the low bits
+            byte[] severities = new byte[count * 2];
+            int[] descriptionIds = new int[count * 2];
+            for (int d = 0; d < drugs; d++) {
+                int start = offsets[d];
+                int end = offsets[d + 1];
+                long[] row = new long[end - start];
+                for (int i = start; i < end; i++) {
+                    row[i - start] = ((long) targets[i] << 32) | edgeOf[i];
+                }
+                Arrays.sort(row);
+                for (int i = start; i < end; i++) {
+                    long packed = row[i - start];
+                    int edge = (int) packed;
+                    targets[i] = (int) (packed >>> 32);
+                    severities[i] = severity[edge];
+                    descriptionIds[i] = description[edge];
+                }
+            }
+
+            return new DrugInteractionGraph(Map.copyOf(ids), drugKeys.toArray(new String[0]), offsets, targets,
+                    severities, descriptionIds, descriptions.toArray(new String[0]));
+        }
+
+        private int intern(String drugKey) {
+            return ids.computeIfAbsent(drugKey, key -> {
+                drugKeys.add(key);
+                return drugKeys.size() - 1;
+            });
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.healthcare.mvp.prescription.interaction;
+
+import com.healthcare.mvp.prescription.dto.DrugInteractionCheckDto;
+import com.healthcare.mvp.prescription.dto.DrugInteractionDto;
+import com.healthcare.mvp.prescription.entity.Medication;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Drug-drug interaction lookup over a local dataset file.
+ *
+ * The file is CSV - drug_a,drug_b,severity,description - with an optional
+ * header, '#' comments, and double quotes around fields that contain commas.
+ * Drug names are normalized like Medication.drugKey, so they match the
+ * drugKey stored on prescriptions.
+ *
+ * Checks read the current DrugInteractionGraph from an AtomicReference without
+ * locking. A background thread polls the file and, when it changes, builds a
+ * new graph on the side and publishes it with one reference swap: requests keep
+ * using the old graph until then and never wait for a reload. A file that fails
+ * to parse leaves the previous graph in place; replace the file atomically
+ * (write it elsewhere, then rename) so a reload never sees it half-written.
+ * Without a dataset the graph is empty and every drug is reported as
+ * unrecognized.
+ */
+@Component
+@Slf4j
+public class DrugInteractionIndex {
+
+    @Value("${app.prescription.interactions.dataset:./data/drug-interactions.csv}")
+    private String datasetPath;
+
+    @Value("${app.prescription.interactions.reload-check-seconds:30}")
+    private long reloadCheckSeconds;
+
+    private final AtomicReference<LoadedGraph> current =
+            new AtomicReference<>(new LoadedGraph(DrugInteractionGraph.empty(), null, -1, -1));
+    private ScheduledExecutorService watcher;
+    private Path dataset;
+    private volatile boolean missingReported = false;
+
+    @PostConstruct
+    public void start() {
+        dataset = Paths.get(datasetPath).toAbsolutePath().normalize();
+        reloadIfChanged();
+        watcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "drug-interaction-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        watcher.scheduleWithFixedDelay(this::reloadIfChanged, reloadCheckSeconds, reloadCheckSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        watcher.shutdownNow();
+    }
+
+    /**
+     * Interactions among the proposed drugs and between them and the patient's
+     * active drugs (drugKey to the prescription containing it)
+     */
+    public DrugInteractionCheckDto check(List<String> proposedDrugNames, Map<String, UUID> activeDrugs) {
+        LoadedGraph loaded = current.get();
+        DrugInteractionGraph graph = loaded.graph;
+
+        Map<String, String> proposed = new LinkedHashMap<>();
+        for (String name : proposedDrugNames) {
+            String key = Medication.drugKey(name);
+            if (key != null) {
+                proposed.putIfAbsent(key, name.trim());
+            }
+        }
+
+        List<String> unrecognized = new ArrayList<>();
+        int[] proposedIds = new int[proposed.size()];
+        String[] proposedNames = new String[proposed.size()];
+        int known = 0;
+        for (Map.Entry<String, String> drug : proposed.entrySet()) {
+            int id = graph.idOf(drug.getKey());
+            if (id < 0) {
+                unrecognized.add(drug.getValue());
+                continue;
+            }
+            proposedIds[known] = id;
+            proposedNames[known] = drug.getValue();
+            known++;
+        }
+
+        List<DrugInteractionDto> interactions = new ArrayList<>();
+        for (int i = 0; i < known; i++) {
+            for (int j = i + 1; j < known; j++) {
+                int edge = graph.edge(proposedIds[i], proposedIds[j]);
+                if (edge >= 0) {
+                    interactions.add(interaction(graph, edge, proposedNames[i], proposedNames[j], null));
+                }
+            }
+        }
+        for (Map.Entry<String, UUID> active : activeDrugs.entrySet()) {
+            int activeId = graph.idOf(active.getKey());
+            if (activeId < 0 || proposed.containsKey(active.getKey())) {
+                continue;
+            }
+            for (int i = 0; i < known; i++) {
+                int edge = graph.edge(proposedIds[i], activeId);
+                if (edge >= 0) {
+                    interactions.add(interaction(graph, edge, proposedNames[i], active.getKey(), active.getValue()));
+                }
+            }
+        }
+        interactions.sort(Comparator.comparing(DrugInteractionDto::getSeverity).reversed());
+
+        return DrugInteractionCheckDto.builder()
+                .interactions(interactions)
+                .highestSeverity(interactions.isEmpty() ? null : interactions.get(0).getSeverity())
+                .unrecognizedDrugs(unrecognized)
+                .datasetLoadedAt(loaded.loadedAt)
+                .build();
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private static DrugInteractionDto interaction(DrugInteractionGraph graph, int edge, String drug,
+                                                  String interactingDrug, UUID existingPrescriptionId) {
+        return DrugInteractionDto.builder()
+                .drug(drug)
+                .interactingDrug(interactingDrug)
+                .severity(graph.severity(edge))
+                .description(graph.description(edge))
+                .existingPrescriptionId(existingPrescriptionId)
+                .build();
+    }
+
+    /**
+     * Runs at startup and on the watcher thread
+     */
+    private void reloadIfChanged() {
+        try {
+            if (!Files.isRegularFile(dataset)) {
+                if (!missingReported) {
+                    missingReported = true;
+                    if (current.get().loadedAt == null) {
+                        log.warn("No drug interaction dataset at {}; every drug is reported as unrecognized", dataset);
+                    } else {
+                        log.warn("Drug interaction dataset {} disappeared; keeping the loaded one", dataset);
+                    }
+                }
+                return;
+            }
+            missingReported = false;
+            BasicFileAttributes attributes = Files.readAttributes(dataset, BasicFileAttributes.class);
+            long modified = attributes.lastModifiedTime().toMillis();
+            LoadedGraph loaded = current.get();
+            if (modified == loaded.modifiedMillis && attributes.size() == loaded.sizeBytes) {
+                return;
+            }
+
+            long startTime = System.currentTimeMillis();
+            DrugInteractionGraph graph = parse(dataset);
+            current.set(new LoadedGraph(graph, LocalDateTime.now(), modified, attributes.size()));
+            log.info("Drug interaction dataset loaded: {} drugs, {} interactions in {}ms",
+                    graph.drugCount(), graph.interactionCount(), System.currentTimeMillis() - startTime);
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not load drug interaction dataset {}; keeping the previous one: {}", dataset, e.getMessage(), e);
+        }
+    }
+
+    private static DrugInteractionGraph parse(Path file) throws IOException {
+        DrugInteractionGraph.Builder builder = new DrugInteractionGraph.Builder();
+        boolean firstRow = true;
+        int skipped = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                List<String> fields = splitCsv(line);
+                boolean header = firstRow && fields.get(0).trim().equalsIgnoreCase("drug_a");
+                firstRow = false;
+                if (header) {
+                    continue;
+                }
+                String drugA = fields.size() > 0 ? Medication.drugKey(fields.get(0)) : null;
+                String drugB = fields.size() > 1 ? Medication.drugKey(fields.get(1)) : null;
+                InteractionSeverity severity = fields.size() > 2 ? severity(fields.get(2)) : null;
+                if (drugA == null || drugB == null || severity == null) {
+                    skipped++;
+                    continue;
+                }
+                builder.add(drugA, drugB, severity, fields.size() > 3 ? fields.get(3).trim() : "");
+            }
+        }
+        if (skipped > 0) {
+            log.warn("Skipped {} malformed lines in drug interaction dataset {}", skipped, file);
+        }
+        return builder.build();
+    }
+
+    private static InteractionSeverity severity(String value) {
+        try {
+            return InteractionSeverity.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(4);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static final class LoadedGraph {
+        private final DrugInteractionGraph graph;
+        private final LocalDateTime loadedAt;
+        private final long modifiedMillis;
+        private final long sizeBytes;
+
+        private LoadedGraph(DrugInteractionGraph graph, LocalDateTime loadedAt, long modifiedMillis, long sizeBytes) {
+            this.graph = graph;
+            this.loadedAt = loadedAt;
+            this.modifiedMillis = modifiedMillis;
+            this.sizeBytes = sizeBytes;
+        }
+    }
+}
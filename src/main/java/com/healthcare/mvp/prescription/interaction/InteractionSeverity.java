@@ -0,0 +1,11 @@
+package com.healthcare.mvp.prescription.interaction;
+
+/**
+ * Clinical severity of a drug-drug interaction, mildest first
+ */
+public enum InteractionSeverity {
+    MINOR,
+    MODERATE,
+    MAJOR,
+    CONTRAINDICATED
+}
@@ -0,0 +1,33 @@
+package com.healthcare.mvp.prescription.pdf;
+
+import com.itextpdf.io.image.ImageData;
+
+import java.util.List;
+
+/**
+ * Printed header of one hospital's prescriptions. Cached by PrescriptionPdfAssets;
+ * the decoded logo is shared by every document that prints it.
+ */
+public final class HospitalLetterhead {
+    private final String hospitalName;
+    private final List<String> addressLines;
+    private final String contactLine;
+    private final String licenseNumber;
+    private final ImageData logo;
+
+    HospitalLetterhead(String hospitalName, List<String> addressLines, String contactLine,
+                       String licenseNumber, ImageData logo) {
+        this.hospitalName = hospitalName;
+        this.addressLines = List.copyOf(addressLines);
+        this.contactLine = contactLine;
+        this.licenseNumber = licenseNumber;
+        this.logo = logo;
+    }
+
+    // Getters
+    public String getHospitalName() { return hospitalName; }
+    public List<String> getAddressLines() { return addressLines; }
+    public String getContactLine() { return contactLine; }
+    public String getLicenseNumber() { return licenseNumber; }
+    public ImageData getLogo() { return logo; }
+}
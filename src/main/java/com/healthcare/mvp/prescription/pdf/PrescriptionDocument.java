@@ -0,0 +1,97 @@
+package com.healthcare.mvp.prescription.pdf;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Everything printed on a prescription, resolved and decrypted up front so
+ * rendering never touches the database or holds a connection.
+ */
+public final class PrescriptionDocument {
+    private final UUID prescriptionId;
+    private final UUID hospitalId;
+    private final String prescriptionNumber;
+    private final LocalDate prescriptionDate;
+    private final String patientName;
+    private final String patientMrn;
+    private final String patientAgeGender;
+    private final String doctorName;
+    private final String doctorQualification;
+    private final String doctorSpecialization;
+    private final String doctorLicenseNumber;
+    private final List<MedicationLine> medications;
+    private final String generalInstructions;
+    private final String dietaryInstructions;
+    private final LocalDate followUpDate;
+    private final LocalDateTime lastModified;
+
+    public PrescriptionDocument(UUID prescriptionId, UUID hospitalId, String prescriptionNumber,
+                                LocalDate prescriptionDate, String patientName, String patientMrn,
+                                String patientAgeGender, String doctorName, String doctorQualification,
+                                String doctorSpecialization, String doctorLicenseNumber,
+                                List<MedicationLine> medications, String generalInstructions,
+                                String dietaryInstructions, LocalDate followUpDate,
+                                LocalDateTime lastModified) {
+        this.prescriptionId = prescriptionId;
+        this.hospitalId = hospitalId;
+        this.prescriptionNumber = prescriptionNumber;
+        this.prescriptionDate = prescriptionDate;
+        this.patientName = patientName;
+        this.patientMrn = patientMrn;
+        this.patientAgeGender = patientAgeGender;
+        this.doctorName = doctorName;
+        this.doctorQualification = doctorQualification;
+        this.doctorSpecialization = doctorSpecialization;
+        this.doctorLicenseNumber = doctorLicenseNumber;
+        this.medications = List.copyOf(medications);
+        this.generalInstructions = generalInstructions;
+        this.dietaryInstructions = dietaryInstructions;
+        this.followUpDate = followUpDate;
+        this.lastModified = lastModified;
+    }
+
+    // Getters
+    public UUID getPrescriptionId() { return prescriptionId; }
+    public UUID getHospitalId() { return hospitalId; }
+    public String getPrescriptionNumber() { return prescriptionNumber; }
+    public LocalDate getPrescriptionDate() { return prescriptionDate; }
+    public String getPatientName() { return patientName; }
+    public String getPatientMrn() { return patientMrn; }
+    public String getPatientAgeGender() { return patientAgeGender; }
+    public String getDoctorName() { return doctorName; }
+    public String getDoctorQualification() { return doctorQualification; }
+    public String getDoctorSpecialization() { return doctorSpecialization; }
+    public String getDoctorLicenseNumber() { return doctorLicenseNumber; }
+    public List<MedicationLine> getMedications() { return medications; }
+    public String getGeneralInstructions() { return generalInstructions; }
+    public String getDietaryInstructions() { return dietaryInstructions; }
+    public LocalDate getFollowUpDate() { return followUpDate; }
+    public LocalDateTime getLastModified() { return lastModified; }
+
+    /**
+     * One row of the Rx table; any column may be null
+     */
+    public static final class MedicationLine {
+        private final String name;
+        private final String dosage;
+        private final String frequency;
+        private final String duration;
+        private final String instructions;
+
+        public MedicationLine(String name, String dosage, String frequency, String duration, String instructions) {
+            this.name = name;
+            this.dosage = dosage;
+            this.frequency = frequency;
+            this.duration = duration;
+            this.instructions = instructions;
+        }
+
+        public String getName() { return name; }
+        public String getDosage() { return dosage; }
+        public String getFrequency() { return frequency; }
+        public String getDuration() { return duration; }
+        public String getInstructions() { return instructions; }
+    }
+}
@@ -0,0 +1,97 @@
+package com.healthcare.mvp.prescription.pdf;
+
+import com.healthcare.mvp.doctor.entity.Doctor;
+import com.healthcare.mvp.doctor.repository.DoctorRepository;
+import com.healthcare.mvp.patient.dto.PatientDto;
+import com.healthcare.mvp.patient.service.PatientService;
+import com.healthcare.mvp.prescription.entity.Medication;
+import com.healthcare.mvp.prescription.entity.Prescription;
+import com.healthcare.mvp.prescription.pdf.PrescriptionDocument.MedicationLine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resolves a prescription into the PrescriptionDocument that gets printed:
+ * doctor and (decrypted) patient details, and the medications as table rows.
+ * Call inside a transaction; rendering afterwards needs none.
+ */
+@Component
+@RequiredArgsConstructor
+public class PrescriptionDocumentFactory {
+
+    private final DoctorRepository doctorRepository;
+    private final PatientService patientService;
+
+    /**
+     * Everything printed on the prescription
+     */
+    public PrescriptionDocument create(Prescription prescription) {
+        Doctor doctor = doctorRepository.findById(prescription.getDoctorId())
+                .orElseThrow(() -> new RuntimeException("Doctor not found with ID: " + prescription.getDoctorId()));
+        PatientDto patient = patientService.getPatientById(prescription.getPatientId())
+                .orElseThrow(() -> new RuntimeException("Patient not found with ID: " + prescription.getPatientId()));
+
+        String licenseNumber = doctor.getMedicalLicenseNumber() != null ? doctor.getMedicalLicenseNumber() : doctor.getLicenseNumber();
+        return new PrescriptionDocument(
+                prescription.getPrescriptionId(),
+                prescription.getHospitalId(),
+                prescription.getPrescriptionNumber(),
+                prescription.getPrescriptionDate(),
+                join(" ", patient.getFirstName(), patient.getLastName()),
+                patient.getMrn(),
+                ageAndGender(patient, prescription.getPrescriptionDate()),
+                "Dr. " + join(" ", doctor.getFirstName(), doctor.getLastName()),
+                doctor.getQualification(),
+                doctor.getSpecialization(),
+                licenseNumber,
+                medications(prescription),
+                prescription.getGeneralInstructions(),
+                prescription.getDietaryInstructions(),
+                prescription.getFollowUpDate(),
+                prescription.getUpdatedAt() != null ? prescription.getUpdatedAt() : prescription.getCreatedAt());
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    /**
+     * Rows of the medications list; the legacy single medication/dosage columns when it is empty
+     */
+    private static List<MedicationLine> medications(Prescription prescription) {
+        List<MedicationLine> lines = new ArrayList<>();
+        if (prescription.getMedications() != null) {
+            for (Medication medication : prescription.getMedications()) {
+                lines.add(new MedicationLine(
+                        medication.getName(),
+                        medication.getDosage(),
+                        medication.getFrequency(),
+                        medication.getDurationDays() == null ? null : medication.getDurationDays() + " days",
+                        join(", ", medication.getRoute(), medication.getInstructions())));
+            }
+        }
+        if (lines.isEmpty() && prescription.getMedication() != null && !prescription.getMedication().isBlank()) {
+            lines.add(new MedicationLine(prescription.getMedication(), prescription.getDosage(), null, null, null));
+        }
+        return lines;
+    }
+
+    private static String ageAndGender(PatientDto patient, LocalDate asOf) {
+        String age = patient.getDateOfBirth() == null ? null
+                : Period.between(patient.getDateOfBirth(), asOf == null ? LocalDate.now() : asOf).getYears() + " yrs";
+        return join(" / ", age, patient.getGender());
+    }
+
+    private static String join(String separator, String... parts) {
+        List<String> present = new ArrayList<>();
+        for (String part : parts) {
+            if (part != null && !part.isBlank()) {
+                present.add(part.trim());
+            }
+        }
+        return present.isEmpty() ? null : String.join(separator, present);
+    }
+}
@@ -0,0 +1,169 @@
+package com.healthcare.mvp.prescription.pdf;
+
+import com.healthcare.mvp.hospital.entity.Hospital;
+import com.healthcare.mvp.hospital.event.HospitalChangedEvent;
+import com.healthcare.mvp.hospital.repository.HospitalRepository;
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.image.ImageData;
+import com.itextpdf.io.image.ImageDataFactory;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parsed fonts and per-hospital letterheads, shared by every render.
+ *
+ * A PdfFont belongs to one document, but the FontProgram behind it - the
+ * parsed font file and its metrics - does not, so fonts are parsed once at
+ * startup and only wrapped per document. Letterheads (hospital details plus the
+ * decoded logo) are built on first use per hospital and dropped when the
+ * hospital changes; ImageData is likewise reusable across documents.
+ *
+ * Without configured font files the standard Helvetica pair is used, which PDF
+ * readers supply themselves, so nothing is embedded.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PrescriptionPdfAssets {
+
+    private static final String[] LOGO_EXTENSIONS = {"png", "jpg", "jpeg"};
+
+    private final HospitalRepository hospitalRepository;
+
+    @Value("${app.prescription.pdf.font-regular:}")
+    private String regularFontPath;
+
+    @Value("${app.prescription.pdf.font-bold:}")
+    private String boldFontPath;
+
+    @Value("${app.prescription.pdf.logo-dir:./data/hospital-logos}")
+    private String logoDir;
+
+    private final Map<UUID, HospitalLetterhead> letterheads = new ConcurrentHashMap<>();
+    private FontProgram regularFont;
+    private FontProgram boldFont;
+    private boolean embedded;
+
+    @PostConstruct
+    public void loadFonts() {
+        try {
+            embedded = !regularFontPath.isBlank() && !boldFontPath.isBlank();
+            regularFont = embedded ? FontProgramFactory.createFont(regularFontPath)
+                    : FontProgramFactory.createFont(StandardFonts.HELVETICA);
+            boldFont = embedded ? FontProgramFactory.createFont(boldFontPath)
+                    : FontProgramFactory.createFont(StandardFonts.HELVETICA_BOLD);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load prescription fonts", e);
+        }
+        log.info("Prescription PDF fonts loaded ({})", embedded ? regularFontPath + ", " + boldFontPath : "standard Helvetica");
+    }
+
+    /**
+     * Regular font bound to one document
+     */
+    public PdfFont regular() {
+        return wrap(regularFont);
+    }
+
+    /**
+     * Bold font bound to one document
+     */
+    public PdfFont bold() {
+        return wrap(boldFont);
+    }
+
+    /**
+     * Whether configured font files are embedded, as PDF/A requires
+     */
+    public boolean isEmbedded() {
+        return embedded;
+    }
+
+    /**
+     * Letterhead of the hospital, built once and cached
+     */
+    public HospitalLetterhead letterhead(UUID hospitalId) {
+        return letterheads.computeIfAbsent(hospitalId, this::buildLetterhead);
+    }
+
+    /**
+     * Drop the cached letterhead after hospital writes commit
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHospitalChanged(HospitalChangedEvent event) {
+        letterheads.remove(event.getHospital().getHospitalId());
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private PdfFont wrap(FontProgram program) {
+        return embedded
+                ? PdfFontFactory.createFont(program, PdfEncodings.IDENTITY_H, PdfFontFactory.EmbeddingStrategy.FORCE_EMBEDDED)
+                : PdfFontFactory.createFont(program, PdfEncodings.WINANSI, PdfFontFactory.EmbeddingStrategy.FORCE_NOT_EMBEDDED);
+    }
+
+    private HospitalLetterhead buildLetterhead(UUID hospitalId) {
+        Hospital hospital = hospitalRepository.findByHospitalId(hospitalId)
+                .orElseThrow(() -> new RuntimeException("Hospital not found with ID: " + hospitalId));
+
+        List<String> addressLines = new ArrayList<>();
+        addIfPresent(addressLines, hospital.getAddress());
+        addIfPresent(addressLines, join(", ", hospital.getCity(), hospital.getState(), hospital.getPostalCode()));
+        String contact = join("  |  ",
+                hospital.getPhoneNumber() == null ? null : "Phone: " + hospital.getPhoneNumber(),
+                hospital.getEmail(),
+                hospital.getWebsite());
+
+        return new HospitalLetterhead(hospital.getHospitalName(), addressLines, contact,
+                hospital.getLicenseNumber(), loadLogo(hospitalId));
+    }
+
+    private ImageData loadLogo(UUID hospitalId) {
+        for (String extension : LOGO_EXTENSIONS) {
+            Path logo = Paths.get(logoDir, hospitalId + "." + extension);
+            if (Files.isRegularFile(logo)) {
+                try {
+                    return ImageDataFactory.create(Files.readAllBytes(logo));
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Ignoring unreadable logo {} for hospital {}: {}", logo, hospitalId, e.getMessage());
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void addIfPresent(List<String> lines, String value) {
+        if (value != null && !value.isBlank()) {
+            lines.add(value.trim());
+        }
+    }
+
+    private static String join(String separator, String... parts) {
+        List<String> present = new ArrayList<>();
+        for (String part : parts) {
+            addIfPresent(present, part);
+        }
+        return present.isEmpty() ? null : String.join(separator, present);
+    }
+}
@@ -0,0 +1,244 @@
+package com.healthcare.mvp.prescription.pdf;
+
+import com.itextpdf.kernel.colors.ColorConstants;
+import com.itextpdf.kernel.colors.DeviceRgb;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.CompressionConstants;
+import com.itextpdf.kernel.pdf.PdfAConformanceLevel;
+import com.itextpdf.kernel.pdf.PdfDate;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfDocumentInfo;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfOutputIntent;
+import com.itextpdf.kernel.pdf.PdfString;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import com.itextpdf.kernel.pdf.canvas.draw.SolidLine;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.borders.Border;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Image;
+import com.itextpdf.layout.element.LineSeparator;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.element.Text;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.UnitValue;
+import com.itextpdf.layout.properties.VerticalAlignment;
+import com.itextpdf.pdfa.PdfADocument;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Lays out one prescription with iText and writes it to the given stream.
+ *
+ * The document is flushed page by page as it is laid out, so nothing larger
+ * than a page is buffered regardless of how many medications are listed. The
+ * caller owns the stream; it is left open.
+ *
+ * Output is deterministic: the document dates and trailer ID are derived from
+ * the prescription's last modification instead of the clock and a random
+ * value, so rendering unchanged data yields identical bytes, which the
+ * content-addressed archive stores once.
+ */
+@Component
+@RequiredArgsConstructor
+public class PrescriptionPdfRenderer {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd MMM yyyy", Locale.ENGLISH);
+    private static final DeviceRgb ACCENT = new DeviceRgb(0x1F, 0x4E, 0x79);
+    private static final DeviceRgb HEADER_FILL = new DeviceRgb(0xE8, 0xEE, 0xF4);
+    private static final float[] MEDICATION_COLUMNS = {4, 30, 16, 18, 12, 20};
+
+    private final PrescriptionPdfAssets assets;
+
+    public void render(PrescriptionDocument prescription, HospitalLetterhead letterhead, OutputStream out) {
+        layout(new PdfDocument(writer(prescription, out)), prescription, letterhead);
+    }
+
+    /**
+     * PDF/A-2b rendition for the signed archive. Needs embedded fonts and the
+     * sRGB ICC profile for the output intent.
+     */
+    public void renderArchival(PrescriptionDocument prescription, HospitalLetterhead letterhead,
+                               byte[] iccProfile, OutputStream out) {
+        if (!assets.isEmbedded()) {
+            throw new IllegalStateException("PDF/A needs embedded fonts; set app.prescription.pdf.font-regular and font-bold");
+        }
+        PdfOutputIntent outputIntent = new PdfOutputIntent("Custom", "", "http://www.color.org",
+                "sRGB IEC61966-2.1", new ByteArrayInputStream(iccProfile));
+        layout(new PdfADocument(writer(prescription, out), PdfAConformanceLevel.PDF_A_2B, outputIntent),
+                prescription, letterhead);
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private static PdfWriter writer(PrescriptionDocument prescription, OutputStream out) {
+        PdfString documentId = documentId(prescription);
+        PdfWriter writer = new PdfWriter(out, new WriterProperties()
+                .setCompressionLevel(CompressionConstants.DEFAULT_COMPRESSION)
+                .setFullCompressionMode(true)
+                .setInitialDocumentId(documentId)
+                .setModifiedDocumentId(documentId));
+        writer.setCloseStream(false);
+        return writer;
+    }
+
+    private void layout(PdfDocument pdf, PrescriptionDocument prescription, HospitalLetterhead letterhead) {
+        PdfDocumentInfo info = pdf.getDocumentInfo();
+        info.setTitle("Prescription " + prescription.getPrescriptionNumber());
+        info.setAuthor(prescription.getDoctorName());
+        info.setCreator(letterhead.getHospitalName());
+        if (prescription.getLastModified() != null) {
+            String date = new PdfDate(GregorianCalendar.from(prescription.getLastModified().atZone(ZoneOffset.UTC)))
+                    .getPdfObject().getValue();
+            info.setMoreInfo(PdfName.CreationDate.getValue(), date);
+            info.setMoreInfo(PdfName.ModDate.getValue(), date);
+        }
+
+        try (Document document = new Document(pdf, PageSize.A4)) {
+            document.setMargins(36, 36, 48, 36);
+            PdfFont regular = assets.regular();
+            PdfFont bold = assets.bold();
+            document.setFont(regular).setFontSize(10);
+
+            document.add(header(letterhead, bold));
+            SolidLine rule = new SolidLine(1f);
+            rule.setColor(ACCENT);
+            document.add(new LineSeparator(rule).setMarginBottom(8));
+            document.add(details(prescription, bold));
+
+            document.add(new Paragraph("Rx").setFont(bold).setFontSize(16).setFontColor(ACCENT).setMarginTop(12).setMarginBottom(4));
+            document.add(medications(prescription.getMedications(), bold));
+
+            addSection(document, bold, "General instructions", prescription.getGeneralInstructions());
+            addSection(document, bold, "Dietary instructions", prescription.getDietaryInstructions());
+            if (prescription.getFollowUpDate() != null) {
+                addSection(document, bold, "Follow-up", format(prescription.getFollowUpDate()));
+            }
+
+            document.add(signature(prescription, bold));
+        }
+    }
+
+    private static PdfString documentId(PrescriptionDocument prescription) {
+        ByteBuffer id = ByteBuffer.allocate(16);
+        id.putLong(prescription.getPrescriptionId().getMostSignificantBits());
+        id.putLong(prescription.getPrescriptionId().getLeastSignificantBits()
+                ^ (prescription.getLastModified() == null ? 0 : prescription.getLastModified().toEpochSecond(ZoneOffset.UTC)));
+        return new PdfString(id.array()).setHexWriting(true);
+    }
+
+    private static Table header(HospitalLetterhead letterhead, PdfFont bold) {
+        Table table = new Table(UnitValue.createPercentArray(new float[]{18, 82})).useAllAvailableWidth();
+        Cell logoCell = new Cell().setBorder(Border.NO_BORDER).setVerticalAlignment(VerticalAlignment.MIDDLE);
+        if (letterhead.getLogo() != null) {
+            logoCell.add(new Image(letterhead.getLogo()).scaleToFit(80, 60));
+        }
+        table.addCell(logoCell);
+
+        Cell text = new Cell().setBorder(Border.NO_BORDER).setTextAlignment(TextAlignment.RIGHT);
+        text.add(new Paragraph(letterhead.getHospitalName()).setFont(bold).setFontSize(16).setFontColor(ACCENT));
+        for (String line : letterhead.getAddressLines()) {
+            text.add(new Paragraph(line).setFontSize(9).setMargin(0));
+        }
+        if (letterhead.getContactLine() != null) {
+            text.add(new Paragraph(letterhead.getContactLine()).setFontSize(9).setMargin(0));
+        }
+        if (letterhead.getLicenseNumber() != null) {
+            text.add(new Paragraph("Reg. No. " + letterhead.getLicenseNumber()).setFontSize(8).setMargin(0)
+                    .setFontColor(ColorConstants.DARK_GRAY));
+        }
+        table.addCell(text);
+        return table;
+    }
+
+    private static Table details(PrescriptionDocument prescription, PdfFont bold) {
+        Table table = new Table(UnitValue.createPercentArray(new float[]{50, 50})).useAllAvailableWidth();
+        table.addCell(detailCell(bold, "Patient", prescription.getPatientName(),
+                join(prescription.getPatientAgeGender(), prescription.getPatientMrn() == null ? null : "MRN " + prescription.getPatientMrn())));
+        table.addCell(detailCell(bold, "Prescription", prescription.getPrescriptionNumber(),
+                format(prescription.getPrescriptionDate())));
+        table.addCell(detailCell(bold, "Doctor", prescription.getDoctorName(),
+                join(prescription.getDoctorQualification(), prescription.getDoctorSpecialization())));
+        table.addCell(detailCell(bold, "License", prescription.getDoctorLicenseNumber(), null));
+        return table;
+    }
+
+    private static Cell detailCell(PdfFont bold, String label, String value, String detail) {
+        Paragraph paragraph = new Paragraph()
+                .add(new Text(label + ": ").setFont(bold))
+                .add(new Text(value == null ? "-" : value))
+                .setMargin(0);
+        Cell cell = new Cell().setBorder(Border.NO_BORDER).setPaddingBottom(4).add(paragraph);
+        if (detail != null) {
+            cell.add(new Paragraph(detail).setFontSize(9).setFontColor(ColorConstants.DARK_GRAY).setMargin(0));
+        }
+        return cell;
+    }
+
+    private static Table medications(List<PrescriptionDocument.MedicationLine> medications, PdfFont bold) {
+        Table table = new Table(UnitValue.createPercentArray(MEDICATION_COLUMNS)).useAllAvailableWidth();
+        for (String heading : new String[]{"#", "Medicine", "Dosage", "Frequency", "Duration", "Instructions"}) {
+            table.addHeaderCell(new Cell().add(new Paragraph(heading).setFont(bold).setFontSize(9))
+                    .setBackgroundColor(HEADER_FILL));
+        }
+        if (medications.isEmpty()) {
+            table.addCell(new Cell(1, MEDICATION_COLUMNS.length).add(new Paragraph("No medications listed").setFontSize(9)));
+            return table;
+        }
+        int number = 1;
+        for (PrescriptionDocument.MedicationLine medication : medications) {
+            table.addCell(bodyCell(String.valueOf(number++)));
+            table.addCell(bodyCell(medication.getName()).setFont(bold));
+            table.addCell(bodyCell(medication.getDosage()));
+            table.addCell(bodyCell(medication.getFrequency()));
+            table.addCell(bodyCell(medication.getDuration()));
+            table.addCell(bodyCell(medication.getInstructions()));
+        }
+        return table;
+    }
+
+    private static Cell bodyCell(String value) {
+        return new Cell().add(new Paragraph(value == null ? "" : value).setFontSize(9));
+    }
+
+    private static void addSection(Document document, PdfFont bold, String title, String body) {
+        if (body == null || body.isBlank()) {
+            return;
+        }
+        document.add(new Paragraph(title).setFont(bold).setFontSize(10).setMarginTop(10).setMarginBottom(2));
+        document.add(new Paragraph(body.trim()).setFontSize(9));
+    }
+
+    private static Paragraph signature(PrescriptionDocument prescription, PdfFont bold) {
+        return new Paragraph()
+                .add(new Text(prescription.getDoctorName() == null ? "" : prescription.getDoctorName()).setFont(bold))
+                .add("\n")
+                .add(new Text("Electronically generated prescription").setFontSize(8).setFontColor(ColorConstants.DARK_GRAY))
+                .setTextAlignment(TextAlignment.RIGHT)
+                .setMarginTop(36);
+    }
+
+    private static String format(LocalDate date) {
+        return date == null ? null : date.format(DATE_FORMAT);
+    }
+
+    private static String join(String first, String second) {
+        if (first == null || first.isBlank()) {
+            return second;
+        }
+        return second == null || second.isBlank() ? first : first + "  |  " + second;
+    }
+}
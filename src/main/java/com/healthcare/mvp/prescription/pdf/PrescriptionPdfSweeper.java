@@ -0,0 +1,101 @@
+package com.healthcare.mvp.prescription.pdf;
+
+import com.healthcare.mvp.prescription.repository.PrescriptionRepository;
+import com.healthcare.mvp.shared.storage.BlobStore;
+import com.healthcare.mvp.shared.tenant.TenantShardFanout;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletes archived prescription PDFs no prescription points to any more -
+ * left behind when a prescription is re-rendered after an edit.
+ *
+ * Runs periodically on one daemon thread. Only blobs older than the grace
+ * period are candidates, which covers the gap between a render storing its
+ * blob and the prescription recording the key. Candidates are checked against
+ * every shard in batches, so memory stays bounded by the batch size rather
+ * than the number of prescriptions.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PrescriptionPdfSweeper {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final BlobStore prescriptionPdfStore;
+    private final PrescriptionRepository prescriptionRepository;
+    private final TenantShardFanout shardFanout;
+
+    @Value("${app.prescription.pdf.gc-interval-minutes:360}")
+    private long intervalMinutes;
+
+    @Value("${app.prescription.pdf.gc-grace-minutes:60}")
+    private long graceMinutes;
+
+    private ScheduledExecutorService scheduler;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "prescription-pdf-sweep");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::sweepQuietly, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Delete unreferenced PDFs older than the grace period; returns how many were deleted
+     */
+    public int sweep() throws IOException {
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(graceMinutes));
+        List<String> candidates = prescriptionPdfStore.keysOlderThan(cutoff);
+        int deleted = 0;
+        for (int from = 0; from < candidates.size(); from += BATCH_SIZE) {
+            List<String> batch = candidates.subList(from, Math.min(from + BATCH_SIZE, candidates.size()));
+            Set<String> referenced = new HashSet<>();
+            shardFanout.onEachShard(shard -> prescriptionRepository.findReferencedPdfKeys(batch))
+                    .values().forEach(referenced::addAll);
+            for (String key : batch) {
+                if (!referenced.contains(key) && prescriptionPdfStore.deleteIfOlderThan(key, cutoff)) {
+                    deleted++;
+                }
+            }
+        }
+        log.info("Prescription PDF sweep checked {} blobs, deleted {}", candidates.size(), deleted);
+        return deleted;
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private void sweepQuietly() {
+        try {
+            sweep();
+        } catch (Exception e) {
+            log.warn("Prescription PDF sweep failed: {}", e.getMessage(), e);
+        }
+    }
+}
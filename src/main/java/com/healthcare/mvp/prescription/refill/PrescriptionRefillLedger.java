@@ -0,0 +1,153 @@
+package com.healthcare.mvp.prescription.refill;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * SQL behind the refill scheduler: the prescription_refill delay queue and the
+ * scan checkpoint.
+ *
+ * Every statement runs on the shard of the calling thread's TenantContext, so
+ * callers pick the shard and the transaction. The excluded hospitals are the
+ * tenants the directory assigns to another shard: rows of theirs left here by a
+ * move are never scheduled, fired or waited for. Writes also skip tenants a move
+ * has fenced on this shard (tenant_write_fenced), and hold off the move's
+ * cutover for the tenants they write until the transaction ends.
+ */
+@Component
+@RequiredArgsConstructor
+class PrescriptionRefillLedger {
+
+    static final String SCAN_JOB_NAME = "prescription-refill-scan";
+    // Arbitrary constant shared by every node; only the scan takes this lock
+    private static final long SCAN_LOCK_KEY = 0x52454649_4c4c5343L;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Take the shard's scan lock for the rest of the transaction; false if another node holds it
+     */
+    boolean tryLockScan() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, SCAN_LOCK_KEY));
+    }
+
+    /**
+     * Schedule a refill for each medication with a duration on active prescriptions created since
+     * the given time. Due leadDays before the supply runs out, at reminderHour; durations of
+     * leadDays or less, and supplies already run out, get none. Already scheduled medications are
+     * left alone.
+     */
+    int scheduleRefills(LocalDateTime createdSince, int leadDays, int reminderHour, UUID[] excludedHospitals) {
+        return jdbcTemplate.update(
+                "INSERT INTO prescription_refill (refill_id, prescription_id, hospital_id, medication_name, drug_key, " +
+                "supply_ends_on, due_at, status, created_at) " +
+                "SELECT gen_random_uuid(), p.prescription_id, p.hospital_id, COALESCE(m->>'name', m->>'drugKey'), " +
+                "m->>'drugKey', p.prescription_date + d.days, " +
+                "(p.prescription_date + d.days - ?) + make_interval(hours => ?), 'SCHEDULED', CURRENT_TIMESTAMP " +
+                "FROM prescription p " +
+                "CROSS JOIN LATERAL jsonb_array_elements(p.medications) m " +
+                "CROSS JOIN LATERAL (SELECT CASE WHEN jsonb_typeof(m->'durationDays') = 'number' " +
+                "THEN floor((m->>'durationDays')::numeric)::int ELSE 0 END AS days) d " +
+                "WHERE p.created_at >= ? AND p.is_active = true AND p.hospital_id <> ALL (?) " +
+                "AND NOT tenant_write_fenced(p.hospital_id) " +
+                "AND m->>'drugKey' IS NOT NULL AND d.days > ? AND p.prescription_date + d.days >= CURRENT_DATE " +
+                "ON CONFLICT (prescription_id, drug_key) DO NOTHING",
+                leadDays, reminderHour, Timestamp.valueOf(createdSince), excludedHospitals, leadDays);
+    }
+
+    /**
+     * Cancel due refills whose prescription is gone or no longer active
+     */
+    int cancelOrphanedDue(UUID[] excludedHospitals) {
+        return jdbcTemplate.update(
+                "UPDATE prescription_refill r SET status = 'CANCELLED', updated_at = CURRENT_TIMESTAMP " +
+                "WHERE r.status = 'SCHEDULED' AND r.due_at <= CURRENT_TIMESTAMP AND r.hospital_id <> ALL (?) " +
+                "AND NOT tenant_write_fenced(r.hospital_id) AND NOT EXISTS (SELECT 1 FROM prescription p WHERE p.prescription_id = r.prescription_id " +
+                "AND p.is_active = true)",
+                (Object) excludedHospitals);
+    }
+
+    /**
+     * Lock up to limit due refills, oldest first, skipping those another node has locked. The rest of
+     * the transaction may write for their hospitals: the fence check keeps a cutover waiting until it ends.
+     */
+    List<DueRefill> claimDue(int limit, UUID[] excludedHospitals) {
+        return jdbcTemplate.query(
+                "SELECT r.refill_id, r.hospital_id, r.prescription_id, p.patient_id, r.medication_name, r.supply_ends_on " +
+                "FROM prescription_refill r JOIN prescription p ON p.prescription_id = r.prescription_id " +
+                "WHERE r.status = 'SCHEDULED' AND r.due_at <= CURRENT_TIMESTAMP AND p.is_active = true " +
+                "AND r.hospital_id <> ALL (?) AND NOT tenant_write_fenced(r.hospital_id) " +
+                "ORDER BY r.due_at LIMIT ? FOR UPDATE OF r SKIP LOCKED",
+                (rs, rowNum) -> new DueRefill(
+                        rs.getObject("refill_id", UUID.class),
+                        rs.getObject("hospital_id", UUID.class),
+                        rs.getObject("prescription_id", UUID.class),
+                        rs.getObject("patient_id", UUID.class),
+                        rs.getString("medication_name"),
+                        rs.getDate("supply_ends_on").toLocalDate()),
+                excludedHospitals, limit);
+    }
+
+    void markFired(UUID refillId) {
+        jdbcTemplate.update(
+                "UPDATE prescription_refill SET status = 'FIRED', fired_at = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP " +
+                "WHERE refill_id = ?",
+                refillId);
+    }
+
+    /**
+     * When the earliest scheduled refill is due, or null if none is scheduled
+     */
+    LocalDateTime nextDue(UUID[] excludedHospitals) {
+        Timestamp next = jdbcTemplate.queryForObject(
+                "SELECT MIN(due_at) FROM prescription_refill WHERE status = 'SCHEDULED' AND hospital_id <> ALL (?)",
+                Timestamp.class, (Object) excludedHospitals);
+        return next == null ? null : next.toLocalDateTime();
+    }
+
+    /**
+     * Start time of the last completed scan, or null before the first
+     */
+    LocalDateTime loadScanCursor() {
+        List<String> keys = jdbcTemplate.queryForList(
+                "SELECT last_key FROM batch_job_checkpoint WHERE job_name = ?", String.class, SCAN_JOB_NAME);
+        return keys.isEmpty() || keys.get(0) == null ? null : LocalDateTime.parse(keys.get(0));
+    }
+
+    void saveScanCursor(LocalDateTime scanStartedAt, long scheduled) {
+        jdbcTemplate.update(
+                "INSERT INTO batch_job_checkpoint (job_name, last_key, pass_started_at, processed, updated_at) " +
+                "VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP) " +
+                "ON CONFLICT (job_name) DO UPDATE SET last_key = EXCLUDED.last_key, " +
+                "pass_started_at = EXCLUDED.pass_started_at, " +
+                "processed = batch_job_checkpoint.processed + EXCLUDED.processed, updated_at = CURRENT_TIMESTAMP",
+                SCAN_JOB_NAME, scanStartedAt.toString(), Timestamp.valueOf(scanStartedAt), scheduled);
+    }
+
+    static final class DueRefill {
+        final UUID refillId;
+        final UUID hospitalId;
+        final UUID prescriptionId;
+        final UUID patientId;
+        final String medicationName;
+        final LocalDate supplyEndsOn;
+
+        private DueRefill(UUID refillId, UUID hospitalId, UUID prescriptionId, UUID patientId,
+                          String medicationName, LocalDate supplyEndsOn) {
+            this.refillId = refillId;
+            this.hospitalId = hospitalId;
+            this.prescriptionId = prescriptionId;
+            this.patientId = patientId;
+            this.medicationName = medicationName;
+            this.supplyEndsOn = supplyEndsOn;
+        }
+    }
+}
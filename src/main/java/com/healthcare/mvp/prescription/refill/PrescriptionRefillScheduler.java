@@ -0,0 +1,238 @@
+package com.healthcare.mvp.prescription.refill;
+
+import com.healthcare.mvp.notification.entity.Notification;
+import com.healthcare.mvp.notification.repository.NotificationRepository;
+import com.healthcare.mvp.pharmacy.queue.PharmacyJobQueue;
+import com.healthcare.mvp.pharmacy.queue.PharmacyJobSignal;
+import com.healthcare.mvp.shared.tenant.TenantContext;
+import com.healthcare.mvp.shared.tenant.TenantRoutingDataSource;
+import com.healthcare.mvp.shared.tenant.TenantShardDirectory;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Refill reminders and the pharmacy queue's feed, run on every node.
+ *
+ * Each tick, per shard:
+ * - New prescriptions are scanned by creation time, under an advisory lock so
+ *   one node scans a shard at a time. Each medication with a duration gets a
+ *   prescription_refill row due lead-days before its supply runs out, and each
+ *   prescription gets a pharmacy FILL job. Both inserts are idempotent, so the
+ *   scan window overlaps the previous one to catch late commits.
+ * - Claims whose lease ran out go back to the pharmacy queue.
+ * - Due refills are locked with FOR UPDATE SKIP LOCKED, so nodes firing at once
+ *   split the work. In the same transaction each one becomes a patient
+ *   notification and a REFILL job, and is marked fired.
+ *
+ * Tenants the directory assigns to another shard are left out of every step,
+ * so the copy a move leaves on its source shard sends no reminders and queues
+ * no jobs.
+ *
+ * The next tick is scheduled for the earliest due refill, but no later than the
+ * scan interval. Due dates are days apart, so an idle node wakes about once per
+ * scan interval rather than polling the delay queue.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PrescriptionRefillScheduler {
+
+    private static final long SCAN_OVERLAP_MINUTES = 5;
+    private static final long MIN_TICK_MILLIS = 1000;
+
+    private final PrescriptionRefillLedger ledger;
+    private final PharmacyJobQueue jobQueue;
+    private final PharmacyJobSignal jobSignal;
+    private final NotificationRepository notificationRepository;
+    private final TenantRoutingDataSource routingDataSource;
+    private final TenantShardDirectory shardDirectory;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.prescription.refill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.prescription.refill.lead-days:3}")
+    private int leadDays;
+
+    @Value("${app.prescription.refill.reminder-hour:9}")
+    private int reminderHour;
+
+    @Value("${app.prescription.refill.scan-interval-seconds:60}")
+    private long scanIntervalSeconds;
+
+    @Value("${app.prescription.refill.initial-lookback-days:90}")
+    private long initialLookbackDays;
+
+    @Value("${app.prescription.refill.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.prescription.refill.notification-type:PUSH}")
+    private String notificationType;
+
+    @Value("${app.pharmacy.queue.max-attempts:3}")
+    private int maxAttempts;
+
+    private ScheduledExecutorService ticker;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "prescription-refill");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.schedule(this::tick, jitter(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    /**
+     * Runs on the ticker thread and schedules the next tick
+     */
+    private void tick() {
+        long delayMillis = scanIntervalSeconds * 1000;
+        try {
+            for (String shard : routingDataSource.getShardKeys()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+                // One shard's failure must not hold back the others; it is retried next tick
+                try {
+                    long shardDelay = TenantContext.callOnShard(shard, () -> runShard(shard));
+                    delayMillis = Math.min(delayMillis, shardDelay);
+                } catch (RuntimeException e) {
+                    log.error("Prescription refill tick failed on shard {}: {}", shard, e.getMessage(), e);
+                }
+            }
+        } finally {
+            if (!ticker.isShutdown()) {
+                ticker.schedule(this::tick, Math.max(delayMillis, MIN_TICK_MILLIS) + jitter(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Milliseconds until this shard next needs a tick
+     */
+    private long runShard(String shard) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        UUID[] servedElsewhere = shardDirectory.tenantsServedElsewhere(shard);
+
+        List<UUID> filled = transaction.execute(status -> scanNewPrescriptions(shard, servedElsewhere));
+        signal(filled);
+
+        signal(transaction.execute(status -> jobQueue.requeueExpired(maxAttempts, servedElsewhere)));
+
+        int fired;
+        do {
+            List<UUID> reminded = transaction.execute(status -> fireDueRefills(servedElsewhere));
+            signal(reminded);
+            fired = reminded == null ? 0 : reminded.size();
+            if (fired > 0) {
+                log.info("Fired {} prescription refill reminders on shard {}", fired, shard);
+            }
+        } while (fired == batchSize && !Thread.currentThread().isInterrupted());
+
+        LocalDateTime nextDue = transaction.execute(status -> ledger.nextDue(servedElsewhere));
+        return nextDue == null ? Long.MAX_VALUE : Duration.between(LocalDateTime.now(), nextDue).toMillis();
+    }
+
+    /**
+     * Returns the hospital of each FILL job queued
+     */
+    private List<UUID> scanNewPrescriptions(String shard, UUID[] servedElsewhere) {
+        if (!ledger.tryLockScan()) {
+            return List.of();
+        }
+        LocalDateTime scanStartedAt = LocalDateTime.now();
+        LocalDateTime cursor = ledger.loadScanCursor();
+        LocalDateTime since = (cursor == null ? scanStartedAt : cursor).minusMinutes(SCAN_OVERLAP_MINUTES);
+        // The first scan also schedules refills for older prescriptions still being taken,
+        // but only queues fills from now on: earlier prescriptions were dispensed without the queue
+        LocalDateTime refillsSince = cursor == null ? scanStartedAt.minusDays(initialLookbackDays) : since;
+
+        int scheduled = ledger.scheduleRefills(refillsSince, leadDays, reminderHour, servedElsewhere);
+        List<UUID> filled = jobQueue.enqueueFills(since, servedElsewhere);
+        ledger.saveScanCursor(scanStartedAt, scheduled);
+        if (scheduled > 0 || !filled.isEmpty()) {
+            log.info("Shard {}: scheduled {} refills and queued {} fills for new prescriptions",
+                    shard, scheduled, filled.size());
+        }
+        return filled;
+    }
+
+    /**
+     * One batch of due refills; returns the hospital of each refill fired
+     */
+    private List<UUID> fireDueRefills(UUID[] servedElsewhere) {
+        int cancelled = ledger.cancelOrphanedDue(servedElsewhere);
+        if (cancelled > 0) {
+            log.info("Cancelled {} refill reminders of inactive prescriptions", cancelled);
+        }
+
+        List<PrescriptionRefillLedger.DueRefill> due = ledger.claimDue(batchSize, servedElsewhere);
+        List<Notification> notifications = new ArrayList<>(due.size());
+        List<UUID> queued = new ArrayList<>(due.size());
+        for (PrescriptionRefillLedger.DueRefill refill : due) {
+            Notification notification = new Notification();
+            notification.setNotificationId(UUID.randomUUID());
+            notification.setHospitalId(refill.hospitalId);
+            notification.setRecipientId(refill.patientId);
+            notification.setRecipientType("PATIENT");
+            notification.setNotificationType(notificationType);
+            notification.setMessage("Your supply of " + refill.medicationName + " runs out on " + refill.supplyEndsOn
+                    + ". Contact your pharmacy to refill it.");
+            notification.setStatus("PENDING");
+            notifications.add(notification);
+
+            jobQueue.enqueueRefill(refill.hospitalId, refill.prescriptionId, refill.refillId, refill.medicationName);
+            ledger.markFired(refill.refillId);
+            queued.add(refill.hospitalId);
+        }
+        notificationRepository.saveAll(notifications);
+        return queued;
+    }
+
+    private void signal(List<UUID> hospitalIds) {
+        if (hospitalIds == null) {
+            return;
+        }
+        for (UUID hospitalId : hospitalIds) {
+            jobSignal.jobsAdded(hospitalId, 1);
+        }
+    }
+
+    /**
+     * Spreads ticks so nodes started together do not query in lockstep
+     */
+    private static long jitter() {
+        return ThreadLocalRandom.current().nextLong(MIN_TICK_MILLIS);
+    }
+}
@@ -1,16 +1,151 @@
 package com.healthcare.mvp.prescription.repository;
 
+import com.healthcare.mvp.prescription.dto.PrescriptionSummaryDto;
 import com.healthcare.mvp.prescription.entity.Prescription;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface PrescriptionRepository extends JpaRepository<Prescription, UUID> {
 
-    List<Prescription> findByDoctorIdAndIsActive(UUID doctorId, boolean isActive);
+    String SUMMARY_SELECT = "SELECT new com.healthcare.mvp.prescription.dto.PrescriptionSummaryDto(" +
+            "p.prescriptionId, p.patientId, p.doctorId, p.hospitalId, p.prescriptionDate, p.prescriptionNumber, " +
+            "p.status, p.followUpDate, p.isActive) FROM Prescription p ";
 
-    List<Prescription> findByPatientIdAndIsActive(UUID patientId, boolean isActive);
-}
\ No newline at end of file
+    String HISTORY_FILTER = "AND (:fromDate IS NULL OR p.prescriptionDate >= :fromDate) " +
+            "AND (:toDate IS NULL OR p.prescriptionDate <= :toDate) " +
+            "AND (:status IS NULL OR p.status = :status) " +
+            "AND (:active IS NULL OR p.isActive = :active) ";
+
+    String HISTORY_ORDER = "ORDER BY p.prescriptionDate DESC, p.prescriptionId DESC";
+
+    String BEFORE_CURSOR = "AND (p.prescriptionDate < :beforeDate OR (p.prescriptionDate = :beforeDate AND p.prescriptionId < :beforeId)) ";
+
+    /**
+     * Doctor's prescription history, newest first, with a total count
+     */
+    @Query(value = SUMMARY_SELECT + "WHERE p.doctorId = :doctorId " + HISTORY_FILTER + HISTORY_ORDER,
+           countQuery = "SELECT COUNT(p) FROM Prescription p WHERE p.doctorId = :doctorId " + HISTORY_FILTER)
+    Page<PrescriptionSummaryDto> findDoctorSummaries(@Param("doctorId") UUID doctorId,
+                                                     @Param("fromDate") LocalDate fromDate,
+                                                     @Param("toDate") LocalDate toDate,
+                                                     @Param("status") String status,
+                                                     @Param("active") Boolean active,
+                                                     Pageable pageable);
+
+    /**
+     * Keyset variant of findDoctorSummaries: the rows older than (beforeDate, beforeId), no count query
+     */
+    @Query(SUMMARY_SELECT + "WHERE p.doctorId = :doctorId " + HISTORY_FILTER + BEFORE_CURSOR + HISTORY_ORDER)
+    List<PrescriptionSummaryDto> findDoctorSummariesBefore(@Param("doctorId") UUID doctorId,
+                                                           @Param("fromDate") LocalDate fromDate,
+                                                           @Param("toDate") LocalDate toDate,
+                                                           @Param("status") String status,
+                                                           @Param("active") Boolean active,
+                                                           @Param("beforeDate") LocalDate beforeDate,
+                                                           @Param("beforeId") UUID beforeId,
+                                                           Pageable pageable);
+
+    /**
+     * Patient's prescription history, newest first, with a total count
+     */
+    @Query(value = SUMMARY_SELECT + "WHERE p.patientId = :patientId " + HISTORY_FILTER + HISTORY_ORDER,
+           countQuery = "SELECT COUNT(p) FROM Prescription p WHERE p.patientId = :patientId " + HISTORY_FILTER)
+    Page<PrescriptionSummaryDto> findPatientSummaries(@Param("patientId") UUID patientId,
+                                                      @Param("fromDate") LocalDate fromDate,
+                                                      @Param("toDate") LocalDate toDate,
+                                                      @Param("status") String status,
+                                                      @Param("active") Boolean active,
+                                                      Pageable pageable);
+
+    /**
+     * Keyset variant of findPatientSummaries: the rows older than (beforeDate, beforeId), no count query
+     */
+    @Query(SUMMARY_SELECT + "WHERE p.patientId = :patientId " + HISTORY_FILTER + BEFORE_CURSOR + HISTORY_ORDER)
+    List<PrescriptionSummaryDto> findPatientSummariesBefore(@Param("patientId") UUID patientId,
+                                                            @Param("fromDate") LocalDate fromDate,
+                                                            @Param("toDate") LocalDate toDate,
+                                                            @Param("status") String status,
+                                                            @Param("active") Boolean active,
+                                                            @Param("beforeDate") LocalDate beforeDate,
+                                                            @Param("beforeId") UUID beforeId,
+                                                            Pageable pageable);
+
+    /**
+     * Patient timeline - keyset page of prescriptions older than (beforeDate, beforeId), newest first
+     */
+    @Query("SELECT p FROM Prescription p WHERE p.hospitalId = :hospitalId AND p.patientId = :patientId AND p.isActive = true " +
+            "AND (p.prescriptionDate < :beforeDate OR (p.prescriptionDate = :beforeDate AND p.prescriptionId < :beforeId)) " +
+            "ORDER BY p.prescriptionDate DESC, p.prescriptionId DESC")
+    List<Prescription> findPatientTimelinePage(@Param("hospitalId") UUID hospitalId,
+                                               @Param("patientId") UUID patientId,
+                                               @Param("beforeDate") LocalDate beforeDate,
+                                               @Param("beforeId") UUID beforeId,
+                                               Pageable pageable);
+
+    /**
+     * Active prescriptions of the hospital containing the drug, newest first; served by the medications GIN index
+     */
+    @Query(value = "SELECT * FROM prescription p WHERE p.hospital_id = :hospitalId AND p.is_active = true " +
+            "AND p.medications @> jsonb_build_array(jsonb_build_object('drugKey', CAST(:drugKey AS text))) " +
+            "ORDER BY p.prescription_date DESC, p.prescription_id DESC",
+            countQuery = "SELECT COUNT(*) FROM prescription p WHERE p.hospital_id = :hospitalId AND p.is_active = true " +
+            "AND p.medications @> jsonb_build_array(jsonb_build_object('drugKey', CAST(:drugKey AS text)))",
+            nativeQuery = true)
+    Page<Prescription> findActiveByHospitalAndDrug(@Param("hospitalId") UUID hospitalId,
+                                                   @Param("drugKey") String drugKey,
+                                                   Pageable pageable);
+
+    /**
+     * Autocomplete ranking - (drugKey, prescriptions) for every drug the hospital has prescribed
+     */
+    @Query(value = "SELECT m->>'drugKey', COUNT(*) FROM prescription p " +
+            "CROSS JOIN LATERAL jsonb_array_elements(p.medications) m " +
+            "WHERE p.hospital_id = :hospitalId AND m->>'drugKey' IS NOT NULL GROUP BY m->>'drugKey'", nativeQuery = true)
+    List<Object[]> countDrugKeysByHospital(@Param("hospitalId") UUID hospitalId);
+
+    /**
+     * Interaction check - (prescription_id, drugKey) of every drug on the patient's active prescriptions
+     */
+    @Query(value = "SELECT p.prescription_id, m->>'drugKey' FROM prescription p " +
+            "CROSS JOIN LATERAL jsonb_array_elements(p.medications) m " +
+            "WHERE p.patient_id = :patientId AND p.is_active = true AND m->>'drugKey' IS NOT NULL", nativeQuery = true)
+    List<Object[]> findActiveDrugKeysByPatient(@Param("patientId") UUID patientId);
+
+    /**
+     * Patient merge - move up to {@code chunkSize} prescriptions from one patient to another
+     */
+    @Modifying
+    @Query(value = "UPDATE prescription SET patient_id = :survivorId, version = COALESCE(version, 0) + 1, updated_at = NOW() " +
+            "WHERE prescription_id IN (SELECT prescription_id FROM prescription WHERE patient_id = :loserId LIMIT :chunkSize)", nativeQuery = true)
+    int repointPatientChunk(@Param("loserId") UUID loserId,
+                            @Param("survivorId") UUID survivorId,
+                            @Param("chunkSize") int chunkSize);
+
+    /**
+     * PDF blob sweep - which of the keys are still referenced
+     */
+    @Query("SELECT DISTINCT p.pdfFilePath FROM Prescription p WHERE p.pdfFilePath IN :keys")
+    List<String> findReferencedPdfKeys(@Param("keys") Collection<String> keys);
+
+    /**
+     * Record the archived PDF's blob key without touching updated_at, which marks the PDF stale when it moves past pdf_generated_at
+     */
+    @Modifying
+    @Query("UPDATE Prescription p SET p.pdfGenerated = true, p.pdfFilePath = :blobKey, p.pdfGeneratedAt = :generatedAt " +
+            "WHERE p.prescriptionId = :prescriptionId")
+    int markPdfGenerated(@Param("prescriptionId") UUID prescriptionId,
+                         @Param("blobKey") String blobKey,
+                         @Param("generatedAt") LocalDateTime generatedAt);
+}
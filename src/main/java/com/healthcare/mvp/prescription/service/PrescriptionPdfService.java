@@ -0,0 +1,228 @@
+package com.healthcare.mvp.prescription.service;
+
+import com.healthcare.mvp.prescription.entity.Prescription;
+import com.healthcare.mvp.prescription.pdf.HospitalLetterhead;
+import com.healthcare.mvp.prescription.pdf.PrescriptionDocument;
+import com.healthcare.mvp.prescription.pdf.PrescriptionDocumentFactory;
+import com.healthcare.mvp.prescription.pdf.PrescriptionPdfAssets;
+import com.healthcare.mvp.prescription.pdf.PrescriptionPdfRenderer;
+import com.healthcare.mvp.prescription.repository.PrescriptionRepository;
+import com.healthcare.mvp.shared.exception.AuthorizationException;
+import com.healthcare.mvp.shared.exception.TenantMovingException;
+import com.healthcare.mvp.shared.security.SecurityUtils;
+import com.healthcare.mvp.shared.storage.BlobStore;
+import com.healthcare.mvp.shared.storage.StoredBlob;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Prescription PDFs: rendered on first request, archived in the blob store,
+ * served from the archive afterwards.
+ *
+ * A render streams straight into the response while the same bytes are teed to
+ * the blob store, so neither side holds the PDF in memory. Renders run on a
+ * small bounded pool; when it and its queue are full the request is refused
+ * rather than piling more CPU-bound work onto request threads. The archived
+ * blob, whose key is kept in pdf_file_path, is reused until the prescription
+ * is updated after it was generated; a re-render of unchanged data produces the
+ * same bytes and so the same blob.
+ *
+ * Not @Transactional: the data is read in one short transaction and the PDF
+ * flags written in another, so no connection is held while rendering.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PrescriptionPdfService {
+
+    private static final String CONTENT_TYPE = "application/pdf";
+    private static final String CACHE_CONTROL = "private, no-cache";
+
+    private final PrescriptionRepository prescriptionRepository;
+    private final PrescriptionDocumentFactory documentFactory;
+    private final PrescriptionPdfAssets assets;
+    private final PrescriptionPdfRenderer renderer;
+    private final BlobStore prescriptionPdfStore;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.prescription.pdf.render-threads:4}")
+    private int renderThreads;
+
+    @Value("${app.prescription.pdf.render-queue-size:32}")
+    private int renderQueueSize;
+
+    private ThreadPoolExecutor renderPool;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        renderPool = new ThreadPoolExecutor(renderThreads, renderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(renderQueueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "prescription-pdf-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void stop() {
+        renderPool.shutdownNow();
+    }
+
+    /**
+     * Write the prescription's PDF to the response, rendering and archiving it if needed
+     */
+    public void writePrescriptionPdf(UUID prescriptionId, HttpServletRequest request,
+                                     HttpServletResponse response) throws IOException {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Prescription prescription = readOnly.execute(status -> prescriptionRepository.findById(prescriptionId)
+                .filter(found -> !Boolean.FALSE.equals(found.getIsActive()))
+                .orElseThrow(() -> new RuntimeException("Prescription not found with ID: " + prescriptionId)));
+        checkAccess(prescription);
+
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "inline; filename=\"" + fileName(prescription) + "\"");
+
+        if (isArchived(prescription)) {
+            prescriptionPdfStore.serve(prescription.getPdfFilePath(), CONTENT_TYPE, CACHE_CONTROL, request, response);
+            return;
+        }
+
+        PrescriptionDocument document = readOnly.execute(status -> documentFactory.create(prescription));
+        HospitalLetterhead letterhead = assets.letterhead(prescription.getHospitalId());
+        LocalDateTime generatedAt = LocalDateTime.now();
+
+        // No ETag on a fresh render: it is the content hash, known only once the body has been sent
+        response.setContentType(CONTENT_TYPE);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+
+        Future<StoredBlob> render;
+        try {
+            render = renderPool.submit(() -> renderAndStore(document, letterhead, response));
+        } catch (RejectedExecutionException e) {
+            throw new RuntimeException("Prescription PDF rendering is busy, please retry shortly");
+        }
+        StoredBlob blob;
+        try {
+            blob = render.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw new RuntimeException("Prescription PDF rendering failed", cause);
+        } catch (InterruptedException e) {
+            render.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while rendering prescription PDF", e);
+        }
+
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    prescriptionRepository.markPdfGenerated(prescriptionId, blob.getKey(), generatedAt));
+        } catch (TenantMovingException e) {
+            // The PDF has been served; the marker is a cache and the next request renders again
+            log.info("PDF marker of prescription {} not saved while its hospital is being moved", prescriptionId);
+            return;
+        }
+        log.info("Prescription PDF generated for {} as blob {}{}", prescriptionId, blob.getKey(),
+                blob.isDeduplicated() ? " (already stored)" : "");
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    /**
+     * Runs on the render pool
+     */
+    private StoredBlob renderAndStore(PrescriptionDocument document, HospitalLetterhead letterhead,
+                                      HttpServletResponse response) {
+        try {
+            OutputStream client = response.getOutputStream();
+            return prescriptionPdfStore.put(out -> renderer.render(document, letterhead, new TeeOutputStream(client, out)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Whether the stored PDF exists and the prescription has not changed since
+     */
+    private boolean isArchived(Prescription prescription) {
+        if (!Boolean.TRUE.equals(prescription.getPdfGenerated()) || prescription.getPdfGeneratedAt() == null) {
+            return false;
+        }
+        if (prescription.getUpdatedAt() != null && prescription.getUpdatedAt().isAfter(prescription.getPdfGeneratedAt())) {
+            return false;
+        }
+        return prescriptionPdfStore.exists(prescription.getPdfFilePath());
+    }
+
+    private static void checkAccess(Prescription prescription) {
+        String currentUserId = SecurityUtils.getCurrentUserId();
+        String currentUserRole = SecurityUtils.getCurrentAuthentication().getAuthorities().iterator().next().getAuthority();
+        if (currentUserRole.contains("PATIENT") && !prescription.getPatientId().toString().equals(currentUserId)) {
+            log.warn("Patient {} attempted to download prescription {}", currentUserId, prescription.getPrescriptionId());
+            throw new AuthorizationException("Patients can only access their own prescriptions");
+        }
+    }
+
+    private static String fileName(Prescription prescription) {
+        String number = prescription.getPrescriptionNumber();
+        String base = number == null ? prescription.getPrescriptionId().toString() : number.replaceAll("[^A-Za-z0-9._-]", "_");
+        return base + ".pdf";
+    }
+
+    /**
+     * Writes every byte to both streams; closing it closes neither
+     */
+    private static final class TeeOutputStream extends OutputStream {
+        private final OutputStream first;
+        private final OutputStream second;
+
+        private TeeOutputStream(OutputStream first, OutputStream second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            first.write(b);
+            second.write(b);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            first.write(buffer, offset, length);
+            second.write(buffer, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            first.flush();
+            second.flush();
+        }
+    }
+}
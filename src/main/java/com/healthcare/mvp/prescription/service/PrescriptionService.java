@@ -1,23 +1,50 @@
 package com.healthcare.mvp.prescription.service;
 
+import com.healthcare.mvp.appointment.entity.Appointment;
+import com.healthcare.mvp.appointment.repository.AppointmentRepository;
+import com.healthcare.mvp.prescription.catalog.DrugCatalogIndex;
 import com.healthcare.mvp.prescription.dto.CreatePrescriptionRequest;
+import com.healthcare.mvp.prescription.dto.DrugInteractionCheckDto;
+import com.healthcare.mvp.prescription.dto.DrugSuggestionDto;
+import com.healthcare.mvp.prescription.dto.MedicationDto;
 import com.healthcare.mvp.prescription.dto.PrescriptionDto;
+import com.healthcare.mvp.prescription.dto.PrescriptionHistoryFilter;
+import com.healthcare.mvp.prescription.dto.PrescriptionScrollDto;
+import com.healthcare.mvp.prescription.dto.PrescriptionSummaryDto;
+import com.healthcare.mvp.prescription.entity.Medication;
 import com.healthcare.mvp.prescription.entity.Prescription;
+import com.healthcare.mvp.prescription.event.PrescriptionCreatedEvent;
+import com.healthcare.mvp.prescription.interaction.DrugInteractionIndex;
+import com.healthcare.mvp.prescription.interaction.InteractionSeverity;
 import com.healthcare.mvp.prescription.repository.PrescriptionRepository;
 import com.healthcare.mvp.shared.dto.BaseResponse;
 import com.healthcare.mvp.shared.exception.AuthorizationException;
+import com.healthcare.mvp.shared.exception.BusinessException;
 import com.healthcare.mvp.shared.exception.ResourceNotFoundException;
 import com.healthcare.mvp.shared.security.SecurityUtils;
+import com.healthcare.mvp.shared.sequence.CodeAllocator;
+import com.healthcare.mvp.shared.sequence.CodeSequence;
+import com.healthcare.mvp.shared.tenant.TenantContext;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -27,64 +54,94 @@ import java.util.stream.Collectors;
 @Slf4j
 public class PrescriptionService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String CURSOR_SEPARATOR = "|";
+    // Sorts after every real row: newest first, and uuid order is unsigned in PostgreSQL
+    private static final LocalDate CURSOR_START_DATE = LocalDate.of(9999, 12, 31);
+    private static final UUID CURSOR_START_ID = new UUID(-1L, -1L);
+    private static final PrescriptionHistoryFilter ACTIVE_ONLY = new PrescriptionHistoryFilter(null, null, null, true);
+
     private final PrescriptionRepository prescriptionRepository;
+    private final DrugInteractionIndex drugInteractionIndex;
+    private final DrugCatalogIndex drugCatalogIndex;
+    private final AppointmentRepository appointmentRepository;
+    private final CodeAllocator codeAllocator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.prescription.interactions.block-severity:CONTRAINDICATED}")
+    private InteractionSeverity interactionBlockSeverity;
 
     /**
-     * Get prescriptions issued by a specific doctor
+     * Most recent active prescriptions issued by a specific doctor, for the dashboard
      */
-    public List<PrescriptionDto> getDoctorPrescriptions(UUID doctorId) {
-        log.info("Fetching prescriptions for doctor ID: {}", doctorId);
-        String currentUserId = SecurityUtils.getCurrentUserId();
-        String currentUserRole = SecurityUtils.getCurrentAuthentication().getAuthorities().iterator().next().getAuthority();
-
-        // Restrict access to doctors or super admins
-        if (!currentUserRole.contains("DOCTOR") && !currentUserRole.contains("SUPER_ADMIN")) {
-            log.warn("Unauthorized access attempt to doctor prescriptions by user: {}", currentUserId);
-            throw new AuthorizationException("Only doctors or super admins can access doctor prescriptions");
-        }
-
-        // If not super admin, ensure the doctor is accessing their own prescriptions
-        if (!currentUserRole.contains("SUPER_ADMIN") && !currentUserId.equals(doctorId.toString())) {
-            log.warn("Doctor {} attempted to access another doctor's prescriptions", currentUserId);
-            throw new AuthorizationException("Doctors can only access their own prescriptions");
-        }
-
-        List<PrescriptionDto> prescriptions = prescriptionRepository.findByDoctorIdAndIsActive(doctorId, true)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-
-        log.info("Retrieved {} prescriptions for doctor ID: {}", prescriptions.size(), doctorId);
-        return prescriptions;
+    @Transactional(readOnly = true)
+    public List<PrescriptionSummaryDto> getDoctorPrescriptions(UUID doctorId) {
+        return scrollDoctorPrescriptions(doctorId, ACTIVE_ONLY, null, DEFAULT_PAGE_SIZE).getPrescriptions();
     }
 
     /**
-     * Get prescriptions for a specific patient
+     * Most recent active prescriptions of a specific patient, for the dashboard
      */
-    public List<PrescriptionDto> getPatientPrescriptions(UUID patientId) {
-        log.info("Fetching prescriptions for patient ID: {}", patientId);
-        String currentUserId = SecurityUtils.getCurrentUserId();
-        String currentUserRole = SecurityUtils.getCurrentAuthentication().getAuthorities().iterator().next().getAuthority();
+    @Transactional(readOnly = true)
+    public List<PrescriptionSummaryDto> getPatientPrescriptions(UUID patientId) {
+        return scrollPatientPrescriptions(patientId, ACTIVE_ONLY, null, DEFAULT_PAGE_SIZE).getPrescriptions();
+    }
 
-        // Restrict access to patients, doctors, or super admins
-        if (!currentUserRole.contains("PATIENT") && !currentUserRole.contains("DOCTOR") && !currentUserRole.contains("SUPER_ADMIN")) {
-            log.warn("Unauthorized access attempt to patient prescriptions by user: {}", currentUserId);
-            throw new AuthorizationException("Only patients, doctors, or super admins can access patient prescriptions");
-        }
+    /**
+     * One page of a doctor's prescription history, newest first, with a total count
+     */
+    @Transactional(readOnly = true)
+    public Page<PrescriptionSummaryDto> getDoctorPrescriptionHistory(UUID doctorId, PrescriptionHistoryFilter filter,
+                                                                     int page, Integer size) {
+        authorizeDoctorAccess(doctorId);
+        PrescriptionHistoryFilter criteria = normalize(filter);
+        return prescriptionRepository.findDoctorSummaries(doctorId, criteria.getFromDate(), criteria.getToDate(),
+                criteria.getStatus(), criteria.getActive(), PageRequest.of(Math.max(page, 0), pageSize(size)));
+    }
 
-        // If patient, ensure they are accessing their own prescriptions
-        if (currentUserRole.contains("PATIENT") && !currentUserId.equals(patientId.toString())) {
-            log.warn("Patient {} attempted to access another patient's prescriptions", currentUserId);
-            throw new AuthorizationException("Patients can only access their own prescriptions");
-        }
+    /**
+     * Keyset-paged doctor's prescription history, newest first, starting after the cursor (null for the first page)
+     */
+    @Transactional(readOnly = true)
+    public PrescriptionScrollDto scrollDoctorPrescriptions(UUID doctorId, PrescriptionHistoryFilter filter,
+                                                           String cursor, Integer size) {
+        authorizeDoctorAccess(doctorId);
+        PrescriptionHistoryFilter criteria = normalize(filter);
+        int limit = pageSize(size);
+        PrescriptionCursor after = decodeCursor(cursor);
+        List<PrescriptionSummaryDto> rows = prescriptionRepository.findDoctorSummariesBefore(doctorId,
+                criteria.getFromDate(), criteria.getToDate(), criteria.getStatus(), criteria.getActive(),
+                after.date, after.prescriptionId, PageRequest.of(0, limit + 1));
+        return toScroll(rows, limit);
+    }
 
-        List<PrescriptionDto> prescriptions = prescriptionRepository.findByPatientIdAndIsActive(patientId, true)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    /**
+     * One page of a patient's prescription history, newest first, with a total count
+     */
+    @Transactional(readOnly = true)
+    public Page<PrescriptionSummaryDto> getPatientPrescriptionHistory(UUID patientId, PrescriptionHistoryFilter filter,
+                                                                      int page, Integer size) {
+        authorizePatientAccess(patientId);
+        PrescriptionHistoryFilter criteria = normalize(filter);
+        return prescriptionRepository.findPatientSummaries(patientId, criteria.getFromDate(), criteria.getToDate(),
+                criteria.getStatus(), criteria.getActive(), PageRequest.of(Math.max(page, 0), pageSize(size)));
+    }
 
-        log.info("Retrieved {} prescriptions for patient ID: {}", prescriptions.size(), patientId);
-        return prescriptions;
+    /**
+     * Keyset-paged patient's prescription history, newest first, starting after the cursor (null for the first page)
+     */
+    @Transactional(readOnly = true)
+    public PrescriptionScrollDto scrollPatientPrescriptions(UUID patientId, PrescriptionHistoryFilter filter,
+                                                            String cursor, Integer size) {
+        authorizePatientAccess(patientId);
+        PrescriptionHistoryFilter criteria = normalize(filter);
+        int limit = pageSize(size);
+        PrescriptionCursor after = decodeCursor(cursor);
+        List<PrescriptionSummaryDto> rows = prescriptionRepository.findPatientSummariesBefore(patientId,
+                criteria.getFromDate(), criteria.getToDate(), criteria.getStatus(), criteria.getActive(),
+                after.date, after.prescriptionId, PageRequest.of(0, limit + 1));
+        return toScroll(rows, limit);
     }
 
     /**
@@ -100,7 +157,7 @@ public class PrescriptionService {
                 .medicalRecordId(prescription.getMedicalRecordId())
                 .prescriptionDate(prescription.getPrescriptionDate())
                 .prescriptionNumber(prescription.getPrescriptionNumber())
-                .medications(prescription.getMedications())
+                .medications(toMedicationDtos(prescription.getMedications()))
                 .generalInstructions(prescription.getGeneralInstructions())
                 .dietaryInstructions(prescription.getDietaryInstructions())
                 .followUpDate(prescription.getFollowUpDate())
@@ -119,11 +176,207 @@ public class PrescriptionService {
                 .build();
     }
 
+    /**
+     * Active prescriptions of a hospital that include the drug, newest first
+     */
+    @Transactional(readOnly = true)
+    public Page<PrescriptionDto> getHospitalPrescriptionsByDrug(UUID hospitalId, String drug, int page, int size) {
+        String drugKey = Medication.drugKey(drug);
+        if (drugKey == null) {
+            throw new RuntimeException("Drug name is required");
+        }
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 100));
+        return prescriptionRepository.findActiveByHospitalAndDrug(hospitalId, drugKey, pageable)
+                .map(this::convertToDto);
+    }
+
+    /**
+     * Check proposed medications against each other and the patient's active prescriptions
+     */
+    @Transactional(readOnly = true)
+    public DrugInteractionCheckDto checkInteractions(UUID patientId, List<MedicationDto> medications) {
+        Map<String, UUID> activeDrugs = new HashMap<>();
+        for (Object[] row : prescriptionRepository.findActiveDrugKeysByPatient(patientId)) {
+            activeDrugs.putIfAbsent((String) row[1], (UUID) row[0]);
+        }
+        List<String> drugNames = medications.stream()
+                .map(MedicationDto::getName)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return drugInteractionIndex.check(drugNames, activeDrugs);
+    }
+
+    /**
+     * Drug name autocomplete, ranked by the current hospital's prescribing
+     */
+    @Transactional(readOnly = true)
+    public List<DrugSuggestionDto> suggestDrugs(String query, int limit) {
+        return drugCatalogIndex.suggest(query, TenantContext.getHospitalId(), Math.min(Math.max(limit, 1), 50));
+    }
+
+    /**
+     * Issue a prescription for the appointment, refusing drug interactions at or above the block severity
+     */
     public PrescriptionDto createPrescription(@Valid CreatePrescriptionRequest request) {
-        return new PrescriptionDto();
+        Appointment appointment = appointmentRepository.findById(request.getAppointmentId())
+                .orElseThrow(() -> new RuntimeException("Appointment not found with ID: " + request.getAppointmentId()));
+        if (!appointment.getPatientId().equals(request.getPatientId())
+                || !appointment.getDoctorId().equals(request.getDoctorId())) {
+            throw new RuntimeException("Appointment " + request.getAppointmentId() + " is not with this patient and doctor");
+        }
+
+        DrugInteractionCheckDto interactions = checkInteractions(request.getPatientId(), request.getMedications());
+        InteractionSeverity highest = interactions.getHighestSeverity();
+        if (highest != null && highest.compareTo(interactionBlockSeverity) >= 0) {
+            log.warn("Prescription for patient {} blocked by {} drug interaction", request.getPatientId(), highest);
+            throw new BusinessException("DRUG_INTERACTION",
+                    "Prescription has a " + highest + " drug interaction", HttpStatus.CONFLICT, interactions);
+        }
+
+        List<Medication> medications = request.getMedications().stream()
+                .map(medication -> new Medication(medication.getName(), medication.getDosage(),
+                        medication.getFrequency(), medication.getDurationDays(), medication.getRoute(),
+                        medication.getInstructions()))
+                .collect(Collectors.toList());
+        Prescription prescription = Prescription.builder()
+                .patientId(appointment.getPatientId())
+                .doctorId(appointment.getDoctorId())
+                .hospitalId(appointment.getHospitalId())
+                .appointmentId(appointment.getAppointmentId())
+                .prescriptionDate(request.getIssueDate().toLocalDate())
+                .prescriptionNumber(generatePrescriptionNumber())
+                .medications(medications)
+                // Legacy single-medication column, still NOT NULL
+                .medication(medications.stream().map(Medication::getName).filter(Objects::nonNull)
+                        .collect(Collectors.joining(", ")))
+                .generalInstructions(request.getInstructions())
+                .pdfGenerated(false)
+                .status("ACTIVE")
+                .isActive(true)
+                .build();
+
+        Prescription savedPrescription = prescriptionRepository.save(prescription);
+        eventPublisher.publishEvent(new PrescriptionCreatedEvent(savedPrescription));
+        log.info("Prescription {} created for appointment {}", savedPrescription.getPrescriptionNumber(),
+                appointment.getAppointmentId());
+        return convertToDto(savedPrescription);
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    /**
+     * Prescription number, e.g. RX20250314000123. The sequence number alone makes it unique.
+     */
+    private String generatePrescriptionNumber() {
+        String prefix = "RX" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE);
+        return codeAllocator.nextCode(CodeSequence.PRESCRIPTION_NUMBER, prefix, 6);
+    }
+
+    private void authorizeDoctorAccess(UUID doctorId) {
+        String currentUserId = SecurityUtils.getCurrentUserId();
+        String currentUserRole = SecurityUtils.getCurrentAuthentication().getAuthorities().iterator().next().getAuthority();
+
+        // Restrict access to doctors or super admins
+        if (!currentUserRole.contains("DOCTOR") && !currentUserRole.contains("SUPER_ADMIN")) {
+            log.warn("Unauthorized access attempt to doctor prescriptions by user: {}", currentUserId);
+            throw new AuthorizationException("Only doctors or super admins can access doctor prescriptions");
+        }
+
+        // If not super admin, ensure the doctor is accessing their own prescriptions
+        if (!currentUserRole.contains("SUPER_ADMIN") && !currentUserId.equals(doctorId.toString())) {
+            log.warn("Doctor {} attempted to access another doctor's prescriptions", currentUserId);
+            throw new AuthorizationException("Doctors can only access their own prescriptions");
+        }
     }
 
-    public byte[] generatePrescriptionPdf(UUID prescriptionId) {
-        return new byte[0]; // Placeholder for PDF generation logic
+    private void authorizePatientAccess(UUID patientId) {
+        String currentUserId = SecurityUtils.getCurrentUserId();
+        String currentUserRole = SecurityUtils.getCurrentAuthentication().getAuthorities().iterator().next().getAuthority();
+
+        // Restrict access to patients, doctors, or super admins
+        if (!currentUserRole.contains("PATIENT") && !currentUserRole.contains("DOCTOR") && !currentUserRole.contains("SUPER_ADMIN")) {
+            log.warn("Unauthorized access attempt to patient prescriptions by user: {}", currentUserId);
+            throw new AuthorizationException("Only patients, doctors, or super admins can access patient prescriptions");
+        }
+
+        // If patient, ensure they are accessing their own prescriptions
+        if (currentUserRole.contains("PATIENT") && !currentUserId.equals(patientId.toString())) {
+            log.warn("Patient {} attempted to access another patient's prescriptions", currentUserId);
+            throw new AuthorizationException("Patients can only access their own prescriptions");
+        }
+    }
+
+    private static PrescriptionHistoryFilter normalize(PrescriptionHistoryFilter filter) {
+        PrescriptionHistoryFilter criteria = filter == null ? new PrescriptionHistoryFilter() : filter;
+        if (criteria.getFromDate() != null && criteria.getToDate() != null
+                && criteria.getFromDate().isAfter(criteria.getToDate())) {
+            throw new RuntimeException("fromDate must not be after toDate");
+        }
+        String status = criteria.getStatus() == null || criteria.getStatus().isBlank() ? null : criteria.getStatus().trim();
+        return new PrescriptionHistoryFilter(criteria.getFromDate(), criteria.getToDate(), status, criteria.getActive());
+    }
+
+    private static int pageSize(Integer size) {
+        return size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private static PrescriptionCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return new PrescriptionCursor(CURSOR_START_DATE, CURSOR_START_ID);
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(CURSOR_SEPARATOR);
+            return new PrescriptionCursor(LocalDate.parse(decoded.substring(0, separator)),
+                    UUID.fromString(decoded.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid prescription cursor");
+        }
+    }
+
+    /**
+     * Trim the extra row fetched to learn whether another page follows
+     */
+    private static PrescriptionScrollDto toScroll(List<PrescriptionSummaryDto> rows, int limit) {
+        boolean hasMore = rows.size() > limit;
+        List<PrescriptionSummaryDto> prescriptions = hasMore ? rows.subList(0, limit) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            PrescriptionSummaryDto last = prescriptions.get(prescriptions.size() - 1);
+            String raw = last.getPrescriptionDate() + CURSOR_SEPARATOR + last.getPrescriptionId();
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+        return PrescriptionScrollDto.builder()
+                .prescriptions(List.copyOf(prescriptions))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private static List<MedicationDto> toMedicationDtos(List<Medication> medications) {
+        if (medications == null) {
+            return List.of();
+        }
+        return medications.stream()
+                .map(medication -> MedicationDto.builder()
+                        .name(medication.getName())
+                        .dosage(medication.getDosage())
+                        .frequency(medication.getFrequency())
+                        .durationDays(medication.getDurationDays())
+                        .route(medication.getRoute())
+                        .instructions(medication.getInstructions())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private static final class PrescriptionCursor {
+        private final LocalDate date;
+        private final UUID prescriptionId;
+
+        private PrescriptionCursor(LocalDate date, UUID prescriptionId) {
+            this.date = date;
+            this.prescriptionId = prescriptionId;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,23 @@
+package com.healthcare.mvp.shared.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-shard totals for the super-admin shard overview. movedTenants counts the
+ * hospitals assigned to the shard in the tenant directory; every other
+ * hospital lives on the default shard.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ShardSummaryDto {
+    private String shard;
+    private int movedTenants;
+    private long patients;
+    private long doctors;
+    private long appointments;
+}
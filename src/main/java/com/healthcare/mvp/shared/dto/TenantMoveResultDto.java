@@ -0,0 +1,30 @@
+package com.healthcare.mvp.shared.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Outcome of moving one tenant's rows to another shard. frozenMillis is how
+ * long the tenant refused writes during cutover.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TenantMoveResultDto {
+    private UUID hospitalId;
+    private String sourceShard;
+    private String targetShard;
+    private Map<String, Long> rowsCopied;
+    private long rowsReconciled;
+    private long rowsPurged;
+    private long frozenMillis;
+    private long durationMillis;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,70 @@
+package com.healthcare.mvp.shared.encryption;
+
+import com.healthcare.mvp.shared.exception.EncryptionException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Keyed HMAC-SHA256 blind indexes for equality search over encrypted fields.
+ *
+ * Values are normalized (NFKC, trimmed, lower-cased, inner whitespace collapsed)
+ * before hashing so "  JOHN " and "john" land on the same index. The digest is
+ * truncated to 128 bits, which is plenty for equality lookups and keeps the
+ * indexed column small.
+ */
+@Component
+@RequiredArgsConstructor
+public class BlindIndexer {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int INDEX_BYTES = 16;
+    private static final int POOL_SIZE = 64;
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final EncryptionKeyStore keyStore;
+    private final BlockingQueue<Mac> pool = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    /**
+     * Blind index of the normalized value, or null for blank input
+     */
+    public String index(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String normalized = Normalizer.normalize(value, Normalizer.Form.NFKC)
+                .trim()
+                .replaceAll("\\s+", " ")
+                .toLowerCase(Locale.ROOT);
+
+        Mac mac = borrow();
+        try {
+            byte[] digest = mac.doFinal(normalized.getBytes(StandardCharsets.UTF_8));
+            return HEX.formatHex(digest, 0, INDEX_BYTES);
+        } finally {
+            pool.offer(mac);
+        }
+    }
+
+    private Mac borrow() {
+        Mac mac = pool.poll();
+        if (mac != null) {
+            return mac;
+        }
+        try {
+            mac = Mac.getInstance(ALGORITHM);
+            mac.init(keyStore.getBlindIndexKey());
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new EncryptionException("Failed to initialise blind index HMAC", e);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.healthcare.mvp.shared.encryption;
+
+import com.healthcare.mvp.shared.exception.BusinessException;
+import com.healthcare.mvp.shared.exception.EncryptionException;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local PKCS#12 keystore holding the PHI data-encryption keys.
+ *
+ * Every data key is stored under "dek-&lt;uuid&gt;"; the newest one is active
+ * and its UUID is what gets written to Patient.encryptionKeyId. Old keys stay
+ * in the keystore so rows sealed before a rotation remain readable until the
+ * re-encryption job has moved them to the active key.
+ *
+ * The blind-index HMAC key is stored separately and is never rotated here,
+ * because rotating it would invalidate every stored blind index.
+ *
+ * A missing keystore fails startup: keys generated on the spot could not open
+ * rows sealed elsewhere, and blind-index searches would silently find nothing.
+ * The first node of a new deployment creates it by starting once with
+ * app.encryption.keystore-init=true; every other node gets a copy of that file.
+ *
+ * Rotation only writes this node's file, and other nodes cannot read rows
+ * sealed under a key they do not hold, so it stays disabled unless a single
+ * node uses the keystore (app.encryption.rotation-enabled). On several nodes,
+ * rotate offline instead and restart every node with the new file.
+ */
+@Component
+@Slf4j
+public class EncryptionKeyStore {
+
+    private static final String DATA_KEY_PREFIX = "dek-";
+    private static final String BLIND_INDEX_ALIAS = "blind-index-hmac";
+    private static final String KEYSTORE_TYPE = "PKCS12";
+
+    @Value("${app.encryption.keystore-path:./data/keys/phi-keystore.p12}")
+    private String keystorePath;
+
+    @Value("${app.encryption.keystore-password}")
+    private String keystorePassword;
+
+    @Value("${app.encryption.keystore-init:false}")
+    private boolean initKeystore;
+
+    @Value("${app.encryption.rotation-enabled:false}")
+    private boolean rotationEnabled;
+
+    private final Map<UUID, SecretKey> dataKeys = new ConcurrentHashMap<>();
+    private volatile UUID activeKeyId;
+    private volatile SecretKey blindIndexKey;
+
+    @PostConstruct
+    public void load() {
+        if (keystorePassword == null || keystorePassword.isBlank()) {
+            throw new EncryptionException("PHI keystore password is not set; set PHI_KEYSTORE_PASSWORD");
+        }
+        try {
+            KeyStore keyStore = openKeyStore();
+            boolean changed = false;
+
+            if (!keyStore.containsAlias(BLIND_INDEX_ALIAS)) {
+                requireInit("has no blind-index key");
+                storeKey(keyStore, BLIND_INDEX_ALIAS, generateKey("HmacSHA256", 256));
+                changed = true;
+            }
+            if (Collections.list(keyStore.aliases()).stream().noneMatch(a -> a.startsWith(DATA_KEY_PREFIX))) {
+                requireInit("has no data keys");
+                storeKey(keyStore, DATA_KEY_PREFIX + UUID.randomUUID(), generateKey("AES", 256));
+                changed = true;
+            }
+            if (changed) {
+                save(keyStore);
+                log.warn("PHI keystore initialized at {}; copy it to every node and back it up", keystorePath);
+            }
+
+            loadKeys(keyStore);
+            log.info("PHI keystore loaded: {} data keys, active key {}", dataKeys.size(), activeKeyId);
+        } catch (GeneralSecurityException | IOException e) {
+            throw new EncryptionException("Failed to load PHI keystore from " + keystorePath, e);
+        }
+    }
+
+    /**
+     * Generate a new data key, persist it and make it the active key
+     */
+    public synchronized UUID rotate() {
+        if (!rotationEnabled) {
+            throw new BusinessException("KEY_ROTATION_DISABLED",
+                    "Data key rotation only updates this node's keystore; enable app.encryption.rotation-enabled " +
+                    "only when a single node uses it", HttpStatus.CONFLICT);
+        }
+        try {
+            KeyStore keyStore = openKeyStore();
+            UUID newKeyId = UUID.randomUUID();
+            SecretKey key = generateKey("AES", 256);
+            storeKey(keyStore, DATA_KEY_PREFIX + newKeyId, key);
+            save(keyStore);
+
+            dataKeys.put(newKeyId, key);
+            activeKeyId = newKeyId;
+            log.info("PHI data key rotated, new active key {}", newKeyId);
+            return newKeyId;
+        } catch (GeneralSecurityException | IOException e) {
+            throw new EncryptionException("Failed to rotate PHI data key", e);
+        }
+    }
+
+    public UUID getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    public SecretKey getActiveKey() {
+        return getKey(activeKeyId);
+    }
+
+    public SecretKey getKey(UUID keyId) {
+        SecretKey key = keyId == null ? null : dataKeys.get(keyId);
+        if (key == null) {
+            throw new EncryptionException("Unknown PHI data key: " + keyId);
+        }
+        return key;
+    }
+
+    public SecretKey getBlindIndexKey() {
+        return blindIndexKey;
+    }
+
+    public Set<UUID> getKeyIds() {
+        return Collections.unmodifiableSet(dataKeys.keySet());
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private void loadKeys(KeyStore keyStore) throws GeneralSecurityException {
+        KeyStore.ProtectionParameter protection = protection();
+        Date newest = null;
+
+        for (String alias : Collections.list(keyStore.aliases())) {
+            KeyStore.SecretKeyEntry entry = (KeyStore.SecretKeyEntry) keyStore.getEntry(alias, protection);
+            if (BLIND_INDEX_ALIAS.equals(alias)) {
+                blindIndexKey = entry.getSecretKey();
+            } else if (alias.startsWith(DATA_KEY_PREFIX)) {
+                UUID keyId = UUID.fromString(alias.substring(DATA_KEY_PREFIX.length()));
+                dataKeys.put(keyId, entry.getSecretKey());
+                Date created = keyStore.getCreationDate(alias);
+                if (newest == null || (created != null && created.after(newest))) {
+                    newest = created;
+                    activeKeyId = keyId;
+                }
+            }
+        }
+    }
+
+    private KeyStore openKeyStore() throws GeneralSecurityException, IOException {
+        KeyStore keyStore = KeyStore.getInstance(KEYSTORE_TYPE);
+        Path path = Paths.get(keystorePath);
+        if (Files.exists(path)) {
+            try (InputStream in = Files.newInputStream(path)) {
+                keyStore.load(in, keystorePassword.toCharArray());
+            }
+        } else {
+            requireInit("not found");
+            log.warn("PHI keystore not found at {}, creating a new one", path.toAbsolutePath());
+            keyStore.load(null, keystorePassword.toCharArray());
+        }
+        return keyStore;
+    }
+
+    /**
+     * New keys only on explicit request; otherwise existing rows would become unreadable
+     */
+    private void requireInit(String problem) {
+        if (!initKeystore) {
+            throw new EncryptionException("PHI keystore " + Paths.get(keystorePath).toAbsolutePath() + " " + problem +
+                    "; restore it, or set app.encryption.keystore-init=true to create new keys for a new deployment");
+        }
+    }
+
+    private void save(KeyStore keyStore) throws GeneralSecurityException, IOException {
+        Path path = Paths.get(keystorePath).toAbsolutePath();
+        Files.createDirectories(path.getParent());
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            keyStore.store(out, keystorePassword.toCharArray());
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void storeKey(KeyStore keyStore, String alias, SecretKey key) throws GeneralSecurityException {
+        keyStore.setEntry(alias, new KeyStore.SecretKeyEntry(key), protection());
+    }
+
+    private KeyStore.ProtectionParameter protection() {
+        return new KeyStore.PasswordProtection(keystorePassword.toCharArray());
+    }
+
+    private SecretKey generateKey(String algorithm, int bits) throws GeneralSecurityException {
+        KeyGenerator generator = KeyGenerator.getInstance(algorithm);
+        generator.init(bits);
+        return generator.generateKey();
+    }
+}
@@ -0,0 +1,108 @@
+package com.healthcare.mvp.shared.encryption;
+
+import com.healthcare.mvp.shared.exception.EncryptionException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * AES-256-GCM sealing for individual PHI fields.
+ *
+ * Sealed layout: [version:1][iv:12][ciphertext + tag:16]. The key id is not
+ * part of the blob; it lives on the row (e.g. Patient.encryptionKeyId).
+ * Callers pass associated data (row id + field name) so a ciphertext cannot be
+ * copied onto another row or field and still decrypt.
+ *
+ * Cipher instances are expensive to look up, so they are pooled and re-initialised
+ * per call; the output blob is the only allocation proportional to the input.
+ */
+@Component
+@RequiredArgsConstructor
+public class PhiCipher {
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final byte VERSION = 1;
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+    private static final int HEADER_LENGTH = 1 + IV_LENGTH;
+    private static final int POOL_SIZE = 64;
+
+    private final EncryptionKeyStore keyStore;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final BlockingQueue<Cipher> pool = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    /**
+     * Seal with the given key; returns version + IV + ciphertext
+     */
+    public byte[] encrypt(UUID keyId, byte[] plaintext, byte[] associatedData) {
+        Cipher cipher = borrow();
+        try {
+            byte[] sealed = new byte[HEADER_LENGTH + plaintext.length + TAG_BITS / 8];
+            sealed[0] = VERSION;
+            byte[] iv = new byte[IV_LENGTH];
+            secureRandom.nextBytes(iv);
+            System.arraycopy(iv, 0, sealed, 1, IV_LENGTH);
+
+            cipher.init(Cipher.ENCRYPT_MODE, keyStore.getKey(keyId), new GCMParameterSpec(TAG_BITS, iv));
+            if (associatedData != null) {
+                cipher.updateAAD(associatedData);
+            }
+            cipher.doFinal(plaintext, 0, plaintext.length, sealed, HEADER_LENGTH);
+            return sealed;
+        } catch (GeneralSecurityException e) {
+            throw new EncryptionException("Failed to encrypt PHI field", e);
+        } finally {
+            release(cipher);
+        }
+    }
+
+    /**
+     * Open a blob produced by {@link #encrypt}
+     */
+    public byte[] decrypt(UUID keyId, byte[] sealed, byte[] associatedData) {
+        if (sealed == null || sealed.length < HEADER_LENGTH + TAG_BITS / 8 || sealed[0] != VERSION) {
+            throw new EncryptionException("Malformed PHI ciphertext");
+        }
+
+        Cipher cipher = borrow();
+        try {
+            cipher.init(Cipher.DECRYPT_MODE, keyStore.getKey(keyId),
+                    new GCMParameterSpec(TAG_BITS, sealed, 1, IV_LENGTH));
+            if (associatedData != null) {
+                cipher.updateAAD(associatedData);
+            }
+            return cipher.doFinal(sealed, HEADER_LENGTH, sealed.length - HEADER_LENGTH);
+        } catch (GeneralSecurityException e) {
+            throw new EncryptionException("Failed to decrypt PHI field", e);
+        } finally {
+            release(cipher);
+        }
+    }
+
+    public UUID getActiveKeyId() {
+        return keyStore.getActiveKeyId();
+    }
+
+    private Cipher borrow() {
+        Cipher cipher = pool.poll();
+        if (cipher != null) {
+            return cipher;
+        }
+        try {
+            return Cipher.getInstance(TRANSFORMATION);
+        } catch (GeneralSecurityException e) {
+            throw new EncryptionException("AES-GCM is not available", e);
+        }
+    }
+
+    private void release(Cipher cipher) {
+        pool.offer(cipher);
+    }
+}
@@ -0,0 +1,12 @@
+package com.healthcare.mvp.shared.exception;
+
+public class EncryptionException extends RuntimeException {
+
+    public EncryptionException(String message) {
+        super(message);
+    }
+
+    public EncryptionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -4,6 +4,7 @@ import com.healthcare.mvp.shared.dto.BaseResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -44,6 +45,23 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, ex.getHttpStatus());
     }
 
+    @ExceptionHandler(TenantMovingException.class)
+    public ResponseEntity<BaseResponse<Object>> handleTenantMoving(TenantMovingException ex, WebRequest request) {
+        log.info("Refused write for hospital {} while it is being moved", ex.getHospitalId());
+
+        BaseResponse<Object> response = BaseResponse.builder()
+                .success(false)
+                .errorCode(ex.getErrorCode())
+                .message(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .path(getPath(request))
+                .build();
+
+        return ResponseEntity.status(ex.getHttpStatus())
+                .header(HttpHeaders.RETRY_AFTER, TenantMovingException.RETRY_AFTER_SECONDS)
+                .body(response);
+    }
+
     @ExceptionHandler(ValidationException.class)
     public ResponseEntity<BaseResponse<Object>> handleValidationException(ValidationException ex, WebRequest request) {
         log.warn("Validation exception: {}", ex.getMessage());
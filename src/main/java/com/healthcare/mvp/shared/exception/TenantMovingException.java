@@ -0,0 +1,26 @@
+package com.healthcare.mvp.shared.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.util.UUID;
+
+/**
+ * A write to a tenant that is being moved to another shard; the client should retry after RETRY_AFTER_SECONDS
+ */
+public class TenantMovingException extends BusinessException {
+
+    public static final String ERROR_CODE = "TENANT_MOVING";
+    public static final String MESSAGE = "Hospital data is being migrated, please retry shortly";
+    public static final String RETRY_AFTER_SECONDS = "30";
+
+    private final UUID hospitalId;
+
+    public TenantMovingException(UUID hospitalId) {
+        super(ERROR_CODE, MESSAGE, HttpStatus.SERVICE_UNAVAILABLE);
+        this.hospitalId = hospitalId;
+    }
+
+    public UUID getHospitalId() {
+        return hospitalId;
+    }
+}
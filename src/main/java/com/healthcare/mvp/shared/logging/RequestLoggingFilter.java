@@ -115,7 +115,10 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
         return uri.startsWith("/actuator/") ||
                uri.startsWith("/swagger-") ||
                uri.startsWith("/v3/api-docs") ||
-               uri.startsWith("/webjars/");
+               uri.startsWith("/webjars/") ||
+               // Image and PDF responses stream to and from disk; caching the body would defeat that
+               uri.endsWith("/profile-image") ||
+               uri.startsWith("/api/prescriptions/pdf/");
     }
 
     private boolean shouldLogRequestBody(ContentCachingRequestWrapper request) {
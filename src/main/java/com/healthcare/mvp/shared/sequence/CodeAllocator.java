@@ -0,0 +1,86 @@
+package com.healthcare.mvp.shared.sequence;
+
+import com.healthcare.mvp.shared.tenant.TenantRoutingDataSource;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Hands out unique numbers for generated codes without reading existing rows.
+ *
+ * Each node leases a block of values per sequence with a single nextval and
+ * serves the block from memory, so the database is touched once per blockSize
+ * codes and concurrent nodes can never collide. Unused values of a block are
+ * lost on restart; codes are unique and increasing per node, not gap-free.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CodeAllocator {
+
+    private final TenantRoutingDataSource routingDataSource;
+
+    private final Map<CodeSequence, Lease> leases = initLeases();
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Sequences are global: always lease from the default shard, outside any tenant transaction
+     */
+    @PostConstruct
+    public void init() {
+        jdbcTemplate = new JdbcTemplate(routingDataSource.getDefaultShard());
+    }
+
+    /**
+     * Next unique value of the sequence
+     */
+    public long next(CodeSequence sequence) {
+        Lease lease = leases.get(sequence);
+        synchronized (lease) {
+            if (lease.next >= lease.end) {
+                long start = leaseBlock(sequence);
+                lease.next = start;
+                lease.end = start + sequence.getBlockSize();
+            }
+            return lease.next++;
+        }
+    }
+
+    /**
+     * Next value rendered as prefix + zero-padded number, e.g. DOC00042
+     */
+    public String nextCode(CodeSequence sequence, String prefix, int digits) {
+        return prefix + String.format("%0" + digits + "d", next(sequence));
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private long leaseBlock(CodeSequence sequence) {
+        // Sequence names come from the enum, never from user input
+        Long start = jdbcTemplate.queryForObject(
+                "SELECT nextval('" + sequence.getSequenceName() + "')", Long.class);
+        if (start == null) {
+            throw new IllegalStateException("Sequence returned no value: " + sequence.getSequenceName());
+        }
+        log.debug("Leased {} block [{}, {})", sequence, start, start + sequence.getBlockSize());
+        return start;
+    }
+
+    private static Map<CodeSequence, Lease> initLeases() {
+        Map<CodeSequence, Lease> leases = new EnumMap<>(CodeSequence.class);
+        for (CodeSequence sequence : CodeSequence.values()) {
+            leases.put(sequence, new Lease());
+        }
+        return leases;
+    }
+
+    private static final class Lease {
+        private long next;
+        private long end;
+    }
+}
@@ -0,0 +1,30 @@
+package com.healthcare.mvp.shared.sequence;
+
+/**
+ * Database sequences backing human-readable codes.
+ *
+ * blockSize must equal the sequence's INCREMENT BY: one nextval leases the
+ * whole block [value, value + blockSize) to the calling node.
+ */
+public enum CodeSequence {
+    DOCTOR_CODE("doctor_code_seq", 20),
+    HOSPITAL_CODE("hospital_code_seq", 10),
+    APPOINTMENT_CODE("appointment_code_seq", 100),
+    PRESCRIPTION_NUMBER("prescription_number_seq", 100);
+
+    private final String sequenceName;
+    private final int blockSize;
+
+    CodeSequence(String sequenceName, int blockSize) {
+        this.sequenceName = sequenceName;
+        this.blockSize = blockSize;
+    }
+
+    public String getSequenceName() {
+        return sequenceName;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+}
@@ -0,0 +1,69 @@
+package com.healthcare.mvp.shared.storage;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Content-addressed store of immutable blobs.
+ *
+ * A blob's key is the lowercase hex SHA-256 of its bytes, so storing the same
+ * content twice yields the same key and one copy. Blobs are never modified;
+ * callers record keys and the store reclaims unreferenced blobs through
+ * {@link #keysOlderThan} and {@link #deleteIfOlderThan}. Writing or re-storing a
+ * blob refreshes its age, which is what keeps a sweep from deleting a blob
+ * between it being stored and its key being recorded.
+ */
+public interface BlobStore {
+
+    /**
+     * Store the bytes the source writes. The source must not close the stream.
+     */
+    StoredBlob put(BlobSource source) throws IOException;
+
+    boolean exists(String key);
+
+    InputStream open(String key) throws IOException;
+
+    /**
+     * Write the blob to the response, honouring conditional and Range headers; the key is the ETag
+     */
+    void serve(String key, String contentType, String cacheControl,
+               HttpServletRequest request, HttpServletResponse response) throws IOException;
+
+    /**
+     * Keys of blobs last stored before the cutoff - the sweep candidates
+     */
+    List<String> keysOlderThan(Instant cutoff) throws IOException;
+
+    /**
+     * Delete the blob unless it was stored again since the cutoff
+     */
+    boolean deleteIfOlderThan(String key, Instant cutoff) throws IOException;
+
+    /**
+     * Whether the value has the shape of a blob key
+     */
+    static boolean isKey(String value) {
+        if (value == null || value.length() != 64) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @FunctionalInterface
+    interface BlobSource {
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
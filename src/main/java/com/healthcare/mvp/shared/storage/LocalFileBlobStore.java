@@ -0,0 +1,185 @@
+package com.healthcare.mvp.shared.storage;
+
+import com.healthcare.mvp.shared.util.FileResponseWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * BlobStore on the local filesystem.
+ *
+ * Blobs live at {root}/{key[0..2]}/{key[2..4]}/{key}, which keeps directories
+ * small. A put hashes the bytes while writing them to a temporary file and then
+ * moves it into place atomically, so a blob is either absent or complete;
+ * when the content is already stored the temporary copy is dropped and the
+ * existing file's modification time refreshed instead. Downloads go through
+ * FileResponseWriter and never pass through the heap.
+ */
+@Slf4j
+public class LocalFileBlobStore implements BlobStore {
+
+    private static final String TEMP_DIR = "tmp";
+
+    private final Path root;
+    private final Path tempDir;
+
+    public LocalFileBlobStore(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+        this.tempDir = this.root.resolve(TEMP_DIR);
+        try {
+            Files.createDirectories(tempDir);
+            try (Stream<Path> leftovers = Files.list(tempDir)) {
+                for (Path file : (Iterable<Path>) leftovers::iterator) {
+                    Files.deleteIfExists(file); // from puts interrupted by the last shutdown
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open blob store at " + this.root, e);
+        }
+        log.info("Blob store opened at {}", this.root);
+    }
+
+    @Override
+    public StoredBlob put(BlobSource source) throws IOException {
+        MessageDigest digest = sha256();
+        Path temp = Files.createTempFile(tempDir, "put-", ".tmp");
+        try {
+            long size;
+            try (CountingOutputStream counter = new CountingOutputStream(
+                    new DigestOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024), digest))) {
+                source.writeTo(counter);
+                size = counter.count;
+            }
+            String key = HexFormat.of().formatHex(digest.digest());
+            Path target = pathOf(key);
+            if (Files.exists(target)) {
+                Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+                return new StoredBlob(key, size, true);
+            }
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                return new StoredBlob(key, size, true); // a concurrent put of the same content won
+            }
+            return new StoredBlob(key, size, false);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return BlobStore.isKey(key) && Files.isRegularFile(pathOf(key));
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(existing(key));
+    }
+
+    @Override
+    public void serve(String key, String contentType, String cacheControl,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        FileResponseWriter.write(request, response, existing(key), contentType, key, cacheControl);
+    }
+
+    @Override
+    public List<String> keysOlderThan(Instant cutoff) throws IOException {
+        List<String> keys = new ArrayList<>();
+        try (Stream<Path> walk = Files.walk(root, 3)) {
+            for (Path file : (Iterable<Path>) walk::iterator) {
+                String name = file.getFileName().toString();
+                if (BlobStore.isKey(name) && isOlderThan(file, cutoff)) {
+                    keys.add(name);
+                }
+            }
+        }
+        return keys;
+    }
+
+    @Override
+    public boolean deleteIfOlderThan(String key, Instant cutoff) throws IOException {
+        if (!BlobStore.isKey(key)) {
+            return false;
+        }
+        Path file = pathOf(key);
+        // A put that deduplicates between this check and the delete loses its blob; the
+        // sweep grace period is what makes that window irrelevant in practice
+        return isOlderThan(file, cutoff) && Files.deleteIfExists(file);
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private Path pathOf(String key) {
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    private Path existing(String key) throws IOException {
+        if (!BlobStore.isKey(key)) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+        Path file = pathOf(key);
+        if (!Files.isRegularFile(file)) {
+            throw new NoSuchFileException(file.toString());
+        }
+        return file;
+    }
+
+    private static boolean isOlderThan(Path file, Instant cutoff) throws IOException {
+        try {
+            return Files.getLastModifiedTime(file).toInstant().isBefore(cutoff);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            out.write(buffer, offset, length);
+            count += length;
+        }
+    }
+}
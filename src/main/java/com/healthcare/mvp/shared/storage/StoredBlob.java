@@ -0,0 +1,22 @@
+package com.healthcare.mvp.shared.storage;
+
+/**
+ * Result of {@link BlobStore#put}: the key, the size, and whether the content
+ * was already stored
+ */
+public final class StoredBlob {
+    private final String key;
+    private final long size;
+    private final boolean deduplicated;
+
+    public StoredBlob(String key, long size, boolean deduplicated) {
+        this.key = key;
+        this.size = size;
+        this.deduplicated = deduplicated;
+    }
+
+    // Getters
+    public String getKey() { return key; }
+    public long getSize() { return size; }
+    public boolean isDeduplicated() { return deduplicated; }
+}
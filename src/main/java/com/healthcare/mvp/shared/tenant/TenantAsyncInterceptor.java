@@ -0,0 +1,41 @@
+package com.healthcare.mvp.shared.tenant;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+/**
+ * Carries the request's tenant onto the MVC async executor.
+ *
+ * Callable and StreamingResponseBody handlers run on another thread after the
+ * request thread has left TenantResolutionFilter, so without this they would
+ * read and write the default shard.
+ */
+public class TenantAsyncInterceptor implements CallableProcessingInterceptor {
+
+    private static final String HOSPITAL_ID_ATTRIBUTE = TenantAsyncInterceptor.class.getName() + ".hospitalId";
+    private static final String SHARD_ATTRIBUTE = TenantAsyncInterceptor.class.getName() + ".shard";
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        request.setAttribute(HOSPITAL_ID_ATTRIBUTE, TenantContext.getHospitalId(), RequestAttributes.SCOPE_REQUEST);
+        request.setAttribute(SHARD_ATTRIBUTE, TenantContext.getShard(), RequestAttributes.SCOPE_REQUEST);
+    }
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        UUID hospitalId = (UUID) request.getAttribute(HOSPITAL_ID_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        String shard = (String) request.getAttribute(SHARD_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (hospitalId != null || shard != null) {
+            TenantContext.set(hospitalId, shard);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        TenantContext.clear();
+    }
+}
@@ -0,0 +1,76 @@
+package com.healthcare.mvp.shared.tenant;
+
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * The tenant (hospital) and shard the current thread is working for.
+ *
+ * Set by TenantResolutionFilter for the length of a request, and by the shard
+ * fan-out and tenant move jobs around their own work. TenantRoutingDataSource
+ * reads the shard when a transaction borrows its connection, so the shard must
+ * be set before the transaction starts and cannot change inside it.
+ */
+public final class TenantContext {
+
+    private static final ThreadLocal<UUID> HOSPITAL_ID = new ThreadLocal<>();
+    private static final ThreadLocal<String> SHARD = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static UUID getHospitalId() {
+        return HOSPITAL_ID.get();
+    }
+
+    /**
+     * Shard key of the current thread, or null for the default shard
+     */
+    public static String getShard() {
+        return SHARD.get();
+    }
+
+    public static void set(UUID hospitalId, String shard) {
+        HOSPITAL_ID.set(hospitalId);
+        SHARD.set(shard);
+    }
+
+    public static void clear() {
+        HOSPITAL_ID.remove();
+        SHARD.remove();
+    }
+
+    /**
+     * The task bound to the caller's tenant, for work handed to other threads
+     */
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        UUID hospitalId = HOSPITAL_ID.get();
+        String shard = SHARD.get();
+        return () -> {
+            set(hospitalId, shard);
+            try {
+                return task.call();
+            } finally {
+                clear();
+            }
+        };
+    }
+
+    /**
+     * Run the work against one shard, restoring the caller's tenant afterwards
+     */
+    public static <T> T callOnShard(String shard, Supplier<T> work) {
+        UUID previousHospitalId = HOSPITAL_ID.get();
+        String previousShard = SHARD.get();
+        set(null, shard);
+        try {
+            return work.get();
+        } finally {
+            set(previousHospitalId, previousShard);
+            if (previousHospitalId == null && previousShard == null) {
+                clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.healthcare.mvp.shared.tenant;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.util.UUID;
+
+/**
+ * JPA transaction manager that checks the tenant's write fence before each
+ * commit of a read-write transaction bound to a tenant (TenantContext).
+ *
+ * Repository saves, @Transactional services and TransactionTemplate blocks
+ * all commit here, whichever thread or node runs them, so no tenant write
+ * commits on a shard that a move has fenced; the transaction is rolled back
+ * and the caller gets a TenantMovingException (503). The check holds the
+ * tenant's shared write lock from just before the commit until it completes.
+ * Background jobs that write for many tenants run without a tenant and check
+ * the fence themselves (see TenantWriteFence).
+ */
+public class TenantFencedTransactionManager extends JpaTransactionManager {
+
+    private final TenantWriteFence writeFence;
+
+    public TenantFencedTransactionManager(TenantWriteFence writeFence) {
+        this.writeFence = writeFence;
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        UUID hospitalId = TenantContext.getHospitalId();
+        if (hospitalId != null && !status.isReadOnly()) {
+            // Throwing here makes the commit roll back instead
+            writeFence.requireWritable(hospitalId);
+        }
+        super.doCommit(status);
+    }
+}
@@ -0,0 +1,421 @@
+package com.healthcare.mvp.shared.tenant;
+
+import com.healthcare.mvp.shared.dto.TenantMoveResultDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Moves one tenant's rows to another shard while the tenant stays online.
+ *
+ * 1. Bulk copy: every table with a hospital_id column (except the global
+ *    ones) is copied in primary-key keyset batches, parents before children,
+ *    upserting into the target so the copy can be re-run.
+ * 2. Catch-up: rows updated since the bulk copy started are copied again.
+ * 3. Cutover: the tenant is fenced on the source shard (TenantWriteFence) and
+ *    frozen in the directory, so writes from any node - requests and
+ *    background jobs - are refused with 503. The fence's lock is then taken
+ *    exclusively, which waits for writes already past the fence check to
+ *    commit, up to drain-timeout-seconds. Then the last changes are copied,
+ *    rows deleted on the source are deleted on the target, any fence left on
+ *    the target by an earlier move away is lifted, and the directory is
+ *    flipped to the target shard. Reads are served throughout. The source
+ *    fence stays, refusing writes from nodes whose directory is not yet
+ *    refreshed.
+ * 4. Optionally the tenant's rows are purged from the source.
+ *
+ * Any failure before the flip lifts the fence and unfreezes the tenant on its
+ * old shard; the partial copy on the target is harmless and overwritten by a
+ * retry. Changed
+ * rows are found by the table's updated_at or updated_date column, so updates
+ * must bump it; tables with neither are fully re-copied at cutover, and the
+ * move is refused up front if such a table holds more than full-copy-max-rows
+ * of the tenant. The one update that leaves the change column alone on
+ * purpose, the prescription PDF marker, is a cache and may be lost. The target
+ * shard gets its schema at application startup (FlywayConfig).
+ *
+ * Not transactional: each batch commits on its own, and the source and
+ * target are different databases anyway.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TenantMover {
+
+    // Tables that carry hospital_id but are not tenant data: the platform-level ones on the
+    // default shard, and each shard's own write fence
+    private static final Set<String> GLOBAL_TABLES = Set.of(
+            "hospital", "users", "business_user", "subscription", "tenant_shard", "tenant_write_fence");
+    // Row change timestamps: updated_at on legacy tables, updated_date on BaseEntity ones
+    private static final List<String> CHANGE_COLUMNS = List.of("updated_at", "updated_date");
+    private static final Duration CLOCK_SKEW = Duration.ofMinutes(1);
+
+    private final TenantRoutingDataSource routingDataSource;
+    private final TenantShardDirectory shardDirectory;
+    private final TenantWriteFence writeFence;
+    private final TenantShardProperties properties;
+
+    private final AtomicBoolean moving = new AtomicBoolean(false);
+
+    /**
+     * Move the tenant to the target shard; one move at a time per node
+     */
+    public TenantMoveResultDto move(UUID hospitalId, String targetShard, boolean purgeSource) {
+        if (!routingDataSource.hasShard(targetShard)) {
+            throw new RuntimeException("Unknown shard: " + targetShard);
+        }
+        String sourceShard = shardDirectory.shardFor(hospitalId);
+        if (sourceShard.equals(targetShard)) {
+            throw new RuntimeException("Hospital " + hospitalId + " is already on shard " + targetShard);
+        }
+        if (!moving.compareAndSet(false, true)) {
+            throw new RuntimeException("Another tenant move is already running");
+        }
+
+        long startTime = System.currentTimeMillis();
+        try {
+            JdbcTemplate source = new JdbcTemplate(routingDataSource.getShard(sourceShard));
+            JdbcTemplate target = new JdbcTemplate(routingDataSource.getShard(targetShard));
+            List<TenantTable> tables = tenantTables(source);
+            requireTables(target, tables, targetShard);
+            requireChangeColumns(source, tables, hospitalId);
+            log.info("Moving tenant {} from shard {} to {}: tables {}", hospitalId, sourceShard, targetShard,
+                    tables.stream().map(table -> table.name).collect(Collectors.toList()));
+
+            if (!TenantRoutingDataSource.DEFAULT_SHARD.equals(targetShard)) {
+                // Tenant rows reference their hospital, so the target needs a copy of it
+                JdbcTemplate global = new JdbcTemplate(routingDataSource.getDefaultShard());
+                copyHospitalRow(global, target, hospitalId);
+            }
+
+            Map<String, Long> copied = new LinkedHashMap<>();
+            LocalDateTime bulkStart = LocalDateTime.now();
+            for (TenantTable table : tables) {
+                copied.put(table.name, copy(source, target, table, hospitalId, null));
+            }
+
+            LocalDateTime catchUpStart = LocalDateTime.now();
+            for (TenantTable table : tables) {
+                if (table.changeColumn != null) {
+                    copied.merge(table.name, copy(source, target, table, hospitalId, bulkStart), Long::sum);
+                }
+            }
+
+            long frozenAt = System.currentTimeMillis();
+            long reconciled = cutover(source, target, tables, hospitalId, sourceShard, targetShard, catchUpStart, copied);
+            long frozenMillis = System.currentTimeMillis() - frozenAt;
+
+            long purged = 0;
+            if (purgeSource) {
+                purged = purge(source, tables, hospitalId);
+            }
+
+            long duration = System.currentTimeMillis() - startTime;
+            log.info("Moved tenant {} to shard {} in {}ms (writes frozen {}ms)", hospitalId, targetShard, duration, frozenMillis);
+            return TenantMoveResultDto.builder()
+                    .hospitalId(hospitalId)
+                    .sourceShard(sourceShard)
+                    .targetShard(targetShard)
+                    .rowsCopied(copied)
+                    .rowsReconciled(reconciled)
+                    .rowsPurged(purged)
+                    .frozenMillis(frozenMillis)
+                    .durationMillis(duration)
+                    .completedAt(LocalDateTime.now())
+                    .build();
+        } finally {
+            moving.set(false);
+        }
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    /**
+     * Fence, drain, final sync and flip. Returns the number of rows deleted on the target.
+     */
+    private long cutover(JdbcTemplate source, JdbcTemplate target, List<TenantTable> tables, UUID hospitalId,
+                         String sourceShard, String targetShard, LocalDateTime since, Map<String, Long> copied) {
+        DataSource sourceDataSource = routingDataSource.getShard(sourceShard);
+        writeFence.fence(sourceDataSource, hospitalId, targetShard);
+        boolean flipped = false;
+        try {
+            shardDirectory.assign(hospitalId, sourceShard, TenantShardDirectory.Status.FROZEN);
+            writeFence.drain(sourceDataSource, hospitalId, properties.getMove().getDrainTimeoutSeconds());
+
+            for (TenantTable table : tables) {
+                LocalDateTime changedSince = table.changeColumn != null ? since : null;
+                copied.merge(table.name, copy(source, target, table, hospitalId, changedSince), Long::sum);
+            }
+            long reconciled = 0;
+            List<TenantTable> childrenFirst = new ArrayList<>(tables);
+            Collections.reverse(childrenFirst);
+            for (TenantTable table : childrenFirst) {
+                reconciled += deleteMissing(source, target, table, hospitalId);
+            }
+
+            writeFence.lift(routingDataSource.getShard(targetShard), hospitalId);
+            shardDirectory.assign(hospitalId, targetShard, TenantShardDirectory.Status.ACTIVE);
+            flipped = true;
+            return reconciled;
+        } finally {
+            if (!flipped) {
+                writeFence.lift(sourceDataSource, hospitalId);
+                shardDirectory.assign(hospitalId, sourceShard, TenantShardDirectory.Status.ACTIVE);
+                log.warn("Tenant {} move to {} aborted, left on shard {}", hospitalId, targetShard, sourceShard);
+            }
+        }
+    }
+
+    /**
+     * Upsert the tenant's rows (only those changed since the given time, when given) into the target
+     */
+    private long copy(JdbcTemplate source, JdbcTemplate target, TenantTable table, UUID hospitalId,
+                      LocalDateTime changedSince) {
+        int batchSize = properties.getMove().getBatchSize();
+        String columns = table.columns.stream().map(TenantMover::quote).collect(Collectors.joining(", "));
+        String where = "hospital_id = ?" + (changedSince == null ? "" : " AND " + quote(table.changeColumn) + " >= ?");
+        String first = "SELECT " + columns + " FROM " + quote(table.name) + " WHERE " + where +
+                " ORDER BY " + quote(table.primaryKey) + " LIMIT " + batchSize;
+        String next = "SELECT " + columns + " FROM " + quote(table.name) + " WHERE " + where +
+                " AND " + quote(table.primaryKey) + " > ? ORDER BY " + quote(table.primaryKey) + " LIMIT " + batchSize;
+        String upsert = upsertSql(table);
+
+        List<Object> params = new ArrayList<>();
+        params.add(hospitalId);
+        if (changedSince != null) {
+            params.add(Timestamp.valueOf(changedSince.minus(CLOCK_SKEW)));
+        }
+
+        long total = 0;
+        Object lastKey = null;
+        while (true) {
+            List<Map<String, Object>> rows;
+            if (lastKey == null) {
+                rows = source.queryForList(first, params.toArray());
+            } else {
+                List<Object> keyed = new ArrayList<>(params);
+                keyed.add(lastKey);
+                rows = source.queryForList(next, keyed.toArray());
+            }
+            if (rows.isEmpty()) {
+                return total;
+            }
+            List<Object[]> values = new ArrayList<>(rows.size());
+            for (Map<String, Object> row : rows) {
+                values.add(table.columns.stream().map(row::get).toArray());
+            }
+            target.batchUpdate(upsert, values);
+            total += rows.size();
+            lastKey = rows.get(rows.size() - 1).get(table.primaryKey);
+            if (rows.size() < batchSize) {
+                return total;
+            }
+        }
+    }
+
+    /**
+     * Delete target rows of the tenant that no longer exist on the source
+     */
+    private long deleteMissing(JdbcTemplate source, JdbcTemplate target, TenantTable table, UUID hospitalId) {
+        int batchSize = properties.getMove().getBatchSize();
+        String key = quote(table.primaryKey);
+        String first = "SELECT " + key + " FROM " + quote(table.name) + " WHERE hospital_id = ? ORDER BY " + key +
+                " LIMIT " + batchSize;
+        String next = "SELECT " + key + " FROM " + quote(table.name) + " WHERE hospital_id = ? AND " + key +
+                " > ? ORDER BY " + key + " LIMIT " + batchSize;
+
+        long deleted = 0;
+        Object lastKey = null;
+        while (true) {
+            List<Object> keys = lastKey == null
+                    ? target.queryForList(first, Object.class, hospitalId)
+                    : target.queryForList(next, Object.class, hospitalId, lastKey);
+            if (keys.isEmpty()) {
+                return deleted;
+            }
+            String placeholders = String.join(", ", Collections.nCopies(keys.size(), "?"));
+            Set<Object> present = new HashSet<>(source.queryForList(
+                    "SELECT " + key + " FROM " + quote(table.name) + " WHERE " + key + " IN (" + placeholders + ")",
+                    Object.class, keys.toArray()));
+            List<Object[]> missing = keys.stream()
+                    .filter(candidate -> !present.contains(candidate))
+                    .map(candidate -> new Object[]{candidate})
+                    .collect(Collectors.toList());
+            if (!missing.isEmpty()) {
+                target.batchUpdate("DELETE FROM " + quote(table.name) + " WHERE " + key + " = ?", missing);
+                deleted += missing.size();
+            }
+            lastKey = keys.get(keys.size() - 1);
+            if (keys.size() < batchSize) {
+                return deleted;
+            }
+        }
+    }
+
+    private long purge(JdbcTemplate source, List<TenantTable> tables, UUID hospitalId) {
+        int batchSize = properties.getMove().getBatchSize();
+        long purged = 0;
+        List<TenantTable> childrenFirst = new ArrayList<>(tables);
+        Collections.reverse(childrenFirst);
+        for (TenantTable table : childrenFirst) {
+            String key = quote(table.primaryKey);
+            String sql = "DELETE FROM " + quote(table.name) + " WHERE " + key + " IN (SELECT " + key + " FROM " +
+                    quote(table.name) + " WHERE hospital_id = ? LIMIT " + batchSize + ")";
+            int deleted;
+            do {
+                deleted = source.update(sql, hospitalId);
+                purged += deleted;
+            } while (deleted > 0);
+        }
+        log.info("Purged {} rows of tenant {} from the source shard", purged, hospitalId);
+        return purged;
+    }
+
+    private void copyHospitalRow(JdbcTemplate global, JdbcTemplate target, UUID hospitalId) {
+        TenantTable hospital = describe(global, "hospital");
+        List<Map<String, Object>> rows = global.queryForList(
+                "SELECT * FROM hospital WHERE " + quote(hospital.primaryKey) + " = ?", hospitalId);
+        if (rows.isEmpty()) {
+            throw new RuntimeException("Hospital not found with ID: " + hospitalId);
+        }
+        List<String> targetColumns = columnsOf(target, "hospital");
+        TenantTable shared = new TenantTable("hospital", hospital.primaryKey,
+                hospital.columns.stream().filter(targetColumns::contains).collect(Collectors.toList()), null);
+        target.update(upsertSql(shared), shared.columns.stream().map(rows.get(0)::get).toArray());
+    }
+
+    /**
+     * Tenant tables of the shard, parents before children
+     */
+    private List<TenantTable> tenantTables(JdbcTemplate jdbc) {
+        Set<String> names = new TreeSet<>(jdbc.queryForList(
+                "SELECT c.table_name FROM information_schema.columns c " +
+                "JOIN information_schema.tables t ON t.table_schema = c.table_schema AND t.table_name = c.table_name " +
+                "WHERE c.table_schema = current_schema() AND c.column_name = 'hospital_id' AND t.table_type = 'BASE TABLE'",
+                String.class));
+        names.removeAll(GLOBAL_TABLES);
+
+        Map<String, Set<String>> parents = new HashMap<>();
+        jdbc.query("SELECT tc.table_name AS child, ccu.table_name AS parent " +
+                   "FROM information_schema.table_constraints tc " +
+                   "JOIN information_schema.constraint_column_usage ccu " +
+                   "ON ccu.constraint_name = tc.constraint_name AND ccu.table_schema = tc.table_schema " +
+                   "WHERE tc.constraint_type = 'FOREIGN KEY' AND tc.table_schema = current_schema()", row -> {
+            String child = row.getString("child");
+            String parent = row.getString("parent");
+            if (names.contains(child) && names.contains(parent) && !child.equals(parent)) {
+                parents.computeIfAbsent(child, name -> new HashSet<>()).add(parent);
+            }
+        });
+
+        List<TenantTable> ordered = new ArrayList<>();
+        Set<String> placed = new HashSet<>();
+        Set<String> remaining = new TreeSet<>(names);
+        while (!remaining.isEmpty()) {
+            String nextTable = remaining.stream()
+                    .filter(name -> placed.containsAll(parents.getOrDefault(name, Set.of())))
+                    .findFirst()
+                    .orElse(remaining.iterator().next()); // FK cycle: take it in name order
+            remaining.remove(nextTable);
+            placed.add(nextTable);
+            ordered.add(describe(jdbc, nextTable));
+        }
+        return ordered;
+    }
+
+    private TenantTable describe(JdbcTemplate jdbc, String table) {
+        List<String> keys = jdbc.queryForList(
+                "SELECT a.attname FROM pg_index i " +
+                "JOIN pg_attribute a ON a.attrelid = i.indrelid AND a.attnum = ANY(i.indkey) " +
+                "WHERE i.indrelid = to_regclass(?) AND i.indisprimary", String.class, quote(table));
+        if (keys.size() != 1) {
+            throw new RuntimeException("Table " + table + " needs a single-column primary key to be moved");
+        }
+        List<String> columns = columnsOf(jdbc, table);
+        String changeColumn = CHANGE_COLUMNS.stream().filter(columns::contains).findFirst().orElse(null);
+        return new TenantTable(table, keys.get(0), columns, changeColumn);
+    }
+
+    private static List<String> columnsOf(JdbcTemplate jdbc, String table) {
+        return jdbc.queryForList("SELECT column_name FROM information_schema.columns " +
+                "WHERE table_schema = current_schema() AND table_name = ? ORDER BY ordinal_position", String.class, table);
+    }
+
+    private static void requireTables(JdbcTemplate target, List<TenantTable> tables, String targetShard) {
+        for (TenantTable table : tables) {
+            List<String> targetColumns = columnsOf(target, table.name);
+            if (!targetColumns.containsAll(table.columns)) {
+                throw new RuntimeException("Shard " + targetShard + " is missing table or columns of " + table.name);
+            }
+        }
+    }
+
+    /**
+     * Tables without a change column are re-copied in full while the tenant is
+     * frozen; refuse the move if any holds too many of the tenant's rows
+     */
+    private void requireChangeColumns(JdbcTemplate source, List<TenantTable> tables, UUID hospitalId) {
+        long maxRows = properties.getMove().getFullCopyMaxRows();
+        for (TenantTable table : tables) {
+            if (table.changeColumn != null) {
+                continue;
+            }
+            Long rows = source.queryForObject("SELECT COUNT(*) FROM (SELECT 1 FROM " + quote(table.name) +
+                    " WHERE hospital_id = ? LIMIT " + (maxRows + 1) + ") t", Long.class, hospitalId);
+            if (rows != null && rows > maxRows) {
+                throw new RuntimeException("Table " + table.name + " has more than " + maxRows + " rows of hospital " +
+                        hospitalId + " but no " + String.join(" or ", CHANGE_COLUMNS) +
+                        " column; it would be re-copied in full while writes are frozen");
+            }
+        }
+    }
+
+    private static String upsertSql(TenantTable table) {
+        String columns = table.columns.stream().map(TenantMover::quote).collect(Collectors.joining(", "));
+        String placeholders = String.join(", ", Collections.nCopies(table.columns.size(), "?"));
+        String updates = table.columns.stream()
+                .filter(column -> !column.equals(table.primaryKey))
+                .map(column -> quote(column) + " = EXCLUDED." + quote(column))
+                .collect(Collectors.joining(", "));
+        return "INSERT INTO " + quote(table.name) + " (" + columns + ") VALUES (" + placeholders + ") " +
+               "ON CONFLICT (" + quote(table.primaryKey) + ") " + (updates.isEmpty() ? "DO NOTHING" : "DO UPDATE SET " + updates);
+    }
+
+    // Names come from the database catalog, never from user input
+    private static String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
+    private static final class TenantTable {
+        private final String name;
+        private final String primaryKey;
+        private final List<String> columns;
+        private final String changeColumn; // null if the table has none
+
+        private TenantTable(String name, String primaryKey, List<String> columns, String changeColumn) {
+            this.name = name;
+            this.primaryKey = primaryKey;
+            this.columns = columns;
+            this.changeColumn = changeColumn;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.healthcare.mvp.shared.tenant;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthcare.mvp.shared.dto.BaseResponse;
+import com.healthcare.mvp.shared.exception.TenantMovingException;
+import com.healthcare.mvp.shared.security.SecurityUtils;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Binds each request to its tenant's shard for TenantRoutingDataSource.
+ *
+ * The tenant is the hospitalId claim of the JWT, or for users without one
+ * (business users) the {hospitalId} of a /hospital/{hospitalId} path. Runs
+ * after the security filter chain, so the JWT has already been verified.
+ * Requests under the global APIs (hospitals, business users, auth, admin) stay
+ * on the default shard.
+ *
+ * Writes to a tenant the directory shows as being moved are answered with 503
+ * and Retry-After straight away; reads carry on against the old shard. Writes
+ * that get past a stale directory are refused when they commit
+ * (TenantFencedTransactionManager). TenantAsyncInterceptor carries the tenant
+ * onto the async thread of a streamed response.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TenantResolutionFilter extends OncePerRequestFilter {
+
+    private static final Pattern HOSPITAL_PATH = Pattern.compile(
+            "/hospital/([0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12})(/|$)");
+
+    private final TenantShardDirectory shardDirectory;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        UUID hospitalId = resolveHospitalId(request);
+        if (hospitalId == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (isWrite(request) && shardDirectory.isFrozen(hospitalId)) {
+            rejectWhileMoving(response, hospitalId);
+            return;
+        }
+        TenantContext.set(hospitalId, shardDirectory.shardFor(hospitalId));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return path.startsWith("/api/hospitals") ||
+               path.startsWith("/api/business/") ||
+               path.startsWith("/api/auth/") ||
+               path.startsWith("/api/admin/") ||
+               path.startsWith("/actuator/") ||
+               path.startsWith("/swagger-") ||
+               path.startsWith("/v3/api-docs");
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private UUID resolveHospitalId(HttpServletRequest request) {
+        String claimed = SecurityUtils.getCurrentUserHospitalId();
+        if (claimed != null && !claimed.isBlank()) {
+            return parse(claimed);
+        }
+        Matcher matcher = HOSPITAL_PATH.matcher(request.getRequestURI());
+        return matcher.find() ? parse(matcher.group(1)) : null;
+    }
+
+    private static UUID parse(String value) {
+        try {
+            return UUID.fromString(value.trim());
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring malformed tenant id: {}", value);
+            return null;
+        }
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method));
+    }
+
+    private void rejectWhileMoving(HttpServletResponse response, UUID hospitalId) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, TenantMovingException.RETRY_AFTER_SECONDS);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        BaseResponse<Object> errorResponse = BaseResponse.builder()
+                .success(false)
+                .errorCode(TenantMovingException.ERROR_CODE)
+                .message(TenantMovingException.MESSAGE)
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+        log.debug("Refused write for frozen tenant {}", hospitalId);
+    }
+}
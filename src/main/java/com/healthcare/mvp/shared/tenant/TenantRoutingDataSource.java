@@ -0,0 +1,68 @@
+package com.healthcare.mvp.shared.tenant;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Application DataSource that hands out connections from the current tenant's
+ * shard (TenantContext), or from the default shard when no tenant is set -
+ * startup, background jobs, business users and unauthenticated requests.
+ *
+ * The default shard also holds the global tables: hospitals, business users,
+ * code sequences and the tenant_shard directory.
+ */
+public class TenantRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String DEFAULT_SHARD = "default";
+
+    private final Map<String, DataSource> shards;
+
+    public TenantRoutingDataSource(Map<String, DataSource> shards) {
+        if (!shards.containsKey(DEFAULT_SHARD)) {
+            throw new IllegalArgumentException("No '" + DEFAULT_SHARD + "' shard configured");
+        }
+        this.shards = Collections.unmodifiableMap(new LinkedHashMap<>(shards));
+        setTargetDataSources(new LinkedHashMap<>(shards));
+        setDefaultTargetDataSource(shards.get(DEFAULT_SHARD));
+        // An unknown key is a directory/config mismatch, never a reason to fall back to the default shard
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Shard keys, default first
+     */
+    public Set<String> getShardKeys() {
+        return shards.keySet();
+    }
+
+    public boolean hasShard(String shard) {
+        return shards.containsKey(shard);
+    }
+
+    /**
+     * The shard's own pool, bypassing routing - for global tables and cross-shard jobs
+     */
+    public DataSource getShard(String shard) {
+        DataSource dataSource = shards.get(shard);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Unknown shard: " + shard);
+        }
+        return dataSource;
+    }
+
+    public DataSource getDefaultShard() {
+        return shards.get(DEFAULT_SHARD);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String shard = TenantContext.getShard();
+        return shard == null ? DEFAULT_SHARD : shard;
+    }
+}
@@ -0,0 +1,164 @@
+package com.healthcare.mvp.shared.tenant;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tenant-to-shard map, backed by the tenant_shard table on the default shard.
+ *
+ * Only tenants that were moved off the default shard have a row. Each node
+ * holds the whole map in memory and re-reads it at most every
+ * directoryRefreshSeconds, on whichever request first finds it stale; other
+ * requests keep using the old map meanwhile. A FROZEN tenant is mid-move: its
+ * reads still go to the old shard, writes are refused until the move flips it.
+ * The map only lets a node refuse those writes early; the guarantee is the
+ * write fence on the old shard (TenantWriteFence), which also holds for nodes
+ * that have not refreshed yet.
+ */
+@Component
+@Slf4j
+public class TenantShardDirectory {
+
+    public enum Status {
+        ACTIVE, FROZEN
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TenantRoutingDataSource routingDataSource;
+    private final long refreshMillis;
+
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile Map<UUID, Assignment> assignments = Collections.emptyMap();
+    private volatile long loadedAt = 0L;
+
+    public TenantShardDirectory(TenantRoutingDataSource routingDataSource, TenantShardProperties properties) {
+        this.routingDataSource = routingDataSource;
+        this.jdbcTemplate = new JdbcTemplate(routingDataSource.getDefaultShard());
+        this.refreshMillis = properties.getDirectoryRefreshSeconds() * 1000L;
+    }
+
+    /**
+     * Shard key serving the tenant; the default shard for unknown or unmoved tenants
+     */
+    public String shardFor(UUID hospitalId) {
+        Assignment assignment = current().get(hospitalId);
+        return assignment == null ? TenantRoutingDataSource.DEFAULT_SHARD : assignment.shard;
+    }
+
+    /**
+     * Whether the shard owns the tenant's rows - false for a copy left behind by a move without purge
+     */
+    public boolean isServedBy(UUID hospitalId, String shard) {
+        return shardFor(hospitalId).equals(shard);
+    }
+
+    /**
+     * Tenants the directory assigns to another shard; any of their rows on this shard are a stale copy
+     */
+    public UUID[] tenantsServedElsewhere(String shard) {
+        return current().entrySet().stream()
+                .filter(entry -> !entry.getValue().shard.equals(shard))
+                .map(Map.Entry::getKey)
+                .toArray(UUID[]::new);
+    }
+
+    public boolean isFrozen(UUID hospitalId) {
+        Assignment assignment = current().get(hospitalId);
+        return assignment != null && assignment.status == Status.FROZEN;
+    }
+
+    /**
+     * Tenants per shard, for every tenant with a directory row
+     */
+    public Map<String, Integer> tenantCounts() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (Assignment assignment : current().values()) {
+            counts.merge(assignment.shard, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * Record the tenant's shard and status, and apply it on this node immediately
+     */
+    public void assign(UUID hospitalId, String shard, Status status) {
+        if (!routingDataSource.hasShard(shard)) {
+            throw new RuntimeException("Unknown shard: " + shard);
+        }
+        jdbcTemplate.update(
+                "INSERT INTO tenant_shard (hospital_id, shard_key, status, updated_at) VALUES (?, ?, ?, ?) " +
+                "ON CONFLICT (hospital_id) DO UPDATE SET shard_key = EXCLUDED.shard_key, " +
+                "status = EXCLUDED.status, updated_at = EXCLUDED.updated_at",
+                hospitalId, shard, status.name(), Timestamp.valueOf(LocalDateTime.now()));
+        reload();
+        log.info("Tenant {} assigned to shard {} ({})", hospitalId, shard, status);
+    }
+
+    /**
+     * Re-read the directory now
+     */
+    public void reload() {
+        reloadLock.lock();
+        try {
+            load();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private Map<UUID, Assignment> current() {
+        if (System.currentTimeMillis() - loadedAt >= refreshMillis && reloadLock.tryLock()) {
+            try {
+                if (System.currentTimeMillis() - loadedAt >= refreshMillis) {
+                    load();
+                }
+            } catch (RuntimeException e) {
+                // Keep routing with the last known map rather than failing the request
+                log.warn("Could not refresh tenant shard directory: {}", e.getMessage());
+                loadedAt = System.currentTimeMillis();
+            } finally {
+                reloadLock.unlock();
+            }
+        }
+        return assignments;
+    }
+
+    /**
+     * Caller holds the reload lock
+     */
+    private void load() {
+        Map<UUID, Assignment> loaded = new HashMap<>();
+        jdbcTemplate.query("SELECT hospital_id, shard_key, status FROM tenant_shard", row -> {
+            loaded.put(row.getObject("hospital_id", UUID.class),
+                    new Assignment(row.getString("shard_key"), Status.valueOf(row.getString("status"))));
+        });
+        loaded.forEach((hospitalId, assignment) -> {
+            if (!routingDataSource.hasShard(assignment.shard)) {
+                log.error("Tenant {} is assigned to unconfigured shard {}", hospitalId, assignment.shard);
+            }
+        });
+        assignments = Collections.unmodifiableMap(loaded);
+        loadedAt = System.currentTimeMillis();
+    }
+
+    private static final class Assignment {
+        private final String shard;
+        private final Status status;
+
+        private Assignment(String shard, Status status) {
+            this.shard = shard;
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.healthcare.mvp.shared.tenant;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs a query on every shard, for super-admin views that span all tenants.
+ *
+ * Each shard's part runs in its own read-only transaction on a small bounded
+ * pool, with TenantContext pointing at that shard, so ordinary repositories can
+ * be used inside the callback. Results come back keyed by shard, default first.
+ * With a single shard the callback simply runs on the caller's thread.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TenantShardFanout {
+
+    private final TenantRoutingDataSource routingDataSource;
+    private final TenantShardProperties properties;
+    private final PlatformTransactionManager transactionManager;
+
+    private ExecutorService pool;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(Math.max(1, properties.getFanoutThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "shard-fanout-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * The query's result on each shard; fails if any shard fails
+     */
+    public <T> Map<String, T> onEachShard(Function<String, T> query) {
+        List<String> shards = new ArrayList<>(routingDataSource.getShardKeys());
+        Map<String, T> results = new LinkedHashMap<>();
+        if (shards.size() == 1) {
+            results.put(shards.get(0), runOn(shards.get(0), query));
+            return results;
+        }
+
+        Map<String, Future<T>> futures = new LinkedHashMap<>();
+        for (String shard : shards) {
+            futures.put(shard, pool.submit(() -> runOn(shard, query)));
+        }
+        for (Map.Entry<String, Future<T>> entry : futures.entrySet()) {
+            try {
+                results.put(entry.getKey(), entry.getValue().get());
+            } catch (ExecutionException e) {
+                futures.values().forEach(future -> future.cancel(true));
+                throw new RuntimeException("Query failed on shard " + entry.getKey() + ": " + e.getCause().getMessage(), e.getCause());
+            } catch (InterruptedException e) {
+                futures.values().forEach(future -> future.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted during cross-shard query", e);
+            }
+        }
+        return results;
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private <T> T runOn(String shard, Function<String, T> query) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+        return TenantContext.callOnShard(shard, () -> transactionTemplate.execute(status -> query.apply(shard)));
+    }
+}
@@ -0,0 +1,46 @@
+package com.healthcare.mvp.shared.tenant;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * app.tenant.* - the shards tenants can be routed to.
+ *
+ * The default shard is always spring.datasource. A shard with only a schema
+ * lives in the default database (schema-per-group); a shard with a url is a
+ * separate database, using the default credentials unless its own are given.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.tenant")
+public class TenantShardProperties {
+
+    private Map<String, Shard> shards = new LinkedHashMap<>();
+
+    // How often each node re-reads the tenant_shard directory
+    private int directoryRefreshSeconds = 30;
+
+    private int fanoutThreads = 4;
+
+    private Move move = new Move();
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private String schema;
+        private int maximumPoolSize = 10;
+    }
+
+    @Data
+    public static class Move {
+        private int batchSize = 1000;
+        // Longest wait, after fencing a tenant, for writes already in progress on any node to commit
+        private int drainTimeoutSeconds = 30;
+        // Tables without a change column are re-copied in full while writes are frozen; larger ones refuse the move
+        private long fullCopyMaxRows = 10000;
+    }
+}
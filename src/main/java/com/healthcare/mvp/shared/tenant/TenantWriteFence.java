@@ -0,0 +1,94 @@
+package com.healthcare.mvp.shared.tenant;
+
+import com.healthcare.mvp.shared.exception.TenantMovingException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Per-shard write fence that keeps a tenant's source shard still while a move
+ * cuts it over, across all nodes.
+ *
+ * Writers call the tenant_write_fenced(hospital_id) SQL function in the
+ * transaction that writes: it holds the tenant's advisory lock in shared mode
+ * until that transaction ends and tells whether the tenant is fenced. Tenant
+ * transactions check at commit (TenantFencedTransactionManager); the
+ * set-based background writes put the function in their WHERE clause. The
+ * move inserts the fence row and then takes the same lock exclusively, which
+ * waits for every writer that saw no fence to commit or roll back - on every
+ * node, since the lock lives in the shard's database.
+ */
+@Component
+public class TenantWriteFence {
+
+    private static final int LOCK_CLASS = 1413828180; // 'TENT', as in tenant_write_fenced
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TenantWriteFence(TenantRoutingDataSource routingDataSource) {
+        this.jdbcTemplate = new JdbcTemplate(routingDataSource);
+    }
+
+    /**
+     * Refuse the current transaction's writes if the tenant is fenced on its shard; call inside the transaction
+     */
+    public void requireWritable(UUID hospitalId) {
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT tenant_write_fenced(?)", Boolean.class, hospitalId))) {
+            throw new TenantMovingException(hospitalId);
+        }
+    }
+
+    /**
+     * The given tenants that are fenced on the current shard; the others stay locked against a cutover
+     * until the current transaction ends
+     */
+    public Set<UUID> fencedAmong(Collection<UUID> hospitalIds) {
+        if (hospitalIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT h FROM unnest(?) AS h WHERE tenant_write_fenced(h)", UUID.class,
+                (Object) hospitalIds.stream().distinct().toArray(UUID[]::new)));
+    }
+
+    /**
+     * Refuse the tenant's writes on the shard from now on
+     */
+    void fence(DataSource shard, UUID hospitalId, String targetShard) {
+        new JdbcTemplate(shard).update(
+                "INSERT INTO tenant_write_fence (hospital_id, target_shard, fenced_at) VALUES (?, ?, CURRENT_TIMESTAMP) " +
+                "ON CONFLICT (hospital_id) DO UPDATE SET target_shard = EXCLUDED.target_shard, fenced_at = EXCLUDED.fenced_at",
+                hospitalId, targetShard);
+    }
+
+    /**
+     * Wait until no transaction that started writing before the fence is still open on the shard
+     */
+    void drain(DataSource shard, UUID hospitalId, int timeoutSeconds) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(shard));
+        JdbcTemplate shardJdbc = new JdbcTemplate(shard);
+        try {
+            transaction.executeWithoutResult(status -> {
+                shardJdbc.execute("SET LOCAL lock_timeout = '" + Math.max(1, timeoutSeconds) + "s'");
+                shardJdbc.queryForList("SELECT pg_advisory_xact_lock(?, hashtext(?))", LOCK_CLASS, hospitalId.toString());
+            });
+        } catch (DataAccessException e) {
+            throw new RuntimeException("Writes for hospital " + hospitalId + " did not drain in time", e);
+        }
+    }
+
+    /**
+     * Accept the tenant's writes on the shard again
+     */
+    void lift(DataSource shard, UUID hospitalId) {
+        new JdbcTemplate(shard).update("DELETE FROM tenant_write_fence WHERE hospital_id = ?", hospitalId);
+    }
+}
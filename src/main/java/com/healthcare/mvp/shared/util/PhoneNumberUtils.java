@@ -0,0 +1,58 @@
+package com.healthcare.mvp.shared.util;
+
+/**
+ * Minimal E.164 normalization for phone numbers captured at registration.
+ *
+ * Not a full numbering-plan parser: it strips formatting, converts a leading
+ * 00 international prefix to +, drops a single trunk 0 and prefixes national
+ * numbers (up to ten digits) with the configured default country code.
+ */
+public final class PhoneNumberUtils {
+
+    private static final int MIN_DIGITS = 8;
+    private static final int MAX_DIGITS = 15;
+    private static final int MAX_NATIONAL_DIGITS = 10;
+
+    private PhoneNumberUtils() {
+    }
+
+    /**
+     * Normalize to +&lt;country&gt;&lt;number&gt;, or return null if the input cannot be a phone number
+     */
+    public static String toE164(String raw, String defaultCountryCode) {
+        if (raw == null || raw.isBlank()) {
+            return null;
+        }
+
+        String trimmed = raw.trim();
+        boolean international = trimmed.startsWith("+");
+        StringBuilder digits = new StringBuilder(trimmed.length());
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+
+        String number = digits.toString();
+        if (!international && number.startsWith("00")) {
+            international = true;
+            number = number.substring(2);
+        }
+        if (!international && number.length() > MAX_NATIONAL_DIGITS && number.startsWith(defaultCountryCode)) {
+            // Country code typed without the leading +
+            international = true;
+        }
+        if (!international) {
+            if (number.startsWith("0")) {
+                number = number.substring(1);
+            }
+            number = defaultCountryCode + number;
+        }
+
+        if (number.length() < MIN_DIGITS || number.length() > MAX_DIGITS || number.startsWith("0")) {
+            return null;
+        }
+        return "+" + number;
+    }
+}
@@ -0,0 +1,27 @@
+-- Store patient contact info as typed JSONB instead of a hand-built string
+-- (a schema created by Hibernate after the entity change already has JSONB)
+DO $$
+BEGIN
+    IF (SELECT data_type FROM information_schema.columns
+        WHERE table_schema = current_schema() AND table_name = 'patient' AND column_name = 'contact_info') <> 'jsonb' THEN
+        ALTER TABLE patient
+            ALTER COLUMN contact_info TYPE JSONB USING COALESCE(NULLIF(contact_info, ''), '{}')::JSONB;
+    END IF;
+END $$;
+
+-- Backfill the normalized phone used by the phone lookup
+-- (national 10-digit numbers get the default +91 country code)
+UPDATE patient
+SET contact_info = contact_info || jsonb_build_object('phoneE164',
+        CASE
+            WHEN contact_info->>'phone' LIKE '+%' THEN '+' || regexp_replace(contact_info->>'phone', '\D', '', 'g')
+            WHEN length(regexp_replace(contact_info->>'phone', '\D', '', 'g')) = 10
+                THEN '+91' || regexp_replace(contact_info->>'phone', '\D', '', 'g')
+            ELSE '+' || regexp_replace(contact_info->>'phone', '\D', '', 'g')
+        END)
+WHERE contact_info ? 'phone'
+  AND NOT contact_info ? 'phoneE164';
+
+-- jsonb_path_ops keeps the index small and serves @> containment lookups
+CREATE INDEX IF NOT EXISTS idx_patient_contact_info_gin
+    ON patient USING GIN (contact_info jsonb_path_ops);
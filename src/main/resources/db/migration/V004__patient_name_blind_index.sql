@@ -0,0 +1,8 @@
+-- HMAC blind indexes for encrypted patient names.
+-- Searches match on equality against these columns instead of LIKE on plaintext.
+
+ALTER TABLE patient ADD COLUMN IF NOT EXISTS first_name_bidx VARCHAR(32);
+ALTER TABLE patient ADD COLUMN IF NOT EXISTS last_name_bidx VARCHAR(32);
+
+CREATE INDEX IF NOT EXISTS idx_patient_hospital_first_name_bidx ON patient (hospital_id, first_name_bidx);
+CREATE INDEX IF NOT EXISTS idx_patient_hospital_last_name_bidx ON patient (hospital_id, last_name_bidx);
@@ -0,0 +1,13 @@
+-- Keyset indexes for the patient timeline: each source is read newest-first per patient
+
+CREATE INDEX IF NOT EXISTS idx_appointment_patient_datetime
+    ON appointment (patient_id, appointment_datetime DESC, appointment_id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_encounter_patient_visit_date
+    ON encounter (patient_id, visit_date DESC, encounter_id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_prescription_patient_date
+    ON prescription (patient_id, prescription_date DESC, prescription_id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_invoice_patient_created_date
+    ON invoice (patient_id, created_date DESC, invoice_id DESC);
@@ -0,0 +1,26 @@
+-- Checkpoint table for batched patient merges
+CREATE TABLE IF NOT EXISTS patient_merge (
+    merge_id            UUID PRIMARY KEY,
+    hospital_id         UUID NOT NULL,
+    survivor_patient_id UUID NOT NULL REFERENCES patient (patient_id),
+    loser_patient_id    UUID NOT NULL REFERENCES patient (patient_id),
+    status              VARCHAR(20) NOT NULL,
+    current_step        VARCHAR(30) NOT NULL,
+    rows_moved          BIGINT NOT NULL DEFAULT 0,
+    last_error          VARCHAR(1000),
+    completed_at        TIMESTAMP,
+    is_active           BOOLEAN NOT NULL DEFAULT TRUE,
+    version             BIGINT,
+    created_date        TIMESTAMP NOT NULL,
+    updated_date        TIMESTAMP NOT NULL,
+    created_by          UUID,
+    updated_by          UUID
+);
+
+-- At most one unfinished merge per duplicate patient
+CREATE UNIQUE INDEX IF NOT EXISTS uk_patient_merge_open_loser
+    ON patient_merge (loser_patient_id) WHERE status <> 'COMPLETED';
+
+-- Merge chunks select notifications by recipient
+CREATE INDEX IF NOT EXISTS idx_notification_recipient
+    ON notification (recipient_id, recipient_type);
@@ -0,0 +1,3 @@
+-- Dormant-patient scan for bulk deactivation walks active patients per hospital in ID order
+CREATE INDEX IF NOT EXISTS idx_patient_hospital_active_id
+    ON patient (hospital_id, patient_id) WHERE is_active = true;
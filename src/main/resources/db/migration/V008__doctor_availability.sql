@@ -0,0 +1,47 @@
+-- Weekly availability windows per doctor
+CREATE TABLE IF NOT EXISTS doctor_availability_template (
+    template_id    UUID PRIMARY KEY,
+    doctor_id      UUID NOT NULL REFERENCES doctor (doctor_id),
+    hospital_id    UUID NOT NULL,
+    day_of_week    VARCHAR(10) NOT NULL,
+    start_time     TIME NOT NULL,
+    end_time       TIME NOT NULL,
+    slot_capacity  INTEGER NOT NULL DEFAULT 1,
+    effective_from DATE,
+    effective_to   DATE,
+    is_active      BOOLEAN NOT NULL DEFAULT TRUE,
+    version        BIGINT,
+    created_date   TIMESTAMP NOT NULL,
+    updated_date   TIMESTAMP NOT NULL,
+    created_by     UUID,
+    updated_by     UUID
+);
+
+CREATE INDEX IF NOT EXISTS idx_availability_template_doctor
+    ON doctor_availability_template (doctor_id) WHERE is_active = true;
+
+-- Leave, holidays (doctor_id NULL = whole hospital) and extra hours
+CREATE TABLE IF NOT EXISTS doctor_availability_exception (
+    exception_id   UUID PRIMARY KEY,
+    hospital_id    UUID NOT NULL,
+    doctor_id      UUID REFERENCES doctor (doctor_id),
+    exception_date DATE NOT NULL,
+    start_time     TIME,
+    end_time       TIME,
+    exception_type VARCHAR(20) NOT NULL,
+    slot_capacity  INTEGER,
+    reason         VARCHAR(500),
+    is_active      BOOLEAN NOT NULL DEFAULT TRUE,
+    version        BIGINT,
+    created_date   TIMESTAMP NOT NULL,
+    updated_date   TIMESTAMP NOT NULL,
+    created_by     UUID,
+    updated_by     UUID
+);
+
+CREATE INDEX IF NOT EXISTS idx_availability_exception_date
+    ON doctor_availability_exception (exception_date, hospital_id) WHERE is_active = true;
+
+-- Slot occupancy checks read a doctor's booked appointments around one time
+CREATE INDEX IF NOT EXISTS idx_appointment_doctor_datetime
+    ON appointment (doctor_id, appointment_datetime);
@@ -0,0 +1,10 @@
+-- Code allocation sequences. INCREMENT BY is the per-node lease block size and
+-- must match CodeSequence.blockSize.
+CREATE SEQUENCE IF NOT EXISTS doctor_code_seq START WITH 1 INCREMENT BY 20;
+CREATE SEQUENCE IF NOT EXISTS hospital_code_seq START WITH 1 INCREMENT BY 10;
+CREATE SEQUENCE IF NOT EXISTS appointment_code_seq START WITH 1 INCREMENT BY 100;
+
+-- Continue doctor codes (DOC00001, ...) after the highest one already issued
+SELECT setval('doctor_code_seq', COALESCE(MAX(CAST(SUBSTRING(doctor_code FROM 4) AS BIGINT)), 0) + 1, false)
+FROM doctor
+WHERE doctor_code ~ '^DOC[0-9]+$';
@@ -0,0 +1,8 @@
+-- Paged and keyset hospital listings are ordered by (hospital_name, hospital_id)
+CREATE INDEX IF NOT EXISTS idx_hospital_name_id ON hospital (hospital_name, hospital_id);
+
+-- Listing filters; city and state are matched case-insensitively
+CREATE INDEX IF NOT EXISTS idx_hospital_city_lower ON hospital (LOWER(city));
+CREATE INDEX IF NOT EXISTS idx_hospital_state_lower ON hospital (LOWER(state));
+CREATE INDEX IF NOT EXISTS idx_hospital_brought_by ON hospital (brought_by_business_user);
+CREATE INDEX IF NOT EXISTS idx_hospital_partner_code ON hospital (partner_code_used);
@@ -0,0 +1,3 @@
+-- WGS84 coordinates for nearby-hospital search; the spatial index itself is in memory
+ALTER TABLE hospital ADD COLUMN IF NOT EXISTS latitude DOUBLE PRECISION;
+ALTER TABLE hospital ADD COLUMN IF NOT EXISTS longitude DOUBLE PRECISION;
@@ -0,0 +1,9 @@
+-- Tenant-to-shard directory; lives on the default shard. Tenants without a row are on the default shard.
+CREATE TABLE IF NOT EXISTS tenant_shard (
+    hospital_id UUID PRIMARY KEY,
+    shard_key VARCHAR(64) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE',
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_tenant_shard_shard_key ON tenant_shard (shard_key);
@@ -0,0 +1,3 @@
+-- pdf_file_path now holds the content hash of the archived PDF in the blob store;
+-- the orphan sweep looks keys up in batches
+CREATE INDEX IF NOT EXISTS idx_prescription_pdf_blob_key ON prescription (pdf_file_path) WHERE pdf_file_path IS NOT NULL;
@@ -0,0 +1,22 @@
+-- Signed PDF/A copies of prescriptions. Lives on the prescription's shard and moves with the tenant.
+-- source_updated_at is the prescription version that was archived; an edit makes the row stale.
+CREATE TABLE IF NOT EXISTS prescription_archive (
+    prescription_id UUID PRIMARY KEY,
+    hospital_id UUID NOT NULL,
+    blob_key VARCHAR(64) NOT NULL,
+    source_updated_at TIMESTAMP NOT NULL,
+    signed_at TIMESTAMP NOT NULL,
+    signer_subject VARCHAR(500) NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_prescription_archive_hospital ON prescription_archive (hospital_id);
+
+-- Restart point of batch jobs, one row per job on each shard
+CREATE TABLE IF NOT EXISTS batch_job_checkpoint (
+    job_name VARCHAR(100) PRIMARY KEY,
+    last_key VARCHAR(100),
+    pass_started_at TIMESTAMP,
+    processed BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,37 @@
+-- Store prescription medications as a typed JSONB array instead of free-form JSON text
+ALTER TABLE prescription
+    ALTER COLUMN medications TYPE JSONB USING COALESCE(NULLIF(medications::TEXT, ''), '[]')::JSONB;
+
+-- Older rows wrapped the array as {"medications": [...]}
+UPDATE prescription
+SET medications = medications->'medications'
+WHERE jsonb_typeof(medications) = 'object'
+  AND jsonb_typeof(medications->'medications') = 'array';
+
+UPDATE prescription
+SET medications = '[]'::JSONB
+WHERE jsonb_typeof(medications) <> 'array';
+
+-- Rows that only used the legacy single medication/dosage columns
+UPDATE prescription
+SET medications = jsonb_build_array(jsonb_strip_nulls(jsonb_build_object('name', btrim(medication), 'dosage', dosage)))
+WHERE medications = '[]'::JSONB
+  AND medication IS NOT NULL
+  AND btrim(medication) <> '';
+
+-- Canonical name and the normalized drugKey the lookup matches on (see Medication.drugKey)
+UPDATE prescription p
+SET medications = (
+    SELECT COALESCE(jsonb_agg(jsonb_strip_nulls(m
+               - 'medicationName' - 'drugName'
+               || jsonb_build_object(
+                      'name', btrim(COALESCE(m->>'name', m->>'medicationName', m->>'drugName')),
+                      'drugKey', lower(regexp_replace(btrim(COALESCE(m->>'name', m->>'medicationName', m->>'drugName')), '\s+', ' ', 'g'))))
+               ORDER BY ordinality), '[]'::JSONB)
+    FROM jsonb_array_elements(p.medications) WITH ORDINALITY AS e(m, ordinality)
+    WHERE jsonb_typeof(m) = 'object')
+WHERE EXISTS (SELECT 1 FROM jsonb_array_elements(p.medications) m WHERE NOT (m ? 'drugKey'));
+
+-- jsonb_path_ops keeps the index small and serves @> containment lookups
+CREATE INDEX IF NOT EXISTS idx_prescription_medications_gin
+    ON prescription USING GIN (medications jsonb_path_ops);
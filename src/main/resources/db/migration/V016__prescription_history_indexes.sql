@@ -0,0 +1,14 @@
+-- Prescription history by doctor and by patient, newest first. Both indexes
+-- carry the PrescriptionSummaryDto columns so paged and keyset listings can be
+-- answered by index-only scans, never touching the medications JSONB.
+
+CREATE INDEX IF NOT EXISTS idx_prescription_doctor_date
+    ON prescription (doctor_id, prescription_date DESC, prescription_id DESC)
+    INCLUDE (patient_id, hospital_id, prescription_number, status, follow_up_date, is_active);
+
+-- Replaces idx_prescription_patient_date from V005, which had the same key columns
+CREATE INDEX IF NOT EXISTS idx_prescription_patient_history
+    ON prescription (patient_id, prescription_date DESC, prescription_id DESC)
+    INCLUDE (doctor_id, hospital_id, prescription_number, status, follow_up_date, is_active);
+
+DROP INDEX IF EXISTS idx_prescription_patient_date;
@@ -0,0 +1,52 @@
+-- Refill reminders as a persistent delay queue: one row per medication with a
+-- duration, due lead-days before its supply runs out. Rows are never deleted;
+-- status records whether the reminder fired or was cancelled.
+CREATE TABLE IF NOT EXISTS prescription_refill (
+    refill_id UUID PRIMARY KEY,
+    prescription_id UUID NOT NULL,
+    hospital_id UUID NOT NULL,
+    medication_name VARCHAR(255) NOT NULL,
+    drug_key VARCHAR(255) NOT NULL,
+    supply_ends_on DATE NOT NULL,
+    due_at TIMESTAMP NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'SCHEDULED',  -- SCHEDULED, FIRED, CANCELLED
+    fired_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uq_prescription_refill UNIQUE (prescription_id, drug_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_prescription_refill_due
+    ON prescription_refill (due_at) WHERE status = 'SCHEDULED';
+
+-- Pharmacy fulfillment queue, claimed by terminals with FOR UPDATE SKIP LOCKED
+CREATE TABLE IF NOT EXISTS pharmacy_job (
+    job_id UUID PRIMARY KEY,
+    hospital_id UUID NOT NULL,
+    prescription_id UUID NOT NULL,
+    refill_id UUID,
+    job_type VARCHAR(20) NOT NULL,  -- FILL, REFILL
+    medication_name VARCHAR(255),  -- refills only; a fill covers the whole prescription
+    status VARCHAR(20) NOT NULL DEFAULT 'QUEUED',  -- QUEUED, CLAIMED, DONE, FAILED
+    attempts INT NOT NULL DEFAULT 0,
+    available_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    claimed_by UUID,
+    claimed_at TIMESTAMP,
+    lease_until TIMESTAMP,
+    completed_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_pharmacy_job_fill
+    ON pharmacy_job (prescription_id) WHERE job_type = 'FILL';
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_pharmacy_job_refill
+    ON pharmacy_job (refill_id) WHERE refill_id IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_pharmacy_job_queued
+    ON pharmacy_job (hospital_id, available_at, job_id) WHERE status = 'QUEUED';
+
+CREATE INDEX IF NOT EXISTS idx_pharmacy_job_lease
+    ON pharmacy_job (lease_until) WHERE status = 'CLAIMED';
+
+-- New prescriptions are picked up for fills and refills by creation time
+CREATE INDEX IF NOT EXISTS idx_prescription_created_at ON prescription (created_at);
@@ -0,0 +1,3 @@
+-- Tenant moves find rows changed since the bulk copy by updated_at; the queue tables are updated in place
+ALTER TABLE prescription_refill ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE pharmacy_job ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
@@ -0,0 +1,8 @@
+-- Prescription numbers (RX20250314000123). INCREMENT BY is the per-node lease
+-- block size and must match CodeSequence.blockSize.
+CREATE SEQUENCE IF NOT EXISTS prescription_number_seq START WITH 1 INCREMENT BY 100;
+
+-- Continue after the highest number already issued in this format
+SELECT setval('prescription_number_seq', COALESCE(MAX(CAST(SUBSTRING(prescription_number FROM 11) AS BIGINT)), 0) + 1, false)
+FROM prescription
+WHERE prescription_number ~ '^RX[0-9]{14,18}$';
@@ -0,0 +1,21 @@
+-- Tenants whose writes this shard refuses: being cut over by a tenant move, or
+-- moved away (nodes with a stale directory may still route writes here).
+-- Every shard has its own; TenantMover adds and removes the rows.
+CREATE TABLE IF NOT EXISTS tenant_write_fence (
+    hospital_id UUID PRIMARY KEY,
+    target_shard VARCHAR(64) NOT NULL,
+    fenced_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Called by every tenant write transaction before it commits, and per row by the
+-- set-based background writes. Takes the tenant's write lock in shared mode until
+-- the transaction ends, then reports whether the tenant is fenced. VOLATILE, so
+-- the fence is read on a snapshot taken after the lock was granted: a move that
+-- fenced the tenant and then took the lock exclusively has waited out every
+-- writer that saw no fence, on any node.
+CREATE OR REPLACE FUNCTION tenant_write_fenced(tenant UUID) RETURNS BOOLEAN
+    LANGUAGE plpgsql VOLATILE AS $$
+BEGIN
+    PERFORM pg_advisory_xact_lock_shared(1413828180, hashtext(tenant::text));  -- 1413828180 = 'TENT'
+    RETURN EXISTS (SELECT 1 FROM tenant_write_fence WHERE hospital_id = tenant);
+END $$;
@@ -0,0 +1,124 @@
+package com.healthcare.mvp.hospital.geo;
+
+import com.healthcare.mvp.hospital.geo.HospitalGeoGrid.Hit;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Radius and k-nearest queries over 100k hospitals, checked against a brute-force scan
+ */
+class HospitalGeoGridTest {
+
+    private static final int HOSPITALS = 100_000;
+    private static final double CELL_DEGREES = 0.25;
+
+    private static final List<double[]> coordinates = new ArrayList<>();
+    private static final List<UUID> ids = new ArrayList<>();
+    private static HospitalGeoGrid grid;
+
+    @BeforeAll
+    static void populate() {
+        Random random = new Random(41);
+        grid = new HospitalGeoGrid(CELL_DEGREES);
+        for (int i = 0; i < HOSPITALS; i++) {
+            double[] point = randomPoint(random);
+            UUID id = new UUID(0L, i);
+            coordinates.add(point);
+            ids.add(id);
+            grid.put(id, point[0], point[1]);
+        }
+    }
+
+    @Test
+    void withinMatchesBruteForce() {
+        Random random = new Random(7);
+        double[] radii = {1, 25, 300, 2_500, 12_000, HospitalGeoGrid.MAX_DISTANCE_KM};
+        for (int query = 0; query < 60; query++) {
+            double[] origin = randomPoint(random);
+            double radiusKm = radii[query % radii.length];
+            assertThat(ids(grid.within(origin[0], origin[1], radiusKm, null)))
+                    .as("within %.0f km of %.4f,%.4f", radiusKm, origin[0], origin[1])
+                    .isEqualTo(ids(bruteForce(origin, radiusKm, null)));
+        }
+    }
+
+    @Test
+    void nearestMatchesBruteForce() {
+        Random random = new Random(11);
+        int[] ks = {1, 10, 100, 5_000};
+        for (int query = 0; query < 60; query++) {
+            double[] origin = randomPoint(random);
+            int k = ks[query % ks.length];
+            List<Hit> expected = bruteForce(origin, HospitalGeoGrid.MAX_DISTANCE_KM, null);
+            assertThat(ids(grid.nearest(origin[0], origin[1], k, null)))
+                    .as("%d nearest to %.4f,%.4f", k, origin[0], origin[1])
+                    .isEqualTo(ids(expected.subList(0, k)));
+        }
+    }
+
+    @Test
+    void nearestAppliesTheFilterBeforeCounting() {
+        // Only one hospital in a thousand is accepted, so the search has to widen far beyond the first cells
+        Predicate<UUID> rare = id -> id.getLeastSignificantBits() % 1000 == 0;
+        double[] origin = {12.97, 77.59};
+        List<Hit> expected = bruteForce(origin, HospitalGeoGrid.MAX_DISTANCE_KM, rare);
+        assertThat(ids(grid.nearest(origin[0], origin[1], 20, rare))).isEqualTo(ids(expected.subList(0, 20)));
+    }
+
+    @Test
+    void movedHospitalIsFoundOnlyAtItsNewPosition() {
+        HospitalGeoGrid small = new HospitalGeoGrid(CELL_DEGREES);
+        UUID id = UUID.randomUUID();
+        small.put(id, 51.5, -0.12);
+        small.put(id, -33.87, 151.21);
+
+        assertThat(small.size()).isEqualTo(1);
+        assertThat(small.within(51.5, -0.12, 50, null)).isEmpty();
+        assertThat(ids(small.within(-33.87, 151.21, 50, null))).containsExactly(id);
+
+        small.remove(id);
+        assertThat(small.nearest(0, 0, 5, null)).isEmpty();
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    /**
+     * Half the hospitals in dense metro clusters, the rest anywhere (poles and antimeridian included)
+     */
+    private static double[] randomPoint(Random random) {
+        if (random.nextBoolean()) {
+            double[][] metros = {{19.07, 72.88}, {40.71, -74.0}, {-33.87, 151.21}, {64.84, -179.9}, {-89.5, 10.0}};
+            double[] metro = metros[random.nextInt(metros.length)];
+            double latitude = Math.max(-90, Math.min(90, metro[0] + random.nextGaussian() * 0.5));
+            double longitude = metro[1] + random.nextGaussian() * 0.5;
+            return new double[]{latitude, longitude - 360 * Math.floor((longitude + 180) / 360)};
+        }
+        return new double[]{Math.toDegrees(Math.asin(2 * random.nextDouble() - 1)), random.nextDouble() * 360 - 180};
+    }
+
+    private static List<Hit> bruteForce(double[] origin, double radiusKm, Predicate<UUID> accept) {
+        List<Hit> hits = new ArrayList<>();
+        for (int i = 0; i < HOSPITALS; i++) {
+            double[] point = coordinates.get(i);
+            double distance = HospitalGeoGrid.distanceKm(origin[0], origin[1], point[0], point[1]);
+            if (distance <= radiusKm && (accept == null || accept.test(ids.get(i)))) {
+                hits.add(new Hit(ids.get(i), point[0], point[1], distance));
+            }
+        }
+        hits.sort(Comparator.comparingDouble(Hit::getDistanceKm).thenComparing(Hit::getHospitalId));
+        return hits;
+    }
+
+    private static List<UUID> ids(List<Hit> hits) {
+        return hits.stream().map(Hit::getHospitalId).toList();
+    }
+}
@@ -0,0 +1,120 @@
+package com.healthcare.mvp.prescription.interaction;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pair lookups in the compressed graph, checked against the pairs it was built from
+ */
+class DrugInteractionGraphTest {
+
+    @Test
+    void pairIsFoundFromEitherDrug() {
+        DrugInteractionGraph.Builder builder = new DrugInteractionGraph.Builder();
+        builder.add("warfarin", "aspirin", InteractionSeverity.MAJOR, "Bleeding risk");
+        builder.add("warfarin", "fluconazole", InteractionSeverity.MODERATE, "Raised INR");
+        DrugInteractionGraph graph = builder.build();
+
+        int warfarin = graph.idOf("warfarin");
+        int aspirin = graph.idOf("aspirin");
+        int fluconazole = graph.idOf("fluconazole");
+
+        int forward = graph.edge(warfarin, aspirin);
+        int backward = graph.edge(aspirin, warfarin);
+        assertThat(forward).isNotNegative();
+        assertThat(backward).isNotNegative();
+        assertThat(graph.severity(forward)).isEqualTo(InteractionSeverity.MAJOR);
+        assertThat(graph.severity(backward)).isEqualTo(InteractionSeverity.MAJOR);
+        assertThat(graph.description(backward)).isEqualTo("Bleeding risk");
+
+        assertThat(graph.edge(aspirin, fluconazole)).isEqualTo(-1);
+        assertThat(graph.drugKey(fluconazole)).isEqualTo("fluconazole");
+        assertThat(graph.drugCount()).isEqualTo(3);
+        assertThat(graph.interactionCount()).isEqualTo(2);
+    }
+
+    @Test
+    void repeatedPairKeepsTheMostSevereEntry() {
+        DrugInteractionGraph.Builder builder = new DrugInteractionGraph.Builder();
+        builder.add("a", "b", InteractionSeverity.MODERATE, "first");
+        builder.add("b", "a", InteractionSeverity.CONTRAINDICATED, "worst");
+        builder.add("a", "b", InteractionSeverity.MINOR, "mildest");
+        DrugInteractionGraph graph = builder.build();
+
+        int edge = graph.edge(graph.idOf("a"), graph.idOf("b"));
+        assertThat(graph.severity(edge)).isEqualTo(InteractionSeverity.CONTRAINDICATED);
+        assertThat(graph.description(edge)).isEqualTo("worst");
+        assertThat(graph.interactionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void drugNeverInteractsWithItself() {
+        DrugInteractionGraph.Builder builder = new DrugInteractionGraph.Builder();
+        builder.add("a", "a", InteractionSeverity.MAJOR, "self");
+        builder.add("a", "b", InteractionSeverity.MINOR, null);
+        DrugInteractionGraph graph = builder.build();
+
+        int a = graph.idOf("a");
+        assertThat(graph.edge(a, a)).isEqualTo(-1);
+        assertThat(graph.interactionCount()).isEqualTo(1);
+        assertThat(graph.description(graph.edge(a, graph.idOf("b")))).isEmpty();
+    }
+
+    @Test
+    void unknownDrugHasNoId() {
+        DrugInteractionGraph graph = DrugInteractionGraph.empty();
+        assertThat(graph.idOf("anything")).isEqualTo(-1);
+        assertThat(graph.idOf(null)).isEqualTo(-1);
+        assertThat(graph.drugCount()).isZero();
+        assertThat(graph.interactionCount()).isZero();
+    }
+
+    @Test
+    void largeRandomGraphMatchesItsPairs() {
+        // Past the builder's initial capacity, with repeats, so growth and de-duplication are both exercised
+        Random random = new Random(43);
+        int drugs = 400;
+        InteractionSeverity[] levels = InteractionSeverity.values();
+        DrugInteractionGraph.Builder builder = new DrugInteractionGraph.Builder();
+        Map<String, InteractionSeverity> expected = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            int a = random.nextInt(drugs);
+            int b = random.nextInt(drugs);
+            InteractionSeverity level = levels[random.nextInt(levels.length)];
+            builder.add("drug-" + a, "drug-" + b, level, "class " + (i % 17));
+            if (a != b) {
+                expected.merge(pairKey(a, b), level, (old, next) -> next.compareTo(old) > 0 ? next : old);
+            }
+        }
+        DrugInteractionGraph graph = builder.build();
+
+        assertThat(graph.interactionCount()).isEqualTo(expected.size());
+        for (int a = 0; a < drugs; a++) {
+            for (int b = 0; b < drugs; b++) {
+                int idA = graph.idOf("drug-" + a);
+                int idB = graph.idOf("drug-" + b);
+                if (idA < 0 || idB < 0) {
+                    continue;
+                }
+                int edge = graph.edge(idA, idB);
+                InteractionSeverity want = expected.get(pairKey(a, b));
+                if (want == null) {
+                    assertThat(edge).as("drug-%d / drug-%d", a, b).isEqualTo(-1);
+                } else {
+                    assertThat(graph.severity(edge)).as("drug-%d / drug-%d", a, b).isEqualTo(want);
+                }
+            }
+        }
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private static String pairKey(int a, int b) {
+        return Math.min(a, b) + ":" + Math.max(a, b);
+    }
+}
@@ -0,0 +1,144 @@
+package com.healthcare.mvp.shared.encryption;
+
+import com.healthcare.mvp.shared.exception.EncryptionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Sealing and opening PHI fields against a throwaway keystore
+ */
+class PhiCipherTest {
+
+    private static final byte[] PLAINTEXT = "Jane Doe".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ROW_A = "patient-1:first_name".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ROW_B = "patient-2:first_name".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path directory;
+
+    private EncryptionKeyStore keyStore;
+    private PhiCipher cipher;
+
+    @BeforeEach
+    void createKeyStore() {
+        keyStore = new EncryptionKeyStore();
+        ReflectionTestUtils.setField(keyStore, "keystorePath", directory.resolve("phi.p12").toString());
+        ReflectionTestUtils.setField(keyStore, "keystorePassword", "test-password");
+        ReflectionTestUtils.setField(keyStore, "initKeystore", true);
+        ReflectionTestUtils.setField(keyStore, "rotationEnabled", true);
+        keyStore.load();
+        cipher = new PhiCipher(keyStore);
+    }
+
+    @Test
+    void roundTripsWithTheSameAssociatedData() {
+        UUID keyId = cipher.getActiveKeyId();
+        byte[] sealed = cipher.encrypt(keyId, PLAINTEXT, ROW_A);
+
+        assertThat(sealed).hasSize(1 + 12 + PLAINTEXT.length + 16);
+        assertThat(sealed[0]).isEqualTo((byte) 1);
+        assertThat(cipher.decrypt(keyId, sealed, ROW_A)).isEqualTo(PLAINTEXT);
+        assertThat(cipher.decrypt(keyId, cipher.encrypt(keyId, new byte[0], null), null)).isEmpty();
+    }
+
+    @Test
+    void everySealUsesAFreshIv() {
+        UUID keyId = cipher.getActiveKeyId();
+        byte[] first = cipher.encrypt(keyId, PLAINTEXT, ROW_A);
+        byte[] second = cipher.encrypt(keyId, PLAINTEXT, ROW_A);
+
+        assertThat(Arrays.copyOfRange(first, 1, 13)).isNotEqualTo(Arrays.copyOfRange(second, 1, 13));
+        assertThat(first).isNotEqualTo(second);
+    }
+
+    @Test
+    void ciphertextCopiedToAnotherRowDoesNotOpen() {
+        UUID keyId = cipher.getActiveKeyId();
+        byte[] sealed = cipher.encrypt(keyId, PLAINTEXT, ROW_A);
+
+        assertThatThrownBy(() -> cipher.decrypt(keyId, sealed, ROW_B)).isInstanceOf(EncryptionException.class);
+        assertThatThrownBy(() -> cipher.decrypt(keyId, sealed, null)).isInstanceOf(EncryptionException.class);
+    }
+
+    @Test
+    void tamperedCiphertextDoesNotOpen() {
+        UUID keyId = cipher.getActiveKeyId();
+        byte[] sealed = cipher.encrypt(keyId, PLAINTEXT, ROW_A);
+        sealed[sealed.length - 1] ^= 1;
+
+        assertThatThrownBy(() -> cipher.decrypt(keyId, sealed, ROW_A)).isInstanceOf(EncryptionException.class);
+    }
+
+    @Test
+    void malformedBlobsAreRejectedBeforeDecrypting() {
+        UUID keyId = cipher.getActiveKeyId();
+        byte[] sealed = cipher.encrypt(keyId, PLAINTEXT, ROW_A);
+        byte[] wrongVersion = sealed.clone();
+        wrongVersion[0] = 2;
+
+        assertThatThrownBy(() -> cipher.decrypt(keyId, null, ROW_A)).isInstanceOf(EncryptionException.class)
+                .hasMessageContaining("Malformed");
+        assertThatThrownBy(() -> cipher.decrypt(keyId, new byte[28], ROW_A)).isInstanceOf(EncryptionException.class)
+                .hasMessageContaining("Malformed");
+        assertThatThrownBy(() -> cipher.decrypt(keyId, wrongVersion, ROW_A)).isInstanceOf(EncryptionException.class)
+                .hasMessageContaining("Malformed");
+    }
+
+    @Test
+    void rowsSealedBeforeARotationStillOpenUnderTheirKey() {
+        UUID oldKeyId = cipher.getActiveKeyId();
+        byte[] sealedBefore = cipher.encrypt(oldKeyId, PLAINTEXT, ROW_A);
+
+        UUID newKeyId = keyStore.rotate();
+        assertThat(cipher.getActiveKeyId()).isEqualTo(newKeyId).isNotEqualTo(oldKeyId);
+
+        assertThat(cipher.decrypt(oldKeyId, sealedBefore, ROW_A)).isEqualTo(PLAINTEXT);
+        assertThatThrownBy(() -> cipher.decrypt(newKeyId, sealedBefore, ROW_A)).isInstanceOf(EncryptionException.class);
+        assertThatThrownBy(() -> cipher.encrypt(UUID.randomUUID(), PLAINTEXT, ROW_A))
+                .isInstanceOf(EncryptionException.class)
+                .hasMessageContaining("Unknown PHI data key");
+    }
+
+    @Test
+    void pooledCiphersAreSafeAcrossThreads() throws Exception {
+        UUID keyId = cipher.getActiveKeyId();
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int task = 0; task < 64; task++) {
+                int seed = task;
+                results.add(threads.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        byte[] plaintext = ("patient " + seed + "/" + i).getBytes(StandardCharsets.UTF_8);
+                        byte[] associatedData = ("row-" + seed + ":" + i).getBytes(StandardCharsets.UTF_8);
+                        byte[] opened = cipher.decrypt(keyId, cipher.encrypt(keyId, plaintext, associatedData), associatedData);
+                        if (!Arrays.equals(opened, plaintext)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertThat(result.get()).isTrue();
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+}
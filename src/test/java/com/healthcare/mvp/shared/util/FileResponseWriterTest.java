@@ -0,0 +1,122 @@
+package com.healthcare.mvp.shared.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Range parsing per RFC 9110, and the statuses and bodies write() produces from it
+ */
+class FileResponseWriterTest {
+
+    private static final long LENGTH = 1000;
+    private static final String BODY = "0123456789abcdefghijklmnopqrstuvwxyz";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void closedRangeIsClampedToTheFile() {
+        assertThat(FileResponseWriter.parseRange("bytes=0-99", LENGTH)).containsExactly(0, 99);
+        assertThat(FileResponseWriter.parseRange("bytes=900-5000", LENGTH)).containsExactly(900, 999);
+        assertThat(FileResponseWriter.parseRange("bytes=999-999", LENGTH)).containsExactly(999, 999);
+        assertThat(FileResponseWriter.parseRange("  bytes= 10 - 20 ", LENGTH)).containsExactly(10, 20);
+    }
+
+    @Test
+    void openRangeRunsToTheEnd() {
+        assertThat(FileResponseWriter.parseRange("bytes=500-", LENGTH)).containsExactly(500, 999);
+        assertThat(FileResponseWriter.parseRange("bytes=0-", LENGTH)).containsExactly(0, 999);
+    }
+
+    @Test
+    void suffixRangeTakesTheLastBytes() {
+        assertThat(FileResponseWriter.parseRange("bytes=-100", LENGTH)).containsExactly(900, 999);
+        assertThat(FileResponseWriter.parseRange("bytes=-5000", LENGTH)).containsExactly(0, 999);
+    }
+
+    @Test
+    void unsatisfiableRangeIsNull() {
+        assertThat(FileResponseWriter.parseRange("bytes=1000-", LENGTH)).isNull();
+        assertThat(FileResponseWriter.parseRange("bytes=1000-1200", LENGTH)).isNull();
+        assertThat(FileResponseWriter.parseRange("bytes=-0", LENGTH)).isNull();
+        assertThat(FileResponseWriter.parseRange("bytes=0-", 0)).isNull();
+        assertThat(FileResponseWriter.parseRange("bytes=-10", 0)).isNull();
+    }
+
+    @Test
+    void malformedOrMultipleRangesAreIgnored() {
+        assertThat(FileResponseWriter.parseRange("items=0-10", LENGTH)).isEmpty();
+        assertThat(FileResponseWriter.parseRange("bytes=0-10,20-30", LENGTH)).isEmpty();
+        assertThat(FileResponseWriter.parseRange("bytes=10", LENGTH)).isEmpty();
+        assertThat(FileResponseWriter.parseRange("bytes=-", LENGTH)).isEmpty();
+        assertThat(FileResponseWriter.parseRange("bytes=a-b", LENGTH)).isEmpty();
+        assertThat(FileResponseWriter.parseRange("bytes=20-10", LENGTH)).isEmpty();
+        assertThat(FileResponseWriter.parseRange("bytes=99999999999999999999-", LENGTH)).isEmpty();
+    }
+
+    @Test
+    void writeServesThePartialBody() throws Exception {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-15");
+        MockHttpServletResponse response = write(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 10-15/" + BODY.length());
+        assertThat(response.getContentLengthLong()).isEqualTo(6);
+        assertThat(response.getContentAsString()).isEqualTo("abcdef");
+    }
+
+    @Test
+    void writeAnswersUnsatisfiableRangesWith416() throws Exception {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, "bytes=500-");
+        MockHttpServletResponse response = write(request);
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */" + BODY.length());
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void writeIgnoresTheRangeWhenIfRangeNoLongerMatches() throws Exception {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-15");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"stale\"");
+        MockHttpServletResponse response = write(request);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(BODY);
+    }
+
+    @Test
+    void writeAnswersAMatchingEtagWith304() throws Exception {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", W/\"v1\"");
+        MockHttpServletResponse response = write(request);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    // ========================= HELPER METHODS =========================
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/file");
+    }
+
+    private MockHttpServletResponse write(MockHttpServletRequest request) throws Exception {
+        Path file = Files.writeString(directory.resolve("body.txt"), BODY, StandardCharsets.US_ASCII);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FileResponseWriter.write(request, response, file, "text/plain", "v1", "private, max-age=60");
+        return response;
+    }
+}